@@ -0,0 +1,96 @@
+package com.linkedin.metadata.benchmark;
+
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.dao.AspectKey;
+import com.linkedin.metadata.dao.EbeanMetadataAspect;
+import com.linkedin.metadata.dao.utils.EBeanDAOUtils;
+import com.linkedin.metadata.dao.utils.ModelUtils;
+import com.linkedin.testing.AspectFoo;
+import com.linkedin.testing.urn.FooUrn;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static com.linkedin.testing.TestUtils.*;
+
+
+/**
+ * Compares the assembly of batch get results in EbeanLocalDAO, i.e. matching every requested {@link AspectKey} to the
+ * row returned from the database, using the previous pairwise scan against the normalized hash index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BatchGetAssemblyBenchmark {
+
+  @Param({"10", "100", "1000"})
+  public int keyCount;
+
+  private List<AspectKey<FooUrn, ? extends RecordTemplate>> _keys;
+  private List<EbeanMetadataAspect> _records;
+
+  @Setup
+  public void setup() {
+    _keys = new ArrayList<>(keyCount);
+    _records = new ArrayList<>(keyCount);
+    for (int i = 0; i < keyCount; i++) {
+      final FooUrn urn = makeFooUrn(i);
+      _keys.add(new AspectKey<>(AspectFoo.class, urn, 0L));
+
+      final EbeanMetadataAspect record = new EbeanMetadataAspect();
+      record.setKey(new EbeanMetadataAspect.PrimaryKey(urn.toString(), ModelUtils.getAspectName(AspectFoo.class), 0L));
+      record.setMetadata("{\"value\":\"foo" + i + "\"}");
+      record.setCreatedOn(new Timestamp(i));
+      record.setCreatedBy("urn:li:corpuser:benchmark");
+      _records.add(record);
+    }
+    // rows do not come back from the UNION ALL query in request order
+    Collections.shuffle(_records, new Random(42));
+  }
+
+  @Benchmark
+  public Map<AspectKey<FooUrn, ? extends RecordTemplate>, EbeanMetadataAspect> pairwiseScan() {
+    final Map<AspectKey<FooUrn, ? extends RecordTemplate>, EbeanMetadataAspect> result = new HashMap<>();
+    for (AspectKey<FooUrn, ? extends RecordTemplate> key : _keys) {
+      _records.stream()
+          .filter(record -> key.getUrn().toString().equalsIgnoreCase(record.getKey().getUrn())
+              && key.getVersion() == record.getKey().getVersion()
+              && ModelUtils.getAspectName(key.getAspectClass()).equals(record.getKey().getAspect()))
+          .findFirst()
+          .ifPresent(record -> result.put(key, record));
+    }
+    return result;
+  }
+
+  @Benchmark
+  public Map<AspectKey<FooUrn, ? extends RecordTemplate>, EbeanMetadataAspect> normalizedHashIndex() {
+    final Map<EbeanMetadataAspect.PrimaryKey, EbeanMetadataAspect> index = EBeanDAOUtils.indexByNormalizedKey(_records);
+    final Map<AspectKey<FooUrn, ? extends RecordTemplate>, EbeanMetadataAspect> result = new HashMap<>();
+    for (AspectKey<FooUrn, ? extends RecordTemplate> key : _keys) {
+      final EbeanMetadataAspect record = index.get(EBeanDAOUtils.normalizeKey(key));
+      if (record != null) {
+        result.put(key, record);
+      }
+    }
+    return result;
+  }
+}
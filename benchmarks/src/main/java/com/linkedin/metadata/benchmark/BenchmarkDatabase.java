@@ -0,0 +1,114 @@
+package com.linkedin.metadata.benchmark;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import com.google.common.io.Resources;
+import com.linkedin.metadata.dao.EbeanLocalDAO;
+import io.ebean.config.ServerConfig;
+import io.ebean.datasource.DataSourceConfig;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+
+
+/**
+ * Databases the DAO benchmarks run against: an embedded MariaDB, the same as the ebean-dao tests, or an in-memory H2.
+ * H2 cannot evaluate the JSON virtual columns of the entity tables, so it only runs the old schema.
+ */
+public enum BenchmarkDatabase {
+  MARIADB_NEW_SCHEMA(EbeanLocalDAO.SchemaConfig.NEW_SCHEMA_ONLY, "benchmark-new-schema.sql"),
+  MARIADB_OLD_SCHEMA(EbeanLocalDAO.SchemaConfig.OLD_SCHEMA_ONLY, "benchmark-old-schema.sql"),
+  H2_OLD_SCHEMA(EbeanLocalDAO.SchemaConfig.OLD_SCHEMA_ONLY, "benchmark-old-schema.sql");
+
+  private static final String DB_USER = "user";
+  private static final String DB_PASS = "password";
+  // different from the port of the ebean-dao tests, so that benchmarks can run next to them
+  private static final int MARIADB_PORT = 60274;
+
+  private static DB mariaDB;
+
+  private final EbeanLocalDAO.SchemaConfig _schemaConfig;
+  private final String _schemaScript;
+
+  BenchmarkDatabase(@Nonnull EbeanLocalDAO.SchemaConfig schemaConfig, @Nonnull String schemaScript) {
+    _schemaConfig = schemaConfig;
+    _schemaScript = schemaScript;
+  }
+
+  @Nonnull
+  public EbeanLocalDAO.SchemaConfig getSchemaConfig() {
+    return _schemaConfig;
+  }
+
+  /**
+   * Creates an empty database with the benchmark tables and returns the server config to connect to it.
+   *
+   * @param dbName name of the database, also used as the Ebean server name so it must be unique per benchmark
+   */
+  @Nonnull
+  public ServerConfig createServerConfig(@Nonnull String dbName) {
+    final DataSourceConfig dataSourceConfig = new DataSourceConfig();
+    if (this == H2_OLD_SCHEMA) {
+      dataSourceConfig.setUsername("tester");
+      dataSourceConfig.setPassword("");
+      dataSourceConfig.setUrl("jdbc:h2:mem:" + dbName + ";MODE=MySQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1;");
+      dataSourceConfig.setDriver("org.h2.Driver");
+    } else {
+      startMariaDB(dbName);
+      dataSourceConfig.setUsername(DB_USER);
+      dataSourceConfig.setPassword(DB_PASS);
+      dataSourceConfig.setUrl(String.format("jdbc:mysql://localhost:%s/%s?allowMultiQueries=true", MARIADB_PORT, dbName));
+      dataSourceConfig.setDriver("com.mysql.cj.jdbc.Driver");
+    }
+    runScript(dataSourceConfig, _schemaScript);
+
+    final ServerConfig serverConfig = new ServerConfig();
+    serverConfig.setName(dbName);
+    serverConfig.setDataSourceConfig(dataSourceConfig);
+    serverConfig.setDdlGenerate(false);
+    serverConfig.setDdlRun(false);
+    return serverConfig;
+  }
+
+  private static synchronized void startMariaDB(@Nonnull String dbName) {
+    try {
+      if (mariaDB == null) {
+        final String baseDbDir = String.join(File.separator, System.getProperty("java.io.tmpdir"), "datahub-gma", "benchmarkDb");
+        final DBConfigurationBuilder configurationBuilder = DBConfigurationBuilder.newBuilder();
+        configurationBuilder.setPort(MARIADB_PORT);
+        configurationBuilder.setDataDir(baseDbDir + File.separator + "data");
+        configurationBuilder.setBaseDir(baseDbDir + File.separator + "base");
+        mariaDB = DB.newEmbeddedDB(configurationBuilder.build());
+        mariaDB.start();
+      }
+      mariaDB.createDB(dbName);
+    } catch (ManagedProcessException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static void runScript(@Nonnull DataSourceConfig dataSourceConfig, @Nonnull String script) {
+    try (Connection connection = DriverManager.getConnection(dataSourceConfig.getUrl(), dataSourceConfig.getUsername(),
+        dataSourceConfig.getPassword()); Statement statement = connection.createStatement()) {
+      final String sql = Resources.toString(Resources.getResource(script), StandardCharsets.UTF_8);
+      final String withoutComments = Arrays.stream(sql.split("\n"))
+          .filter(line -> !line.trim().startsWith("--"))
+          .collect(Collectors.joining("\n"));
+      for (String sqlStatement : withoutComments.split(";")) {
+        if (!sqlStatement.trim().isEmpty()) {
+          statement.execute(sqlStatement);
+        }
+      }
+    } catch (IOException | SQLException e) {
+      throw new RuntimeException("Failed to run " + script, e);
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package com.linkedin.metadata.benchmark;
+
+import com.linkedin.common.AuditStamp;
+import com.linkedin.metadata.dao.EbeanLocalDAO;
+import com.linkedin.metadata.dao.producer.DummyMetadataEventProducer;
+import com.linkedin.metadata.query.IndexCriterion;
+import com.linkedin.metadata.query.IndexCriterionArray;
+import com.linkedin.metadata.query.IndexFilter;
+import com.linkedin.metadata.query.IndexGroupByCriterion;
+import com.linkedin.testing.AspectFoo;
+import com.linkedin.testing.EntityAspectUnion;
+import com.linkedin.testing.urn.FooUrn;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static com.linkedin.common.AuditStamps.*;
+import static com.linkedin.testing.TestUtils.*;
+
+
+/**
+ * {@link EbeanLocalDAO#countAggregate(IndexFilter, IndexGroupByCriterion)}, which is only supported by the new schema,
+ * so it only runs against MariaDB.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class CountAggregateBenchmark {
+
+  private static final AuditStamp AUDIT_STAMP = makeAuditStamp("benchmark");
+
+  @Param({"1000", "10000"})
+  public int entityCount;
+
+  private EbeanLocalDAO<EntityAspectUnion, FooUrn> _dao;
+  private IndexFilter _indexFilter;
+  private IndexGroupByCriterion _groupByCriterion;
+
+  @Setup
+  public void setup() {
+    final BenchmarkDatabase database = BenchmarkDatabase.MARIADB_NEW_SCHEMA;
+    _dao = new EbeanLocalDAO<>(EntityAspectUnion.class, new DummyMetadataEventProducer<>(),
+        database.createServerConfig("count_aggregate_benchmark_" + entityCount), FooUrn.class, database.getSchemaConfig());
+    for (int i = 0; i < entityCount; i++) {
+      _dao.add(makeFooUrn(i), new AspectFoo().setValue("foo" + i % 10), AUDIT_STAMP);
+    }
+
+    _indexFilter = new IndexFilter().setCriteria(
+        new IndexCriterionArray(new IndexCriterion().setAspect(AspectFoo.class.getCanonicalName())));
+    _groupByCriterion = new IndexGroupByCriterion().setAspect(AspectFoo.class.getCanonicalName()).setPath("/value");
+  }
+
+  @Benchmark
+  public Map<String, Long> countAggregate() {
+    return _dao.countAggregate(_indexFilter, _groupByCriterion);
+  }
+}
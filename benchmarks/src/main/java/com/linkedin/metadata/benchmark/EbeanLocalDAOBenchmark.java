@@ -0,0 +1,106 @@
+package com.linkedin.metadata.benchmark;
+
+import com.linkedin.common.AuditStamp;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.dao.AspectKey;
+import com.linkedin.metadata.dao.EbeanLocalDAO;
+import com.linkedin.metadata.dao.producer.DummyMetadataEventProducer;
+import com.linkedin.testing.AspectBar;
+import com.linkedin.testing.AspectFoo;
+import com.linkedin.testing.EntityAspectUnion;
+import com.linkedin.testing.urn.FooUrn;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static com.linkedin.common.AuditStamps.*;
+import static com.linkedin.testing.TestUtils.*;
+
+
+/**
+ * Hot paths of {@link EbeanLocalDAO} against a pre-populated database. Throughput and sampled latency (which reports
+ * percentiles) are both measured; run with {@code -prof gc} for allocation rates.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class EbeanLocalDAOBenchmark {
+
+  private static final AuditStamp AUDIT_STAMP = makeAuditStamp("benchmark");
+
+  @Param({"MARIADB_NEW_SCHEMA", "MARIADB_OLD_SCHEMA", "H2_OLD_SCHEMA"})
+  public BenchmarkDatabase database;
+
+  @Param({"1000"})
+  public int entityCount;
+
+  @Param({"100"})
+  public int batchSize;
+
+  private EbeanLocalDAO<EntityAspectUnion, FooUrn> _dao;
+  private final AtomicLong _addCount = new AtomicLong();
+
+  @Setup
+  public void setup() {
+    _dao = new EbeanLocalDAO<>(EntityAspectUnion.class, new DummyMetadataEventProducer<>(),
+        database.createServerConfig("dao_benchmark_" + database.name().toLowerCase()), FooUrn.class,
+        database.getSchemaConfig());
+    for (int i = 0; i < entityCount; i++) {
+      final FooUrn urn = makeFooUrn(i);
+      _dao.add(urn, new AspectFoo().setValue("foo" + i % 10), AUDIT_STAMP);
+      _dao.add(urn, new AspectBar().setValue("bar" + i), AUDIT_STAMP);
+    }
+  }
+
+  @Benchmark
+  public RecordTemplate add() {
+    // every call writes a new value, so that the write is not skipped by the equality check
+    final long count = _addCount.incrementAndGet();
+    return _dao.add(makeFooUrn((int) (count % entityCount)), new AspectBar().setValue("bar-" + count), AUDIT_STAMP);
+  }
+
+  @Benchmark
+  public Optional<AspectFoo> get() {
+    return _dao.get(AspectFoo.class, randomUrn());
+  }
+
+  @Benchmark
+  public Map<AspectKey<FooUrn, ? extends RecordTemplate>, Optional<? extends RecordTemplate>> batchGet() {
+    final Set<AspectKey<FooUrn, ? extends RecordTemplate>> keys = new HashSet<>();
+    final int first = ThreadLocalRandom.current().nextInt(entityCount);
+    for (int i = 0; i < batchSize; i++) {
+      final FooUrn urn = makeFooUrn((first + i) % entityCount);
+      keys.add(new AspectKey<>(AspectFoo.class, urn, EbeanLocalDAO.LATEST_VERSION));
+      keys.add(new AspectKey<>(AspectBar.class, urn, EbeanLocalDAO.LATEST_VERSION));
+    }
+    return _dao.get(keys);
+  }
+
+  @Benchmark
+  public List<FooUrn> listUrns() {
+    return _dao.listUrns(null, null, randomUrn(), batchSize);
+  }
+
+  private FooUrn randomUrn() {
+    return makeFooUrn(ThreadLocalRandom.current().nextInt(entityCount));
+  }
+}
@@ -0,0 +1,79 @@
+package com.linkedin.metadata.benchmark;
+
+import com.linkedin.data.DataMap;
+import com.linkedin.metadata.dao.utils.ModelUtils;
+import com.linkedin.metadata.dao.utils.RecordUtils;
+import com.linkedin.testing.AspectBar;
+import com.linkedin.testing.AspectFoo;
+import com.linkedin.testing.EntityAspectUnion;
+import com.linkedin.testing.EntityAsset;
+import com.linkedin.testing.EntitySnapshot;
+import com.linkedin.testing.urn.FooUrn;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static com.linkedin.testing.TestUtils.*;
+
+
+/**
+ * Model conversions done for every aspect read and every snapshot or asset returned by the DAO layer.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ModelConversionBenchmark {
+
+  private String _aspectJson;
+  private DataMap _aspectDataMap;
+  private FooUrn _urn;
+  private List<EntityAspectUnion> _aspectUnions;
+
+  @Setup
+  public void setup() {
+    final AspectFoo foo = new AspectFoo().setValue("foo");
+    _aspectJson = RecordUtils.toJsonString(foo);
+    _aspectDataMap = foo.data();
+    _urn = makeFooUrn(1);
+    _aspectUnions = Arrays.asList(ModelUtils.newAspectUnion(EntityAspectUnion.class, foo),
+        ModelUtils.newAspectUnion(EntityAspectUnion.class, new AspectBar().setValue("bar")));
+  }
+
+  @Benchmark
+  public AspectFoo toRecordTemplateFromDataMap() {
+    return RecordUtils.toRecordTemplate(AspectFoo.class, _aspectDataMap);
+  }
+
+  @Benchmark
+  public AspectFoo toRecordTemplateFromJson() {
+    return RecordUtils.toRecordTemplate(AspectFoo.class, _aspectJson);
+  }
+
+  @Benchmark
+  public EntityAspectUnion newAspectUnion() {
+    return ModelUtils.newAspectUnion(EntityAspectUnion.class, new AspectFoo().setValue("foo"));
+  }
+
+  @Benchmark
+  public EntitySnapshot newSnapshot() {
+    return ModelUtils.newSnapshot(EntitySnapshot.class, _urn, _aspectUnions);
+  }
+
+  @Benchmark
+  public EntityAsset newAsset() {
+    return ModelUtils.newAsset(EntityAsset.class, _urn, _aspectUnions);
+  }
+}
@@ -0,0 +1,76 @@
+package com.linkedin.metadata.benchmark;
+
+import com.linkedin.metadata.dao.utils.UrnFactories;
+import com.linkedin.testing.urn.FooUrn;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Converts a page of urn strings, as returned by listUrns, with the reflective lookup and invocation of
+ * createFromString for every urn versus the cached factories of {@link UrnFactories}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class UrnFactoryBenchmark {
+
+  @Param({"10000"})
+  public int urnCount;
+
+  private List<String> _urns;
+
+  @Setup
+  public void setup() {
+    _urns = new ArrayList<>(urnCount);
+    for (int i = 0; i < urnCount; i++) {
+      _urns.add("urn:li:foo:" + i);
+    }
+  }
+
+  @Benchmark
+  public List<FooUrn> reflection() throws Exception {
+    final List<FooUrn> result = new ArrayList<>(_urns.size());
+    for (String urn : _urns) {
+      final Method getUrn = FooUrn.class.getMethod("createFromString", String.class);
+      result.add(FooUrn.class.cast(getUrn.invoke(null, urn)));
+    }
+    return result;
+  }
+
+  @Benchmark
+  public List<FooUrn> createFromString() {
+    final List<FooUrn> result = new ArrayList<>(_urns.size());
+    for (String urn : _urns) {
+      result.add(UrnFactories.createFromString(urn, FooUrn.class));
+    }
+    return result;
+  }
+
+  @Benchmark
+  public List<FooUrn> factory() {
+    final Function<String, FooUrn> factory = UrnFactories.factory(FooUrn.class);
+    final List<FooUrn> result = new ArrayList<>(_urns.size());
+    for (String urn : _urns) {
+      result.add(factory.apply(urn));
+    }
+    return result;
+  }
+}
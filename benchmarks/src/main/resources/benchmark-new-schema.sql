@@ -0,0 +1,38 @@
+DROP TABLE IF EXISTS metadata_entity_foo;
+DROP TABLE IF EXISTS metadata_aspect;
+DROP TABLE IF EXISTS metadata_id;
+
+CREATE TABLE metadata_entity_foo (
+    urn VARCHAR(100) NOT NULL,
+    lastmodifiedon TIMESTAMP NOT NULL,
+    lastmodifiedby VARCHAR(255) NOT NULL,
+    createdfor VARCHAR(255),
+    deleted_ts DATETIME(6) DEFAULT NULL,
+    CONSTRAINT pk_metadata_entity_foo PRIMARY KEY (urn)
+);
+
+CREATE TABLE metadata_id (
+    namespace VARCHAR(255) NOT NULL,
+    id BIGINT NOT NULL,
+    CONSTRAINT uq_metadata_id_namespace_id UNIQUE (namespace,id)
+);
+
+CREATE TABLE metadata_aspect (
+    urn VARCHAR(500) NOT NULL,
+    aspect VARCHAR(200) NOT NULL,
+    version BIGINT NOT NULL,
+    metadata VARCHAR(500) NOT NULL,
+    createdon DATETIME(6) NOT NULL,
+    createdby VARCHAR(255) NOT NULL,
+    createdfor VARCHAR(255),
+    CONSTRAINT pk_metadata_aspect PRIMARY KEY (urn,aspect,version)
+);
+
+-- add foo and bar aspects to foo entity
+ALTER TABLE metadata_entity_foo ADD a_aspectfoo JSON;
+ALTER TABLE metadata_entity_foo ADD a_aspectbar JSON;
+
+-- add index virtual column on foo value, used by countAggregate
+ALTER TABLE metadata_entity_foo ADD COLUMN i_aspectfoo$value VARCHAR(255)
+    GENERATED ALWAYS AS (JSON_UNQUOTE(JSON_EXTRACT(a_aspectfoo, '$.aspect.value')));
+CREATE INDEX idx_aspectfoo$value ON metadata_entity_foo (i_aspectfoo$value);
@@ -1,5 +1,6 @@
 package com.linkedin.metadata.dao;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.google.common.annotations.VisibleForTesting;
 import com.linkedin.common.AuditStamp;
 import com.linkedin.common.urn.Urn;
@@ -27,6 +28,7 @@ import com.linkedin.metadata.dao.ingestion.BaseLambdaFunction;
 import com.linkedin.metadata.dao.ingestion.LambdaFunctionRegistry;
 import com.linkedin.metadata.dao.ingestion.AspectCallbackRegistry;
 import com.linkedin.metadata.dao.ingestion.AspectCallbackRoutingClient;
+import com.linkedin.metadata.dao.producer.AsyncMetadataEventEmitter;
 import com.linkedin.metadata.dao.producer.BaseMetadataEventProducer;
 import com.linkedin.metadata.dao.producer.BaseTrackingMetadataEventProducer;
 import com.linkedin.metadata.dao.retention.IndefiniteRetention;
@@ -38,6 +40,7 @@ import com.linkedin.metadata.dao.tracking.BaseTrackingManager;
 import com.linkedin.metadata.dao.tracking.TrackingUtils;
 import com.linkedin.metadata.dao.urnpath.UrnPathExtractor;
 import com.linkedin.metadata.dao.utils.ModelUtils;
+import com.linkedin.metadata.dao.utils.UrnFactories;
 import com.linkedin.metadata.events.ChangeType;
 import com.linkedin.metadata.events.IngestionMode;
 import com.linkedin.metadata.events.IngestionTrackingContext;
@@ -50,6 +53,7 @@ import com.linkedin.metadata.query.IndexGroupByCriterion;
 import com.linkedin.metadata.query.IndexSortCriterion;
 import java.sql.Timestamp;
 import java.time.Clock;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.ArrayList;
@@ -63,8 +67,18 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -190,6 +204,60 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     }
   }
 
+  /**
+   * Immutable class to hold a single (urn, aspect) update of a bulk ingestion.
+   *
+   * <p>This class allows the wildcard capture in {@link #addBulk(List, int, IngestionTrackingContext)}</p>
+   *
+   * @param <URN> the type of the entity urn
+   * @param <ASPECT> the type of the aspect being updated
+   */
+  @AllArgsConstructor
+  @Value
+  public static class UrnAspectUpdate<URN extends Urn, ASPECT extends RecordTemplate> {
+    @NonNull
+    URN urn;
+
+    @NonNull
+    ASPECT value;
+
+    @NonNull
+    AuditStamp auditStamp;
+
+    @NonNull
+    IngestionParams ingestionParams;
+
+    public UrnAspectUpdate(@NonNull URN urn, @NonNull ASPECT value, @NonNull AuditStamp auditStamp) {
+      this.urn = urn;
+      this.value = value;
+      this.auditStamp = auditStamp;
+      this.ingestionParams = new IngestionParams().setIngestionMode(IngestionMode.LIVE);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Class<ASPECT> getAspectClass() {
+      return (Class<ASPECT>) value.getClass();
+    }
+  }
+
+  /**
+   * Summary of a {@link #streamingBackfill(BackfillMode, Set, Class, Urn, int, int, Consumer)} run.
+   *
+   * @param <URN> the type of the entity urn
+   */
+  @Value
+  public static class StreamingBackfillResult<URN extends Urn> {
+    int pageCount;
+
+    long urnCount;
+
+    long eventCount;
+
+    // last urn of the last fully backfilled page, null if no page was backfilled
+    @Nullable
+    URN lastUrn;
+  }
+
   @Data
   @AllArgsConstructor
   protected static class AspectUpdateResult<ASPECT extends RecordTemplate> {
@@ -213,6 +281,12 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
 
   private static final int DEFAULT_MAX_TRANSACTION_RETRY = 3;
 
+  private static final int DEFAULT_BULK_ADD_BATCH_SIZE = 100;
+
+  // Topics used to group audit events sent by the async emitter
+  private static final String MAE_TOPIC = "MetadataAuditEvent";
+  private static final String ASPECT_SPECIFIC_MAE_TOPIC_PREFIX = "MetadataAuditEvent_";
+
   protected final BaseMetadataEventProducer _producer;
   protected final BaseTrackingMetadataEventProducer _trackingProducer;
   protected final LocalDAOStorageConfig _storageConfig;
@@ -251,6 +325,15 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
 
   private Clock _clock = Clock.systemUTC();
 
+  // Max number of updates read and written in a single transaction by addBulk
+  private int _bulkAddBatchSize = DEFAULT_BULK_ADD_BATCH_SIZE;
+
+  // null = latest aspect cache disabled
+  private LatestAspectCache _latestAspectCache = null;
+
+  // null = audit events are emitted synchronously on the request thread
+  private AsyncMetadataEventEmitter _asyncEventEmitter = null;
+
 
   /**
    * Constructor for BaseLocalDAO.
@@ -480,10 +563,152 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     _alwaysEmitAspectSpecificAuditEvent = alwaysEmitAspectSpecificAuditEvent;
   }
 
+  /**
+   * Set the max number of updates that {@link #addBulk(List, int, IngestionTrackingContext)} reads and writes in a
+   * single transaction.
+   */
+  public void setBulkAddBatchSize(int bulkAddBatchSize) {
+    if (bulkAddBatchSize <= 0) {
+      throw new IllegalArgumentException("Bulk add batch size must be positive: " + bulkAddBatchSize);
+    }
+    _bulkAddBatchSize = bulkAddBatchSize;
+  }
+
+  /**
+   * Enable a cache of the latest value of aspects, keyed by (urn, aspect class), in front of the latest version gets of
+   * implementations that support it. Writes never use the cache, they always read the latest aspect from the storage
+   * within their transaction.
+   *
+   * <p>The cache is invalidated by the writes of this DAO. Writes done by other hosts are only seen once the entry expires,
+   * unless they are reported with {@link #invalidateLatestAspect(Urn, Class)}, e.g. from an MAE consumer. Test mode
+   * operations always bypass the cache.</p>
+   *
+   * @param maximumSize max number of (urn, aspect class) entries
+   * @param expireAfterWrite time after which an entry expires once loaded
+   */
+  public void enableLatestAspectCache(long maximumSize, @Nonnull Duration expireAfterWrite) {
+    _latestAspectCache = new LatestAspectCache(maximumSize, expireAfterWrite);
+  }
+
+  public void disableLatestAspectCache() {
+    _latestAspectCache = null;
+  }
+
+  /**
+   * Invalidates the cached latest value of an aspect, following a write done by another host. No-op if the latest
+   * aspect cache is disabled.
+   */
+  public void invalidateLatestAspect(@Nonnull URN urn, @Nonnull Class<? extends RecordTemplate> aspectClass) {
+    if (_latestAspectCache != null) {
+      _latestAspectCache.invalidate(urn, aspectClass);
+    }
+  }
+
+  /**
+   * Invalidates the whole latest aspect cache. No-op if the latest aspect cache is disabled.
+   */
+  public void invalidateAllLatestAspects() {
+    if (_latestAspectCache != null) {
+      _latestAspectCache.invalidateAll();
+    }
+  }
+
+  /**
+   * Registers a listener called with (urn, aspect class) after this DAO wrote an aspect and invalidated its cached value,
+   * e.g. to propagate the invalidation to other hosts.
+   */
+  public void addLatestAspectCacheInvalidationListener(@Nonnull BiConsumer<Urn, Class<? extends RecordTemplate>> listener) {
+    if (_latestAspectCache == null) {
+      throw new IllegalStateException("Latest aspect cache is not enabled");
+    }
+    _latestAspectCache.addInvalidationListener(listener);
+  }
+
+  /**
+   * Returns the hit, miss and eviction statistics of the latest aspect cache, or null if it is disabled.
+   */
+  @Nullable
+  public CacheStats getLatestAspectCacheStats() {
+    return _latestAspectCache == null ? null : _latestAspectCache.stats();
+  }
+
   public void setEmitAuditEvent(boolean emitAuditEvent) {
     _emitAuditEvent = emitAuditEvent;
   }
 
+  /**
+   * Emit the audit events of writes through an {@link AsyncMetadataEventEmitter}, once the write is committed, instead
+   * of waiting for the producer on the request thread. Events of an urn are still sent in the order of its writes, but
+   * producer failures are no longer surfaced to the writer. Backfill events are not affected.
+   *
+   * @param workerCount number of threads sending events
+   * @param queueCapacity max number of events queued per thread, writers block while the queue is full
+   * @param maxBatchSize max number of events sent at once by a thread, grouped by topic
+   */
+  public void enableAsyncAuditEventEmission(int workerCount, int queueCapacity, int maxBatchSize) {
+    disableAsyncAuditEventEmission();
+    _asyncEventEmitter = new AsyncMetadataEventEmitter(workerCount, queueCapacity, maxBatchSize);
+  }
+
+  /**
+   * Go back to emitting audit events on the request thread, after sending the events queued so far.
+   */
+  public void disableAsyncAuditEventEmission() {
+    final AsyncMetadataEventEmitter emitter = _asyncEventEmitter;
+    _asyncEventEmitter = null;
+    if (emitter != null) {
+      emitter.close();
+    }
+  }
+
+  /**
+   * Returns the queue depth and latency statistics of async audit event emission, or null if it is disabled.
+   */
+  @Nullable
+  public AsyncMetadataEventEmitter.Stats getAsyncAuditEventEmissionStats() {
+    final AsyncMetadataEventEmitter emitter = _asyncEventEmitter;
+    return emitter == null ? null : emitter.getStats();
+  }
+
+  /**
+   * Waits until the audit events of the writes done so far are sent. Returns immediately if async emission is disabled.
+   *
+   * @return true if all events were sent before the timeout
+   */
+  public boolean flushAuditEvents(@Nonnull Duration timeout) throws InterruptedException {
+    final AsyncMetadataEventEmitter emitter = _asyncEventEmitter;
+    return emitter == null || emitter.flush(timeout);
+  }
+
+  /**
+   * Sends an audit event through the async emitter if enabled, or right away otherwise.
+   */
+  private void emitAuditEvent(@Nonnull Urn urn, @Nonnull String topic, @Nonnull Runnable emission) {
+    final AsyncMetadataEventEmitter emitter = _asyncEventEmitter;
+    // the emitter rejects events once closed, e.g. by a concurrent disableAsyncAuditEventEmission
+    if (emitter == null || !emitter.submit(urn, topic, emission)) {
+      emission.run();
+    }
+  }
+
+  @Nonnull
+  private static String aspectSpecificMaeTopic(@Nonnull Class<? extends RecordTemplate> aspectClass) {
+    return ASPECT_SPECIFIC_MAE_TOPIC_PREFIX + aspectClass.getCanonicalName();
+  }
+
+  @Nullable
+  @SuppressWarnings("unchecked")
+  private static <ASPECT extends RecordTemplate> ASPECT copyAspect(@Nullable ASPECT value) {
+    if (value == null) {
+      return null;
+    }
+    try {
+      return (ASPECT) value.copy();
+    } catch (CloneNotSupportedException e) {
+      throw new IllegalStateException("Failed to copy aspect " + value.getClass().getCanonicalName(), e);
+    }
+  }
+
   /**
    * Logic common to both {@link #add(Urn, Class, Function, AuditStamp)} and {@link #delete(Urn, Class, AuditStamp, int)} methods.
    *
@@ -556,6 +781,9 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
         saveLatest(urn, aspectClass, oldValue,
             optimisticLockAuditStamp != null ? optimisticLockAuditStamp : oldAuditStamp,
             newValue, auditStamp, latest.isSoftDeleted, trackingContext, ingestionParams.isTestMode());
+    if (_latestAspectCache != null) {
+      _latestAspectCache.invalidateAfterWrite(urn, aspectClass);
+    }
 
     // Apply retention policy
     applyRetention(urn, aspectClass, getRetention(aspectClass), largestVersion);
@@ -623,12 +851,12 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     final List<AddResult<? extends RecordTemplate>> results;
     if (_enableAtomicMultipleUpdate) {
       // atomic multiple update enabled: run in a single transaction
-      results = runInTransactionWithRetry(() ->
-              aspectUpdateLambdas.stream().map(x -> aspectUpdateHelper(urn, x, auditStamp, trackingContext)).collect(Collectors.toList()),
+      results = runInWriteTransaction(() -> runInWriteBatch(() ->
+              aspectUpdateLambdas.stream().map(x -> aspectUpdateHelper(urn, x, auditStamp, trackingContext)).collect(Collectors.toList())),
           maxTransactionRetry);
     } else {
       // no atomic multiple updates: run each in its own transaction. This is the same as repeated calls to add
-      results = aspectUpdateLambdas.stream().map(x -> runInTransactionWithRetry(() ->
+      results = aspectUpdateLambdas.stream().map(x -> runInWriteTransaction(() ->
               aspectUpdateHelper(urn, x, auditStamp, trackingContext), maxTransactionRetry)).collect(Collectors.toList());
     }
 
@@ -657,6 +885,12 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
   private <ASPECT extends RecordTemplate> AddResult<ASPECT> aspectUpdateHelper(URN urn, AspectUpdateLambda<ASPECT> updateTuple,
       @Nonnull AuditStamp auditStamp, @Nullable IngestionTrackingContext trackingContext, boolean isRawUpdate) {
     AspectEntry<ASPECT> latest = getLatest(urn, updateTuple.getAspectClass(), updateTuple.getIngestionParams().isTestMode());
+    return aspectUpdateHelper(urn, updateTuple, auditStamp, trackingContext, isRawUpdate, latest);
+  }
+
+  private <ASPECT extends RecordTemplate> AddResult<ASPECT> aspectUpdateHelper(URN urn, AspectUpdateLambda<ASPECT> updateTuple,
+      @Nonnull AuditStamp auditStamp, @Nullable IngestionTrackingContext trackingContext, boolean isRawUpdate,
+      @Nonnull AspectEntry<ASPECT> latest) {
 
     // TODO(yanyang) added for job-gms duplicity debug, throwaway afterwards
     if (log.isDebugEnabled()) {
@@ -699,6 +933,119 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
         trackingContext, updateTuple.getIngestionParams());
   }
 
+  /**
+   * Adds new versions of aspects for many entities in bulk.
+   *
+   * <p>Each update goes through the same steps as {@link #add(Urn, RecordTemplate, AuditStamp, IngestionTrackingContext, IngestionParams)}:
+   * pre-ingestion lambdas, aspect callbacks, pre-update hooks, equality check, optimistic locking and retention. The
+   * difference is that updates are processed in batches of {@link #_bulkAddBatchSize}: the latest values of a batch are
+   * read with a single {@link #getLatest(Set, boolean)} call, the equality and callback logic runs in memory and all the
+   * changed rows of the batch are written in one transaction. Post-update hooks and MAEs of a batch are fired as soon as
+   * its transaction is committed, so that they are not lost if a later batch fails.</p>
+   *
+   * <p>The writes of a batch go through {@link #runInWriteBatch(Supplier)}, which saves the rows one at a time unless the
+   * implementation combines them. Combining is opt-in, e.g. with {@code EbeanLocalDAO#setCombineEntityTableWrites},
+   * since hooks reading the entity tables through other DAOs don't see the pending writes. Without it, the gain over
+   * individual adds is limited to the batched reads and the single transaction per batch.</p>
+   *
+   * <p>Several updates of the same (urn, aspect) pair are applied in order, each one seeing the value written by the
+   * previous one.</p>
+   *
+   * @param updates the list of {@link UrnAspectUpdate} to apply
+   * @param maxTransactionRetry the maximum number of times to retry the transaction of a batch
+   * @param trackingContext the tracking context for the operation
+   * @return the new value of each update, in the order of the updates, or null if the update was skipped by an aspect callback
+   */
+  @Nonnull
+  public List<RecordTemplate> addBulk(@Nonnull List<UrnAspectUpdate<URN, ? extends RecordTemplate>> updates,
+      int maxTransactionRetry, @Nullable IngestionTrackingContext trackingContext) {
+
+    // first check that all the aspects are valid
+    updates.stream().map(UrnAspectUpdate::getAspectClass).forEach(this::checkValidAspect);
+
+    final List<RecordTemplate> newValues = new ArrayList<>(updates.size());
+    for (int start = 0; start < updates.size(); start += _bulkAddBatchSize) {
+      final List<UrnAspectUpdate<URN, ? extends RecordTemplate>> batch =
+          updates.subList(start, Math.min(updates.size(), start + _bulkAddBatchSize));
+      final List<AddResult<? extends RecordTemplate>> results =
+          runInWriteTransaction(() -> runInWriteBatch(() -> addBulkBatch(batch, trackingContext)), maxTransactionRetry);
+
+      // the batch is committed, handle post-update hooks and send the audit events before moving on to the next batch
+      for (int i = 0; i < batch.size(); i++) {
+        final UrnAspectUpdate<URN, ? extends RecordTemplate> update = batch.get(i);
+        final AddResult<? extends RecordTemplate> result = results.get(i);
+        if (result == null) {
+          newValues.add(null);
+        } else if (update.getIngestionParams().isTestMode()) {
+          // skip MAE producing and post update hook in test mode, same as add
+          newValues.add(result.getNewValue());
+        } else {
+          newValues.add(unwrapAddResult(update.getUrn(), result, update.getAuditStamp(), trackingContext));
+        }
+      }
+    }
+    return newValues;
+  }
+
+  /**
+   * Same as {@link #addBulk(List, int, IngestionTrackingContext)} with the default max transaction retry.
+   */
+  @Nonnull
+  public List<RecordTemplate> addBulk(@Nonnull List<UrnAspectUpdate<URN, ? extends RecordTemplate>> updates,
+      @Nullable IngestionTrackingContext trackingContext) {
+    return addBulk(updates, DEFAULT_MAX_TRANSACTION_RETRY, trackingContext);
+  }
+
+  /**
+   * Applies a batch of bulk updates. Must be called within a transaction so that a retry re-reads the latest values.
+   */
+  @Nonnull
+  private List<AddResult<? extends RecordTemplate>> addBulkBatch(
+      @Nonnull List<UrnAspectUpdate<URN, ? extends RecordTemplate>> batch, @Nullable IngestionTrackingContext trackingContext) {
+
+    // read the latest value of every (urn, aspect) pair of the batch, one call per test mode
+    final Map<Boolean, Set<AspectKey<URN, ? extends RecordTemplate>>> keysByTestMode = new HashMap<>();
+    for (UrnAspectUpdate<URN, ? extends RecordTemplate> update : batch) {
+      keysByTestMode.computeIfAbsent(update.getIngestionParams().isTestMode(), unused -> new HashSet<>())
+          .add(new AspectKey<>(update.getAspectClass(), update.getUrn(), LATEST_VERSION));
+    }
+    final Map<Boolean, Map<AspectKey<URN, ? extends RecordTemplate>, AspectEntry<? extends RecordTemplate>>> latestByTestMode =
+        new HashMap<>();
+    keysByTestMode.forEach((isTestMode, keys) -> latestByTestMode.put(isTestMode, new HashMap<>(getLatest(keys, isTestMode))));
+
+    final List<AddResult<? extends RecordTemplate>> results = new ArrayList<>(batch.size());
+    for (UrnAspectUpdate<URN, ? extends RecordTemplate> update : batch) {
+      results.add(addBulkHelper(update, latestByTestMode.get(update.getIngestionParams().isTestMode()), trackingContext));
+    }
+    return results;
+  }
+
+  @Nullable
+  private <ASPECT extends RecordTemplate> AddResult<ASPECT> addBulkHelper(@Nonnull UrnAspectUpdate<URN, ASPECT> update,
+      @Nonnull Map<AspectKey<URN, ? extends RecordTemplate>, AspectEntry<? extends RecordTemplate>> latestValues,
+      @Nullable IngestionTrackingContext trackingContext) {
+    final URN urn = update.getUrn();
+    final Class<ASPECT> aspectClass = update.getAspectClass();
+    final ASPECT value = update.getValue();
+    final AspectKey<URN, ASPECT> key = new AspectKey<>(aspectClass, urn, LATEST_VERSION);
+
+    final AspectEntry<ASPECT> latest = (AspectEntry<ASPECT>) latestValues.getOrDefault(key, new AspectEntry<>(null, null));
+    final AddResult<ASPECT> result = aspectUpdateHelper(urn,
+        new AspectUpdateLambda<>(aspectClass, ignored -> value, update.getIngestionParams()), update.getAuditStamp(),
+        trackingContext, false, latest);
+
+    // addCommon hands back the old value when the write is skipped; otherwise the next update of the same key must
+    // see the value that was just written
+    if (result != null && result.getNewValue() != result.getOldValue()) {
+      final ExtraInfo extraInfo = new ExtraInfo().setUrn(urn).setVersion(LATEST_VERSION).setAudit(update.getAuditStamp());
+      if (trackingContext != null && trackingContext.hasEmitTime()) {
+        extraInfo.setEmitTime(trackingContext.getEmitTime());
+      }
+      latestValues.put(key, new AspectEntry<>(result.getNewValue(), extraInfo));
+    }
+    return result;
+  }
+
   /**
    * Adds a new version of an aspect for an entity and triggeers callbacks for all containing aspects if registered.
    * @param urn the URN for the entity the aspect is attached to
@@ -744,6 +1091,9 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
 
     // Create the asset with aspects. Pass the negation since createNewAssetWithAspects expects isTestMode flag.
     int numRows = createNewAssetWithAspects(urn, aspectCreateLambdas, aspectValues, auditStamp, trackingContext, !isTestModeFalseForAll);
+    if (_latestAspectCache != null) {
+      aspectCreateLambdas.forEach(createLambda -> _latestAspectCache.invalidateAfterWrite(urn, createLambda.getAspectClass()));
+    }
     for (RecordTemplate aspectValue : aspectValues) {
       // For each aspect, we need to trigger emit MAE
       // In new asset creation, old value is null
@@ -787,15 +1137,21 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
       _aspectPostUpdateHooksMap.get(aspectClass).forEach(hook -> hook.accept(urn, newValue));
     }
 
+    // The values are returned to the caller, copy them when the events are sent later on
+    final ASPECT eventOldValue = _asyncEventEmitter == null ? oldValue : copyAspect(oldValue);
+    final ASPECT eventNewValue = _asyncEventEmitter == null ? newValue : copyAspect(newValue);
+
     // Produce MAE after a successful update
     if (_emitAuditEvent) {
       // https://jira01.corp.linkedin.com:8443/browse/APA-80115
       if (_alwaysEmitAuditEvent || !oldAndNewEqual) {
-        if (_trackingProducer != null) {
-          _trackingProducer.produceMetadataAuditEvent(urn, oldValue, newValue);
-        } else {
-          _producer.produceMetadataAuditEvent(urn, oldValue, newValue);
-        }
+        emitAuditEvent(urn, MAE_TOPIC, () -> {
+          if (_trackingProducer != null) {
+            _trackingProducer.produceMetadataAuditEvent(urn, eventOldValue, eventNewValue);
+          } else {
+            _producer.produceMetadataAuditEvent(urn, eventOldValue, eventNewValue);
+          }
+        });
       }
     }
 
@@ -803,12 +1159,15 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     // Produce aspect specific MAE after a successful update
     if (_emitAspectSpecificAuditEvent) {
       if (_alwaysEmitAspectSpecificAuditEvent || !oldAndNewEqual) {
-        if (_trackingProducer != null) {
-          _trackingProducer.produceAspectSpecificMetadataAuditEvent(urn, oldValue, newValue, aspectClass, auditStamp,
-              trackingContext, IngestionMode.LIVE);
-        } else {
-          _producer.produceAspectSpecificMetadataAuditEvent(urn, oldValue, newValue, aspectClass, auditStamp, IngestionMode.LIVE);
-        }
+        emitAuditEvent(urn, aspectSpecificMaeTopic(aspectClass), () -> {
+          if (_trackingProducer != null) {
+            _trackingProducer.produceAspectSpecificMetadataAuditEvent(urn, eventOldValue, eventNewValue, aspectClass,
+                auditStamp, trackingContext, IngestionMode.LIVE);
+          } else {
+            _producer.produceAspectSpecificMetadataAuditEvent(urn, eventOldValue, eventNewValue, aspectClass, auditStamp,
+                IngestionMode.LIVE);
+          }
+        });
       }
     }
 
@@ -823,13 +1182,16 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
 
     if (_emitAspectSpecificAuditEvent) {
       // For delete operation, the new value is always null
-      if (_trackingProducer != null) {
-        _trackingProducer.produceAspectSpecificMetadataAuditEvent(urn, oldValue, null, result.getKlass(), auditStamp,
-            trackingContext, IngestionMode.LIVE, changeType);
-      } else {
-        _producer.produceAspectSpecificMetadataAuditEvent(urn, oldValue, null, result.getKlass(), auditStamp,
-            IngestionMode.LIVE, changeType);
-      }
+      final ASPECT eventOldValue = _asyncEventEmitter == null ? oldValue : copyAspect(oldValue);
+      emitAuditEvent(urn, aspectSpecificMaeTopic(result.getKlass()), () -> {
+        if (_trackingProducer != null) {
+          _trackingProducer.produceAspectSpecificMetadataAuditEvent(urn, eventOldValue, null, result.getKlass(), auditStamp,
+              trackingContext, IngestionMode.LIVE, changeType);
+        } else {
+          _producer.produceAspectSpecificMetadataAuditEvent(urn, eventOldValue, null, result.getKlass(), auditStamp,
+              IngestionMode.LIVE, changeType);
+        }
+      });
     }
 
     return oldValue;
@@ -929,7 +1291,7 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     // default test mode is false being set in
     // {@link #rawAdd(Urn, RecordTemplate, AuditStamp, IngestionTrackingContext, IngestionParams)}}
     final AddResult<ASPECT> result =
-        runInTransactionWithRetry(() -> aspectUpdateHelper(urn, updateLambda, auditStamp, trackingContext, isRawUpdate),
+        runInWriteTransaction(() -> aspectUpdateHelper(urn, updateLambda, auditStamp, trackingContext, isRawUpdate),
             maxTransactionRetry);
 
     // skip MAE producing and post update hook in test mode or if the result is null (no actual update with addCommon)
@@ -959,7 +1321,7 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     aspectCreateLambdas.forEach(aspectCreateLambda -> checkValidAspect(aspectCreateLambda.getAspectClass()));
 
     // create aspects and process callbacks in a single transaction
-    return runInTransactionWithRetry(() -> {
+    return runInWriteTransaction(() -> {
       return createAspectsWithCallbacks(urn, aspectValues, aspectCreateLambdas, auditStamp, trackingContext);
       }, maxTransactionRetry
     );
@@ -1036,7 +1398,7 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
         ? new IngestionParams().setIngestionMode(IngestionMode.LIVE).setTestMode(false) : ingestionParams;
 
     final Map<Class<?>, RecordTemplate> results = new HashMap<>();
-    runInTransactionWithRetry(() -> {
+    runInWriteTransaction(() -> {
         aspectClasses.forEach(aspectClass -> {
           try {
             RecordTemplate deletedAspect = delete(urn, aspectClass, auditStamp, maxTransactionRetry, trackingContext);
@@ -1047,6 +1409,9 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
         });
 
       permanentDelete(urn, nonNullIngestionParams.isTestMode());
+      if (_latestAspectCache != null) {
+        _latestAspectCache.invalidateAfterWrite(urn, getValidMetadataAspects());
+      }
       return results;
       }, maxTransactionRetry);
 
@@ -1118,7 +1483,7 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
       @Nullable IngestionTrackingContext trackingContext) {
 
     // entire delete operation should be atomic
-    final Collection<RecordTemplate> results = runInTransactionWithRetry(() -> aspectClasses.stream()
+    final Collection<RecordTemplate> results = runInWriteTransaction(() -> aspectClasses.stream()
         .map(x -> delete(urn, x, auditStamp, maxTransactionRetry, trackingContext))
         .collect(Collectors.toList()), maxTransactionRetry);
 
@@ -1162,7 +1527,7 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
       @Nonnull AuditStamp auditStamp, int maxTransactionRetry, @Nullable IngestionTrackingContext trackingContext) {
     checkValidAspect(aspectClass);
 
-    final AddResult<ASPECT> result = runInTransactionWithRetry(() -> {
+    final AddResult<ASPECT> result = runInWriteTransaction(() -> {
       final AspectEntry<ASPECT> latest = getLatest(urn, aspectClass, false);
       final IngestionParams ingestionParams = new IngestionParams().setIngestionMode(IngestionMode.LIVE);
       return addCommon(urn, latest, null, aspectClass, auditStamp, new DefaultEqualityTester<>(), trackingContext, ingestionParams);
@@ -1396,6 +1761,20 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
   public abstract <ASPECT extends RecordTemplate> ListResult<URN> listUrns(@Nullable IndexFilter indexFilter,
       @Nullable IndexSortCriterion indexSortCriterion, int start, int pageSize);
 
+  /**
+   * Similar to {@link #listUrns(IndexFilter, IndexSortCriterion, Urn, int)} but returns the page with pagination
+   * information. The page starts after the given (sort value, urn) in the (sort criterion, urn) order, so deep pages are
+   * as cheap as the first one unlike {@link #listUrns(IndexFilter, IndexSortCriterion, int, int)}.
+   *
+   * @param lastCursor next cursor of the previous page. For the first page, this should be set as NULL
+   * @param includeTotalCount whether to also count all the urns satisfying the filter conditions, which takes an extra query
+   * @return a {@link CursorListResult} containing a list of urns and the cursor of the next page
+   */
+  @Nonnull
+  public abstract CursorListResult<URN, IndexSortCursor<URN>> listUrnsAfter(@Nullable IndexFilter indexFilter,
+      @Nullable IndexSortCriterion indexSortCriterion, @Nullable IndexSortCursor<URN> lastCursor, int pageSize,
+      boolean includeTotalCount);
+
   /**
    * Similar to {@link #listUrns(IndexFilter, Urn, int)}. This is to get all urns with type URN.
    */
@@ -1499,6 +1878,35 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
         .build();
   }
 
+  /**
+   * Similar to {@link #getAspects(Set, IndexFilter, IndexSortCriterion, Urn, int)}
+   * but returns a list of aspects with pagination information, see
+   * {@link #listUrnsAfter(IndexFilter, IndexSortCriterion, IndexSortCursor, int, boolean)}.
+   *
+   * @param includeTotalCount whether to also count all the urns satisfying the filter conditions
+   * @return a {@link CursorListResult} containing an ordered list of latest versions of aspects along with urns returned
+   *        from local secondary index satisfying given filter conditions and the cursor of the next page
+   */
+  @Nonnull
+  public CursorListResult<UrnAspectEntry<URN>, IndexSortCursor<URN>> getAspectsAfter(
+      @Nonnull Set<Class<? extends RecordTemplate>> aspectClasses, @Nullable IndexFilter indexFilter,
+      @Nullable IndexSortCriterion indexSortCriterion, @Nullable IndexSortCursor<URN> lastCursor, int pageSize,
+      boolean includeTotalCount) {
+
+    final CursorListResult<URN, IndexSortCursor<URN>> listResult =
+        listUrnsAfter(indexFilter, indexSortCriterion, lastCursor, pageSize, includeTotalCount);
+
+    final List<UrnAspectEntry<URN>> urnAspectEntries = getUrnAspectEntries(aspectClasses, listResult.getValues());
+
+    return CursorListResult.<UrnAspectEntry<URN>, IndexSortCursor<URN>>builder().values(urnAspectEntries)
+        .metadata(listResult.getMetadata())
+        .nextCursor(listResult.getNextCursor())
+        .havingMore(listResult.isHavingMore())
+        .totalCount(listResult.getTotalCount())
+        .pageSize(listResult.getPageSize())
+        .build();
+  }
+
   /**
    * Runs the given lambda expression in a transaction with a limited number of retries.
    *
@@ -1522,6 +1930,86 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
   protected abstract <ASPECT extends RecordTemplate> AspectEntry<ASPECT> getLatest(@Nonnull URN urn,
       @Nonnull Class<ASPECT> aspectClass, boolean isTestMode);
 
+  /**
+   * Gets the latest version of many aspects for many entities.
+   *
+   * <p>The default implementation calls {@link #getLatest(Urn, Class, boolean)} for each key. Implementations should
+   * override it to read all the keys in as few queries as possible.</p>
+   *
+   * @param keys the keys to get, the version of each key is ignored
+   * @param isTestMode whether the test mode is enabled or not
+   * @return a mapping of each given key to its {@link AspectEntry}, keys that don't exist may be missing from the map
+   */
+  @Nonnull
+  protected Map<AspectKey<URN, ? extends RecordTemplate>, AspectEntry<? extends RecordTemplate>> getLatest(
+      @Nonnull Set<AspectKey<URN, ? extends RecordTemplate>> keys, boolean isTestMode) {
+    final Map<AspectKey<URN, ? extends RecordTemplate>, AspectEntry<? extends RecordTemplate>> results = new HashMap<>();
+    for (AspectKey<URN, ? extends RecordTemplate> key : keys) {
+      results.put(key, getLatest(key.getUrn(), key.getAspectClass(), isTestMode));
+    }
+    return results;
+  }
+
+  /**
+   * Serves the latest version keys of a batch get from the latest aspect cache when enabled, and loads the other keys
+   * with the given loader. Implementations of {@link #get(Set)} call it with their storage read as the loader.
+   *
+   * @param keys the keys to get
+   * @param loader reads the given keys from the storage
+   * @return a mapping of each given key to its value
+   */
+  @Nonnull
+  protected Map<AspectKey<URN, ? extends RecordTemplate>, Optional<? extends RecordTemplate>> getThroughLatestAspectCache(
+      @Nonnull Set<AspectKey<URN, ? extends RecordTemplate>> keys,
+      @Nonnull Function<Set<AspectKey<URN, ? extends RecordTemplate>>,
+          Map<AspectKey<URN, ? extends RecordTemplate>, Optional<? extends RecordTemplate>>> loader) {
+    if (_latestAspectCache == null) {
+      return loader.apply(keys);
+    }
+    final Map<AspectKey<URN, ? extends RecordTemplate>, Optional<? extends RecordTemplate>> results = new HashMap<>();
+    final Set<AspectKey<URN, ? extends RecordTemplate>> misses = new HashSet<>();
+    for (AspectKey<URN, ? extends RecordTemplate> key : keys) {
+      final Optional<? extends RecordTemplate> cached =
+          key.getVersion() == LATEST_VERSION ? _latestAspectCache.get(key.getUrn(), key.getAspectClass()) : null;
+      if (cached != null) {
+        results.put(key, cached);
+      } else {
+        misses.add(key);
+      }
+    }
+    if (!misses.isEmpty()) {
+      // taken before loading, so that values loaded before a concurrent write are not cached after it
+      final long readTicket = _latestAspectCache.readTicket();
+      loader.apply(misses).forEach((key, value) -> {
+        if (key.getVersion() == LATEST_VERSION) {
+          _latestAspectCache.put(key.getUrn(), key.getAspectClass(), value, readTicket);
+        }
+        results.put(key, value);
+      });
+    }
+    return results;
+  }
+
+  /**
+   * Runs a write block in a transaction. When the latest aspect cache is enabled, the keys written by the block are
+   * invalidated again once the transaction completes.
+   */
+  private <T> T runInWriteTransaction(@Nonnull Supplier<T> block, int maxTransactionRetry) {
+    if (_latestAspectCache == null) {
+      return runInTransactionWithRetry(block, maxTransactionRetry);
+    }
+    return _latestAspectCache.runInWriteScope(() -> runInTransactionWithRetry(block, maxTransactionRetry));
+  }
+
+  /**
+   * Runs a block doing several aspect writes within the current write transaction. Implementations may defer the
+   * storage writes of the block and combine them, as long as they are all applied before this method returns and the
+   * reads done by the block see the values written before them. Runs the block as is by default.
+   */
+  protected <T> T runInWriteBatch(@Nonnull Supplier<T> block) {
+    return block.get();
+  }
+
   /**
    * Gets the next version to use for an entity's specific aspect type.
    *
@@ -1686,7 +2174,7 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     if (_urnClass == null) { // _urnClass can be null in testing scenarios
       throw new IllegalStateException("urn class is null, unable to convert string to urn");
     }
-    final Set<URN> urnSet = urns.stream().map(x -> getUrnFromString(x, _urnClass)).collect(Collectors.toSet());
+    final Set<URN> urnSet = urns.stream().map(UrnFactories.factory(_urnClass)).collect(Collectors.toSet());
 
     // convert string to aspect class
     Set<Class<? extends RecordTemplate>> aspectSet = null;
@@ -1725,6 +2213,140 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     return backfill(mode, aspectClasses, new HashSet(urnList));
   }
 
+  /**
+   * Emits backfill MAEs for all the entities of a type, page by page, and reports the last urn of every completed page
+   * so that a stopped backfill can be resumed from it.
+   *
+   * <p>Pages are scanned with {@link #listUrnsForBackfill(Class, Urn, int)}. While a page is emitted, the next page is
+   * listed and read in the background, at most one page ahead. Events of a page are emitted by parallelism threads, one
+   * task per urn so that the events of an urn keep their order. Tasks are queued in a bounded queue and submitted by the
+   * calling thread once it is full, which keeps the scan from running ahead of the producer.</p>
+   *
+   * <p>The checkpoint consumer is called with the last urn of a page only once all its events are emitted. If a page
+   * fails, the exception is rethrown and the checkpoint is not advanced, so the page is emitted again on resume.</p>
+   *
+   * @param mode backfill mode to scope the backfill process
+   * @param aspectClasses set of aspects to backfill
+   * @param urnClazz the type of urn to backfill
+   * @param lastUrn the last checkpointed urn to resume from, null to start from the first urn
+   * @param pageSize the number of entities per page
+   * @param parallelism the number of threads emitting events
+   * @param checkpoint called with the last urn of every completed page
+   * @return summary of the backfill
+   */
+  @Nonnull
+  public StreamingBackfillResult<URN> streamingBackfill(@Nonnull BackfillMode mode,
+      @Nonnull Set<Class<? extends RecordTemplate>> aspectClasses, @Nonnull Class<URN> urnClazz, @Nullable URN lastUrn,
+      int pageSize, int parallelism, @Nonnull Consumer<URN> checkpoint) {
+    if (pageSize <= 0 || parallelism <= 0) {
+      throw new IllegalArgumentException(
+          String.format("Page size and parallelism must be positive, got %d and %d", pageSize, parallelism));
+    }
+    checkValidAspects(aspectClasses);
+
+    final ExecutorService prefetchExecutor = Executors.newSingleThreadExecutor();
+    final ThreadPoolExecutor emitExecutor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(parallelism * 2), new ThreadPoolExecutor.CallerRunsPolicy());
+
+    int pageCount = 0;
+    long urnCount = 0;
+    long eventCount = 0;
+    URN checkpointedUrn = null;
+    try {
+      CompletableFuture<BackfillPage<URN>> nextPage =
+          CompletableFuture.supplyAsync(() -> readBackfillPage(aspectClasses, urnClazz, lastUrn, pageSize), prefetchExecutor);
+
+      while (true) {
+        final BackfillPage<URN> page = nextPage.join();
+        if (page.getUrns().isEmpty()) {
+          break;
+        }
+
+        final URN pageLastUrn = page.getUrns().get(page.getUrns().size() - 1);
+        nextPage = page.getUrns().size() < pageSize
+            ? CompletableFuture.completedFuture(new BackfillPage<>(Collections.emptyList(), Collections.emptyMap()))
+            : CompletableFuture.supplyAsync(() -> readBackfillPage(aspectClasses, urnClazz, pageLastUrn, pageSize),
+                prefetchExecutor);
+
+        eventCount += emitBackfillPage(mode, page, emitExecutor);
+        urnCount += page.getUrns().size();
+        pageCount++;
+        checkpoint.accept(pageLastUrn);
+        checkpointedUrn = pageLastUrn;
+        log.debug("Backfilled page {} of {}, last urn {}", pageCount, urnClazz.getSimpleName(), pageLastUrn);
+      }
+    } catch (CompletionException e) {
+      log.error("Streaming backfill of {} stopped after urn {}", urnClazz.getSimpleName(), checkpointedUrn, e.getCause());
+      throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+    } finally {
+      prefetchExecutor.shutdownNow();
+      emitExecutor.shutdownNow();
+    }
+
+    return new StreamingBackfillResult<>(pageCount, urnCount, eventCount, checkpointedUrn);
+  }
+
+  /**
+   * Lists a page of urns to backfill, in urn order, after the given urn. Defaults to
+   * {@link #listUrns(Class, Urn, int)}; DAOs may override it with a cheaper scan.
+   */
+  @Nonnull
+  protected List<URN> listUrnsForBackfill(@Nonnull Class<URN> urnClazz, @Nullable URN lastUrn, int pageSize) {
+    return listUrns(urnClazz, lastUrn, pageSize);
+  }
+
+  /**
+   * Urns of a backfill page, in scan order, along with their aspects.
+   */
+  @Value
+  private static class BackfillPage<URN extends Urn> {
+    List<URN> urns;
+    Map<URN, Map<Class<? extends RecordTemplate>, Optional<? extends RecordTemplate>>> aspects;
+  }
+
+  @Nonnull
+  private BackfillPage<URN> readBackfillPage(@Nonnull Set<Class<? extends RecordTemplate>> aspectClasses,
+      @Nonnull Class<URN> urnClazz, @Nullable URN lastUrn, int pageSize) {
+    final List<URN> urns = listUrnsForBackfill(urnClazz, lastUrn, pageSize);
+    if (urns.isEmpty()) {
+      return new BackfillPage<>(urns, Collections.emptyMap());
+    }
+    return new BackfillPage<>(urns, get(aspectClasses, new HashSet<>(urns)));
+  }
+
+  /**
+   * Emits the events of a page on the given executor and waits for all of them.
+   *
+   * @return the number of emitted events
+   */
+  private long emitBackfillPage(@Nonnull BackfillMode mode, @Nonnull BackfillPage<URN> page,
+      @Nonnull ExecutorService emitExecutor) {
+    final List<Future<Integer>> tasks = new ArrayList<>(page.getAspects().size());
+    page.getAspects().forEach((urn, aspects) -> tasks.add(emitExecutor.submit(() -> {
+      int count = 0;
+      for (Optional<? extends RecordTemplate> aspect : aspects.values()) {
+        if (aspect.isPresent()) {
+          backfill(mode, aspect.get(), urn);
+          count++;
+        }
+      }
+      return count;
+    })));
+
+    long eventCount = 0;
+    try {
+      for (Future<Integer> task : tasks) {
+        eventCount += task.get();
+      }
+    } catch (ExecutionException e) {
+      throw new CompletionException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CompletionException(e);
+    }
+    return eventCount;
+  }
+
   /**
    * Emits backfill MAE for an aspect of an entity depending on the backfill mode.
    *
@@ -1823,6 +2445,53 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
   public abstract <ASPECT extends RecordTemplate> ListResult<ASPECT> list(@Nonnull Class<ASPECT> aspectClass, int start,
       int pageSize);
 
+  /**
+   * Similar to {@link #listVersions(Class, Urn, int, int)} but the page starts after the given version instead of an
+   * offset.
+   *
+   * @param lastVersion next cursor of the previous page. For the first page, this should be set as NULL
+   * @param includeTotalCount whether to also count all the versions, which takes an extra query
+   * @return a {@link CursorListResult} containing a list of version numbers and the cursor of the next page
+   */
+  @Nonnull
+  public abstract <ASPECT extends RecordTemplate> CursorListResult<Long, Long> listVersionsAfter(
+      @Nonnull Class<ASPECT> aspectClass, @Nonnull URN urn, @Nullable Long lastVersion, int pageSize,
+      boolean includeTotalCount);
+
+  /**
+   * Similar to {@link #listUrns(Class, int, int)} but the page starts after the given urn instead of an offset.
+   *
+   * @param lastUrn next cursor of the previous page. For the first page, this should be set as NULL
+   * @param includeTotalCount whether to also count all the urns, which takes an extra query
+   * @return a {@link CursorListResult} containing a list of URN and the cursor of the next page
+   */
+  @Nonnull
+  public abstract <ASPECT extends RecordTemplate> CursorListResult<URN, URN> listUrnsAfter(
+      @Nonnull Class<ASPECT> aspectClass, @Nullable URN lastUrn, int pageSize, boolean includeTotalCount);
+
+  /**
+   * Similar to {@link #list(Class, Urn, int, int)} but the page starts after the given version instead of an offset.
+   *
+   * @param lastVersion next cursor of the previous page. For the first page, this should be set as NULL
+   * @param includeTotalCount whether to also count all the versions, which takes an extra query
+   * @return a {@link CursorListResult} containing a list of aspects and the cursor of the next page
+   */
+  @Nonnull
+  public abstract <ASPECT extends RecordTemplate> CursorListResult<ASPECT, Long> listAfter(
+      @Nonnull Class<ASPECT> aspectClass, @Nonnull URN urn, @Nullable Long lastVersion, int pageSize,
+      boolean includeTotalCount);
+
+  /**
+   * Similar to {@link #list(Class, int, int)} but the page starts after the given urn instead of an offset.
+   *
+   * @param lastUrn next cursor of the previous page. For the first page, this should be set as NULL
+   * @param includeTotalCount whether to also count all the aspects, which takes an extra query
+   * @return a {@link CursorListResult} containing a list of aspects and the cursor of the next page
+   */
+  @Nonnull
+  public abstract <ASPECT extends RecordTemplate> CursorListResult<ASPECT, URN> listAfter(
+      @Nonnull Class<ASPECT> aspectClass, @Nullable URN lastUrn, int pageSize, boolean includeTotalCount);
+
   /**
    *  Gets the count of an aggregation specified by the aspect and field to group on.
    * @param indexFilter {@link IndexFilter} that defines the filter conditions
@@ -1873,6 +2542,15 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     return getWithExtraInfo(aspectClass, urn, LATEST_VERSION);
   }
 
+  /**
+   * Async version of {@link #getWithExtraInfo(Set)}, which runs on the read executor, see {@link #getAsync(Set)}.
+   */
+  @Nonnull
+  public CompletableFuture<Map<AspectKey<URN, ? extends RecordTemplate>, AspectWithExtraInfo<? extends RecordTemplate>>>
+      getWithExtraInfoAsync(@Nonnull Set<AspectKey<URN, ? extends RecordTemplate>> keys) {
+    return CompletableFuture.supplyAsync(() -> getWithExtraInfo(keys), getReadExecutor());
+  }
+
   /**
    * Generates a new string ID that's guaranteed to be globally unique.
    */
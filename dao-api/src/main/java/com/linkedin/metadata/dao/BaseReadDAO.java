@@ -4,6 +4,7 @@ import com.linkedin.common.urn.Urn;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.data.template.UnionTemplate;
 import com.linkedin.metadata.dao.exception.InvalidMetadataType;
+import com.linkedin.metadata.dao.utils.ExecutorUtils;
 import com.linkedin.metadata.dao.utils.ModelUtils;
 import com.linkedin.metadata.validator.AspectValidator;
 import java.util.Collections;
@@ -12,6 +13,8 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 
@@ -24,6 +27,9 @@ public abstract class BaseReadDAO<ASPECT_UNION extends UnionTemplate, URN extend
   // A set of pre-computed valid metadata types
   private final Set<Class<? extends RecordTemplate>> _validMetadataAspects;
 
+  // Executor of the async reads, shared by all DAOs unless set otherwise
+  private Executor _readExecutor = null;
+
   public BaseReadDAO(@Nonnull Class<ASPECT_UNION> aspectUnionClass) {
     AspectValidator.validateAspectUnionSchema(aspectUnionClass);
 
@@ -34,6 +40,14 @@ public abstract class BaseReadDAO<ASPECT_UNION extends UnionTemplate, URN extend
     _validMetadataAspects = aspects;
   }
 
+  /**
+   * Returns the aspect classes of the aspect union of this DAO.
+   */
+  @Nonnull
+  protected Set<Class<? extends RecordTemplate>> getValidMetadataAspects() {
+    return _validMetadataAspects;
+  }
+
   /**
    * Batch retrieves metadata aspects using multiple {@link AspectKey}s.
    *
@@ -125,6 +139,55 @@ public abstract class BaseReadDAO<ASPECT_UNION extends UnionTemplate, URN extend
         .collect(Collectors.toMap(Map.Entry::getKey, entry -> (Optional<ASPECT>) entry.getValue().get(aspectClass)));
   }
 
+  /**
+   * Sets the executor the async reads such as {@link #getAsync(Set)} run on. It should be bounded by the number of
+   * connections of the underlying data source, since each running read holds one. Defaults to
+   * {@link ExecutorUtils#getDefaultReadExecutor()}, shared by all DAOs.
+   *
+   * @param readExecutor executor to run the reads on. The DAO does not shut it down.
+   */
+  public void setReadExecutor(@Nonnull Executor readExecutor) {
+    _readExecutor = readExecutor;
+  }
+
+  /**
+   * Returns the executor the async reads run on, see {@link #setReadExecutor(Executor)}. Callers composing their own
+   * blocking reads of this DAO asynchronously should run them on it too.
+   */
+  @Nonnull
+  public Executor getReadExecutor() {
+    return _readExecutor != null ? _readExecutor : ExecutorUtils.getDefaultReadExecutor();
+  }
+
+  /**
+   * Async version of {@link #get(Set)}, which runs the blocking read on the read executor (see
+   * {@link #setReadExecutor(Executor)}) so that callers can compose multiple reads without holding a thread for each.
+   * Reads run outside of any transaction started by the calling thread.
+   */
+  @Nonnull
+  public CompletableFuture<Map<AspectKey<URN, ? extends RecordTemplate>, Optional<? extends RecordTemplate>>> getAsync(
+      @Nonnull Set<AspectKey<URN, ? extends RecordTemplate>> keys) {
+    return CompletableFuture.supplyAsync(() -> get(keys), getReadExecutor());
+  }
+
+  /**
+   * Async version of {@link #get(Class, Urn)}, see {@link #getAsync(Set)}.
+   */
+  @Nonnull
+  public <ASPECT extends RecordTemplate> CompletableFuture<Optional<ASPECT>> getAsync(
+      @Nonnull Class<ASPECT> aspectClass, @Nonnull URN urn) {
+    return CompletableFuture.supplyAsync(() -> get(aspectClass, urn), getReadExecutor());
+  }
+
+  /**
+   * Async version of {@link #get(Set, Set)}, see {@link #getAsync(Set)}.
+   */
+  @Nonnull
+  public CompletableFuture<Map<URN, Map<Class<? extends RecordTemplate>, Optional<? extends RecordTemplate>>>> getAsync(
+      @Nonnull Set<Class<? extends RecordTemplate>> aspectClasses, @Nonnull Set<URN> urns) {
+    return CompletableFuture.supplyAsync(() -> get(aspectClasses, urns), getReadExecutor());
+  }
+
   protected void checkValidAspect(@Nonnull Class<? extends RecordTemplate> aspectClass) {
     if (!_validMetadataAspects.contains(aspectClass)) {
       throw new InvalidMetadataType(aspectClass + " is not a supported metadata aspect type");
@@ -0,0 +1,42 @@
+package com.linkedin.metadata.dao;
+
+import com.linkedin.metadata.query.ListResultMetadata;
+import java.util.List;
+import javax.annotation.Nullable;
+import lombok.Builder;
+import lombok.Value;
+
+
+/**
+ * An immutable value class that holds a page of a keyset (cursor) paginated list operation. Unlike {@link ListResult},
+ * the next page is located from the last element of this page instead of an offset, so fetching a deep page does not
+ * scan the rows of the previous pages.
+ *
+ * @param <T> the result type
+ * @param <CURSOR> the type of the cursor, e.g. the last urn or the last version of the page
+ */
+@Builder
+@Value
+public class CursorListResult<T, CURSOR> {
+
+  // A single page of results
+  List<T> values;
+
+  // Related search result metadata
+  @Nullable
+  ListResultMetadata metadata;
+
+  // Cursor to pass to fetch the next page, null if there's no more results
+  @Nullable
+  CURSOR nextCursor;
+
+  // Whether there's more results
+  boolean havingMore;
+
+  // Total number of hits, null unless requested as it requires a count query
+  @Nullable
+  Integer totalCount;
+
+  // Size of each page
+  int pageSize;
+}
@@ -0,0 +1,27 @@
+package com.linkedin.metadata.dao;
+
+import com.linkedin.common.urn.Urn;
+import javax.annotation.Nullable;
+import lombok.NonNull;
+import lombok.Value;
+
+
+/**
+ * A value class that holds the position of the last urn of a page listed from local secondary index in the
+ * (sort value, urn) order, see {@link BaseLocalDAO#listUrnsAfter(com.linkedin.metadata.query.IndexFilter,
+ * com.linkedin.metadata.query.IndexSortCriterion, IndexSortCursor, int, boolean)}.
+ *
+ * <p>The sort value is the one the urn had when its page was read, so the next page starts from the same position even
+ * if that urn was updated or deleted in the meantime.
+ */
+@Value
+public class IndexSortCursor<URN extends Urn> {
+
+  // Last urn of the page
+  @NonNull
+  URN urn;
+
+  // Value of the sort criterion of the last urn, null if it has none or if the page is not sorted
+  @Nullable
+  String sortValue;
+}
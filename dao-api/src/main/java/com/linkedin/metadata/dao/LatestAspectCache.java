@@ -0,0 +1,249 @@
+package com.linkedin.metadata.dao;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.RecordTemplate;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Size and TTL bounded cache of the latest value of aspects, keyed by (urn, aspect class). Used by {@link BaseLocalDAO}
+ * when enabled with {@link BaseLocalDAO#enableLatestAspectCache(long, Duration)}.
+ *
+ * <p>The cache only serves the read path. The write path always reads the latest aspect from the storage within its
+ * transaction, since a cached value may miss a write done by another host.</p>
+ *
+ * <p>Writes done by this DAO invalidate the key as soon as the row is saved, and once more after the enclosing
+ * transaction completes (see {@link #runInWriteScope(Supplier)}). Writes done by other hosts are only visible after
+ * the TTL, unless they are reported through {@link #invalidate(Urn, Class)}.</p>
+ *
+ * <p>A read may load a value from the storage before a write and put it in the cache after the write invalidated the
+ * key. To keep such stale values out, reads take a {@link #readTicket()} before loading, and {@link #put} refuses a
+ * value whose ticket is older than the last write of the key or than the value already cached.</p>
+ */
+@Slf4j
+class LatestAspectCache {
+
+  /**
+   * Cache key. The urn is lower-cased since urns are matched case-insensitively by the storage.
+   */
+  @Value
+  private static class Key {
+    String urn;
+    Class<? extends RecordTemplate> aspectClass;
+  }
+
+  /**
+   * Cached latest value, along with the ticket of the read which loaded it.
+   */
+  @Value
+  private static class Entry {
+    Optional<? extends RecordTemplate> value;
+    long readTicket;
+  }
+
+  private final Cache<Key, Entry> _cache;
+
+  // Logical clock ordering reads and writes. Each write of a key moves it forward.
+  private final AtomicLong _clock = new AtomicLong();
+
+  // Clock value of the last write of the recently written keys
+  private final Cache<Key, Long> _lastWrites;
+
+  // Read tickets below this value are refused, raised when a last write is evicted and by invalidateAll
+  private final AtomicLong _minReadTicket = new AtomicLong();
+
+  // Keys written by the write scope of the current thread, invalidated again once the scope ends
+  private final ThreadLocal<Map<Key, Urn>> _pendingInvalidations = new ThreadLocal<>();
+
+  private final List<BiConsumer<Urn, Class<? extends RecordTemplate>>> _invalidationListeners = new CopyOnWriteArrayList<>();
+
+  LatestAspectCache(long maximumSize, @Nonnull Duration expireAfterWrite) {
+    _cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(expireAfterWrite)
+        .recordStats()
+        .build();
+    // Once the last write of a key is evicted, reads which started before it can no longer be told apart, so the
+    // eviction raises the min read ticket. Runs on the evicting thread so that it happens before any later put.
+    _lastWrites = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(expireAfterWrite)
+        .executor(Runnable::run)
+        .<Key, Long>removalListener((key, lastWrite, cause) -> {
+          if (cause.wasEvicted() && lastWrite != null) {
+            _minReadTicket.accumulateAndGet(lastWrite, Math::max);
+          }
+        })
+        .build();
+  }
+
+  @Nonnull
+  private static Key key(@Nonnull Urn urn, @Nonnull Class<? extends RecordTemplate> aspectClass) {
+    return new Key(urn.toString().toLowerCase(Locale.ROOT), aspectClass);
+  }
+
+  /**
+   * Returns the ticket to pass to {@link #put} for a value about to be loaded from the storage. Must be taken before
+   * the load starts.
+   */
+  long readTicket() {
+    return _clock.get();
+  }
+
+  /**
+   * Returns the cached latest value, or null if it is not cached.
+   */
+  @Nullable
+  Optional<? extends RecordTemplate> get(@Nonnull Urn urn, @Nonnull Class<? extends RecordTemplate> aspectClass) {
+    final Key key = key(urn, aspectClass);
+    if (isPending(key)) {
+      return null;
+    }
+    final Entry cached = _cache.getIfPresent(key);
+    return cached == null ? null : cached.getValue().map(LatestAspectCache::copyAspect);
+  }
+
+  /**
+   * Caches a value loaded from the storage, unless the key was written since the read ticket was taken or the cached
+   * value was loaded by a more recent read.
+   */
+  void put(@Nonnull Urn urn, @Nonnull Class<? extends RecordTemplate> aspectClass,
+      @Nonnull Optional<? extends RecordTemplate> value, long readTicket) {
+    final Key key = key(urn, aspectClass);
+    if (isPending(key) || !isAfterLastWrite(key, readTicket)) {
+      return;
+    }
+    final Optional<? extends RecordTemplate> copy = value.map(LatestAspectCache::copyAspect);
+    // a write stamps its key before invalidating it, so either the write sees this entry and removes it, or this check
+    // sees the write
+    _cache.asMap().compute(key, (unused, cached) -> {
+      if (cached != null && cached.getReadTicket() >= readTicket) {
+        return cached;
+      }
+      return isAfterLastWrite(key, readTicket) ? new Entry(copy, readTicket) : cached;
+    });
+  }
+
+  /**
+   * Invalidates a key after a write done by this DAO. Listeners are notified once the write scope ends, or right away
+   * outside of a write scope.
+   */
+  void invalidateAfterWrite(@Nonnull Urn urn, @Nonnull Class<? extends RecordTemplate> aspectClass) {
+    final Key key = key(urn, aspectClass);
+    invalidate(key);
+    final Map<Key, Urn> pending = _pendingInvalidations.get();
+    if (pending != null) {
+      pending.put(key, urn);
+    } else {
+      notifyListeners(urn, aspectClass);
+    }
+  }
+
+  /**
+   * Invalidates the given aspects of an urn after a write done by this DAO, e.g. all the aspects of the union for a
+   * permanent delete. Every key is stamped, whether it is cached or not, so that reads in flight can't cache it back.
+   */
+  void invalidateAfterWrite(@Nonnull Urn urn, @Nonnull Collection<Class<? extends RecordTemplate>> aspectClasses) {
+    aspectClasses.forEach(aspectClass -> invalidateAfterWrite(urn, aspectClass));
+  }
+
+  /**
+   * Invalidates a key following a write reported by another host. Listeners are not notified.
+   */
+  void invalidate(@Nonnull Urn urn, @Nonnull Class<? extends RecordTemplate> aspectClass) {
+    invalidate(key(urn, aspectClass));
+  }
+
+  void invalidateAll() {
+    _minReadTicket.accumulateAndGet(_clock.incrementAndGet(), Math::max);
+    _cache.invalidateAll();
+  }
+
+  void addInvalidationListener(@Nonnull BiConsumer<Urn, Class<? extends RecordTemplate>> listener) {
+    _invalidationListeners.add(listener);
+  }
+
+  @Nonnull
+  CacheStats stats() {
+    return _cache.stats();
+  }
+
+  /**
+   * Runs a block that writes to the storage, usually a transaction. Keys written within the block are not served nor
+   * cached by the current thread until the block completes, and are invalidated again once it completes, whether it
+   * committed or not. Nested scopes are merged into the outermost one.
+   */
+  <T> T runInWriteScope(@Nonnull Supplier<T> block) {
+    if (_pendingInvalidations.get() != null) {
+      return block.get();
+    }
+    final Map<Key, Urn> pending = new LinkedHashMap<>();
+    _pendingInvalidations.set(pending);
+    try {
+      return block.get();
+    } finally {
+      _pendingInvalidations.remove();
+      // the transaction just completed, so reads which started before it may have loaded the old value
+      pending.keySet().forEach(this::invalidate);
+      pending.forEach((key, urn) -> notifyListeners(urn, key.getAspectClass()));
+    }
+  }
+
+  /**
+   * Aspects are mutable, so cached values are copied both ways to protect them from callers and update lambdas.
+   */
+  @Nonnull
+  @SuppressWarnings("unchecked")
+  private static <T extends RecordTemplate> T copyAspect(@Nonnull T value) {
+    try {
+      return (T) value.copy();
+    } catch (CloneNotSupportedException e) {
+      throw new IllegalStateException("Failed to copy aspect " + value.getClass().getCanonicalName(), e);
+    }
+  }
+
+  /**
+   * Stamps a write of the key, then drops its cached value.
+   */
+  private void invalidate(@Nonnull Key key) {
+    _lastWrites.asMap().merge(key, _clock.incrementAndGet(), Math::max);
+    _cache.invalidate(key);
+  }
+
+  private boolean isAfterLastWrite(@Nonnull Key key, long readTicket) {
+    final Long lastWrite = _lastWrites.getIfPresent(key);
+    return readTicket >= _minReadTicket.get() && (lastWrite == null || readTicket >= lastWrite);
+  }
+
+  private boolean isPending(@Nonnull Key key) {
+    final Map<Key, Urn> pending = _pendingInvalidations.get();
+    return pending != null && pending.containsKey(key);
+  }
+
+  private void notifyListeners(@Nonnull Urn urn, @Nonnull Class<? extends RecordTemplate> aspectClass) {
+    for (BiConsumer<Urn, Class<? extends RecordTemplate>> listener : _invalidationListeners) {
+      try {
+        listener.accept(urn, aspectClass);
+      } catch (RuntimeException e) {
+        log.warn("Latest aspect cache invalidation listener failed for {} {}", urn, aspectClass.getCanonicalName(), e);
+      }
+    }
+  }
+}
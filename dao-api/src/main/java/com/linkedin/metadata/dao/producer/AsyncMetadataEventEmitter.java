@@ -0,0 +1,277 @@
+package com.linkedin.metadata.dao.producer;
+
+import com.linkedin.common.urn.Urn;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.annotation.Nonnull;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Emits metadata audit events off the request thread. Used by {@link com.linkedin.metadata.dao.BaseLocalDAO} when
+ * enabled with {@code enableAsyncAuditEventEmission}, once the write transaction is committed.
+ *
+ * <p>Events are queued into one bounded queue per worker thread, the worker being picked by urn, so that the events of an
+ * urn are sent in the order they were submitted. A worker drains up to maxBatchSize events at once and sends them
+ * grouped by topic, keeping the order of the events within a topic. Submitting to a full queue blocks the caller until
+ * the worker catches up.</p>
+ *
+ * <p>Failures of the producer are logged and counted, they are no longer seen by the caller of the write.</p>
+ */
+@Slf4j
+public class AsyncMetadataEventEmitter implements AutoCloseable {
+
+  private static final long POLL_TIMEOUT_MS = 100;
+
+  /**
+   * Emission statistics. Latencies are averages in nanoseconds since the emitter was created.
+   */
+  @Value
+  public static class Stats {
+    /**
+     * Number of events queued and not sent yet.
+     */
+    long queueDepth;
+    long emittedCount;
+    long failedCount;
+
+    /**
+     * Number of submissions which had to wait for room in a full queue.
+     */
+    long backPressuredCount;
+
+    /**
+     * Number of events rejected because they were submitted after close.
+     */
+    long droppedCount;
+
+    /**
+     * Average time spent in the producer to send one event.
+     */
+    long averageEmitLatencyNanos;
+
+    /**
+     * Average and max time from submission to the event being sent.
+     */
+    long averageEndToEndLatencyNanos;
+    long maxEndToEndLatencyNanos;
+  }
+
+  @Value
+  private static class Event {
+    String topic;
+    Runnable emission;
+    long submittedNanos;
+  }
+
+  private final List<BlockingQueue<Event>> _queues;
+  private final ExecutorService _workers;
+  private final int _maxBatchSize;
+  // Submissions hold the read lock while they queue, close takes the write lock to set the closed flag, so that no event
+  // can be queued once close has started draining
+  private final ReadWriteLock _closeLock = new ReentrantReadWriteLock();
+  private volatile boolean _closed = false;
+
+  private final AtomicLong _pending = new AtomicLong();
+  private final LongAdder _emitted = new LongAdder();
+  private final LongAdder _failed = new LongAdder();
+  private final LongAdder _backPressured = new LongAdder();
+  private final LongAdder _dropped = new LongAdder();
+  private final LongAdder _emitNanos = new LongAdder();
+  private final LongAdder _endToEndNanos = new LongAdder();
+  private final AtomicLong _maxEndToEndNanos = new AtomicLong();
+
+  /**
+   * Constructor for AsyncMetadataEventEmitter.
+   *
+   * @param workerCount number of worker threads, each owning its own queue
+   * @param queueCapacity capacity of the queue of each worker
+   * @param maxBatchSize max number of events a worker takes from its queue at once
+   */
+  public AsyncMetadataEventEmitter(int workerCount, int queueCapacity, int maxBatchSize) {
+    if (workerCount <= 0 || queueCapacity <= 0 || maxBatchSize <= 0) {
+      throw new IllegalArgumentException(String.format(
+          "Worker count, queue capacity and batch size must be positive: %d, %d, %d", workerCount, queueCapacity,
+          maxBatchSize));
+    }
+    _maxBatchSize = maxBatchSize;
+    _queues = new ArrayList<>(workerCount);
+    final AtomicInteger threadCount = new AtomicInteger();
+    _workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+      final Thread thread = new Thread(runnable, "async-mae-emitter-" + threadCount.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    });
+    for (int i = 0; i < workerCount; i++) {
+      final BlockingQueue<Event> queue = new ArrayBlockingQueue<>(queueCapacity);
+      _queues.add(queue);
+      _workers.execute(() -> runWorker(queue));
+    }
+  }
+
+  /**
+   * Queues the emission of an event, blocking while the queue of the urn is full. The emission runs on the caller thread
+   * if the caller is interrupted while waiting. Events submitted after close are rejected and counted as dropped.
+   *
+   * @param urn urn of the event, events of the same urn are sent in submission order
+   * @param topic topic of the event, events are sent grouped by topic
+   * @param emission sends the event through the producer
+   * @return false if the event was rejected because the emitter is closed, the caller then has to send it
+   */
+  public boolean submit(@Nonnull Urn urn, @Nonnull String topic, @Nonnull Runnable emission) {
+    final Event event = new Event(topic, emission, System.nanoTime());
+    _closeLock.readLock().lock();
+    try {
+      if (_closed) {
+        _dropped.increment();
+        log.warn("Rejected audit event to topic {} submitted after close", topic);
+        return false;
+      }
+
+      final BlockingQueue<Event> queue = _queues.get(Math.floorMod(urn.toString().hashCode(), _queues.size()));
+      _pending.incrementAndGet();
+      if (queue.offer(event)) {
+        return true;
+      }
+
+      _backPressured.increment();
+      try {
+        queue.put(event);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        _pending.decrementAndGet();
+        emit(event);
+      }
+      return true;
+    } finally {
+      _closeLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Waits until all the events submitted so far are sent.
+   *
+   * @return true if all events were sent before the timeout
+   */
+  public boolean flush(@Nonnull Duration timeout) throws InterruptedException {
+    final long deadline = System.nanoTime() + timeout.toNanos();
+    while (_pending.get() > 0) {
+      if (System.nanoTime() - deadline >= 0) {
+        return false;
+      }
+      TimeUnit.MILLISECONDS.sleep(1);
+    }
+    return true;
+  }
+
+  @Nonnull
+  public Stats getStats() {
+    final long emitted = _emitted.sum();
+    final long sent = emitted + _failed.sum();
+    return new Stats(_pending.get(), emitted, _failed.sum(), _backPressured.sum(), _dropped.sum(),
+        sent == 0 ? 0 : _emitNanos.sum() / sent, sent == 0 ? 0 : _endToEndNanos.sum() / sent, _maxEndToEndNanos.get());
+  }
+
+  /**
+   * Stops accepting events, sends the queued ones and stops the workers. Events submitted after close are rejected, see
+   * {@link #submit(Urn, String, Runnable)}.
+   */
+  @Override
+  public void close() {
+    // waits for the submissions in progress, including those blocked on a full queue, which the workers still drain
+    _closeLock.writeLock().lock();
+    try {
+      _closed = true;
+    } finally {
+      _closeLock.writeLock().unlock();
+    }
+    _workers.shutdown();
+    try {
+      if (!_workers.awaitTermination(1, TimeUnit.MINUTES)) {
+        log.warn("Timed out sending {} queued audit events", _pending.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    // events left by workers which timed out or were interrupted, no submission can queue more once closed
+    final List<Event> leftover = new ArrayList<>();
+    _queues.forEach(queue -> queue.drainTo(leftover));
+    leftover.forEach(this::emitQueued);
+  }
+
+  private void runWorker(@Nonnull BlockingQueue<Event> queue) {
+    final List<Event> batch = new ArrayList<>(_maxBatchSize);
+    while (true) {
+      final Event first;
+      try {
+        first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      if (first == null) {
+        if (_closed && queue.isEmpty()) {
+          return;
+        }
+        continue;
+      }
+
+      batch.add(first);
+      queue.drainTo(batch, _maxBatchSize - 1);
+      emitBatch(batch);
+      batch.clear();
+    }
+  }
+
+  private void emitBatch(@Nonnull List<Event> batch) {
+    if (batch.size() == 1) {
+      emitQueued(batch.get(0));
+      return;
+    }
+
+    final Map<String, List<Event>> byTopic = new LinkedHashMap<>();
+    for (Event event : batch) {
+      byTopic.computeIfAbsent(event.getTopic(), topic -> new ArrayList<>()).add(event);
+    }
+    byTopic.values().forEach(events -> events.forEach(this::emitQueued));
+  }
+
+  private void emitQueued(@Nonnull Event event) {
+    try {
+      emit(event);
+    } finally {
+      _pending.decrementAndGet();
+    }
+  }
+
+  private void emit(@Nonnull Event event) {
+    final long start = System.nanoTime();
+    try {
+      event.getEmission().run();
+      _emitted.increment();
+    } catch (RuntimeException e) {
+      _failed.increment();
+      log.error("Failed to emit audit event to topic {}", event.getTopic(), e);
+    }
+    final long end = System.nanoTime();
+    _emitNanos.add(end - start);
+    final long endToEnd = end - event.getSubmittedNanos();
+    _endToEndNanos.add(endToEnd);
+    _maxEndToEndNanos.accumulateAndGet(endToEnd, Math::max);
+  }
+}
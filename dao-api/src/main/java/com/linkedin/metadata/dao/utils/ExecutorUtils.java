@@ -0,0 +1,82 @@
+package com.linkedin.metadata.dao.utils;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+
+
+public class ExecutorUtils {
+
+  private static final long IDLE_THREAD_KEEP_ALIVE_SECONDS = 60;
+  private static final int DEFAULT_READ_THREADS = 16;
+  private static final int DEFAULT_READ_QUEUE_SIZE = 1000;
+
+  private ExecutorUtils() {
+    // Util class
+  }
+
+  /**
+   * Creates a thread pool of at most the given number of daemon threads, meant for blocking I/O such as DB reads.
+   * Idle threads are released after a minute. Once all threads are busy and the bounded queue is full, tasks run on the
+   * submitting thread instead, which slows down callers rather than failing or queueing without bound.
+   *
+   * @param threadNamePrefix prefix of the thread names, followed by the thread number
+   * @param threads max number of threads, which should not exceed the size of the connection pool they query
+   * @param queueSize max number of tasks waiting for a thread
+   * @return the executor, which callers should shut down when it's no longer needed
+   */
+  @Nonnull
+  public static ThreadPoolExecutor newBoundedIoExecutor(@Nonnull String threadNamePrefix, int threads, int queueSize) {
+    return newBoundedIoExecutor(threadNamePrefix, threads, queueSize, new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  /**
+   * Same as {@link #newBoundedIoExecutor(String, int, int)}, but with the given policy for the tasks submitted once all
+   * threads are busy and the queue is full. E.g. {@link ThreadPoolExecutor.AbortPolicy} for best-effort background work
+   * which should be dropped rather than slow down the submitting thread.
+   */
+  @Nonnull
+  public static ThreadPoolExecutor newBoundedIoExecutor(@Nonnull String threadNamePrefix, int threads, int queueSize,
+      @Nonnull RejectedExecutionHandler rejectedExecutionHandler) {
+    if (threads <= 0) {
+      throw new IllegalArgumentException("Thread count must be positive: " + threads);
+    }
+    if (queueSize <= 0) {
+      throw new IllegalArgumentException("Queue size must be positive: " + queueSize);
+    }
+    final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, IDLE_THREAD_KEEP_ALIVE_SECONDS,
+        TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueSize), daemonThreadFactory(threadNamePrefix),
+        rejectedExecutionHandler);
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * Returns the executor async DAO reads run on unless set otherwise, a {@link #newBoundedIoExecutor(String, int, int)}
+   * of {@value #DEFAULT_READ_THREADS} threads shared by all DAOs. It's only created on first use.
+   */
+  @Nonnull
+  public static Executor getDefaultReadExecutor() {
+    return DefaultReadExecutorHolder.INSTANCE;
+  }
+
+  @Nonnull
+  private static ThreadFactory daemonThreadFactory(@Nonnull String threadNamePrefix) {
+    final AtomicInteger threadCount = new AtomicInteger();
+    return runnable -> {
+      final Thread thread = new Thread(runnable, threadNamePrefix + threadCount.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  private static class DefaultReadExecutorHolder {
+    private static final Executor INSTANCE =
+        newBoundedIoExecutor("dao-read-", DEFAULT_READ_THREADS, DEFAULT_READ_QUEUE_SIZE);
+  }
+}
@@ -22,11 +22,15 @@ import com.linkedin.metadata.validator.InvalidSchemaException;
 import com.linkedin.metadata.validator.RelationshipValidator;
 import com.linkedin.metadata.validator.SnapshotValidator;
 import com.linkedin.metadata.validator.ValidationUtils;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -50,6 +54,24 @@ public class ModelUtils {
   private static final String SOURCE_FIELD = "source";
   private static final String URN_FIELD = "urn";
 
+  /**
+   * Accessors used to build snapshots and assets, resolved once per class instead of for every snapshot or asset built.
+   */
+  private static final ConcurrentHashMap<Class<? extends RecordTemplate>, Class<? extends WrappingArrayTemplate>>
+      ASPECTS_ARRAY_CLASS_CACHE = new ConcurrentHashMap<>();
+  private static final ClassValue<Map<String, MethodHandle>> ASSET_SETTERS = new ClassValue<Map<String, MethodHandle>>() {
+    @Override
+    protected Map<String, MethodHandle> computeValue(@Nonnull Class<?> assetClass) {
+      return getAssetSetters(assetClass);
+    }
+  };
+  private static final ClassValue<Map<String, MethodHandle>> UNION_GETTERS = new ClassValue<Map<String, MethodHandle>>() {
+    @Override
+    protected Map<String, MethodHandle> computeValue(@Nonnull Class<?> unionClass) {
+      return getUnionGetters(unionClass);
+    }
+  };
+
   private ModelUtils() {
     // Util class
   }
@@ -183,12 +205,7 @@ public class ModelUtils {
       return null;
     }
 
-    try {
-      final Method getUrn = urnClass.getMethod("createFromString", String.class);
-      return urnClass.cast(getUrn.invoke(null, urn));
-    } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
-      throw new IllegalArgumentException("URN conversion error for " + urn, e);
-    }
+    return UrnFactories.createFromString(urn, urnClass);
   }
 
   /**
@@ -533,33 +550,31 @@ public class ModelUtils {
 
     final Class<? extends WrappingArrayTemplate> aspectArrayClass = getAspectsArrayClass(snapshotClass);
 
-    try {
-      final SNAPSHOT snapshot = snapshotClass.newInstance();
-      if (urn == null) {
-        ValidationUtils.throwNullFieldException(URN_FIELD);
-      }
-      if (aspects == null) {
-        ValidationUtils.throwNullFieldException(ASPECTS_FIELD);
-      }
-      RecordUtils.setRecordTemplatePrimitiveField(snapshot, URN_FIELD, urn);
-      WrappingArrayTemplate aspectArray = aspectArrayClass.newInstance();
-      aspectArray.addAll(aspects);
-      RecordUtils.setRecordTemplateComplexField(snapshot, ASPECTS_FIELD, aspectArray);
-      return snapshot;
-    } catch (InstantiationException | IllegalAccessException e) {
-      throw new RuntimeException(e);
+    final SNAPSHOT snapshot = RecordUtils.newInstance(snapshotClass);
+    if (urn == null) {
+      ValidationUtils.throwNullFieldException(URN_FIELD);
     }
+    if (aspects == null) {
+      ValidationUtils.throwNullFieldException(ASPECTS_FIELD);
+    }
+    RecordUtils.setRecordTemplatePrimitiveField(snapshot, URN_FIELD, urn);
+    WrappingArrayTemplate aspectArray = RecordUtils.newInstance(aspectArrayClass);
+    aspectArray.addAll(aspects);
+    RecordUtils.setRecordTemplateComplexField(snapshot, ASPECTS_FIELD, aspectArray);
+    return snapshot;
   }
 
   @Nonnull
   private static <SNAPSHOT extends RecordTemplate> Class<? extends WrappingArrayTemplate> getAspectsArrayClass(
       @Nonnull Class<SNAPSHOT> snapshotClass) {
 
-    try {
-      return snapshotClass.getMethod("getAspects").getReturnType().asSubclass(WrappingArrayTemplate.class);
-    } catch (NoSuchMethodException | ClassCastException e) {
-      throw new RuntimeException((e));
-    }
+    return ASPECTS_ARRAY_CLASS_CACHE.computeIfAbsent(snapshotClass, clazz -> {
+      try {
+        return clazz.getMethod("getAspects").getReturnType().asSubclass(WrappingArrayTemplate.class);
+      } catch (NoSuchMethodException | ClassCastException e) {
+        throw new RuntimeException((e));
+      }
+    });
   }
 
   /**
@@ -595,49 +610,74 @@ public class ModelUtils {
 
     AssetValidator.validateAssetSchema(assetClass);
 
-    try {
-      final ASSET asset = assetClass.newInstance();
-      if (urn == null) {
-        ValidationUtils.throwNullFieldException(URN_FIELD);
-      }
-      if (aspects == null) {
-        ValidationUtils.throwNullFieldException(ASPECTS_FIELD);
+    final ASSET asset = RecordUtils.newInstance(assetClass);
+    if (urn == null) {
+      ValidationUtils.throwNullFieldException(URN_FIELD);
+    }
+    if (aspects == null) {
+      ValidationUtils.throwNullFieldException(ASPECTS_FIELD);
+    }
+    RecordUtils.setRecordTemplatePrimitiveField(asset, URN_FIELD, urn);
+
+    final Map<String, MethodHandle> aspectTypeToAssetSetterMap = ASSET_SETTERS.get(assetClass);
+    for (final ASPECT_UNION aspect : aspects) {
+      final Map<String, MethodHandle> aspectTypeToAspectUnionGetterMap = UNION_GETTERS.get(aspect.getClass());
+      for (final Map.Entry<String, MethodHandle> assetSetter : aspectTypeToAssetSetterMap.entrySet()) {
+        final MethodHandle aspectUnionGetter = aspectTypeToAspectUnionGetterMap.get(assetSetter.getKey());
+        if (aspectUnionGetter != null) {
+          try {
+            final Object aspectValue = aspectUnionGetter.invokeExact((Object) aspect);
+            if (aspectValue != null) {
+              assetSetter.getValue().invokeExact((Object) asset, aspectValue);
+            }
+          } catch (Throwable e) {
+            throw new RuntimeException(e);
+          }
+        }
       }
-      RecordUtils.setRecordTemplatePrimitiveField(asset, URN_FIELD, urn);
+    }
+    return asset;
+  }
 
-      // TODO: cache the asset methods loading
-      final Map<String, String> aspectTypeToAssetSetterMap = new HashMap<>();
-      for (final Method assetMethod : assetClass.getDeclaredMethods()) {
-        if (assetMethod.getName().startsWith("set") && assetMethod.getParameterTypes().length > 0) {
-          aspectTypeToAssetSetterMap.put(assetMethod.getParameterTypes()[0].getName(), assetMethod.getName());
+  /**
+   * Gets the single argument setters of an asset, by the class name of the aspect they set.
+   */
+  @Nonnull
+  private static Map<String, MethodHandle> getAssetSetters(@Nonnull Class<?> assetClass) {
+    final Map<String, MethodHandle> aspectTypeToAssetSetterMap = new HashMap<>();
+    for (final Method assetMethod : assetClass.getDeclaredMethods()) {
+      if (assetMethod.getName().startsWith("set") && assetMethod.getParameterTypes().length > 0) {
+        final Class<?> aspectType = assetMethod.getParameterTypes()[0];
+        try {
+          aspectTypeToAssetSetterMap.put(aspectType.getName(), MethodHandles.publicLookup()
+              .unreflect(assetClass.getMethod(assetMethod.getName(), aspectType))
+              .asType(MethodType.methodType(void.class, Object.class, Object.class)));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+          throw new RuntimeException(e);
         }
       }
+    }
+    return Collections.unmodifiableMap(aspectTypeToAssetSetterMap);
+  }
 
-      for (final ASPECT_UNION aspect : aspects) {
-        // TODO: cache the aspect union methods loading
-        final Map<String, String> aspectTypeToAspectUnionGetterMap = new HashMap<>();
-        for (final Method aspectUnionMethod : aspect.getClass().getMethods()) {
-          if (aspectUnionMethod.getName().startsWith("get")) {
-            aspectTypeToAspectUnionGetterMap.put(aspectUnionMethod.getReturnType().getName(),
-                aspectUnionMethod.getName());
-          }
-        }
-        for (final String aspectType : aspectTypeToAssetSetterMap.keySet()) {
-          if (aspectTypeToAspectUnionGetterMap.containsKey(aspectType)) {
-            Object aspectValue =
-                aspect.getClass().getMethod(aspectTypeToAspectUnionGetterMap.get(aspectType)).invoke(aspect);
-            if (aspectValue != null) {
-              asset.getClass()
-                  .getMethod(aspectTypeToAssetSetterMap.get(aspectType), aspectValue.getClass())
-                  .invoke(asset, aspectValue);
-            }
-          }
+  /**
+   * Gets the getters of an aspect union, by the class name of the member they return.
+   */
+  @Nonnull
+  private static Map<String, MethodHandle> getUnionGetters(@Nonnull Class<?> unionClass) {
+    final Map<String, MethodHandle> aspectTypeToAspectUnionGetterMap = new HashMap<>();
+    for (final Method aspectUnionMethod : unionClass.getMethods()) {
+      if (aspectUnionMethod.getName().startsWith("get") && aspectUnionMethod.getParameterTypes().length == 0) {
+        try {
+          aspectTypeToAspectUnionGetterMap.put(aspectUnionMethod.getReturnType().getName(), MethodHandles.publicLookup()
+              .unreflect(aspectUnionMethod)
+              .asType(MethodType.methodType(Object.class, Object.class)));
+        } catch (IllegalAccessException e) {
+          throw new RuntimeException(e);
         }
       }
-      return asset;
-    } catch (InstantiationException | IllegalAccessException | NoSuchMethodException | InvocationTargetException e) {
-      throw new RuntimeException(e);
     }
+    return Collections.unmodifiableMap(aspectTypeToAspectUnionGetterMap);
   }
 
 
@@ -656,13 +696,9 @@ public class ModelUtils {
 
     AspectValidator.validateAspectUnionSchema(aspectUnionClass);
 
-    try {
-      ASPECT_UNION aspectUnion = aspectUnionClass.newInstance();
-      RecordUtils.setSelectedRecordTemplateInUnion(aspectUnion, aspect);
-      return aspectUnion;
-    } catch (InstantiationException | IllegalAccessException e) {
-      throw new RuntimeException(e);
-    }
+    ASPECT_UNION aspectUnion = RecordUtils.newInstance(aspectUnionClass);
+    RecordUtils.setSelectedRecordTemplateInUnion(aspectUnion, aspect);
+    return aspectUnion;
   }
 
   /**
@@ -17,6 +17,9 @@ import com.linkedin.metadata.dao.exception.ModelConversionException;
 import com.linkedin.metadata.validator.InvalidSchemaException;
 import com.linkedin.metadata.validator.ValidationUtils;
 import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -51,6 +54,50 @@ public class RecordUtils {
   private static final ConcurrentHashMap<Class<? extends RecordTemplate>, Map<String, Method>> RECORD_METHOD_CACHE = new ConcurrentHashMap<>();
   private static final ConcurrentHashMap<Class<? extends UnionTemplate>, Map<String, Method>> UNION_METHOD_CACHE = new ConcurrentHashMap<>();
 
+  /**
+   * Per union class map of the class name of each aliased record member to its alias, and the record member classes by
+   * binding name, so that unions are read and written without walking their schema or loading classes every time.
+   */
+  private static final ConcurrentHashMap<Class<? extends UnionTemplate>, Map<String, String>> UNION_MEMBER_KEY_CACHE =
+      new ConcurrentHashMap<>();
+  private static final ConcurrentHashMap<String, Class<? extends RecordTemplate>> UNION_MEMBER_CLASS_CACHE =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Constructors of data templates, bound once per class as {@link MethodHandle}s instead of being looked up and invoked
+   * by reflection for every record built.
+   */
+  private static final ClassValue<MethodHandle> DATA_MAP_CONSTRUCTORS = new ClassValue<MethodHandle>() {
+    @Override
+    protected MethodHandle computeValue(@Nonnull Class<?> type) {
+      return findConstructor(type, DataMap.class);
+    }
+  };
+  private static final ClassValue<MethodHandle> NO_ARG_CONSTRUCTORS = new ClassValue<MethodHandle>() {
+    @Override
+    protected MethodHandle computeValue(@Nonnull Class<?> type) {
+      return findConstructor(type);
+    }
+  };
+
+  private static final MethodHandle RECORD_PUT_DIRECT =
+      getProtectedMethod(RecordTemplate.class, "putDirect", RecordDataSchema.Field.class, Class.class, Object.class,
+          SetMode.class);
+  private static final MethodHandle RECORD_PUT_WRAPPED =
+      getProtectedMethod(RecordTemplate.class, "putWrapped", RecordDataSchema.Field.class, Class.class,
+          DataTemplate.class, SetMode.class);
+  private static final MethodHandle RECORD_OBTAIN_CUSTOM_TYPE =
+      getProtectedMethod(RecordTemplate.class, "obtainCustomType", RecordDataSchema.Field.class, Class.class,
+          GetMode.class);
+  private static final MethodHandle RECORD_OBTAIN_WRAPPED =
+      getProtectedMethod(RecordTemplate.class, "obtainWrapped", RecordDataSchema.Field.class, Class.class,
+          GetMode.class);
+  private static final MethodHandle UNION_OBTAIN_WRAPPED =
+      getProtectedMethod(UnionTemplate.class, "obtainWrapped", DataSchema.class, Class.class, String.class);
+  private static final MethodHandle UNION_SELECT_WRAPPED =
+      getProtectedMethod(UnionTemplate.class, "selectWrapped", DataSchema.class, Class.class, String.class,
+          DataTemplate.class);
+
   private RecordUtils() {
     // Util class
   }
@@ -118,20 +165,47 @@ public class RecordUtils {
    */
   @Nonnull
   public static <T extends RecordTemplate> T toRecordTemplate(@Nonnull Class<T> type, @Nonnull DataMap dataMap) {
-    Constructor<T> constructor;
+    final MethodHandle constructor;
     try {
-      constructor = type.getConstructor(DataMap.class);
-    } catch (NoSuchMethodException e) {
+      constructor = DATA_MAP_CONSTRUCTORS.get(type);
+    } catch (IllegalArgumentException e) {
       throw new ModelConversionException("Unable to find constructor for " + type.getCanonicalName(), e);
     }
 
     try {
-      return constructor.newInstance(dataMap);
-    } catch (Exception e) {
+      return type.cast((Object) constructor.invokeExact(dataMap));
+    } catch (Throwable e) {
       throw new ModelConversionException("Failed to invoke constructor for " + type.getCanonicalName(), e);
     }
   }
 
+  /**
+   * Creates an instance of a data template with its no-argument constructor, which is bound once per class.
+   *
+   * @param type the type of data template to create
+   * @return the created data template
+   */
+  @Nonnull
+  static <T extends DataTemplate<?>> T newInstance(@Nonnull Class<T> type) {
+    final MethodHandle constructor = NO_ARG_CONSTRUCTORS.get(type);
+    try {
+      return type.cast((Object) constructor.invokeExact());
+    } catch (Throwable e) {
+      throw new RuntimeException("Failed to invoke constructor for " + type.getCanonicalName(), e);
+    }
+  }
+
+  @Nonnull
+  private static MethodHandle findConstructor(@Nonnull Class<?> type, @Nonnull Class<?>... parameterTypes) {
+    try {
+      return MethodHandles.publicLookup()
+          .unreflectConstructor(type.getConstructor(parameterTypes))
+          .asType(MethodType.methodType(Object.class, parameterTypes));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      throw new IllegalArgumentException("Unable to find constructor for " + type.getCanonicalName(), e);
+    }
+  }
+
   /**
    * Creates a {@link RecordTemplate} object from class FQCN and a {@link DataMap}.
    *
@@ -261,10 +335,7 @@ public class RecordUtils {
       @Nonnull String fieldName, @Nonnull V value) {
 
     final RecordDataSchema.Field field = getRecordDataSchemaField(recordTemplate, fieldName);
-    final Method putDirect =
-        getProtectedMethod(RecordTemplate.class, "putDirect", RecordDataSchema.Field.class, Class.class, Object.class,
-            SetMode.class);
-    invokeProtectedMethod(recordTemplate, putDirect, field, value.getClass(), value, SetMode.DISALLOW_NULL);
+    invokeProtectedMethod(RECORD_PUT_DIRECT, recordTemplate, field, value.getClass(), value, SetMode.DISALLOW_NULL);
   }
 
   /**
@@ -278,10 +349,7 @@ public class RecordUtils {
       @Nonnull T recordTemplate, @Nonnull String fieldName, @Nonnull V value) {
 
     final RecordDataSchema.Field field = getRecordDataSchemaField(recordTemplate, fieldName);
-    final Method putWrapped =
-        getProtectedMethod(RecordTemplate.class, "putWrapped", RecordDataSchema.Field.class, Class.class,
-            DataTemplate.class, SetMode.class);
-    invokeProtectedMethod(recordTemplate, putWrapped, field, value.getClass(), value, SetMode.DISALLOW_NULL);
+    invokeProtectedMethod(RECORD_PUT_WRAPPED, recordTemplate, field, value.getClass(), value, SetMode.DISALLOW_NULL);
   }
 
   /**
@@ -297,10 +365,7 @@ public class RecordUtils {
       @Nonnull String fieldName, @Nonnull Class<V> valueClass) {
 
     final RecordDataSchema.Field field = getRecordDataSchemaField(recordTemplate, fieldName);
-    final Method obtainCustomType =
-        getProtectedMethod(RecordTemplate.class, "obtainCustomType", RecordDataSchema.Field.class, Class.class,
-            GetMode.class);
-    return (V) invokeProtectedMethod(recordTemplate, obtainCustomType, field, valueClass, GetMode.STRICT);
+    return (V) invokeProtectedMethod(RECORD_OBTAIN_CUSTOM_TYPE, recordTemplate, field, valueClass, GetMode.STRICT);
   }
 
   /**
@@ -316,10 +381,7 @@ public class RecordUtils {
       @Nonnull T recordTemplate, @Nonnull String fieldName, @Nonnull Class<V> valueClass) {
 
     final RecordDataSchema.Field field = getRecordDataSchemaField(recordTemplate, fieldName);
-    final Method obtainWrapped =
-        getProtectedMethod(RecordTemplate.class, "obtainWrapped", RecordDataSchema.Field.class, Class.class,
-            GetMode.class);
-    return (V) invokeProtectedMethod(recordTemplate, obtainWrapped, field, valueClass, GetMode.STRICT);
+    return (V) invokeProtectedMethod(RECORD_OBTAIN_WRAPPED, recordTemplate, field, valueClass, GetMode.STRICT);
   }
 
   /**
@@ -342,24 +404,12 @@ public class RecordUtils {
     if (dataSchema instanceof TyperefDataSchema) {
       dataSchema = dataSchema.getDereferencedDataSchema();
     }
-    final Class<? extends RecordTemplate> clazz =
-        ModelUtils.getClassFromName(((RecordDataSchema) dataSchema).getBindingName(), RecordTemplate.class);
-
-    final Method obtainWrapped =
-        getProtectedMethod(UnionTemplate.class, "obtainWrapped", DataSchema.class, Class.class, String.class);
-    final List<UnionDataSchema.Member> members = ((UnionDataSchema) unionTemplate.schema()).getMembers();
-    for (UnionDataSchema.Member m : members) {
-      if (m.hasAlias() && m.getType()
-          .getDereferencedDataSchema()
-          .getUnionMemberKey()
-          .equals(clazz.getName())) {
-        return (V) invokeProtectedMethod(unionTemplate, obtainWrapped, dataSchema, clazz,
-            m.getAlias());
-      }
-    }
+    final Class<? extends RecordTemplate> clazz = UNION_MEMBER_CLASS_CACHE.computeIfAbsent(
+        ((RecordDataSchema) dataSchema).getBindingName(), name -> ModelUtils.getClassFromName(name, RecordTemplate.class));
 
-    return (V) invokeProtectedMethod(unionTemplate, obtainWrapped, dataSchema, clazz,
-        ((RecordDataSchema) dataSchema).getFullName());
+    final String memberKey = getUnionMemberKeys(unionTemplate).get(clazz.getName());
+    return (V) invokeProtectedMethod(UNION_OBTAIN_WRAPPED, unionTemplate, dataSchema, clazz,
+        memberKey != null ? memberKey : ((RecordDataSchema) dataSchema).getFullName());
   }
 
   /**
@@ -372,43 +422,57 @@ public class RecordUtils {
   @Nonnull
   public static <V extends RecordTemplate> RecordTemplate setSelectedRecordTemplateInUnion(
       @Nonnull UnionTemplate unionTemplate, @Nonnull RecordTemplate selectedMember) {
-    final Method selectWrapped =
-        getProtectedMethod(UnionTemplate.class, "selectWrapped", DataSchema.class, Class.class, String.class,
-            DataTemplate.class);
-
-    final List<UnionDataSchema.Member> members = ((UnionDataSchema) unionTemplate.schema()).getMembers();
-    for (UnionDataSchema.Member m : members) {
-      if (m.hasAlias() && m.getType()
-          .getDereferencedDataSchema()
-          .getUnionMemberKey()
-          .equals(selectedMember.getClass().getName())) {
-        return (V) invokeProtectedMethod(unionTemplate, selectWrapped, selectedMember.schema(),
-            selectedMember.getClass(), m.getAlias(), selectedMember);
+    final String memberKey = getUnionMemberKeys(unionTemplate).get(selectedMember.getClass().getName());
+    return (V) invokeProtectedMethod(UNION_SELECT_WRAPPED, unionTemplate, selectedMember.schema(),
+        selectedMember.getClass(), memberKey != null ? memberKey : selectedMember.schema().getUnionMemberKey(),
+        selectedMember);
+  }
+
+  /**
+   * Returns the keys of the aliased members of a union, by class name of the member.
+   */
+  @Nonnull
+  private static Map<String, String> getUnionMemberKeys(@Nonnull UnionTemplate unionTemplate) {
+    return UNION_MEMBER_KEY_CACHE.computeIfAbsent(unionTemplate.getClass(), unionClass -> {
+      final Map<String, String> memberKeys = new HashMap<>();
+      for (UnionDataSchema.Member m : ((UnionDataSchema) unionTemplate.schema()).getMembers()) {
+        if (m.hasAlias()) {
+          memberKeys.putIfAbsent(m.getType().getDereferencedDataSchema().getUnionMemberKey(), m.getAlias());
+        }
       }
-    }
-    return (V) invokeProtectedMethod(unionTemplate, selectWrapped, selectedMember.schema(), selectedMember.getClass(),
-        selectedMember.schema().getUnionMemberKey(), selectedMember);
+      return Collections.unmodifiableMap(memberKeys);
+    });
   }
 
+  /**
+   * Binds a protected method of a data template base class once, so that calling it does not need reflection.
+   * The handle takes the target object followed by the method arguments as a single Object[].
+   */
   @Nonnull
-  private static Method getProtectedMethod(@Nonnull Class clazz, @Nonnull String methodName,
+  private static MethodHandle getProtectedMethod(@Nonnull Class<?> clazz, @Nonnull String methodName,
       @Nonnull Class<?>... parameterTypes) {
     try {
-      return clazz.getDeclaredMethod(methodName, parameterTypes);
-    } catch (NoSuchMethodException e) {
+      final Method method = clazz.getDeclaredMethod(methodName, parameterTypes);
+      method.setAccessible(true);
+      // spread over a single Object[] argument, so that all of them share the invokeExact call site type
+      final int arity = parameterTypes.length + 1;
+      return MethodHandles.lookup()
+          .unreflect(method)
+          .asType(MethodType.genericMethodType(arity))
+          .asSpreader(Object[].class, arity);
+    } catch (NoSuchMethodException | IllegalAccessException e) {
       throw new RuntimeException(e);
     }
   }
 
   @Nullable
-  private static <T> T invokeProtectedMethod(Object object, Method method, Object... args) {
+  private static <T> T invokeProtectedMethod(@Nonnull MethodHandle method, Object... args) {
     try {
-      method.setAccessible(true);
-      return (T) method.invoke(object, args);
-    } catch (IllegalAccessException | InvocationTargetException e) {
+      return (T) (Object) method.invokeExact(args);
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Throwable e) {
       throw new RuntimeException(e);
-    } finally {
-      method.setAccessible(false);
     }
   }
 
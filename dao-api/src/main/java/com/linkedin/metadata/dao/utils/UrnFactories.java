@@ -0,0 +1,80 @@
+package com.linkedin.metadata.dao.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+
+
+/**
+ * Registry of per urn class factories calling the static {@code createFromString(String)} method of the class.
+ *
+ * <p>The method is looked up once per class and kept as a {@link MethodHandle}, instead of being looked up by reflection
+ * and invoked through {@link Method#invoke(Object, Object...)} for every urn.</p>
+ */
+public final class UrnFactories {
+
+  private static final String FACTORY_METHOD = "createFromString";
+
+  private static final ClassValue<MethodHandle> FACTORIES = new ClassValue<MethodHandle>() {
+    @Override
+    protected MethodHandle computeValue(@Nonnull Class<?> urnClass) {
+      try {
+        final Method method = urnClass.getMethod(FACTORY_METHOD, String.class);
+        return MethodHandles.publicLookup()
+            .unreflect(method)
+            .asType(MethodType.methodType(Object.class, String.class));
+      } catch (NoSuchMethodException | IllegalAccessException e) {
+        throw new IllegalArgumentException(
+            String.format("%s does not have a public static %s(String) method", urnClass.getCanonicalName(), FACTORY_METHOD), e);
+      }
+    }
+  };
+
+  private UrnFactories() {
+    // Util class
+  }
+
+  /**
+   * Creates an urn of the given class from its string representation.
+   *
+   * @param urn string representation of the urn
+   * @param urnClass class of the urn, which must have a public static createFromString(String) method
+   * @return the urn
+   * @throws IllegalArgumentException if the class has no such method, or the string is not a valid urn of the class
+   */
+  @Nonnull
+  public static <URN> URN createFromString(@Nonnull String urn, @Nonnull Class<URN> urnClass) {
+    final MethodHandle factory;
+    try {
+      factory = FACTORIES.get(urnClass);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("URN conversion error for " + urn, e);
+    }
+    return create(factory, urn, urnClass);
+  }
+
+  /**
+   * Returns the factory of the given urn class, to convert many urns without looking the factory up for each of them.
+   *
+   * @throws IllegalArgumentException if the class does not have a public static createFromString(String) method
+   */
+  @Nonnull
+  public static <URN> Function<String, URN> factory(@Nonnull Class<URN> urnClass) {
+    final MethodHandle factory = FACTORIES.get(urnClass);
+    return urn -> create(factory, urn, urnClass);
+  }
+
+  @Nonnull
+  private static <URN> URN create(@Nonnull MethodHandle factory, @Nonnull String urn, @Nonnull Class<URN> urnClass) {
+    try {
+      return urnClass.cast((Object) factory.invokeExact(urn));
+    } catch (Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new IllegalArgumentException("URN conversion error for " + urn, e);
+    }
+  }
+}
@@ -10,6 +10,7 @@ import com.linkedin.metadata.dao.ingestion.AspectCallbackRoutingClient;
 import com.linkedin.metadata.dao.ingestion.SampleAspectCallbackRoutingClient;
 import com.linkedin.metadata.dao.ingestion.SampleLambdaFunctionRegistryImpl;
 import com.linkedin.metadata.dao.ingestion.AspectCallbackRegistry;
+import com.linkedin.metadata.dao.producer.AsyncMetadataEventEmitter;
 import com.linkedin.metadata.dao.producer.BaseMetadataEventProducer;
 import com.linkedin.metadata.dao.producer.BaseTrackingMetadataEventProducer;
 import com.linkedin.metadata.dao.retention.TimeBasedRetention;
@@ -35,6 +36,7 @@ import com.linkedin.testing.urn.BarUrn;
 import com.linkedin.testing.urn.FooUrn;
 import java.net.URISyntaxException;
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -43,11 +45,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import org.mockito.InOrder;
 import org.mockito.stubbing.OngoingStubbing;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.DataProvider;
@@ -215,6 +219,37 @@ public class BaseLocalDAOTest {
       return null;
     }
 
+    @Override
+    public CursorListResult<FooUrn, IndexSortCursor<FooUrn>> listUrnsAfter(@Nullable IndexFilter indexFilter,
+        @Nullable IndexSortCriterion indexSortCriterion, @Nullable IndexSortCursor<FooUrn> lastCursor, int pageSize,
+        boolean includeTotalCount) {
+      return null;
+    }
+
+    @Override
+    public <ASPECT extends RecordTemplate> CursorListResult<Long, Long> listVersionsAfter(Class<ASPECT> aspectClass,
+        FooUrn urn, @Nullable Long lastVersion, int pageSize, boolean includeTotalCount) {
+      return null;
+    }
+
+    @Override
+    public <ASPECT extends RecordTemplate> CursorListResult<FooUrn, FooUrn> listUrnsAfter(Class<ASPECT> aspectClass,
+        @Nullable FooUrn lastUrn, int pageSize, boolean includeTotalCount) {
+      return null;
+    }
+
+    @Override
+    public <ASPECT extends RecordTemplate> CursorListResult<ASPECT, Long> listAfter(Class<ASPECT> aspectClass,
+        FooUrn urn, @Nullable Long lastVersion, int pageSize, boolean includeTotalCount) {
+      return null;
+    }
+
+    @Override
+    public <ASPECT extends RecordTemplate> CursorListResult<ASPECT, FooUrn> listAfter(Class<ASPECT> aspectClass,
+        @Nullable FooUrn lastUrn, int pageSize, boolean includeTotalCount) {
+      return null;
+    }
+
     @Override
     public Map<String, Long> countAggregate(@Nonnull IndexFilter indexFilter, @Nonnull IndexGroupByCriterion groupCriterion) {
       return Collections.emptyMap();
@@ -297,6 +332,25 @@ public class BaseLocalDAOTest {
     verifyNoMoreInteractions(_mockEventProducer);
   }
 
+  @Test
+  public void testAddBulkEmitsMAEsOfCommittedBatchesWhenLaterBatchFails() throws URISyntaxException {
+    FooUrn urn1 = new FooUrn(1);
+    FooUrn urn2 = new FooUrn(2);
+    AspectFoo foo1 = new AspectFoo().setValue("foo1");
+    AspectFoo foo2 = new AspectFoo().setValue("foo2");
+    _dummyLocalDAO.setBulkAddBatchSize(1);
+    expectGetLatest(urn1, AspectFoo.class, Collections.singletonList(makeAspectEntry(null, null)));
+    when(_mockGetLatestFunction.apply(urn2, AspectFoo.class)).thenThrow(new IllegalStateException("second batch failed"));
+
+    assertThrows(IllegalStateException.class, () -> _dummyLocalDAO.addBulk(Arrays.asList(
+        new BaseLocalDAO.UrnAspectUpdate<>(urn1, foo1, _dummyAuditStamp),
+        new BaseLocalDAO.UrnAspectUpdate<>(urn2, foo2, _dummyAuditStamp)), null));
+
+    // the first batch was committed before the second one failed, so its MAEs must still be produced
+    verify(_mockEventProducer, times(1)).produceMetadataAuditEvent(urn1, null, foo1);
+    verify(_mockEventProducer, never()).produceMetadataAuditEvent(eq(urn2), any(), any());
+  }
+
   @Test
   public void testMAEEmissionOnValueChange() throws URISyntaxException {
     FooUrn urn = new FooUrn(1);
@@ -319,6 +373,37 @@ public class BaseLocalDAOTest {
     verifyNoMoreInteractions(_mockEventProducer);
   }
 
+  @Test
+  public void testAsyncMAEEmission() throws Exception {
+    FooUrn urn = new FooUrn(1);
+    AspectFoo foo1 = new AspectFoo().setValue("foo1");
+    AspectFoo foo2 = new AspectFoo().setValue("foo2");
+    _dummyLocalDAO.setAlwaysEmitAuditEvent(false);
+    _dummyLocalDAO.enableAsyncAuditEventEmission(2, 10, 5);
+    expectGetLatest(urn, AspectFoo.class,
+        Arrays.asList(makeAspectEntry(null, null), makeAspectEntry(foo1, _dummyAuditStamp)));
+
+    _dummyLocalDAO.add(urn, foo1, _dummyAuditStamp);
+    _dummyLocalDAO.add(urn, foo2, _dummyAuditStamp);
+    assertTrue(_dummyLocalDAO.flushAuditEvents(Duration.ofSeconds(10)));
+
+    // events of an urn are sent in the order of its writes
+    InOrder inOrder = inOrder(_mockEventProducer);
+    inOrder.verify(_mockEventProducer, times(1)).produceMetadataAuditEvent(urn, null, foo1);
+    inOrder.verify(_mockEventProducer, times(1)).produceMetadataAuditEvent(urn, foo1, foo2);
+    verify(_mockEventProducer, times(1))
+        .produceAspectSpecificMetadataAuditEvent(urn, null, foo1, AspectFoo.class, _dummyAuditStamp, IngestionMode.LIVE);
+    verify(_mockEventProducer, times(1))
+        .produceAspectSpecificMetadataAuditEvent(urn, foo1, foo2, AspectFoo.class, _dummyAuditStamp, IngestionMode.LIVE);
+    verifyNoMoreInteractions(_mockEventProducer);
+
+    AsyncMetadataEventEmitter.Stats stats = _dummyLocalDAO.getAsyncAuditEventEmissionStats();
+    assertEquals(stats.getQueueDepth(), 0);
+    assertEquals(stats.getEmittedCount(), 4);
+    _dummyLocalDAO.disableAsyncAuditEventEmission();
+    assertNull(_dummyLocalDAO.getAsyncAuditEventEmissionStats());
+  }
+
   @Test
   public void testMAEEmissionNoValueChange() throws URISyntaxException {
     FooUrn urn = new FooUrn(1);
@@ -865,4 +950,25 @@ public class BaseLocalDAOTest {
     // invalid, should skip
     assertEquals(_dummyLocalDAO.aspectTimestampSkipWrite(null, null), false);
   }
+
+  @Test
+  public void testGetAsyncRunsOnReadExecutor() {
+    FooUrn urn = new FooUrn(1);
+    AspectKey<FooUrn, AspectFoo> key = new AspectKey<>(AspectFoo.class, urn, LATEST_VERSION);
+    List<Runnable> tasks = new ArrayList<>();
+    _dummyLocalDAO.setReadExecutor(tasks::add);
+
+    CompletableFuture<Map<AspectKey<FooUrn, ? extends RecordTemplate>, Optional<? extends RecordTemplate>>> result =
+        _dummyLocalDAO.getAsync(Collections.singleton(key));
+    CompletableFuture<Map<AspectKey<FooUrn, ? extends RecordTemplate>, AspectWithExtraInfo<? extends RecordTemplate>>>
+        resultWithExtraInfo = _dummyLocalDAO.getWithExtraInfoAsync(Collections.singleton(key));
+
+    // the reads only run once the executor runs them
+    assertFalse(result.isDone());
+    assertFalse(resultWithExtraInfo.isDone());
+    assertEquals(tasks.size(), 2);
+    tasks.forEach(Runnable::run);
+    assertEquals(result.join(), Collections.emptyMap());
+    assertEquals(resultWithExtraInfo.join(), Collections.emptyMap());
+  }
 }
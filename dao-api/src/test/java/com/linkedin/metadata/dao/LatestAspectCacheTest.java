@@ -0,0 +1,103 @@
+package com.linkedin.metadata.dao;
+
+import com.google.common.collect.ImmutableSet;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.testing.AspectBar;
+import com.linkedin.testing.AspectFoo;
+import com.linkedin.testing.urn.FooUrn;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class LatestAspectCacheTest {
+
+  private LatestAspectCache _cache;
+  private FooUrn _urn;
+
+  @BeforeMethod
+  public void setup() throws URISyntaxException {
+    _cache = new LatestAspectCache(100, Duration.ofMinutes(1));
+    _urn = new FooUrn(1);
+  }
+
+  @Test
+  public void testPut() {
+    AspectFoo foo = new AspectFoo().setValue("foo");
+
+    _cache.put(_urn, AspectFoo.class, Optional.of(foo), _cache.readTicket());
+
+    assertEquals(_cache.get(_urn, AspectFoo.class), Optional.of(foo));
+  }
+
+  @Test
+  public void testPutRefusesValueReadBeforeWrite() {
+    AspectFoo old = new AspectFoo().setValue("old");
+
+    // the read starts, then a write invalidates the key before the read puts its value
+    long readTicket = _cache.readTicket();
+    _cache.invalidateAfterWrite(_urn, AspectFoo.class);
+    _cache.put(_urn, AspectFoo.class, Optional.of(old), readTicket);
+
+    assertNull(_cache.get(_urn, AspectFoo.class));
+  }
+
+  @Test
+  public void testPutRefusesValueReadBeforeCachedOne() {
+    AspectFoo old = new AspectFoo().setValue("old");
+    AspectFoo latest = new AspectFoo().setValue("latest");
+
+    long oldReadTicket = _cache.readTicket();
+    _cache.invalidate(_urn, AspectFoo.class);
+    _cache.put(_urn, AspectFoo.class, Optional.of(latest), _cache.readTicket());
+    _cache.put(_urn, AspectFoo.class, Optional.of(old), oldReadTicket);
+
+    assertEquals(_cache.get(_urn, AspectFoo.class), Optional.of(latest));
+  }
+
+  @Test
+  public void testPutRefusesValueReadBeforeWriteScopeEnds() {
+    AspectFoo old = new AspectFoo().setValue("old");
+    long[] readTicket = new long[1];
+
+    // a read starting after the row was saved but before the transaction commits still sees the old value
+    _cache.runInWriteScope(() -> {
+      _cache.invalidateAfterWrite(_urn, AspectFoo.class);
+      readTicket[0] = _cache.readTicket();
+      return null;
+    });
+    _cache.put(_urn, AspectFoo.class, Optional.of(old), readTicket[0]);
+
+    assertNull(_cache.get(_urn, AspectFoo.class));
+  }
+
+  @Test
+  public void testPutRefusesUncachedValueReadBeforeUrnWrite() {
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    AspectBar bar = new AspectBar().setValue("bar");
+    _cache.put(_urn, AspectFoo.class, Optional.of(foo), _cache.readTicket());
+
+    // the read of bar starts before the urn is deleted, while bar is not cached yet
+    long readTicket = _cache.readTicket();
+    Set<Class<? extends RecordTemplate>> aspectClasses = ImmutableSet.of(AspectFoo.class, AspectBar.class);
+    _cache.invalidateAfterWrite(_urn, aspectClasses);
+    _cache.put(_urn, AspectBar.class, Optional.of(bar), readTicket);
+
+    assertNull(_cache.get(_urn, AspectFoo.class));
+    assertNull(_cache.get(_urn, AspectBar.class));
+  }
+
+  @Test
+  public void testPutRefusesValueReadBeforeInvalidateAll() {
+    long readTicket = _cache.readTicket();
+    _cache.invalidateAll();
+    _cache.put(_urn, AspectFoo.class, Optional.of(new AspectFoo().setValue("old")), readTicket);
+
+    assertNull(_cache.get(_urn, AspectFoo.class));
+  }
+}
@@ -0,0 +1,162 @@
+package com.linkedin.metadata.dao.producer;
+
+import com.linkedin.common.urn.Urn;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.Test;
+
+import static com.linkedin.testing.TestUtils.*;
+import static org.testng.Assert.*;
+
+
+public class AsyncMetadataEventEmitterTest {
+
+  @Test
+  public void testEventsOfAnUrnAreSentInOrder() throws InterruptedException {
+    List<Integer> sent = Collections.synchronizedList(new ArrayList<>());
+    Urn urn = makeUrn(1);
+
+    try (AsyncMetadataEventEmitter emitter = new AsyncMetadataEventEmitter(4, 100, 10)) {
+      for (int i = 0; i < 50; i++) {
+        final int event = i;
+        emitter.submit(urn, "topic", () -> sent.add(event));
+      }
+      assertTrue(emitter.flush(Duration.ofSeconds(10)));
+
+      List<Integer> expected = new ArrayList<>();
+      for (int i = 0; i < 50; i++) {
+        expected.add(i);
+      }
+      assertEquals(sent, expected);
+      assertEquals(emitter.getStats().getEmittedCount(), 50);
+      assertEquals(emitter.getStats().getQueueDepth(), 0);
+    }
+  }
+
+  @Test
+  public void testBatchIsSentGroupedByTopic() throws InterruptedException {
+    List<String> sent = Collections.synchronizedList(new ArrayList<>());
+    CountDownLatch blocked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Urn urn = makeUrn(1);
+
+    try (AsyncMetadataEventEmitter emitter = new AsyncMetadataEventEmitter(1, 100, 10)) {
+      // hold the worker so that the next events are queued and taken as one batch
+      emitter.submit(urn, "a", () -> {
+        blocked.countDown();
+        awaitQuietly(release);
+      });
+      assertTrue(blocked.await(10, TimeUnit.SECONDS));
+      emitter.submit(urn, "a", () -> sent.add("a1"));
+      emitter.submit(urn, "b", () -> sent.add("b1"));
+      emitter.submit(urn, "a", () -> sent.add("a2"));
+      emitter.submit(urn, "b", () -> sent.add("b2"));
+      release.countDown();
+
+      assertTrue(emitter.flush(Duration.ofSeconds(10)));
+      assertEquals(sent, Arrays.asList("a1", "a2", "b1", "b2"));
+    }
+  }
+
+  @Test
+  public void testFullQueueBlocksSubmitter() throws InterruptedException {
+    CountDownLatch blocked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Urn urn = makeUrn(1);
+
+    try (AsyncMetadataEventEmitter emitter = new AsyncMetadataEventEmitter(1, 1, 1)) {
+      emitter.submit(urn, "topic", () -> {
+        blocked.countDown();
+        awaitQuietly(release);
+      });
+      assertTrue(blocked.await(10, TimeUnit.SECONDS));
+      // fills the queue
+      emitter.submit(urn, "topic", () -> { });
+
+      Thread submitter = new Thread(() -> emitter.submit(urn, "topic", () -> { }));
+      submitter.start();
+      submitter.join(200);
+      assertTrue(submitter.isAlive());
+
+      release.countDown();
+      submitter.join(10_000);
+      assertFalse(submitter.isAlive());
+      assertTrue(emitter.flush(Duration.ofSeconds(10)));
+      assertEquals(emitter.getStats().getBackPressuredCount(), 1);
+      assertEquals(emitter.getStats().getEmittedCount(), 3);
+    }
+  }
+
+  @Test
+  public void testCloseSendsEventOfBlockedSubmitter() throws InterruptedException {
+    CountDownLatch blocked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Urn urn = makeUrn(1);
+    AsyncMetadataEventEmitter emitter = new AsyncMetadataEventEmitter(1, 1, 1);
+
+    emitter.submit(urn, "topic", () -> {
+      blocked.countDown();
+      awaitQuietly(release);
+    });
+    assertTrue(blocked.await(10, TimeUnit.SECONDS));
+    emitter.submit(urn, "topic", () -> { });
+    Thread submitter = new Thread(() -> emitter.submit(urn, "topic", () -> { }));
+    submitter.start();
+    submitter.join(200);
+
+    // close waits for the blocked submission, whose event is then sent instead of being left in the queue
+    Thread closer = new Thread(emitter::close);
+    closer.start();
+    closer.join(200);
+    assertTrue(closer.isAlive());
+
+    release.countDown();
+    closer.join(10_000);
+    assertFalse(closer.isAlive());
+    assertEquals(emitter.getStats().getEmittedCount(), 3);
+    assertEquals(emitter.getStats().getDroppedCount(), 0);
+    assertEquals(emitter.getStats().getQueueDepth(), 0);
+  }
+
+  @Test
+  public void testProducerFailureIsCounted() throws InterruptedException {
+    Urn urn = makeUrn(1);
+
+    try (AsyncMetadataEventEmitter emitter = new AsyncMetadataEventEmitter(1, 10, 10)) {
+      emitter.submit(urn, "topic", () -> {
+        throw new IllegalStateException("kafka is down");
+      });
+      emitter.submit(urn, "topic", () -> { });
+      assertTrue(emitter.flush(Duration.ofSeconds(10)));
+
+      assertEquals(emitter.getStats().getFailedCount(), 1);
+      assertEquals(emitter.getStats().getEmittedCount(), 1);
+    }
+  }
+
+  @Test
+  public void testSubmitAfterCloseIsRejected() {
+    List<Thread> threads = new ArrayList<>();
+    AsyncMetadataEventEmitter emitter = new AsyncMetadataEventEmitter(1, 10, 10);
+    emitter.close();
+
+    assertFalse(emitter.submit(makeUrn(1), "topic", () -> threads.add(Thread.currentThread())));
+
+    assertTrue(threads.isEmpty());
+    assertEquals(emitter.getStats().getDroppedCount(), 1);
+    assertEquals(emitter.getStats().getQueueDepth(), 0);
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
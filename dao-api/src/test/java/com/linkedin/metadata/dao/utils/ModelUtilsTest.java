@@ -501,6 +501,19 @@ public class ModelUtilsTest {
     assertEquals(aspectUnion.getFoo(), foo);
   }
 
+  @Test
+  public void testNewAspectAliasReusesMemberKeys() {
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    AspectBar bar = new AspectBar().setValue("bar");
+
+    EntityAspectUnionAlias fooUnion = ModelUtils.newAspectUnion(EntityAspectUnionAlias.class, foo);
+    EntityAspectUnionAlias barUnion = ModelUtils.newAspectUnion(EntityAspectUnionAlias.class, bar);
+
+    assertEquals(fooUnion.getFoo(), foo);
+    assertEquals(barUnion.getBar(), bar);
+    assertEquals(RecordUtils.getSelectedRecordTemplateFromUnion(barUnion), bar);
+  }
+
   @Test
   public void testAspectClassForSnapshot() {
     assertEquals(ModelUtils.aspectClassForSnapshot(EntitySnapshot.class), EntityAspectUnion.class);
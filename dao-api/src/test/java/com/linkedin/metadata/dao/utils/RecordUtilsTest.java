@@ -1,6 +1,7 @@
 package com.linkedin.metadata.dao.utils;
 
 import com.linkedin.common.urn.Urn;
+import com.linkedin.data.DataMap;
 import com.linkedin.data.schema.PathSpec;
 import com.linkedin.data.schema.RecordDataSchema;
 import com.linkedin.data.template.RecordTemplate;
@@ -89,6 +90,11 @@ public class RecordUtilsTest {
     RecordUtils.toRecordTemplate(AspectFoo.class, "invalid_json");
   }
 
+  @Test(expectedExceptions = ModelConversionException.class)
+  public void testToRecordTemplateWithoutDataMapConstructor() {
+    RecordUtils.toRecordTemplate(RecordTemplate.class, new DataMap());
+  }
+
   @Test
   public void testGetValidRecordDataSchemaField() {
     RecordDataSchema schema = ValidationUtils.getRecordSchema(AspectFoo.class);
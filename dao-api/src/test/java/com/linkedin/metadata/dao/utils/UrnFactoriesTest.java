@@ -0,0 +1,39 @@
+package com.linkedin.metadata.dao.utils;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.testing.urn.FooUrn;
+import java.util.function.Function;
+import org.testng.annotations.Test;
+
+import static com.linkedin.testing.TestUtils.*;
+import static org.testng.Assert.*;
+
+
+public class UrnFactoriesTest {
+
+  @Test
+  public void testCreateFromString() {
+    assertEquals(UrnFactories.createFromString("urn:li:foo:1", FooUrn.class), makeFooUrn(1));
+    assertEquals(UrnFactories.createFromString("urn:li:testing:1", Urn.class), makeUrn(1));
+  }
+
+  @Test
+  public void testFactory() {
+    Function<String, FooUrn> factory = UrnFactories.factory(FooUrn.class);
+
+    assertEquals(factory.apply("urn:li:foo:1"), makeFooUrn(1));
+    assertEquals(factory.apply("urn:li:foo:2"), makeFooUrn(2));
+  }
+
+  @Test
+  public void testInvalidUrn() {
+    assertThrows(IllegalArgumentException.class, () -> UrnFactories.createFromString("urn:li:foo", FooUrn.class));
+    assertThrows(IllegalArgumentException.class, () -> UrnFactories.factory(FooUrn.class).apply("foo"));
+  }
+
+  @Test
+  public void testClassWithoutFactoryMethod() {
+    assertThrows(IllegalArgumentException.class, () -> UrnFactories.createFromString("urn:li:foo:1", String.class));
+    assertThrows(IllegalArgumentException.class, () -> UrnFactories.factory(String.class));
+  }
+}
@@ -0,0 +1,37 @@
+package com.linkedin.metadata.dao;
+
+import com.linkedin.common.AuditStamp;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.events.IngestionTrackingContext;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
+
+
+/**
+ * A write of the latest value of an aspect to its entity table column, as done by
+ * {@link IEbeanLocalAccess#add(Urn, RecordTemplate, Class, AuditStamp, IngestionTrackingContext, boolean)}. Used to
+ * combine several such writes into a single statement with {@link IEbeanLocalAccess#addAll(java.util.List, boolean)}.
+ */
+@Value
+public class AspectUpsert<URN extends Urn> {
+
+  @Nonnull
+  URN urn;
+
+  /**
+   * The new value, or null to soft delete the aspect.
+   */
+  @Nullable
+  RecordTemplate value;
+
+  @Nonnull
+  Class<? extends RecordTemplate> aspectClass;
+
+  @Nonnull
+  AuditStamp auditStamp;
+
+  @Nullable
+  IngestionTrackingContext trackingContext;
+}
@@ -1,5 +1,8 @@
 package com.linkedin.metadata.dao;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.linkedin.common.AuditStamp;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.data.template.RecordTemplate;
@@ -7,15 +10,18 @@ import com.linkedin.data.template.SetMode;
 import com.linkedin.metadata.aspect.AuditedAspect;
 import com.linkedin.metadata.dao.urnpath.EmptyPathExtractor;
 import com.linkedin.metadata.dao.urnpath.UrnPathExtractor;
+import com.linkedin.metadata.dao.utils.AuditedAspectDecoder;
 import com.linkedin.metadata.dao.utils.EBeanDAOUtils;
 import com.linkedin.metadata.dao.utils.ModelUtils;
 import com.linkedin.metadata.dao.utils.RecordUtils;
 import com.linkedin.metadata.dao.utils.SQLIndexFilterUtils;
 import com.linkedin.metadata.dao.utils.SQLStatementUtils;
 import com.linkedin.metadata.dao.utils.SchemaValidatorUtil;
+import com.linkedin.metadata.dao.utils.SqlTemplateCache;
 import com.linkedin.metadata.events.IngestionTrackingContext;
 import com.linkedin.metadata.query.ExtraInfo;
 import com.linkedin.metadata.query.ExtraInfoArray;
+import com.linkedin.metadata.query.IndexCriterion;
 import com.linkedin.metadata.query.IndexFilter;
 import com.linkedin.metadata.query.IndexGroupByCriterion;
 import com.linkedin.metadata.query.IndexSortCriterion;
@@ -32,14 +38,22 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -75,39 +89,146 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
   private static final String ASPECT_JSON_PLACEHOLDER = "__PLACEHOLDER__";
   private static final String DEFAULT_ACTOR = "urn:li:principal:UNKNOWN";
   private static final String EBEAN_SERVER_CONFIG = "EbeanServerConfig";
+  private static final int FILTER_COUNT_CACHE_SIZE = 1000;
+  private static final int SQL_TEMPLATE_CACHE_SIZE = 1000;
+  private static final Duration SQL_TEMPLATE_CACHE_TTL = Duration.ofMinutes(10);
+  private static final String LIMIT_PARAM = "limit";
+  private static final String OFFSET_PARAM = "offset";
 
   // key: table_name,
   // value: Set(column1, column2, column3 ...)
   private final Map<String, Set<String>> tableColumns = new ConcurrentHashMap<>();
   private final SchemaValidatorUtil validator;
 
+  // key: kind of statement, followed by what its SQL depends on, e.g. the filter shape and sort criterion
+  // value: SQL template, with the urns and filter values bound as parameters.
+  // Templates depend on the indexed columns and expressions, they expire at the same pace as the schema validator cache.
+  private final SqlTemplateCache _sqlTemplateCache = new SqlTemplateCache(SQL_TEMPLATE_CACHE_SIZE, SQL_TEMPLATE_CACHE_TTL);
+
+  // Entity table upserts deferred by the write batch of the current thread, by test mode. Null outside of a write batch.
+  private final ThreadLocal<Map<Boolean, List<AspectUpsert<URN>>>> _pendingUpserts = new ThreadLocal<>();
+
+  private TotalCountStrategy _totalCountStrategy = TotalCountStrategy.EXACT;
+  // key: criteria of an index filter, as a set since they are ANDed in any order
+  // value: count of the urns satisfying the filter
+  private Cache<Set<IndexCriterion>, Integer> _filterCountCache = null;
+  private String _databaseName = null;
+
   public EbeanLocalAccess(EbeanServer server, ServerConfig serverConfig, @Nonnull Class<URN> urnClass,
       UrnPathExtractor<URN> urnPathExtractor, boolean nonDollarVirtualColumnsEnabled) {
     _server = server;
     _urnClass = urnClass;
     _urnPathExtractor = urnPathExtractor;
     _entityType = ModelUtils.getEntityTypeFromUrnClass(_urnClass);
+    validator = new SchemaValidatorUtil(server);
     _schemaEvolutionManager = createSchemaEvolutionManager(serverConfig);
     _nonDollarVirtualColumnsEnabled = nonDollarVirtualColumnsEnabled;
-    validator = new SchemaValidatorUtil(server);
   }
 
   public void setUrnPathExtractor(@Nonnull UrnPathExtractor<URN> urnPathExtractor) {
     _urnPathExtractor = urnPathExtractor;
   }
 
+  @Override
+  public void setTotalCountStrategy(@Nonnull TotalCountStrategy totalCountStrategy, @Nonnull Duration cachedCountTtl) {
+    _filterCountCache = Caffeine.newBuilder()
+        .expireAfterWrite(cachedCountTtl.toMillis(), TimeUnit.MILLISECONDS)
+        .maximumSize(FILTER_COUNT_CACHE_SIZE)
+        .build();
+    _totalCountStrategy = totalCountStrategy;
+  }
+
   public void ensureSchemaUpToDate() {
     _schemaEvolutionManager.ensureSchemaUpToDate();
+    // schema is up-to-date, load the columns and indexes of all tables at once instead of on their first use
+    validator.prewarm();
+  }
+
+  /**
+   * Returns the statistics of the cache of entity table SQL templates, which are keyed by the kind of statement and the
+   * shape of its filter.
+   */
+  @Nonnull
+  public CacheStats getSqlTemplateCacheStats() {
+    return _sqlTemplateCache.stats();
   }
 
   @Override
   @Transactional
   public <ASPECT extends RecordTemplate> int add(@Nonnull URN urn, @Nullable ASPECT newValue, @Nonnull Class<ASPECT> aspectClass,
       @Nonnull AuditStamp auditStamp, @Nullable IngestionTrackingContext ingestionTrackingContext, boolean isTestMode) {
+    final Map<Boolean, List<AspectUpsert<URN>>> pending = _pendingUpserts.get();
+    if (pending != null) {
+      pending.computeIfAbsent(isTestMode, unused -> new ArrayList<>())
+          .add(new AspectUpsert<>(urn, newValue, aspectClass, auditStamp, ingestionTrackingContext));
+      return 1;
+    }
     return addWithOptimisticLocking(urn, newValue, aspectClass, auditStamp, null, ingestionTrackingContext,
         isTestMode, true);
   }
 
+  @Override
+  public <T> T runInWriteBatch(@Nonnull Supplier<T> block) {
+    if (_pendingUpserts.get() != null) {
+      return block.get();
+    }
+
+    _pendingUpserts.set(new HashMap<>());
+    try {
+      final T result = block.get();
+      flushPendingUpserts();
+      return result;
+    } finally {
+      // nothing to flush on failure, the enclosing transaction is rolled back
+      _pendingUpserts.remove();
+    }
+  }
+
+  /**
+   * Applies the upserts deferred by the write batch of the current thread, if any.
+   */
+  private void flushPendingUpserts() {
+    final Map<Boolean, List<AspectUpsert<URN>>> pending = _pendingUpserts.get();
+    if (pending != null && !pending.isEmpty()) {
+      final Map<Boolean, List<AspectUpsert<URN>>> upserts = new HashMap<>(pending);
+      pending.clear();
+      upserts.forEach((isTestMode, aspectUpserts) -> addAll(aspectUpserts, isTestMode));
+    }
+  }
+
+  /**
+   * Whether the write batch of the current thread has a pending upsert of one of the given keys.
+   */
+  private boolean hasPendingUpsert(@Nonnull List<AspectKey<URN, ? extends RecordTemplate>> aspectKeys,
+      boolean isTestMode) {
+    final Map<Boolean, List<AspectUpsert<URN>>> pending = _pendingUpserts.get();
+    if (pending == null || !pending.containsKey(isTestMode)) {
+      return false;
+    }
+    // the urn column is matched case-insensitively by MySQL
+    return pending.get(isTestMode).stream().anyMatch(upsert -> aspectKeys.stream().anyMatch(
+        key -> key.getAspectClass() == upsert.getAspectClass() && key.getUrn().toString()
+            .equalsIgnoreCase(upsert.getUrn().toString())));
+  }
+
+  /**
+   * Creates a query, applying the pending upserts of the current thread first so that the query sees them.
+   */
+  @Nonnull
+  private SqlQuery createSqlQuery(@Nonnull String sql) {
+    flushPendingUpserts();
+    return _server.createSqlQuery(sql);
+  }
+
+  /**
+   * Creates an update, applying the pending upserts of the current thread first so that writes are applied in order.
+   */
+  @Nonnull
+  private SqlUpdate createSqlUpdate(@Nonnull String sql) {
+    flushPendingUpserts();
+    return _server.createSqlUpdate(sql);
+  }
+
   @Override
   public <ASPECT extends RecordTemplate> int addWithOptimisticLocking(
       @Nonnull URN urn,
@@ -125,11 +246,11 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
 
     final SqlUpdate sqlUpdate;
     if (oldTimestamp != null) {
-      sqlUpdate = _server.createSqlUpdate(
+      sqlUpdate = createSqlUpdate(
           SQLStatementUtils.createAspectUpdateWithOptimisticLockSql(urn, aspectClass, urnExtraction, isTestMode, softDeleteOverwrite));
       sqlUpdate.setParameter("oldTimestamp", oldTimestamp.toString());
     } else {
-      sqlUpdate = _server.createSqlUpdate(SQLStatementUtils.createAspectUpsertSql(urn, aspectClass, urnExtraction, isTestMode));
+      sqlUpdate = createSqlUpdate(SQLStatementUtils.createAspectUpsertSql(urn, aspectClass, urnExtraction, isTestMode));
     }
 
     String utcTimestamp = Instant.ofEpochMilli(timestamp)
@@ -165,6 +286,90 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
       return sqlUpdate.setParameter("metadata", metadata).execute();
   }
 
+  @Override
+  public int addAll(@Nonnull List<AspectUpsert<URN>> upserts, boolean isTestMode) {
+    final boolean urnExtraction = _urnPathExtractor != null && !(_urnPathExtractor instanceof EmptyPathExtractor);
+
+    // latest write of every aspect of each urn, and last write of each urn which sets the row level columns
+    final Map<String, Map<Class<? extends RecordTemplate>, AspectUpsert<URN>>> aspectsByUrn = new LinkedHashMap<>();
+    final Map<String, AspectUpsert<URN>> lastWriteByUrn = new HashMap<>();
+    for (AspectUpsert<URN> upsert : upserts) {
+      final String urn = upsert.getUrn().toString();
+      aspectsByUrn.computeIfAbsent(urn, unused -> new LinkedHashMap<>()).put(upsert.getAspectClass(), upsert);
+      lastWriteByUrn.put(urn, upsert);
+    }
+
+    // urns writing the same aspect columns share a statement
+    final Map<List<Class<? extends RecordTemplate>>, List<String>> urnsByColumns = new LinkedHashMap<>();
+    aspectsByUrn.forEach((urn, aspects) -> {
+      final List<Class<? extends RecordTemplate>> columns = new ArrayList<>(aspects.keySet());
+      columns.sort(Comparator.comparing(Class::getCanonicalName));
+      urnsByColumns.computeIfAbsent(columns, unused -> new ArrayList<>()).add(urn);
+    });
+
+    int rows = 0;
+    for (Map.Entry<List<Class<? extends RecordTemplate>>, List<String>> entry : urnsByColumns.entrySet()) {
+      final List<Class<? extends RecordTemplate>> columns = entry.getKey();
+      final List<String> urns = entry.getValue();
+      final SqlUpdate sqlUpdate = createSqlUpdate(SQLStatementUtils.createMultiAspectUpsertSql(
+          lastWriteByUrn.get(urns.get(0)).getUrn(), columns, urns.size(), urnExtraction, isTestMode));
+
+      for (int row = 0; row < urns.size(); row++) {
+        final AspectUpsert<URN> lastWrite = lastWriteByUrn.get(urns.get(row));
+        final AuditStamp auditStamp = lastWrite.getAuditStamp();
+        sqlUpdate.setParameter("urn" + row, urns.get(row))
+            .setParameter("lastmodifiedon" + row, toUtcTimestamp(auditStamp))
+            .setParameter("lastmodifiedby" + row, getActor(auditStamp));
+        if (urnExtraction) {
+          sqlUpdate.setParameter("a_urn" + row, toJsonString(lastWrite.getUrn()));
+        }
+
+        final Map<Class<? extends RecordTemplate>, AspectUpsert<URN>> aspects = aspectsByUrn.get(urns.get(row));
+        for (int column = 0; column < columns.size(); column++) {
+          sqlUpdate.setParameter("metadata" + row + "_" + column, toAspectColumnValue(aspects.get(columns.get(column))));
+        }
+      }
+      rows += sqlUpdate.execute();
+    }
+    return rows;
+  }
+
+  /**
+   * Serializes the value of an aspect write into its entity table column format, same as
+   * {@link #addWithOptimisticLocking}.
+   */
+  @Nonnull
+  private static String toAspectColumnValue(@Nonnull AspectUpsert<?> upsert) {
+    if (upsert.getValue() == null) {
+      return DELETED_VALUE;
+    }
+
+    final AuditStamp auditStamp = upsert.getAuditStamp();
+    final AuditedAspect auditedAspect = new AuditedAspect()
+        .setAspect(RecordUtils.toJsonString(upsert.getValue()))
+        .setCanonicalName(upsert.getAspectClass().getCanonicalName())
+        .setLastmodifiedby(getActor(auditStamp))
+        .setLastmodifiedon(toUtcTimestamp(auditStamp))
+        .setCreatedfor(auditStamp.hasImpersonator() ? auditStamp.getImpersonator().toString() : null, SetMode.IGNORE_NULL);
+    final IngestionTrackingContext trackingContext = upsert.getTrackingContext();
+    if (trackingContext != null) {
+      auditedAspect.setEmitTime(trackingContext.getEmitTime(), SetMode.IGNORE_NULL);
+      auditedAspect.setEmitter(trackingContext.getEmitter(), SetMode.IGNORE_NULL);
+    }
+    return toJsonString(auditedAspect);
+  }
+
+  @Nonnull
+  private static String getActor(@Nonnull AuditStamp auditStamp) {
+    return auditStamp.hasActor() ? auditStamp.getActor().toString() : DEFAULT_ACTOR;
+  }
+
+  @Nonnull
+  private static String toUtcTimestamp(@Nonnull AuditStamp auditStamp) {
+    final long timestamp = auditStamp.hasTime() ? auditStamp.getTime() : System.currentTimeMillis();
+    return Instant.ofEpochMilli(timestamp).atZone(ZoneOffset.UTC).format(DateTimeFormatter.ofPattern(DATE_TIME_FORMAT));
+  }
+
   /**
    * Create aspect from entity table.
    * By this point the callbacks are processed, and the aspect value is validated and ready to be written to database.
@@ -254,7 +459,7 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
 
     insertStatement = String.format(insertStatement, getTableName(urn));
 
-    sqlUpdate = _server.createSqlUpdate(insertStatement);
+    sqlUpdate = createSqlUpdate(insertStatement);
 
     String utcTimestamp = Instant.ofEpochMilli(timestamp)
         .atZone(ZoneOffset.UTC)
@@ -288,9 +493,11 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
   }
 
   /**
-   * Construct and execute a SQL statement as follows.
-   * SELECT urn, aspect1, lastmodifiedon, lastmodifiedby FROM metadata_entity_foo WHERE JSON_EXTRACT(aspect1, '$.gma_deleted') IS NULL
-   * AND urn IN ('urn:1', 'urn:2', 'urn:3')
+   * Construct and execute one SQL statement per entity table as follows.
+   * SELECT urn, a_aspect1, a_aspect2, lastmodifiedon, lastmodifiedby FROM metadata_entity_foo
+   * WHERE urn IN ('urn:1', 'urn:2', 'urn:3') AND deleted_ts IS NULL
+   * All the requested aspects of an entity live in the same row, so they are read together and fanned out into one
+   * {@link EbeanMetadataAspect} per requested (urn, aspect) key.
    * @param aspectKeys a List of keys (urn, aspect pairings) to query for
    * @param keysCount number of keys to query
    * @param position position of the key to start from
@@ -303,31 +510,48 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
       boolean includeSoftDeleted, boolean isTestMode) {
 
     final int end = Math.min(aspectKeys.size(), position + keysCount);
-    final Map<Class<ASPECT>, Set<Urn>> keysToQueryMap = new HashMap<>();
+    // other pending upserts are left in the write batch, so that they can still be combined
+    if (hasPendingUpsert(aspectKeys.subList(Math.min(position, end), end), isTestMode)) {
+      flushPendingUpserts();
+    }
+    // table name -> urn -> aspect classes requested for the urn
+    final Map<String, Map<Urn, Set<Class<? extends RecordTemplate>>>> keysToQueryMap = new LinkedHashMap<>();
     for (int index = position; index < end; index++) {
       final Urn entityUrn = aspectKeys.get(index).getUrn();
-      final Class<ASPECT> aspectClass = (Class<ASPECT>) aspectKeys.get(index).getAspectClass();
-      if (validator.columnExists(isTestMode ? getTestTableName(entityUrn) : getTableName(entityUrn),
-          getAspectColumnName(entityUrn.getEntityType(), aspectClass))) {
-        keysToQueryMap.computeIfAbsent(aspectClass, unused -> new HashSet<>()).add(entityUrn);
+      final Class<? extends RecordTemplate> aspectClass = aspectKeys.get(index).getAspectClass();
+      final String tableName = isTestMode ? getTestTableName(entityUrn) : getTableName(entityUrn);
+      if (validator.columnExists(tableName, getAspectColumnName(entityUrn.getEntityType(), aspectClass))) {
+        keysToQueryMap.computeIfAbsent(tableName, unused -> new LinkedHashMap<>())
+            .computeIfAbsent(entityUrn, unused -> new HashSet<>())
+            .add(aspectClass);
       }
     }
 
-    // each statement is for a single aspect class
-    Map<String, Class<ASPECT>> selectStatements = keysToQueryMap.entrySet()
-        .stream()
-        .collect(Collectors.toMap(
-            entry -> SQLStatementUtils.createAspectReadSql(entry.getKey(), entry.getValue(), includeSoftDeleted,
-                isTestMode), entry -> entry.getKey()));
-
-    // consolidate/join the results
-    final Map<SqlRow, Class<ASPECT>> sqlRows = new LinkedHashMap<>();
-    for (Map.Entry<String, Class<ASPECT>> entry : selectStatements.entrySet()) {
-      for (SqlRow sqlRow : _server.createSqlQuery(entry.getKey()).findList()) {
-        sqlRows.put(sqlRow, entry.getValue());
+    final List<EbeanMetadataAspect> results = new ArrayList<>();
+    for (Map<Urn, Set<Class<? extends RecordTemplate>>> aspectsByUrn : keysToQueryMap.values()) {
+      final Set<Class<? extends RecordTemplate>> aspectClasses = new HashSet<>();
+      // the urn column is matched case-insensitively by MySQL, so are the returned rows
+      final Map<String, Set<Class<? extends RecordTemplate>>> aspectsByUrnString = new HashMap<>();
+      aspectsByUrn.forEach((urn, classes) -> {
+        aspectClasses.addAll(classes);
+        aspectsByUrnString.computeIfAbsent(urn.toString().toLowerCase(Locale.ROOT), unused -> new HashSet<>()).addAll(classes);
+      });
+      final String entityType = aspectsByUrn.keySet().iterator().next().getEntityType();
+
+      final String readSql = _sqlTemplateCache.get(
+          Arrays.asList("aspects", entityType, aspectClasses, aspectsByUrn.size(), isTestMode),
+          unused -> SQLStatementUtils.createAspectsReadSql(aspectClasses, aspectsByUrn.keySet(), isTestMode));
+      final SqlQuery sqlQuery = _server.createSqlQuery(readSql);
+      getUrnParameters(aspectsByUrn.keySet()).forEach(sqlQuery::setParameter);
+      for (SqlRow sqlRow : sqlQuery.findList()) {
+        final Set<Class<? extends RecordTemplate>> requested =
+            aspectsByUrnString.get(sqlRow.getString("urn").toLowerCase(Locale.ROOT));
+        if (requested != null) {
+          results.addAll(EBeanDAOUtils.readSqlRow(sqlRow, entityType, requested, includeSoftDeleted));
+        }
       }
     }
-    return EBeanDAOUtils.readSqlRows(sqlRows);
+    return results;
   }
 
   /**
@@ -340,8 +564,8 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
   @Override
   public int softDeleteAsset(@Nonnull URN urn, boolean isTestMode) {
     // Update this to mark deleted_TS to NOW based on URN
-    final String deleteSqlStatement = SQLStatementUtils.createSoftDeleteAssetSql(urn, isTestMode);
-    return _server.createSqlUpdate(deleteSqlStatement).execute();
+    final String deleteSqlStatement = SQLStatementUtils.createParameterizedSoftDeleteAssetSql(urn, isTestMode);
+    return createSqlUpdate(deleteSqlStatement).setParameter(URN_PARAM, urn.toString()).execute();
   }
 
   @Override
@@ -355,10 +579,13 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
   @Override
   public ListResult<URN> listUrns(@Nullable IndexFilter indexFilter, @Nullable IndexSortCriterion indexSortCriterion,
       int start, int pageSize) {
-    final SqlQuery sqlQuery = createFilterSqlQuery(indexFilter, indexSortCriterion, start, pageSize);
+    if (_totalCountStrategy != TotalCountStrategy.EXACT) {
+      return listUrnsWithSeparateCount(indexFilter, indexSortCriterion, start, pageSize);
+    }
+    final SqlQuery sqlQuery = createFilterSqlQuery(indexFilter, indexSortCriterion, true, start, pageSize);
     final List<SqlRow> sqlRows = sqlQuery.findList();
     if (sqlRows.isEmpty()) {
-      final List<SqlRow> totalCountResults = createFilterSqlQuery(indexFilter, indexSortCriterion, 0, DEFAULT_PAGE_SIZE).findList();
+      final List<SqlRow> totalCountResults = createFilterSqlQuery(indexFilter, indexSortCriterion, true, 0, DEFAULT_PAGE_SIZE).findList();
       final int actualTotalCount = totalCountResults.isEmpty() ? 0 : totalCountResults.get(0).getInteger("_total_count");
       return toListResult(actualTotalCount, start, pageSize);
     }
@@ -366,10 +593,68 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
     return toListResult(values, sqlRows, null, start, pageSize);
   }
 
+  /**
+   * Same as {@link #listUrns(IndexFilter, IndexSortCriterion, int, int)} but the total count comes from
+   * {@link #countFilter(IndexFilter)} instead of a COUNT subquery of the page query. One more row than the page is
+   * fetched to tell whether there is a next page, since the count may be estimated or out of date. The total count is
+   * never reported lower than the rows seen so far.
+   */
+  @Nonnull
+  private ListResult<URN> listUrnsWithSeparateCount(@Nullable IndexFilter indexFilter,
+      @Nullable IndexSortCriterion indexSortCriterion, int start, int pageSize) {
+    final int limit = Math.max(pageSize, 0);
+    final List<SqlRow> sqlRows =
+        createFilterSqlQuery(indexFilter, indexSortCriterion, false, start, limit + 1).findList();
+    final boolean hasNext = sqlRows.size() > limit;
+    final List<URN> values = pageRows(sqlRows, limit).stream()
+        .map(sqlRow -> getUrn(sqlRow.getString("urn"), _urnClass))
+        .collect(Collectors.toList());
+    final int totalCount = Math.max(countFilter(indexFilter), Math.max(start, 0) + sqlRows.size());
+    final int resultPageSize = pageSize == 0 ? DEFAULT_PAGE_SIZE : pageSize;
+    return ListResult.<URN>builder()
+        .values(values)
+        .metadata(null)
+        .nextStart(hasNext ? start + values.size() : ListResult.INVALID_NEXT_START)
+        .havingMore(hasNext)
+        .totalCount(totalCount)
+        .totalPageCount(ceilDiv(totalCount, resultPageSize))
+        .pageSize(resultPageSize)
+        .build();
+  }
+
+  @Nonnull
+  @Override
+  public CursorListResult<URN, IndexSortCursor<URN>> listUrnsAfter(@Nullable IndexFilter indexFilter,
+      @Nullable IndexSortCriterion indexSortCriterion, @Nullable IndexSortCursor<URN> lastCursor, int pageSize,
+      boolean includeTotalCount) {
+    final int limit = keysetLimit(pageSize);
+    final boolean hasLastUrn = lastCursor != null;
+    final boolean hasLastSortValue = hasLastUrn && indexSortCriterion != null && lastCursor.getSortValue() != null;
+    final List<Object> templateKey = Arrays.asList("filterAfter", getIndexFilterShape(indexFilter),
+        String.valueOf(indexSortCriterion), hasLastUrn, hasLastSortValue, limit);
+    final SqlQuery sqlQuery = createIndexFilterQuery(templateKey, indexFilter,
+        parameters -> SQLStatementUtils.createFilterAfterSql(_entityType, indexFilter, indexSortCriterion, hasLastUrn,
+            hasLastSortValue, limit, _nonDollarVirtualColumnsEnabled, validator, parameters));
+    if (hasLastUrn) {
+      sqlQuery.setParameter(LAST_URN_PARAM, lastCursor.getUrn().toString());
+    }
+    if (hasLastSortValue) {
+      sqlQuery.setParameter(LAST_SORT_VALUE_PARAM, lastCursor.getSortValue());
+    }
+    final List<SqlRow> sqlRows = sqlQuery.findList();
+    final List<URN> values = pageRows(sqlRows, pageSize).stream()
+        .map(sqlRow -> getUrn(sqlRow.getString("urn"), _urnClass))
+        .collect(Collectors.toList());
+    final Integer totalCount = includeTotalCount ? countFilter(indexFilter) : null;
+    return toCursorListResult(sqlRows, pageSize, sqlRow -> new IndexSortCursor<>(getUrn(sqlRow.getString("urn"), _urnClass),
+        indexSortCriterion == null ? null : sqlRow.getString(SORT_VALUE_COLUMN)), values, null, totalCount);
+  }
+
   @Override
   public boolean exists(@Nonnull URN urn) {
-    final String existSql = SQLStatementUtils.createExistSql(urn);
-    final SqlQuery sqlQuery = _server.createSqlQuery(existSql);
+    final String existSql = SQLStatementUtils.createParameterizedExistSql(urn);
+    final SqlQuery sqlQuery = createSqlQuery(existSql);
+    sqlQuery.setParameter(URN_PARAM, urn.toString());
     return sqlQuery.findList().size() > 0;
   }
 
@@ -378,11 +663,11 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
   public <ASPECT extends RecordTemplate> ListResult<URN> listUrns(@Nonnull Class<ASPECT> aspectClass, int start,
       int pageSize) {
     final String browseSql = SQLStatementUtils.createAspectBrowseSql(_entityType, aspectClass, start, pageSize);
-    final SqlQuery sqlQuery = _server.createSqlQuery(browseSql);
+    final SqlQuery sqlQuery = createSqlQuery(browseSql);
 
     final List<SqlRow> sqlRows = sqlQuery.findList();
     if (sqlRows.size() == 0) {
-      final List<SqlRow> totalCountResults = _server.createSqlQuery(
+      final List<SqlRow> totalCountResults = createSqlQuery(
           SQLStatementUtils.createAspectBrowseSql(_entityType, aspectClass, 0, DEFAULT_PAGE_SIZE)).findList();
       final int actualTotalCount = totalCountResults.isEmpty() ? 0 : totalCountResults.get(0).getInteger("_total_count");
       return toListResult(actualTotalCount, start, pageSize);
@@ -398,8 +683,9 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
   public <ASPECT extends RecordTemplate> ListResult<ASPECT> list(@Nonnull Class<ASPECT> aspectClass, @Nonnull URN urn,
       int start, int pageSize) {
     // start / pageSize will be ignored since there will be at most one record returned from entity table.
-    final String listAspectByUrnSql = SQLStatementUtils.createListAspectByUrnSql(aspectClass, urn, false);
-    final SqlQuery sqlQuery = _server.createSqlQuery(listAspectByUrnSql);
+    final String listAspectByUrnSql = SQLStatementUtils.createParameterizedListAspectByUrnSql(aspectClass, urn, false);
+    final SqlQuery sqlQuery = createSqlQuery(listAspectByUrnSql);
+    sqlQuery.setParameter(URN_PARAM, urn.toString());
 
     try {
       final SqlRow sqlRow = sqlQuery.findOne();
@@ -407,8 +693,8 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
         return toListResult(0, start, pageSize);
       } else {
         sqlRow.set("_total_count", 1);
-        final ASPECT aspect = RecordUtils.toRecordTemplate(aspectClass,
-            extractAspectJsonString(sqlRow.getString(getAspectColumnName(urn.getEntityType(), aspectClass))));
+        final ASPECT aspect = RecordUtils.toRecordTemplate(aspectClass, AuditedAspectDecoder.decode(
+            sqlRow.getString(getAspectColumnName(urn.getEntityType(), aspectClass))).getAspect());
         final ListResultMetadata listResultMetadata = new ListResultMetadata().setExtraInfos(new ExtraInfoArray());
 
         Timestamp utcTimeStamp = timeStampStringToTimeStamp(sqlRow.getString("lastmodifiedon"));
@@ -433,7 +719,7 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
 
 
     final String listAspectSql = SQLStatementUtils.createListAspectWithPaginationSql(aspectClass, _entityType, false, start, pageSize);
-    final SqlQuery sqlQuery = _server.createSqlQuery(listAspectSql);
+    final SqlQuery sqlQuery = createSqlQuery(listAspectSql);
     final List<SqlRow> sqlRows = sqlQuery.findList();
     if (sqlRows.isEmpty()) {
       return toListResult(0, start, pageSize);
@@ -447,12 +733,140 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
                   sqlRow.getString("createdfor")));
       listResultMetadata.getExtraInfos().add(extraInfo);
       return RecordUtils.toRecordTemplate(aspectClass,
-          extractAspectJsonString(sqlRow.getString(getAspectColumnName(_entityType, aspectClass))));
+          AuditedAspectDecoder.decode(sqlRow.getString(getAspectColumnName(_entityType, aspectClass))).getAspect());
     }).collect(Collectors.toList());
     return toListResult(aspectList, sqlRows, listResultMetadata, start, pageSize);
   }
 
 
+  @Nonnull
+  @Override
+  public <ASPECT extends RecordTemplate> CursorListResult<URN, URN> listUrnsAfter(@Nonnull Class<ASPECT> aspectClass,
+      @Nullable URN lastUrn, int pageSize, boolean includeTotalCount) {
+    final String listUrnSql =
+        SQLStatementUtils.createListAspectAfterSql(aspectClass, _entityType, true, lastUrn != null, keysetLimit(pageSize));
+    final List<SqlRow> sqlRows = withLastUrn(createSqlQuery(listUrnSql), lastUrn).findList();
+    final List<URN> values = pageRows(sqlRows, pageSize).stream()
+        .map(sqlRow -> getUrn(sqlRow.getString("urn"), _urnClass))
+        .collect(Collectors.toList());
+    final Integer totalCount =
+        includeTotalCount ? findTotalCount(SQLStatementUtils.createCountAspectSql(aspectClass, _entityType)) : null;
+    return toCursorListResult(sqlRows, pageSize, sqlRow -> getUrn(sqlRow.getString("urn"), _urnClass), values, null,
+        totalCount);
+  }
+
+  @Nonnull
+  @Override
+  public <ASPECT extends RecordTemplate> CursorListResult<ASPECT, URN> listAfter(@Nonnull Class<ASPECT> aspectClass,
+      @Nullable URN lastUrn, int pageSize, boolean includeTotalCount) {
+    final String listAspectSql =
+        SQLStatementUtils.createListAspectAfterSql(aspectClass, _entityType, false, lastUrn != null, keysetLimit(pageSize));
+    final List<SqlRow> sqlRows = withLastUrn(createSqlQuery(listAspectSql), lastUrn).findList();
+    final ListResultMetadata listResultMetadata = new ListResultMetadata().setExtraInfos(new ExtraInfoArray());
+    final List<ASPECT> aspectList = pageRows(sqlRows, pageSize).stream().map(sqlRow -> {
+      Timestamp utcTimeStamp = timeStampStringToTimeStamp(sqlRow.getString("lastmodifiedon"));
+      final ExtraInfo extraInfo = new ExtraInfo().setUrn(getUrn(sqlRow.getString("urn"), _urnClass))
+          .setVersion(LATEST_VERSION).setAudit(
+              makeAuditStamp(utcTimeStamp, sqlRow.getString("lastmodifiedby"),
+                  sqlRow.getString("createdfor")));
+      listResultMetadata.getExtraInfos().add(extraInfo);
+      return RecordUtils.toRecordTemplate(aspectClass,
+          AuditedAspectDecoder.decode(sqlRow.getString(getAspectColumnName(_entityType, aspectClass))).getAspect());
+    }).collect(Collectors.toList());
+    final Integer totalCount =
+        includeTotalCount ? findTotalCount(SQLStatementUtils.createCountAspectSql(aspectClass, _entityType)) : null;
+    return toCursorListResult(sqlRows, pageSize, sqlRow -> getUrn(sqlRow.getString("urn"), _urnClass), aspectList,
+        listResultMetadata, totalCount);
+  }
+
+  @Nonnull
+  private SqlQuery withLastUrn(@Nonnull SqlQuery sqlQuery, @Nullable URN lastUrn) {
+    return lastUrn == null ? sqlQuery : sqlQuery.setParameter(LAST_URN_PARAM, lastUrn.toString());
+  }
+
+  private int findTotalCount(@Nonnull String countSql) {
+    return findTotalCount(createSqlQuery(countSql));
+  }
+
+  private int findTotalCount(@Nonnull SqlQuery countQuery) {
+    final SqlRow sqlRow = countQuery.findOne();
+    return sqlRow == null ? 0 : sqlRow.getInteger("_total_count");
+  }
+
+  /**
+   * Count the urns satisfying the index filter, according to the {@link TotalCountStrategy}.
+   */
+  private int countFilter(@Nullable IndexFilter indexFilter) {
+    switch (_totalCountStrategy) {
+      case ESTIMATED:
+        return estimateFilterCount(indexFilter);
+      case CACHED_EXACT:
+        return _filterCountCache.get(getFilterCountKey(indexFilter),
+            key -> findTotalCount(createFilterCountQuery(indexFilter, false)));
+      default:
+        return findTotalCount(createFilterCountQuery(indexFilter, false));
+    }
+  }
+
+  /**
+   * Produce {@link SqlQuery} counting the urns satisfying the index filter, or explaining how it would be counted.
+   */
+  @Nonnull
+  private SqlQuery createFilterCountQuery(@Nullable IndexFilter indexFilter, boolean explain) {
+    return createIndexFilterQuery(Arrays.asList("filterCount", getIndexFilterShape(indexFilter), explain), indexFilter,
+        parameters -> (explain ? "EXPLAIN " : "")
+            + SQLStatementUtils.createFilterCountSql(_entityType, indexFilter, _nonDollarVirtualColumnsEnabled, validator, parameters));
+  }
+
+  /**
+   * Estimate the count of the urns satisfying the index filter without scanning them. Without criteria this is the
+   * row count from the table statistics. Otherwise this is the number of rows the optimizer expects to examine for the
+   * count query, scaled down by the percentage it expects the conditions to keep when the database reports it.
+   */
+  private int estimateFilterCount(@Nullable IndexFilter indexFilter) {
+    if (indexFilter == null || !indexFilter.hasCriteria() || indexFilter.getCriteria().isEmpty()) {
+      final SqlRow sqlRow = createSqlQuery(
+          SQLStatementUtils.getEstimatedRowCount(getDatabaseName(), getTableName(_entityType))).findOne();
+      return sqlRow == null || sqlRow.getLong("table_rows") == null ? 0 : sqlRow.getLong("table_rows").intValue();
+    }
+
+    final List<SqlRow> plan = createFilterCountQuery(indexFilter, true).findList();
+    if (plan.isEmpty() || plan.get(0).getLong("rows") == null) {
+      return 0;
+    }
+    final long rows = plan.get(0).getLong("rows");
+    final Double filtered = plan.get(0).containsKey("filtered") ? plan.get(0).getDouble("filtered") : null;
+    return (int) Math.min(Integer.MAX_VALUE, filtered == null ? rows : Math.round(rows * filtered / 100));
+  }
+
+  @Nonnull
+  private String getDatabaseName() {
+    if (_databaseName == null) {
+      _databaseName = createSqlQuery("SELECT DATABASE() AS db").findOne().getString("db");
+    }
+    return _databaseName;
+  }
+
+  /**
+   * Key of an index filter in the count cache. Criteria are copied so that later changes to the filter don't change
+   * the key.
+   */
+  @Nonnull
+  private static Set<IndexCriterion> getFilterCountKey(@Nullable IndexFilter indexFilter) {
+    if (indexFilter == null || !indexFilter.hasCriteria()) {
+      return Collections.emptySet();
+    }
+    final Set<IndexCriterion> criteria = new HashSet<>();
+    for (IndexCriterion criterion : indexFilter.getCriteria()) {
+      try {
+        criteria.add(criterion.copy());
+      } catch (CloneNotSupportedException e) {
+        throw new IllegalStateException("Failed to copy index criterion " + criterion, e);
+      }
+    }
+    return criteria;
+  }
+
   @Nonnull
   @Override
   public Map<String, Long> countAggregate(@Nullable IndexFilter indexFilter,
@@ -467,8 +881,10 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
     }
 
     // now run the actual GROUP BY query
-    final String groupBySql = SQLStatementUtils.createGroupBySql(_entityType, indexFilter, indexGroupByCriterion, _nonDollarVirtualColumnsEnabled, validator);
-    final SqlQuery sqlQuery = _server.createSqlQuery(groupBySql);
+    final SqlQuery sqlQuery = createIndexFilterQuery(
+        Arrays.asList("groupBy", getIndexFilterShape(indexFilter), String.valueOf(indexGroupByCriterion)), indexFilter,
+        parameters -> SQLStatementUtils.createGroupBySql(_entityType, indexFilter, indexGroupByCriterion,
+            _nonDollarVirtualColumnsEnabled, validator, parameters));
     final List<SqlRow> sqlRows = sqlQuery.findList();
     Map<String, Long> resultMap = new HashMap<>();
     for (SqlRow sqlRow : sqlRows) {
@@ -489,17 +905,23 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
    * Produce {@link SqlQuery} for list urn by offset (start) and limit (pageSize).
    * @param indexFilter index filter conditions
    * @param indexSortCriterion sorting criterion, default ACS
+   * @param hasTotalCount whether to select the total count of the filter in a _total_count column
    * @return SqlQuery a SQL query which can be executed by ebean server.
    */
   private SqlQuery createFilterSqlQuery(@Nullable IndexFilter indexFilter,
-      @Nullable IndexSortCriterion indexSortCriterion, int offset, int pageSize) {
-    StringBuilder filterSql = new StringBuilder();
-    filterSql.append(SQLStatementUtils.createFilterSql(_entityType, indexFilter, true, _nonDollarVirtualColumnsEnabled, validator));
-    filterSql.append("\n");
-    filterSql.append(parseSortCriteria(_entityType, indexSortCriterion, _nonDollarVirtualColumnsEnabled, validator));
-    filterSql.append(String.format(" LIMIT %d", Math.max(pageSize, 0)));
-    filterSql.append(String.format(" OFFSET %d", Math.max(offset, 0)));
-    return _server.createSqlQuery(filterSql.toString());
+      @Nullable IndexSortCriterion indexSortCriterion, boolean hasTotalCount, int offset, int pageSize) {
+    final List<Object> templateKey =
+        Arrays.asList("filter", getIndexFilterShape(indexFilter), String.valueOf(indexSortCriterion), hasTotalCount);
+    return createIndexFilterQuery(templateKey, indexFilter, parameters -> {
+      StringBuilder filterSql = new StringBuilder();
+      filterSql.append(SQLStatementUtils.createFilterSql(_entityType, indexFilter, hasTotalCount, _nonDollarVirtualColumnsEnabled,
+          validator, parameters));
+      filterSql.append("\n");
+      filterSql.append(parseSortCriteria(_entityType, indexSortCriterion, _nonDollarVirtualColumnsEnabled, validator));
+      filterSql.append(" LIMIT :" + LIMIT_PARAM);
+      filterSql.append(" OFFSET :" + OFFSET_PARAM);
+      return filterSql.toString();
+    }).setParameter(LIMIT_PARAM, Math.max(pageSize, 0)).setParameter(OFFSET_PARAM, Math.max(offset, 0));
   }
 
   /**
@@ -507,21 +929,57 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
    */
   private SqlQuery createFilterSqlQuery(@Nullable IndexFilter indexFilter,
       @Nullable IndexSortCriterion indexSortCriterion, @Nullable URN lastUrn, int pageSize) {
-    StringBuilder filterSql = new StringBuilder();
-    filterSql.append(SQLStatementUtils.createFilterSql(_entityType, indexFilter, false, _nonDollarVirtualColumnsEnabled, validator));
+    final List<Object> templateKey =
+        Arrays.asList("filterAfterUrn", getIndexFilterShape(indexFilter), String.valueOf(indexSortCriterion), lastUrn != null);
+    final SqlQuery sqlQuery = createIndexFilterQuery(templateKey, indexFilter, parameters -> {
+      StringBuilder filterSql = new StringBuilder();
+      filterSql.append(SQLStatementUtils.createFilterSql(_entityType, indexFilter, false, _nonDollarVirtualColumnsEnabled,
+          validator, parameters));
+
+      if (lastUrn != null) {
+        // because createFilterSql will always include a WHERE clause to filter by deleted_ts is NULL
+        // We will append the lastUrn condition to the WHERE clause with AND operator.
+        filterSql.append(" AND URN > :" + LAST_URN_PARAM);
+      }
 
-    if (lastUrn != null) {
-      // because createFilterSql will always include a WHERE clause to filter by deleted_ts is NULL
-      // We will append the lastUrn condition to the WHERE clause with AND operator.
-      String operator = "AND";
+      filterSql.append("\n");
+      filterSql.append(parseSortCriteria(_entityType, indexSortCriterion, _nonDollarVirtualColumnsEnabled, validator));
+      filterSql.append(" LIMIT :" + LIMIT_PARAM);
+      return filterSql.toString();
+    }).setParameter(LIMIT_PARAM, Math.max(pageSize, 0));
+    return withLastUrn(sqlQuery, lastUrn);
+  }
 
-      filterSql.append(String.format(" %s URN > '%s'", operator, lastUrn));
+  /**
+   * Create a query from the SQL template of an index filter, with the values of the filter bound to its parameters.
+   * Filters of the same shape share the same template, see {@link SQLIndexFilterUtils#getIndexFilterShape(IndexFilter)},
+   * which is generated once and then read from the template cache. The filter is validated before the lookup, since a
+   * cached template skips the validation done while generating it.
+   * @param templateKey key of the template in the cache, including the filter shape and anything else the SQL depends on
+   * @param indexFilter index filter whose values are bound
+   * @param templateGenerator generates the template, adding the filter parameters to the given map
+   */
+  @Nonnull
+  private SqlQuery createIndexFilterQuery(@Nonnull List<Object> templateKey, @Nullable IndexFilter indexFilter,
+      @Nonnull Function<Map<String, Object>, String> templateGenerator) {
+    SQLIndexFilterUtils.validateIndexFilter(indexFilter);
+    String template = _sqlTemplateCache.getIfPresent(templateKey);
+    Map<String, Object> parameters = getIndexFilterParameters(indexFilter);
+    if (template == null) {
+      // criteria on a path without index are left out of the SQL. Such templates aren't cached, so that the criteria are
+      // used as soon as the index is added. Checked before generating the template, which can only render more criteria.
+      final boolean allCriteriaRendered =
+          SQLIndexFilterUtils.isEveryCriterionRendered(_entityType, indexFilter, _nonDollarVirtualColumnsEnabled, validator);
+      final Map<String, Object> templateParameters = new LinkedHashMap<>();
+      template = templateGenerator.apply(templateParameters);
+      if (allCriteriaRendered) {
+        _sqlTemplateCache.put(templateKey, template);
+      }
+      parameters = templateParameters;
     }
-
-    filterSql.append("\n");
-    filterSql.append(parseSortCriteria(_entityType, indexSortCriterion, _nonDollarVirtualColumnsEnabled, validator));
-    filterSql.append(String.format(" LIMIT %d", Math.max(pageSize, 0)));
-    return _server.createSqlQuery(filterSql.toString());
+    final SqlQuery sqlQuery = createSqlQuery(template);
+    parameters.forEach(sqlQuery::setParameter);
+    return sqlQuery;
   }
 
   /**
@@ -650,7 +1108,11 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
         serverConfig.getDataSourceConfig().getUsername(),
         identifier);
 
-    return new FlywaySchemaEvolutionManager(config);
+    FlywaySchemaEvolutionManager schemaEvolutionManager = new FlywaySchemaEvolutionManager(config);
+    schemaEvolutionManager.registerSchemaValidator(validator);
+    // templates leave out criteria on paths without index, so they must be regenerated once migrations add indexes
+    schemaEvolutionManager.registerMigrationListener(_sqlTemplateCache::invalidateAll);
+    return schemaEvolutionManager;
   }
 
   /**
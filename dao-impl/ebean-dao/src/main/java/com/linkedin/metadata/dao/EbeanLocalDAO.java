@@ -1,6 +1,7 @@
 package com.linkedin.metadata.dao;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.linkedin.common.AuditStamp;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.data.schema.DataSchema;
@@ -27,6 +28,7 @@ import com.linkedin.metadata.dao.utils.ModelUtils;
 import com.linkedin.metadata.dao.utils.QueryUtils;
 import com.linkedin.metadata.dao.utils.RecordUtils;
 import com.linkedin.metadata.dao.utils.SQLSchemaUtils;
+import com.linkedin.metadata.dao.utils.UrnFactories;
 import com.linkedin.metadata.events.IngestionTrackingContext;
 import com.linkedin.metadata.internal.IngestionParams;
 import com.linkedin.metadata.query.Condition;
@@ -40,16 +42,16 @@ import com.linkedin.metadata.query.IndexValue;
 import com.linkedin.metadata.query.ListResultMetadata;
 import io.ebean.DuplicateKeyException;
 import io.ebean.EbeanServer;
+import io.ebean.ExpressionList;
 import io.ebean.PagedList;
 import io.ebean.Query;
 import io.ebean.SqlRow;
 import io.ebean.SqlUpdate;
 import io.ebean.Transaction;
 import io.ebean.config.ServerConfig;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.net.URISyntaxException;
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -58,12 +60,22 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.persistence.OptimisticLockException;
+import javax.persistence.QueryTimeoutException;
 import javax.persistence.RollbackException;
 import javax.persistence.Table;
 import lombok.Value;
@@ -89,6 +101,10 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
 
   private final static int DEFAULT_BATCH_SIZE = 50;
   private int _queryKeysCount = DEFAULT_BATCH_SIZE;
+
+  // Optional config to run the paginated sub queries of batchGet in parallel, null (disabled) by default.
+  // Replaced as a whole, so that request threads always read a consistent config, see enableParallelBatchGet.
+  private volatile ParallelBatchGetConfig _parallelBatchGetConfig = null;
   private IEbeanLocalAccess<URN> _localAccess;
   private EbeanLocalRelationshipWriterDAO _localRelationshipWriterDAO;
   private LocalRelationshipBuilderRegistry _localRelationshipBuilderRegistry = null;
@@ -101,6 +117,12 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     DUAL_SCHEMA // Write to both the old and new tables and perform a comparison between values when reading
   }
 
+  public enum TotalCountStrategy {
+    EXACT,        // Default: count the matching rows with every paged filter query
+    ESTIMATED,    // Use the optimizer estimate: table statistics for unfiltered scans, EXPLAIN of the count query otherwise
+    CACHED_EXACT  // Count the matching rows once per index filter and reuse the count until it expires
+  }
+
   // TODO: clean up once AIM is no longer using existing local relationships - they should make new relationship tables with the aspect column
   private boolean _useAspectColumnForRelationshipRemoval = false;
 
@@ -119,6 +141,12 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
   // true = overwrite 2nd latest version with latest version (equivalent to keeping only version = 0 rows in metadata_aspect)
   private boolean _overwriteLatestVersionEnabled = false;
 
+  // null = one metadata_id row inserted per numeric id
+  private EbeanMetadataIdAllocator _idAllocator = null;
+
+  // true = entity table writes of a write batch (atomic addMany, addBulk) are combined into multi-aspect upserts
+  private boolean _combineEntityTableWrites = false;
+
   public void setChangeLogEnabled(boolean changeLogEnabled) {
     if (_schemaConfig == SchemaConfig.NEW_SCHEMA_ONLY) {
       _changeLogEnabled = changeLogEnabled;
@@ -151,6 +179,32 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     _noisyLogsEnabled = noisyLogsEnabled;
   }
 
+  /**
+   * Set a flag to indicate whether the entity table writes of addMany, when atomic multiple update is enabled, and of
+   * addBulk batches are combined: all the aspects of an urn are written by one upsert, and urns writing the same aspects
+   * share a multi-row upsert. Writes to the change log table (metadata_aspect) and optimistic locking updates are not
+   * combined. Only applies to the new and dual schema modes.
+   *
+   * <p>Reads of the pending aspects, and any other entity table statement run by this DAO on the same thread, e.g. from
+   * hooks or update lambdas, apply the pending writes first so that they see them. Reads of the entity tables done
+   * through other DAOs don't.</p>
+   */
+  public void setCombineEntityTableWrites(boolean combineEntityTableWrites) {
+    _combineEntityTableWrites = combineEntityTableWrites;
+  }
+
+  /**
+   * Set how the total count of paged index filter queries is computed, see {@link TotalCountStrategy}. Only applies to
+   * the new and dual schema modes, index filters are not supported in the old schema mode.
+   * @param totalCountStrategy how to compute the total count
+   * @param cachedCountTtl how long a count is reused with {@link TotalCountStrategy#CACHED_EXACT}
+   */
+  public void setTotalCountStrategy(@Nonnull TotalCountStrategy totalCountStrategy, @Nonnull Duration cachedCountTtl) {
+    if (_schemaConfig != SchemaConfig.OLD_SCHEMA_ONLY) {
+      _localAccess.setTotalCountStrategy(totalCountStrategy, cachedCountTtl);
+    }
+  }
+
   public void setOverwriteLatestVersionEnabled(boolean overwriteLatestVersionEnabled) {
     if (_schemaConfig == SchemaConfig.NEW_SCHEMA_ONLY) {
       if (isChangeLogEnabled()) {
@@ -588,6 +642,19 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     return result;
   }
 
+  /**
+   * When combining entity table writes is enabled, defers the entity table writes of the block and applies them with
+   * {@link IEbeanLocalAccess#addAll(List, boolean)} once the block is done, see
+   * {@link IEbeanLocalAccess#runInWriteBatch(Supplier)}.
+   */
+  @Override
+  protected <T> T runInWriteBatch(@Nonnull Supplier<T> block) {
+    if (!_combineEntityTableWrites || _schemaConfig == SchemaConfig.OLD_SCHEMA_ONLY) {
+      return block.get();
+    }
+    return _localAccess.runInWriteBatch(block);
+  }
+
   /**
    * Extracts the optimistic lock for a specific aspect from the ingestion parameters if possible.
    * @param ingestionParams the ingestion parameters containing the aspects and their eTags
@@ -831,17 +898,45 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
   @Nonnull
   protected <ASPECT extends RecordTemplate> AspectEntry<ASPECT> getLatest(@Nonnull URN urn,
       @Nonnull Class<ASPECT> aspectClass, boolean isTestMode) {
-    EbeanMetadataAspect latest = queryLatest(urn, aspectClass, isTestMode);
+    return toAspectEntry(aspectClass, queryLatest(urn, aspectClass, isTestMode));
+  }
+
+  /**
+   * Reads all the keys with a single batchGetUnion when only the new schema is in use. Old and dual schema modes fall back
+   * to one query per key because of the retries done in {@link #queryLatest(Urn, Class, boolean)}.
+   */
+  @Override
+  @Nonnull
+  protected Map<AspectKey<URN, ? extends RecordTemplate>, AspectEntry<? extends RecordTemplate>> getLatest(
+      @Nonnull Set<AspectKey<URN, ? extends RecordTemplate>> keys, boolean isTestMode) {
+    if (_schemaConfig != SchemaConfig.NEW_SCHEMA_ONLY || keys.isEmpty()) {
+      return super.getLatest(keys, isTestMode);
+    }
+
+    final List<AspectKey<URN, ? extends RecordTemplate>> keyList = new ArrayList<>(keys);
+    final Map<PrimaryKey, EbeanMetadataAspect> recordIndex =
+        indexByNormalizedKey(_localAccess.batchGetUnion(keyList, keyList.size(), 0, true, isTestMode));
+    final Map<AspectKey<URN, ? extends RecordTemplate>, AspectEntry<? extends RecordTemplate>> results = new HashMap<>();
+    for (AspectKey<URN, ? extends RecordTemplate> key : keyList) {
+      results.put(key, toAspectEntry(key.getAspectClass(), recordIndex.get(normalizeKey(key))));
+    }
+    return results;
+  }
+
+  @Nonnull
+  private <ASPECT extends RecordTemplate> AspectEntry<ASPECT> toAspectEntry(@Nonnull Class<ASPECT> aspectClass,
+      @Nullable EbeanMetadataAspect latest) {
     if (latest == null) {
       return new AspectEntry<>(null, null);
     }
     final ExtraInfo extraInfo = toExtraInfo(latest);
 
-    if (isSoftDeletedAspect(latest, aspectClass)) {
+    final ASPECT value = metadataToRecordTemplate(aspectClass, latest);
+    if (isSoftDeletedAspect(value)) {
       return new AspectEntry<>(null, extraInfo, true);
     }
 
-    return new AspectEntry<>(RecordUtils.toRecordTemplate(aspectClass, latest.getMetadata()), extraInfo);
+    return new AspectEntry<>(value, extraInfo);
   }
 
   @Nonnull
@@ -1126,7 +1221,12 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     if (keys.isEmpty()) {
       return Collections.emptyMap();
     }
+    return getThroughLatestAspectCache(keys, this::getFromStorage);
+  }
 
+  @Nonnull
+  private Map<AspectKey<URN, ? extends RecordTemplate>, Optional<? extends RecordTemplate>> getFromStorage(
+      @Nonnull Set<AspectKey<URN, ? extends RecordTemplate>> keys) {
     final List<EbeanMetadataAspect> records;
 
     if (_queryKeysCount == 0) {
@@ -1135,12 +1235,10 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
       records = batchGet(keys, _queryKeysCount);
     }
 
-    // TODO: Improve this O(n^2) search
+    final Map<PrimaryKey, EbeanMetadataAspect> recordIndex = indexByNormalizedKey(records);
 
     return keys.stream()
-        .collect(Collectors.toMap(Function.identity(), key -> records.stream()
-            .filter(record -> matchKeys(key, record.getKey()))
-            .findFirst()
+        .collect(Collectors.toMap(Function.identity(), key -> Optional.ofNullable(recordIndex.get(normalizeKey(key)))
             .flatMap(record -> toRecordTemplate(key.getAspectClass(), record))));
   }
 
@@ -1157,18 +1255,18 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     } else {
       records = batchGet(keys, _queryKeysCount);
     }
+    final Map<PrimaryKey, EbeanMetadataAspect> recordIndex = indexByNormalizedKey(records);
     final Map<AspectKey<URN, ? extends RecordTemplate>, AspectWithExtraInfo<? extends RecordTemplate>> result =
         new HashMap<>();
-    keys.forEach(key -> records.stream()
-        .filter(record -> matchKeys(key, record.getKey()))
-        .findFirst()
-        .map(record -> {
-          final Class<RecordTemplate> aspectClass = (Class<RecordTemplate>) key.getAspectClass();
-          final Optional<AspectWithExtraInfo<RecordTemplate>> aspectWithExtraInfo = toRecordTemplateWithExtraInfo(aspectClass, record);
-          aspectWithExtraInfo.ifPresent(
-              recordTemplateAspectWithExtraInfo -> result.put(key, recordTemplateAspectWithExtraInfo));
-          return null;
-        }));
+    keys.forEach(key -> {
+      final EbeanMetadataAspect record = recordIndex.get(normalizeKey(key));
+      if (record == null) {
+        return;
+      }
+      final Class<RecordTemplate> aspectClass = (Class<RecordTemplate>) key.getAspectClass();
+      final Optional<AspectWithExtraInfo<RecordTemplate>> aspectWithExtraInfo = toRecordTemplateWithExtraInfo(aspectClass, record);
+      aspectWithExtraInfo.ifPresent(recordTemplateAspectWithExtraInfo -> result.put(key, recordTemplateAspectWithExtraInfo));
+    });
     return result;
   }
 
@@ -1210,6 +1308,89 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     }
   }
 
+  /**
+   * Run the paginated sub queries of batch get (see {@link #setQueryKeysCount(int)}) in parallel on a thread pool owned
+   * by this DAO. The pool size is capped by the max connections of the Ebean data source, so that parallel pages can't
+   * starve the rest of the service of connections.
+   *
+   * <p>The pool is shut down when parallel batch get is enabled again or disabled.
+   *
+   * @param parallelism max number of pages queried concurrently in addition to the calling thread
+   * @param pageTimeoutMs max time in milliseconds to wait for the pages queried on the pool, once the calling thread is
+   *                      done with its own pages
+   */
+  public void enableParallelBatchGet(int parallelism, long pageTimeoutMs) {
+    validateParallelBatchGetParams(parallelism, pageTimeoutMs);
+    final int poolSize = capByConnectionPoolSize(parallelism);
+    setParallelBatchGetConfig(new ParallelBatchGetConfig(Executors.newFixedThreadPool(poolSize,
+        new ThreadFactoryBuilder().setNameFormat("ebean-local-dao-batch-get-%d").setDaemon(true).build()),
+        poolSize, pageTimeoutMs, true));
+  }
+
+  /**
+   * Run the paginated sub queries of batch get (see {@link #setQueryKeysCount(int)}) in parallel on the given executor.
+   * The first page is always queried on the calling thread. Other pages are handed to the executor as long as fewer than
+   * maxConcurrentPages pages of this DAO are in flight, and are queried on the calling thread otherwise. Batch gets that
+   * run inside a transaction are never parallelized, since the transaction is bound to the calling thread.
+   *
+   * @param executor executor to run the sub queries on. The DAO does not shut it down.
+   * @param maxConcurrentPages max number of pages in flight on the executor, capped by the max connections of the Ebean
+   *                           data source
+   * @param pageTimeoutMs max time in milliseconds to wait for the pages queried on the executor, once the calling thread
+   *                      is done with its own pages
+   */
+  public void enableParallelBatchGet(@Nonnull ExecutorService executor, int maxConcurrentPages, long pageTimeoutMs) {
+    validateParallelBatchGetParams(maxConcurrentPages, pageTimeoutMs);
+    setParallelBatchGetConfig(
+        new ParallelBatchGetConfig(executor, capByConnectionPoolSize(maxConcurrentPages), pageTimeoutMs, false));
+  }
+
+  /**
+   * Run the paginated sub queries of batch get sequentially on the calling thread, which is the default. The thread pool
+   * created by {@link #enableParallelBatchGet(int, long)}, if any, is shut down.
+   */
+  public void disableParallelBatchGet() {
+    setParallelBatchGetConfig(null);
+  }
+
+  @VisibleForTesting
+  @Nullable
+  ExecutorService getParallelBatchGetExecutor() {
+    final ParallelBatchGetConfig config = _parallelBatchGetConfig;
+    return config == null ? null : config._executor;
+  }
+
+  private static void validateParallelBatchGetParams(int maxConcurrentPages, long pageTimeoutMs) {
+    if (maxConcurrentPages <= 0) {
+      throw new IllegalArgumentException("Max concurrent pages must be positive: " + maxConcurrentPages);
+    }
+    if (pageTimeoutMs <= 0) {
+      throw new IllegalArgumentException("Page timeout must be positive: " + pageTimeoutMs);
+    }
+  }
+
+  private synchronized void setParallelBatchGetConfig(@Nullable ParallelBatchGetConfig config) {
+    final ParallelBatchGetConfig previousConfig = _parallelBatchGetConfig;
+    _parallelBatchGetConfig = config;
+    if (previousConfig != null && previousConfig._ownsExecutor) {
+      // Pages already submitted still complete. Batch gets still holding the previous config get their new pages
+      // rejected and query them on the calling thread.
+      previousConfig._executor.shutdown();
+    }
+  }
+
+  /**
+   * Cap the given parallelism so that, together with the calling thread, it never exceeds the max connections of the
+   * Ebean data source. The parallelism is returned as is if the data source config is not available.
+   */
+  private int capByConnectionPoolSize(int parallelism) {
+    if (_server.getPluginApi() == null || _server.getPluginApi().getServerConfig().getDataSourceConfig() == null) {
+      return parallelism;
+    }
+    final int maxConnections = _server.getPluginApi().getServerConfig().getDataSourceConfig().getMaxConnections();
+    return Math.max(1, Math.min(parallelism, maxConnections - 1));
+  }
+
   /**
    * Provide a local relationship builder registry. Local relationships will be built based on the builders during data ingestion.
    * If set to null, local relationship ingestion will be turned off for this particular DAO instance. This is beneficial
@@ -1222,8 +1403,8 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
   }
 
   /**
-   * BatchGet that allows pagination on keys to avoid large queries.
-   * TODO: can further improve by running the sub queries in parallel
+   * BatchGet that allows pagination on keys to avoid large queries. The sub queries run in parallel if enabled by
+   * {@link #enableParallelBatchGet(ExecutorService, int, long)}.
    *
    * @param keys a set of keys with urn, aspect and version
    * @param keysCount the max number of keys for each sub query
@@ -1232,18 +1413,78 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
   private List<EbeanMetadataAspect> batchGet(@Nonnull Set<AspectKey<URN, ? extends RecordTemplate>> keys,
       int keysCount) {
 
-    int position = 0;
+    final List<AspectKey<URN, ? extends RecordTemplate>> keyList = new ArrayList<>(keys);
     final int totalPageCount = QueryUtils.getTotalPageCount(keys.size(), keysCount);
 
-    List<EbeanMetadataAspect> finalResult = batchGetHelper(new ArrayList<>(keys), keysCount, position);
+    final ParallelBatchGetConfig parallelBatchGetConfig = _parallelBatchGetConfig;
+    if (parallelBatchGetConfig != null && totalPageCount > 1 && _server.currentTransaction() == null) {
+      return batchGetInParallel(keyList, keysCount, parallelBatchGetConfig);
+    }
+
+    int position = 0;
+    final List<EbeanMetadataAspect> finalResult = new ArrayList<>(batchGetHelper(keyList, keysCount, position));
     while (QueryUtils.hasMore(position, keysCount, totalPageCount)) {
       position += keysCount;
-      final List<EbeanMetadataAspect> oneStatementResult = batchGetHelper(new ArrayList<>(keys), keysCount, position);
+      final List<EbeanMetadataAspect> oneStatementResult = batchGetHelper(keyList, keysCount, position);
       finalResult.addAll(oneStatementResult);
     }
     return finalResult;
   }
 
+  @Nonnull
+  private List<EbeanMetadataAspect> batchGetInParallel(@Nonnull List<AspectKey<URN, ? extends RecordTemplate>> keys,
+      int keysCount, @Nonnull ParallelBatchGetConfig config) {
+    final ExecutorService executor = config._executor;
+    final Semaphore permits = config._permits;
+
+    final List<Future<List<EbeanMetadataAspect>>> pages = new ArrayList<>();
+    for (int position = keysCount; position < keys.size(); position += keysCount) {
+      final int pagePosition = position;
+      Future<List<EbeanMetadataAspect>> page = null;
+      if (permits.tryAcquire()) {
+        try {
+          page = executor.submit(() -> {
+            try {
+              return batchGetHelper(keys, keysCount, pagePosition);
+            } finally {
+              permits.release();
+            }
+          });
+        } catch (RejectedExecutionException e) {
+          permits.release();
+        }
+      }
+      if (page == null) {
+        // no capacity left on the executor, query the page on the calling thread instead
+        page = CompletableFuture.completedFuture(batchGetHelper(keys, keysCount, pagePosition));
+      }
+      pages.add(page);
+    }
+
+    final List<EbeanMetadataAspect> finalResult = new ArrayList<>(batchGetHelper(keys, keysCount, 0));
+    // Pages still running after a failure are not cancelled, interrupting a thread does not abort its JDBC statement.
+    // They complete in the background and release their permits.
+    // All pages are awaited against the same deadline, so that the wait is bounded by the timeout whatever the page count.
+    final long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config._pageTimeoutMs);
+    try {
+      for (Future<List<EbeanMetadataAspect>> page : pages) {
+        finalResult.addAll(page.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS));
+      }
+    } catch (TimeoutException e) {
+      throw new QueryTimeoutException(
+          String.format("Batch get pages did not complete within %d ms", config._pageTimeoutMs), e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new RuntimeException("Batch get page failed", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while waiting for batch get pages", e);
+    }
+    return finalResult;
+  }
+
   /**
    * Builds a single SELECT statement for batch get, which selects one entity, and then can be UNION'd with other SELECT
    * statements.
@@ -1321,16 +1562,6 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     return Collections.emptyList();
   }
 
-  /**
-   * Checks if an {@link AspectKey} and a {@link PrimaryKey} for Ebean are equivalent.
-   *
-   * @param aspectKey Urn needs to do a ignore case match
-   */
-  boolean matchKeys(@Nonnull AspectKey<URN, ? extends RecordTemplate> aspectKey, @Nonnull PrimaryKey pk) {
-    return aspectKey.getUrn().toString().equalsIgnoreCase(pk.getUrn()) && aspectKey.getVersion() == pk.getVersion()
-        && ModelUtils.getAspectName(aspectKey.getAspectClass()).equals(pk.getAspect());
-  }
-
   @Override
   @Nonnull
   public <ASPECT extends RecordTemplate> ListResult<Long> listVersions(@Nonnull Class<ASPECT> aspectClass,
@@ -1400,6 +1631,19 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     return sqlRows.stream().map(sqlRow -> getUrn(sqlRow.getString(URN_COLUMN))).collect(Collectors.toList());
   }
 
+  /**
+   * In OLD_SCHEMA_ONLY mode, backfill scans the distinct urns of the metadata_aspect table, since urns cannot be listed
+   * with an index filter there.
+   */
+  @Override
+  @Nonnull
+  protected List<URN> listUrnsForBackfill(@Nonnull Class<URN> urnClazz, @Nullable URN lastUrn, int pageSize) {
+    if (_schemaConfig == SchemaConfig.OLD_SCHEMA_ONLY) {
+      return listUrnsPaginatedByLastUrn(lastUrn, pageSize);
+    }
+    return super.listUrnsForBackfill(urnClazz, lastUrn, pageSize);
+  }
+
   private String getDistinctUrnsOfEntitySqlQuery(URN lastUrn, int pageSize) {
     final String entityType = ModelUtils.getEntityTypeFromUrnClass(_urnClass);
     final String entityUrnPrefix = "urn:li:" + entityType + ":%";
@@ -1499,34 +1743,165 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     return list(aspectClass, LATEST_VERSION, start, pageSize);
   }
 
+  @Override
   @Nonnull
-  URN getUrn(@Nonnull String urn) {
-    try {
-      final Method getUrn = _urnClass.getMethod("createFromString", String.class);
-      return _urnClass.cast(getUrn.invoke(null, urn));
-    } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
-      throw new IllegalArgumentException("URN conversion error for " + urn, e);
+  public <ASPECT extends RecordTemplate> CursorListResult<Long, Long> listVersionsAfter(@Nonnull Class<ASPECT> aspectClass,
+      @Nonnull URN urn, @Nullable Long lastVersion, int pageSize, boolean includeTotalCount) {
+    checkValidAspect(aspectClass);
+    if (_changeLogEnabled) {
+      final List<EbeanMetadataAspect> rows = findVersionsAfter(KEY_ID, aspectClass, urn, lastVersion, pageSize);
+      final List<Long> versions =
+          pageRows(rows, pageSize).stream().map(a -> a.getKey().getVersion()).collect(Collectors.toList());
+      final Integer totalCount = includeTotalCount ? versionsQuery(KEY_ID, aspectClass, urn).findCount() : null;
+      return toCursorListResult(rows, pageSize, a -> a.getKey().getVersion(), versions, null, totalCount);
+    } else {
+      final CursorListResult<ASPECT, Long> aspectListResult =
+          listAfter(aspectClass, urn, lastVersion, pageSize, includeTotalCount);
+      return transformCursorListResult(aspectListResult, aspect -> LATEST_VERSION);
+    }
+  }
+
+  @Override
+  @Nonnull
+  public <ASPECT extends RecordTemplate> CursorListResult<URN, URN> listUrnsAfter(@Nonnull Class<ASPECT> aspectClass,
+      @Nullable URN lastUrn, int pageSize, boolean includeTotalCount) {
+    if (_schemaConfig != SchemaConfig.OLD_SCHEMA_ONLY) {
+      // decouple from old schema
+      return _localAccess.listUrnsAfter(aspectClass, lastUrn, pageSize, includeTotalCount);
+    }
+
+    checkValidAspect(aspectClass);
+
+    final List<EbeanMetadataAspect> rows = findLatestVersionsAfter(KEY_ID, aspectClass, lastUrn, pageSize);
+    final List<URN> urns =
+        pageRows(rows, pageSize).stream().map(entry -> getUrn(entry.getKey().getUrn())).collect(Collectors.toList());
+    final Integer totalCount = includeTotalCount ? latestVersionsQuery(KEY_ID, aspectClass).findCount() : null;
+    return toCursorListResult(rows, pageSize, entry -> getUrn(entry.getKey().getUrn()), urns, null, totalCount);
+  }
+
+  @Override
+  @Nonnull
+  public <ASPECT extends RecordTemplate> CursorListResult<ASPECT, Long> listAfter(@Nonnull Class<ASPECT> aspectClass,
+      @Nonnull URN urn, @Nullable Long lastVersion, int pageSize, boolean includeTotalCount) {
+    checkValidAspect(aspectClass);
+    if (_changeLogEnabled) {
+      final List<EbeanMetadataAspect> rows = findVersionsAfter(ALL_COLUMNS, aspectClass, urn, lastVersion, pageSize);
+      final Integer totalCount = includeTotalCount ? versionsQuery(KEY_ID, aspectClass, urn).findCount() : null;
+      return getCursorListResult(aspectClass, rows, pageSize, a -> a.getKey().getVersion(), totalCount);
+    } else {
+      // the entity table only holds the latest version, there's nothing after it
+      final ListResult<ASPECT> latest = _localAccess.list(aspectClass, urn, 0, pageSize);
+      final boolean firstPage = lastVersion == null;
+      return CursorListResult.<ASPECT, Long>builder()
+          .values(firstPage ? latest.getValues() : Collections.emptyList())
+          .metadata(firstPage ? latest.getMetadata() : null)
+          .nextCursor(null)
+          .havingMore(false)
+          .totalCount(includeTotalCount ? latest.getValues().size() : null)
+          .pageSize(pageSize)
+          .build();
+    }
+  }
+
+  @Override
+  @Nonnull
+  public <ASPECT extends RecordTemplate> CursorListResult<ASPECT, URN> listAfter(@Nonnull Class<ASPECT> aspectClass,
+      @Nullable URN lastUrn, int pageSize, boolean includeTotalCount) {
+    checkValidAspect(aspectClass);
+    if (_changeLogEnabled) {
+      final List<EbeanMetadataAspect> rows = findLatestVersionsAfter(ALL_COLUMNS, aspectClass, lastUrn, pageSize);
+      final Integer totalCount = includeTotalCount ? latestVersionsQuery(KEY_ID, aspectClass).findCount() : null;
+      return getCursorListResult(aspectClass, rows, pageSize, a -> getUrn(a.getKey().getUrn()), totalCount);
+    } else {
+      return _localAccess.listAfter(aspectClass, lastUrn, pageSize, includeTotalCount);
     }
   }
 
+  @Nonnull
+  private <ASPECT extends RecordTemplate> ExpressionList<EbeanMetadataAspect> versionsQuery(@Nonnull String columns,
+      @Nonnull Class<ASPECT> aspectClass, @Nonnull URN urn) {
+    return _server.find(EbeanMetadataAspect.class)
+        .select(columns)
+        .where()
+        .eq(URN_COLUMN, urn.toString())
+        .eq(ASPECT_COLUMN, ModelUtils.getAspectName(aspectClass))
+        .ne(METADATA_COLUMN, DELETED_VALUE);
+  }
+
+  @Nonnull
+  private <ASPECT extends RecordTemplate> List<EbeanMetadataAspect> findVersionsAfter(@Nonnull String columns,
+      @Nonnull Class<ASPECT> aspectClass, @Nonnull URN urn, @Nullable Long lastVersion, int pageSize) {
+    ExpressionList<EbeanMetadataAspect> query = versionsQuery(columns, aspectClass, urn);
+    if (lastVersion != null) {
+      query = query.gt(VERSION_COLUMN, lastVersion);
+    }
+    return query.setMaxRows(keysetLimit(pageSize)).orderBy().asc(VERSION_COLUMN).findList();
+  }
+
+  @Nonnull
+  private <ASPECT extends RecordTemplate> ExpressionList<EbeanMetadataAspect> latestVersionsQuery(
+      @Nonnull String columns, @Nonnull Class<ASPECT> aspectClass) {
+    return _server.find(EbeanMetadataAspect.class)
+        .select(columns)
+        .where()
+        .eq(ASPECT_COLUMN, ModelUtils.getAspectName(aspectClass))
+        .eq(VERSION_COLUMN, LATEST_VERSION)
+        .ne(METADATA_COLUMN, DELETED_VALUE);
+  }
+
+  @Nonnull
+  private <ASPECT extends RecordTemplate> List<EbeanMetadataAspect> findLatestVersionsAfter(@Nonnull String columns,
+      @Nonnull Class<ASPECT> aspectClass, @Nullable URN lastUrn, int pageSize) {
+    ExpressionList<EbeanMetadataAspect> query = latestVersionsQuery(columns, aspectClass);
+    if (lastUrn != null) {
+      query = query.gt(URN_COLUMN, lastUrn.toString());
+    }
+    return query.setMaxRows(keysetLimit(pageSize)).orderBy().asc(URN_COLUMN).findList();
+  }
+
+  @Nonnull
+  private <ASPECT extends RecordTemplate, CURSOR> CursorListResult<ASPECT, CURSOR> getCursorListResult(
+      @Nonnull Class<ASPECT> aspectClass, @Nonnull List<EbeanMetadataAspect> rows, int pageSize,
+      @Nonnull Function<EbeanMetadataAspect, CURSOR> toCursor, @Nullable Integer totalCount) {
+    final List<ASPECT> aspects = new ArrayList<>();
+    final List<ExtraInfo> extraInfos = new ArrayList<>();
+    pageRows(rows, pageSize).forEach(a -> {
+      final Optional<ASPECT> record = toRecordTemplate(aspectClass, a);
+      record.ifPresent(r -> {
+        aspects.add(r);
+        extraInfos.add(EbeanLocalDAO.toExtraInfo(a));
+      });
+    });
+    return toCursorListResult(rows, pageSize, toCursor, aspects, makeListResultMetadata(extraInfos), totalCount);
+  }
+
+  @Nonnull
+  URN getUrn(@Nonnull String urn) {
+    return UrnFactories.createFromString(urn, _urnClass);
+  }
+
   @Nonnull
   static <ASPECT extends RecordTemplate> Optional<ASPECT> toRecordTemplate(@Nonnull Class<ASPECT> aspectClass,
       @Nonnull EbeanMetadataAspect aspect) {
-    if (isSoftDeletedAspect(aspect, aspectClass)) {
+    final ASPECT value = metadataToRecordTemplate(aspectClass, aspect);
+    if (isSoftDeletedAspect(value)) {
       return Optional.empty();
     }
-    return Optional.of(RecordUtils.toRecordTemplate(aspectClass, aspect.getMetadata()));
+    return Optional.of(value);
   }
 
   @Nonnull
   static <ASPECT extends RecordTemplate> Optional<AspectWithExtraInfo<ASPECT>> toRecordTemplateWithExtraInfo(
       @Nonnull Class<ASPECT> aspectClass, @Nonnull EbeanMetadataAspect aspect) {
-    if (aspect.getMetadata() == null || isSoftDeletedAspect(aspect, aspectClass)) {
+    if (aspect.getMetadata() == null) {
+      return Optional.empty();
+    }
+    final ASPECT value = metadataToRecordTemplate(aspectClass, aspect);
+    if (isSoftDeletedAspect(value)) {
       return Optional.empty();
     }
     final ExtraInfo extraInfo = toExtraInfo(aspect);
-    return Optional.of(new AspectWithExtraInfo<>(RecordUtils.toRecordTemplate(aspectClass, aspect.getMetadata()),
-        extraInfo));
+    return Optional.of(new AspectWithExtraInfo<>(value, extraInfo));
   }
 
   /**
@@ -1551,6 +1926,28 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
         .build();
   }
 
+  /**
+   * Transform cursor list result from type T to type R.
+   * @param listResult input cursor list result
+   * @param function transform function
+   * @param <T> input data type
+   * @param <R> output data type
+   * @param <CURSOR> cursor type
+   * @return CursorListResult of type R
+   */
+  @Nonnull
+  public static <T, R, CURSOR> CursorListResult<R, CURSOR> transformCursorListResult(
+      @Nonnull CursorListResult<T, CURSOR> listResult, @Nonnull Function<T, R> function) {
+    List<R> values = listResult.getValues().stream().map(function).collect(Collectors.toList());
+    return CursorListResult.<R, CURSOR>builder().values(values)
+        .metadata(listResult.getMetadata())
+        .nextCursor(listResult.getNextCursor())
+        .havingMore(listResult.isHavingMore())
+        .totalCount(listResult.getTotalCount())
+        .pageSize(listResult.getPageSize())
+        .build();
+  }
+
   @Nonnull
   private <T> ListResult<T> toListResult(@Nonnull List<T> values, @Nullable ListResultMetadata listResultMetadata,
       @Nonnull PagedList<?> pagedList, @Nullable Integer start) {
@@ -1611,22 +2008,34 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     return listResultMetadata;
   }
 
+  /**
+   * Hand out numeric ids from blocks reserved in the metadata_id table instead of inserting a row per id, see
+   * {@link EbeanMetadataIdAllocator}. Ids stay unique across hosts and monotonic within a namespace on this host, but
+   * are no longer contiguous: ids reserved by a host that shuts down are skipped.
+   *
+   * @param defaultRangeSize number of ids reserved at once for namespaces without a specific range size
+   */
+  public void enableNumericIdBlockAllocation(int defaultRangeSize) {
+    _idAllocator = new EbeanMetadataIdAllocator(_server, defaultRangeSize);
+  }
+
+  /**
+   * Sets the number of ids reserved at once for the given namespace, see {@link #enableNumericIdBlockAllocation(int)}.
+   */
+  public void setNumericIdRangeSize(@Nonnull String namespace, int rangeSize) {
+    if (_idAllocator == null) {
+      throw new IllegalStateException("Numeric id block allocation is not enabled");
+    }
+    _idAllocator.setRangeSize(namespace, rangeSize);
+  }
+
   @Override
   public long newNumericId(@Nonnull String namespace, int maxTransactionRetry) {
-    return runInTransactionWithRetry(() -> {
-      final Optional<EbeanMetadataId> result = _server.find(EbeanMetadataId.class)
-          .where()
-          .eq(EbeanMetadataId.NAMESPACE_COLUMN, namespace)
-          .orderBy()
-          .desc(EbeanMetadataId.ID_COLUMN)
-          .setMaxRows(1)
-          .findOneOrEmpty();
-
-      EbeanMetadataId id = result.orElse(new EbeanMetadataId(namespace, 0));
-      id.setId(id.getId() + 1);
-      _server.insert(id);
-      return id;
-    }, maxTransactionRetry).getId();
+    if (_idAllocator != null) {
+      return _idAllocator.nextId(namespace, maxTransactionRetry);
+    }
+    // locks the namespace like the reservations of ranges, so that both never hand out the same id
+    return EbeanMetadataIdAllocator.reserveIds(_server, namespace, 1, maxTransactionRetry);
   }
 
   @Nonnull
@@ -1761,6 +2170,26 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     return _localAccess.listUrns(indexFilter, indexSortCriterion, start, pageSize);
   }
 
+  /**
+   * Similar to {@link #listUrns(IndexFilter, IndexSortCriterion, Urn, int)} but returns a list result with pagination
+   * information, and pages on (sort criterion, urn) from the last sort value and urn of the previous page.
+   *
+   * @param includeTotalCount whether to also count all the urns satisfying the filter conditions
+   * @return a {@link CursorListResult} containing a list of urns and the cursor of the next page
+   */
+  @Override
+  @Nonnull
+  public CursorListResult<URN, IndexSortCursor<URN>> listUrnsAfter(@Nullable IndexFilter indexFilter,
+      @Nullable IndexSortCriterion indexSortCriterion, @Nullable IndexSortCursor<URN> lastCursor, int pageSize,
+      boolean includeTotalCount) {
+
+    if (_schemaConfig == SchemaConfig.OLD_SCHEMA_ONLY) {
+      throw new UnsupportedOperationException("listUrnsAfter with index filter is only supported in new schema.");
+    }
+
+    return _localAccess.listUrnsAfter(indexFilter, indexSortCriterion, lastCursor, pageSize, includeTotalCount);
+  }
+
   @Override
   @Nonnull
   public Map<String, Long> countAggregate(@Nullable IndexFilter indexFilter,
@@ -1771,4 +2200,24 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     }
     return _localAccess.countAggregate(indexFilter, indexGroupByCriterion);
   }
-}
\ No newline at end of file
+
+  /**
+   * Immutable parallel batch get settings, see {@link #enableParallelBatchGet(ExecutorService, int, long)}.
+   */
+  private static final class ParallelBatchGetConfig {
+    private final ExecutorService _executor;
+    // bounds the number of pages in flight on the executor
+    private final Semaphore _permits;
+    private final long _pageTimeoutMs;
+    // whether the executor was created by this DAO, which then shuts it down once replaced
+    private final boolean _ownsExecutor;
+
+    private ParallelBatchGetConfig(@Nonnull ExecutorService executor, int maxConcurrentPages, long pageTimeoutMs,
+        boolean ownsExecutor) {
+      _executor = executor;
+      _permits = new Semaphore(maxConcurrentPages);
+      _pageTimeoutMs = pageTimeoutMs;
+      _ownsExecutor = ownsExecutor;
+    }
+  }
+}
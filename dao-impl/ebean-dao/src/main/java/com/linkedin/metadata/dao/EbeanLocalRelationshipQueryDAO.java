@@ -1,11 +1,14 @@
 package com.linkedin.metadata.dao;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.linkedin.data.DataMap;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.data.template.UnionTemplate;
+import com.linkedin.metadata.dao.utils.AuditedAspectDecoder;
 import com.linkedin.metadata.dao.utils.ClassUtils;
-import com.linkedin.metadata.dao.utils.EBeanDAOUtils;
+import com.linkedin.metadata.dao.utils.ExecutorUtils;
 import com.linkedin.metadata.dao.utils.LogicalExpressionLocalRelationshipCriterionUtils;
 import com.linkedin.metadata.dao.utils.ModelUtils;
 import com.linkedin.metadata.dao.utils.MultiHopsTraversalSqlGenerator;
@@ -14,20 +17,28 @@ import com.linkedin.metadata.dao.utils.RelationshipLookUpContext;
 import com.linkedin.metadata.dao.utils.SQLSchemaUtils;
 import com.linkedin.metadata.dao.utils.SQLStatementUtils;
 import com.linkedin.metadata.dao.utils.SchemaValidatorUtil;
+import com.linkedin.metadata.dao.utils.SqlTemplateCache;
 import com.linkedin.metadata.query.Condition;
 import com.linkedin.metadata.query.LocalRelationshipCriterion;
 import com.linkedin.metadata.query.LocalRelationshipCriterionArray;
 import com.linkedin.metadata.query.LocalRelationshipFilter;
 import com.linkedin.metadata.query.RelationshipDirection;
 import io.ebean.EbeanServer;
+import io.ebean.SqlQuery;
 import io.ebean.SqlRow;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -57,27 +68,38 @@ public class EbeanLocalRelationshipQueryDAO {
   private static final String IDX_DESTINATION_DELETED_TS = "idx_destination_deleted_ts";
   private static final String FORCE_IDX_ON_DESTINATION = " FORCE INDEX (idx_destination_deleted_ts) ";
   private static final String DESTINATION_FIELD =  "destination";
+  private static final int DEFAULT_MAX_TRAVERSAL_HOPS = 10;
+  private static final int DEFAULT_MAX_TRAVERSAL_NODES = 10000;
+  private static final int FRONTIER_BATCH_SIZE = 1000;
+  private static final String LIMIT_PARAM = "limit";
+  private static final String OFFSET_PARAM = "offset";
+  private static final int SQL_TEMPLATE_CACHE_SIZE = 1000;
+  private static final Duration SQL_TEMPLATE_CACHE_TTL = Duration.ofMinutes(10);
   private final EbeanServer _server;
   private final MultiHopsTraversalSqlGenerator _sqlGenerator;
+  private final SqlTemplateCache _sqlTemplateCache = new SqlTemplateCache(SQL_TEMPLATE_CACHE_SIZE, SQL_TEMPLATE_CACHE_TTL);
 
   private final EBeanDAOConfig _eBeanDAOConfig;
 
   private Set<String> _mgEntityTypeNameSet;
   private EbeanLocalDAO.SchemaConfig _schemaConfig = EbeanLocalDAO.SchemaConfig.NEW_SCHEMA_ONLY;
   private SchemaValidatorUtil _schemaValidatorUtil;
+  private int _maxTraversalHops = DEFAULT_MAX_TRAVERSAL_HOPS;
+  private int _maxTraversalNodes = DEFAULT_MAX_TRAVERSAL_NODES;
+  private Executor _readExecutor = ExecutorUtils.getDefaultReadExecutor();
 
   public EbeanLocalRelationshipQueryDAO(EbeanServer server, EBeanDAOConfig eBeanDAOConfig) {
     _server = server;
     _eBeanDAOConfig = eBeanDAOConfig;
     _schemaValidatorUtil = new SchemaValidatorUtil(server);
-    _sqlGenerator = new MultiHopsTraversalSqlGenerator(SUPPORTED_CONDITIONS, _schemaValidatorUtil);
+    _sqlGenerator = new MultiHopsTraversalSqlGenerator(SUPPORTED_CONDITIONS, _schemaValidatorUtil, _sqlTemplateCache);
   }
 
   public EbeanLocalRelationshipQueryDAO(EbeanServer server) {
     _server = server;
     _eBeanDAOConfig = new EBeanDAOConfig();
     _schemaValidatorUtil = new SchemaValidatorUtil(server);
-    _sqlGenerator = new MultiHopsTraversalSqlGenerator(SUPPORTED_CONDITIONS, _schemaValidatorUtil);
+    _sqlGenerator = new MultiHopsTraversalSqlGenerator(SUPPORTED_CONDITIONS, _schemaValidatorUtil, _sqlTemplateCache);
   }
 
   static final Map<Condition, String> SUPPORTED_CONDITIONS =
@@ -97,6 +119,63 @@ public class EbeanLocalRelationshipQueryDAO {
     _schemaConfig = schemaConfig;
   }
 
+  /**
+   * Returns the statistics of the cache of relationship query SQL templates, which are keyed by the shape of the query
+   * filters, and shared by relationship and multi-hops traversal queries.
+   */
+  @Nonnull
+  public CacheStats getSqlTemplateCacheStats() {
+    return _sqlTemplateCache.stats();
+  }
+
+  /**
+   * Invalidates the schema caches and the SQL templates of this DAO whenever the given schema evolution manager applies
+   * migrations, so that the columns and indexes they add are used right away. The schema caches are pre-warmed now and
+   * again after each migration, see {@link SchemaValidatorUtil#prewarm()}, instead of loading each table on its first
+   * query.
+   */
+  public void registerSchemaEvolutionManager(@Nonnull FlywaySchemaEvolutionManager schemaEvolutionManager) {
+    schemaEvolutionManager.registerSchemaValidator(_schemaValidatorUtil);
+    schemaEvolutionManager.registerMigrationListener(_sqlTemplateCache::invalidateAll);
+    // listeners run after the registered validators are invalidated
+    schemaEvolutionManager.registerMigrationListener(_schemaValidatorUtil::prewarm);
+    _schemaValidatorUtil.prewarm();
+  }
+
+  /**
+   * Sets the maximum number of hops a multi-hops {@link #findEntities(Class, LocalRelationshipFilter, Class, LocalRelationshipFilter,
+   * Class, LocalRelationshipFilter, int, int, int, int)} can ask for. Defaults to {@value #DEFAULT_MAX_TRAVERSAL_HOPS}.
+   */
+  public void setMaxTraversalHops(int maxTraversalHops) {
+    if (maxTraversalHops < 1) {
+      throw new IllegalArgumentException("Max traversal hops must be positive: " + maxTraversalHops);
+    }
+    _maxTraversalHops = maxTraversalHops;
+  }
+
+  /**
+   * Sets the maximum number of entities a multi-hops traversal visits, start entities included. Once reached, the
+   * traversal stops expanding and results are computed from the entities visited so far.
+   * Defaults to {@value #DEFAULT_MAX_TRAVERSAL_NODES}.
+   */
+  public void setMaxTraversalNodes(int maxTraversalNodes) {
+    if (maxTraversalNodes < 1) {
+      throw new IllegalArgumentException("Max traversal nodes must be positive: " + maxTraversalNodes);
+    }
+    _maxTraversalNodes = maxTraversalNodes;
+  }
+
+  /**
+   * Sets the executor the async finders such as {@link #findRelationshipsAsync} run on. It should be bounded by the
+   * number of connections of the Ebean data source, since each running query holds one. Defaults to
+   * {@link ExecutorUtils#getDefaultReadExecutor()}, shared by all DAOs.
+   *
+   * @param readExecutor executor to run the queries on. The DAO does not shut it down.
+   */
+  public void setReadExecutor(@Nonnull Executor readExecutor) {
+    _readExecutor = readExecutor;
+  }
+
   /**
    * Finds a list of entities of a specific type based on the given filter on the entity.
    * The SNAPSHOT class must be defined within com.linkedin.metadata.snapshot package in metadata-models.
@@ -122,15 +201,18 @@ public class EbeanLocalRelationshipQueryDAO {
     validateEntityFilter(filter, snapshotClass, logicalExpressionFilterEnabled);
 
     final String tableName = SQLSchemaUtils.getTableName(ModelUtils.getUrnTypeFromSnapshot(snapshotClass));
+    final Map<String, Object> parameters = new HashMap<>();
     final StringBuilder sqlBuilder = new StringBuilder();
     sqlBuilder.append("SELECT * FROM ").append(tableName);
     if (filterHasNonEmptyCriteria(filter)) {
       sqlBuilder.append(" WHERE ").append(SQLStatementUtils.whereClause(filter, SUPPORTED_CONDITIONS, null, tableName,
-          _schemaValidatorUtil, _eBeanDAOConfig.isNonDollarVirtualColumnsEnabled()));
+          _schemaValidatorUtil, _eBeanDAOConfig.isNonDollarVirtualColumnsEnabled(), parameters));
     }
-    sqlBuilder.append(" ORDER BY urn LIMIT ").append(Math.max(1, count)).append(" OFFSET ").append(Math.max(0, offset));
+    sqlBuilder.append(" ORDER BY urn LIMIT :").append(LIMIT_PARAM).append(" OFFSET :").append(OFFSET_PARAM);
+    parameters.put(LIMIT_PARAM, Math.max(1, count));
+    parameters.put(OFFSET_PARAM, Math.max(0, offset));
 
-    return _server.createSqlQuery(sqlBuilder.toString()).findList().stream()
+    return createSqlQuery(sqlBuilder.toString(), parameters).findList().stream()
         .map(sqlRow -> constructSnapshot(sqlRow, snapshotClass))
         .collect(Collectors.toList());
   }
@@ -170,6 +252,11 @@ public class EbeanLocalRelationshipQueryDAO {
    * @param count the maximum number of entities to return. Ignored if set to a non-positive value.
    * @return A list of entity records that satisfy the query.
    * @throws OperationNotSupportedException when called in OLD_SCHEMA_ONLY mode. This exception must be explicitly handled by the caller.
+   *
+   * <p>When maxHops is greater than 1, the graph is traversed breadth first with one query per hop, and entities whose
+   * shortest distance from a start entity is within [minHops, maxHops] are returned. Source and destination
+   * entities must then be of the same type, and the filter of the start entities (destination filter for INCOMING direction,
+   * source filter otherwise) must not be empty.</p>
    **/
   @Nonnull
   public <SRC_SNAPSHOT extends RecordTemplate, DEST_SNAPSHOT extends RecordTemplate, RELATIONSHIP extends RecordTemplate> List<RecordTemplate> findEntities(
@@ -188,18 +275,112 @@ public class EbeanLocalRelationshipQueryDAO {
     final String relationshipTable = SQLSchemaUtils.getRelationshipTableName(relationshipType);
     final String srcEntityTable = SQLSchemaUtils.getTableName(ModelUtils.getUrnTypeFromSnapshot(sourceEntityClass));
     final String destEntityTable = SQLSchemaUtils.getTableName(ModelUtils.getUrnTypeFromSnapshot(destinationEntityClass));
+    final Class snapshotClass = relationshipFilter.getDirection() == RelationshipDirection.INCOMING ? sourceEntityClass : destinationEntityClass;
+
+    if (maxHops > 1) {
+      return findEntitiesMultiHops(snapshotClass, srcEntityTable, destEntityTable, relationshipTable, sourceEntityFilter,
+          destinationEntityFilter, relationshipFilter, minHops, maxHops, offset, count);
+    }
+
+    final Map<String, Object> parameters = new HashMap<>();
     final String sql = _sqlGenerator.multiHopTraversalSql(minHops, maxHops, Math.max(1, count), Math.max(0, offset), relationshipTable,
         srcEntityTable, destEntityTable, relationshipFilter, sourceEntityFilter, destinationEntityFilter,
-        _eBeanDAOConfig.isNonDollarVirtualColumnsEnabled());
-
-    final Class snapshotClass = relationshipFilter.getDirection() == RelationshipDirection.INCOMING ? sourceEntityClass : destinationEntityClass;
+        _eBeanDAOConfig.isNonDollarVirtualColumnsEnabled(), parameters);
 
     // Execute SQL
     List<RecordTemplate> results = new ArrayList<>();
-    _server.createSqlQuery(sql).findList().forEach(sqlRow -> results.add(constructSnapshot(sqlRow, snapshotClass)));
+    createSqlQuery(sql, parameters).findList().forEach(sqlRow -> results.add(constructSnapshot(sqlRow, snapshotClass)));
+    return results;
+  }
+
+  @Nonnull
+  private List<RecordTemplate> findEntitiesMultiHops(@Nonnull Class snapshotClass, @Nonnull String srcEntityTable,
+      @Nonnull String destEntityTable, @Nonnull String relationshipTable, @Nonnull LocalRelationshipFilter sourceEntityFilter,
+      @Nonnull LocalRelationshipFilter destinationEntityFilter, @Nonnull LocalRelationshipFilter relationshipFilter, int minHops,
+      int maxHops, int offset, int count) {
+    if (minHops < 1 || minHops > maxHops) {
+      throw new IllegalArgumentException(String.format("Invalid hops range [%d, %d].", minHops, maxHops));
+    }
+    if (maxHops > _maxTraversalHops) {
+      throw new IllegalArgumentException(String.format("Max hops %d exceeds the limit of %d.", maxHops, _maxTraversalHops));
+    }
+    if (!srcEntityTable.equals(destEntityTable)) {
+      throw new IllegalArgumentException("Source and destination entity table must be same for multi-hops traversal.");
+    }
+
+    final boolean incoming = relationshipFilter.getDirection() == RelationshipDirection.INCOMING;
+    final LocalRelationshipFilter startFilter = incoming ? destinationEntityFilter : sourceEntityFilter;
+    final LocalRelationshipFilter resultFilter = incoming ? sourceEntityFilter : destinationEntityFilter;
+
+    final Set<String> urns = traverse(srcEntityTable, relationshipTable, startFilter, relationshipFilter, minHops, maxHops);
+    if (urns.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    final Map<String, Object> parameters = new HashMap<>();
+    final String sql = _sqlGenerator.findEntitiesByUrnsSql(srcEntityTable, urns, resultFilter, Math.max(1, count),
+        Math.max(0, offset), _eBeanDAOConfig.isNonDollarVirtualColumnsEnabled(), parameters);
+    List<RecordTemplate> results = new ArrayList<>();
+    createSqlQuery(sql, parameters).findList().forEach(sqlRow -> results.add(constructSnapshot(sqlRow, snapshotClass)));
+    return results;
+  }
+
+  /**
+   * Traverses the relationship graph breadth first from the entities matching the start filter, and returns the URNs of
+   * entities whose shortest distance from a start entity is within [minHops, maxHops].
+   *
+   * <p>Each hop expands the whole frontier with one query (one per {@value #FRONTIER_BATCH_SIZE} URNs). Entities already
+   * visited are dropped from the next frontier, so cycles are walked only once and start entities are never returned.
+   * Traversal stops early once the frontier is empty or {@link #setMaxTraversalNodes(int)} entities have been visited.</p>
+   */
+  @Nonnull
+  private Set<String> traverse(@Nonnull String entityTable, @Nonnull String relationshipTable,
+      @Nonnull LocalRelationshipFilter startFilter, @Nonnull LocalRelationshipFilter relationshipFilter, int minHops, int maxHops) {
+    final boolean nonDollar = _eBeanDAOConfig.isNonDollarVirtualColumnsEnabled();
+    final Set<String> visited = new HashSet<>();
+    final Set<String> results = new LinkedHashSet<>();
+
+    final Map<String, Object> startParameters = new HashMap<>();
+    final String startSql = _sqlGenerator.startUrnsSql(entityTable, startFilter, _maxTraversalNodes, nonDollar, startParameters);
+    List<String> frontier = createSqlQuery(startSql, startParameters)
+        .findList()
+        .stream()
+        .map(sqlRow -> sqlRow.getString("urn"))
+        .collect(Collectors.toList());
+    visited.addAll(frontier);
+
+    for (int hop = 1; hop <= maxHops && !frontier.isEmpty(); hop++) {
+      final List<String> nextFrontier = new ArrayList<>();
+      for (List<String> batch : Lists.partition(frontier, FRONTIER_BATCH_SIZE)) {
+        final Map<String, Object> parameters = new HashMap<>();
+        final String sql = _sqlGenerator.nextHopUrnsSql(relationshipTable, batch, relationshipFilter, nonDollar, parameters);
+        for (SqlRow sqlRow : createSqlQuery(sql, parameters).findList()) {
+          final String urn = sqlRow.getString("urn");
+          if (visited.contains(urn)) {
+            continue;
+          }
+          if (visited.size() >= _maxTraversalNodes) {
+            log.warn("Multi-hops traversal on {} reached the limit of {} visited entities at hop {}, results are truncated.",
+                relationshipTable, _maxTraversalNodes, hop);
+            addHop(results, nextFrontier, hop, minHops);
+            return results;
+          }
+          visited.add(urn);
+          nextFrontier.add(urn);
+        }
+      }
+      addHop(results, nextFrontier, hop, minHops);
+      frontier = nextFrontier;
+    }
     return results;
   }
 
+  private static void addHop(@Nonnull Set<String> results, @Nonnull List<String> hopUrns, int hop, int minHops) {
+    if (hop >= minHops) {
+      results.addAll(hopUrns);
+    }
+  }
+
   public <SRC_SNAPSHOT extends RecordTemplate, DEST_SNAPSHOT extends RecordTemplate, RELATIONSHIP extends RecordTemplate> List<RELATIONSHIP> findRelationships(
       @Nullable Class<SRC_SNAPSHOT> sourceEntityClass, @Nonnull LocalRelationshipFilter sourceEntityFilter,
       @Nullable Class<DEST_SNAPSHOT> destinationEntityClass, @Nonnull LocalRelationshipFilter destinationEntityFilter,
@@ -244,6 +425,7 @@ public class EbeanLocalRelationshipQueryDAO {
 
     final String relationshipTableName = SQLSchemaUtils.getRelationshipTableName(relationshipType);
 
+    final Map<String, Object> parameters = new HashMap<>();
     final String sql = buildFindRelationshipSQL(
         relationshipTableName,
         relationshipFilter,
@@ -252,9 +434,9 @@ public class EbeanLocalRelationshipQueryDAO {
         destTableName,
         destinationEntityFilter,
         count,
-        offset, relationshipLookUpContext);
+        offset, relationshipLookUpContext, parameters);
 
-    List<SqlRow> rows = executeSqlWithIndexCheck(sql, relationshipTableName);
+    List<SqlRow> rows = executeSqlWithIndexCheck(sql, parameters, relationshipTableName);
 
     return rows.stream()
         .map(row -> RecordUtils.toRecordTemplate(relationshipType, row.getString("metadata")))
@@ -288,6 +470,38 @@ public class EbeanLocalRelationshipQueryDAO {
         .collect(Collectors.toList());
   }
 
+  /**
+   * Async version of {@link #findRelationships(Class, LocalRelationshipFilter, Class, LocalRelationshipFilter, Class,
+   * LocalRelationshipFilter, int, int, RelationshipLookUpContext)}, which runs the query on the read executor (see
+   * {@link #setReadExecutor(Executor)}) so that callers can compose multiple queries without holding a thread for each.
+   */
+  @Nonnull
+  public <SRC_SNAPSHOT extends RecordTemplate, DEST_SNAPSHOT extends RecordTemplate, RELATIONSHIP extends RecordTemplate>
+      CompletableFuture<List<RELATIONSHIP>> findRelationshipsAsync(
+      @Nullable Class<SRC_SNAPSHOT> sourceEntityClass, @Nonnull LocalRelationshipFilter sourceEntityFilter,
+      @Nullable Class<DEST_SNAPSHOT> destinationEntityClass, @Nonnull LocalRelationshipFilter destinationEntityFilter,
+      @Nonnull Class<RELATIONSHIP> relationshipType, @Nonnull LocalRelationshipFilter relationshipFilter, int offset,
+      int count, RelationshipLookUpContext relationshipLookUpContext) {
+    return CompletableFuture.supplyAsync(() -> findRelationships(sourceEntityClass, sourceEntityFilter,
+        destinationEntityClass, destinationEntityFilter, relationshipType, relationshipFilter, offset, count,
+        relationshipLookUpContext), _readExecutor);
+  }
+
+  /**
+   * Async version of {@link #findRelationshipsV2(String, LocalRelationshipFilter, String, LocalRelationshipFilter, Class,
+   * LocalRelationshipFilter, int, int, RelationshipLookUpContext)}, see {@link #findRelationshipsAsync}.
+   */
+  @Nonnull
+  public <RELATIONSHIP extends RecordTemplate> CompletableFuture<List<RELATIONSHIP>> findRelationshipsV2Async(
+      @Nullable String sourceEntityType, @Nullable LocalRelationshipFilter sourceEntityFilter,
+      @Nullable String destinationEntityType, @Nullable LocalRelationshipFilter destinationEntityFilter,
+      @Nonnull Class<RELATIONSHIP> relationshipType, @Nonnull LocalRelationshipFilter relationshipFilter,
+      int offset, int count, RelationshipLookUpContext relationshipLookUpContext) {
+    return CompletableFuture.supplyAsync(() -> findRelationshipsV2(sourceEntityType, sourceEntityFilter,
+        destinationEntityType, destinationEntityFilter, relationshipType, relationshipFilter, offset, count,
+        relationshipLookUpContext), _readExecutor);
+  }
+
   /**
    * Fetches a list of SqlRow of relationships of a specific type (Urn) based on the given filters if applicable.
    *
@@ -317,13 +531,14 @@ public class EbeanLocalRelationshipQueryDAO {
     final String destTableName = getMgEntityTableName(destinationEntityType);
     final String relationshipTableName = SQLSchemaUtils.getRelationshipTableName(relationshipType);
 
+    final Map<String, Object> parameters = new HashMap<>();
     final String sql = buildFindRelationshipSQL(
         relationshipTableName, relationshipFilter,
         sourceTableName, sourceEntityFilter,
-        destTableName, destinationEntityFilter, count, offset, relationshipLookUpContext);
+        destTableName, destinationEntityFilter, count, offset, relationshipLookUpContext, parameters);
     // Temporary log to help debug the slow SQL query
-    log.info("Executing SQL for GQS: {}", sql);
-    return executeSqlWithIndexCheck(sql, relationshipTableName);
+    log.info("Executing SQL for GQS: {} with parameters {}", sql, parameters);
+    return executeSqlWithIndexCheck(sql, parameters, relationshipTableName);
   }
 
   /**
@@ -677,10 +892,10 @@ public class EbeanLocalRelationshipQueryDAO {
       String auditedAspectStr = sqlRow.getString(colName);
 
       if (auditedAspectStr != null) {
-        String extractedAspectStr = EBeanDAOUtils.extractAspectJsonString(auditedAspectStr);
-        if (extractedAspectStr != null) {
+        DataMap extractedAspect = AuditedAspectDecoder.decode(auditedAspectStr).getAspect();
+        if (extractedAspect != null) {
           RecordTemplate aspect = RecordUtils.toRecordTemplate(ClassUtils.loadClass(aspectCanonicalName),
-              extractedAspectStr);
+              extractedAspect);
           aspects.add(ModelUtils.newAspectUnion(ModelUtils.getUnionClassFromSnapshot(snapshotClass), aspect));
         }
       }
@@ -724,6 +939,81 @@ public class EbeanLocalRelationshipQueryDAO {
       @Nullable LocalRelationshipFilter sourceEntityFilter, @Nullable final String destTableName,
       @Nullable LocalRelationshipFilter destinationEntityFilter, int limit, int offset,
       RelationshipLookUpContext relationshipLookUpContext) {
+    return buildFindRelationshipSQL(relationshipTableName, relationshipFilter, sourceTableName, sourceEntityFilter,
+        destTableName, destinationEntityFilter, limit, offset, relationshipLookUpContext, null);
+  }
+
+  /**
+   * Same as {@link #buildFindRelationshipSQL(String, LocalRelationshipFilter, String, LocalRelationshipFilter, String,
+   * LocalRelationshipFilter, int, int, RelationshipLookUpContext)} but the filter values, limit and offset are bound to
+   * named parameters when a parameter map is given, so that the SQL only depends on the shape of the filters.
+   *
+   * <p>The SQL of parameterized new schema queries is then cached by the shape of the query (tables, filter directions,
+   * criterion fields and conditions, paging and schema options), and only the values are bound to it on a cache hit.</p>
+   *
+   * @param parameters map the parameter values are added to, or null to inline the values as literals
+   */
+  @Nonnull
+  private String buildFindRelationshipSQL(@Nonnull final String relationshipTableName,
+      @Nonnull LocalRelationshipFilter relationshipFilter, @Nullable final String sourceTableName,
+      @Nullable LocalRelationshipFilter sourceEntityFilter, @Nullable final String destTableName,
+      @Nullable LocalRelationshipFilter destinationEntityFilter, int limit, int offset,
+      RelationshipLookUpContext relationshipLookUpContext, @Nullable Map<String, Object> parameters) {
+    if (parameters == null || _schemaConfig == EbeanLocalDAO.SchemaConfig.OLD_SCHEMA_ONLY) {
+      return generateFindRelationshipSQL(relationshipTableName, relationshipFilter, sourceTableName, sourceEntityFilter,
+          destTableName, destinationEntityFilter, limit, offset, relationshipLookUpContext, parameters);
+    }
+
+    final List<Object> shape = Arrays.asList("findRelationships", relationshipTableName, sourceTableName, destTableName,
+        SQLStatementUtils.getLocalRelationshipFilterShape(relationshipFilter),
+        SQLStatementUtils.getLocalRelationshipFilterShape(sourceEntityFilter),
+        SQLStatementUtils.getLocalRelationshipFilterShape(destinationEntityFilter), limit > 0, offset > 0,
+        relationshipLookUpContext.isIncludeNonCurrentRelationships(), _schemaConfig,
+        _eBeanDAOConfig.isNonDollarVirtualColumnsEnabled());
+    final String sql = _sqlTemplateCache.get(shape,
+        templateParameters -> generateFindRelationshipSQL(relationshipTableName, relationshipFilter, sourceTableName,
+            sourceEntityFilter, destTableName, destinationEntityFilter, limit, offset, relationshipLookUpContext,
+            templateParameters));
+
+    final List<Triplet<LocalRelationshipFilter, String, String>> filters = getFindRelationshipFilters(relationshipTableName,
+        relationshipFilter, sourceTableName, sourceEntityFilter, destTableName, destinationEntityFilter);
+    SQLStatementUtils.addWhereClauseParameters(parameters, filters.toArray(new Triplet[filters.size()]));
+    if (limit > 0) {
+      parameters.put(LIMIT_PARAM, limit);
+      if (offset > 0) {
+        parameters.put(OFFSET_PARAM, offset);
+      }
+    }
+    return sql;
+  }
+
+  /**
+   * Filters of the where clause of {@link #generateFindRelationshipSQL}, in the order their parameters are bound.
+   */
+  @Nonnull
+  private static List<Triplet<LocalRelationshipFilter, String, String>> getFindRelationshipFilters(
+      @Nonnull String relationshipTableName, @Nonnull LocalRelationshipFilter relationshipFilter,
+      @Nullable String sourceTableName, @Nullable LocalRelationshipFilter sourceEntityFilter,
+      @Nullable String destTableName, @Nullable LocalRelationshipFilter destinationEntityFilter) {
+    final List<Triplet<LocalRelationshipFilter, String, String>> filters = new ArrayList<>();
+    if (destinationEntityFilter != null) {
+      // non-mg entity case, applying dest filter on relationship table
+      filters.add(destTableName != null ? new Triplet<>(destinationEntityFilter, "dt", destTableName)
+          : new Triplet<>(destinationEntityFilter, "rt", relationshipTableName));
+    }
+    if (sourceTableName != null && sourceEntityFilter != null) {
+      filters.add(new Triplet<>(sourceEntityFilter, "st", sourceTableName));
+    }
+    filters.add(new Triplet<>(relationshipFilter, "rt", relationshipTableName));
+    return filters;
+  }
+
+  @Nonnull
+  private String generateFindRelationshipSQL(@Nonnull final String relationshipTableName,
+      @Nonnull LocalRelationshipFilter relationshipFilter, @Nullable final String sourceTableName,
+      @Nullable LocalRelationshipFilter sourceEntityFilter, @Nullable final String destTableName,
+      @Nullable LocalRelationshipFilter destinationEntityFilter, int limit, int offset,
+      RelationshipLookUpContext relationshipLookUpContext, @Nullable Map<String, Object> parameters) {
 
     relationshipFilter = LogicalExpressionLocalRelationshipCriterionUtils.normalizeLocalRelationshipFilter(relationshipFilter);
     sourceEntityFilter = LogicalExpressionLocalRelationshipCriterionUtils.normalizeLocalRelationshipFilter(sourceEntityFilter);
@@ -750,19 +1040,11 @@ public class EbeanLocalRelationshipQueryDAO {
 
     sqlBuilder.append(" FROM ").append(relationshipTableName).append(" rt ");
 
-    List<Triplet<LocalRelationshipFilter, String, String>> filters = new ArrayList<>();
-
     if (_schemaConfig == EbeanLocalDAO.SchemaConfig.NEW_SCHEMA_ONLY || _schemaConfig == EbeanLocalDAO.SchemaConfig.DUAL_SCHEMA) {
       if (destTableName != null) {
         sqlBuilder.append("INNER JOIN ").append(destTableName).append(" dt ON dt.urn=rt.destination ");
-
-        if (destinationEntityFilter != null) {
-          filters.add(new Triplet<>(destinationEntityFilter, "dt", destTableName));
-        }
       } else if (destinationEntityFilter != null) {
         validateEntityFilterOnlyOneUrn(destinationEntityFilter);
-        // non-mg entity case, applying dest filter on relationship table
-        filters.add(new Triplet<>(destinationEntityFilter, "rt", relationshipTableName));
       } else if (filterHasNonEmptyCriteria(relationshipFilter)) {
         // Apply FORCE INDEX if destination field is being filtered, and the index exists
         final LocalRelationshipCriterionArray relationshipCriteria =
@@ -781,20 +1063,16 @@ public class EbeanLocalRelationshipQueryDAO {
 
       if (sourceTableName != null) {
         sqlBuilder.append("INNER JOIN ").append(sourceTableName).append(" st ON st.urn=rt.source ");
-
-        if (sourceEntityFilter != null) {
-          filters.add(new Triplet<>(sourceEntityFilter, "st", sourceTableName));
-        }
       }
 
       if (!includeNonCurrentRelationships) {
         sqlBuilder.append("WHERE rt.deleted_ts is NULL");
       }
 
-      filters.add(new Triplet<>(relationshipFilter, "rt", relationshipTableName));
-
+      final List<Triplet<LocalRelationshipFilter, String, String>> filters = getFindRelationshipFilters(relationshipTableName,
+          relationshipFilter, sourceTableName, sourceEntityFilter, destTableName, destinationEntityFilter);
       String whereClause = SQLStatementUtils.whereClause(SUPPORTED_CONDITIONS,
-          _eBeanDAOConfig.isNonDollarVirtualColumnsEnabled(), _schemaValidatorUtil,
+          _eBeanDAOConfig.isNonDollarVirtualColumnsEnabled(), _schemaValidatorUtil, parameters,
           filters.toArray(new Triplet[filters.size()]));
 
       if (whereClause != null) {
@@ -832,10 +1110,10 @@ public class EbeanLocalRelationshipQueryDAO {
     }
 
     if (limit > 0) {
-      sqlBuilder.append(" LIMIT ").append(limit);
+      sqlBuilder.append(" LIMIT ").append(bindOrInline(LIMIT_PARAM, limit, parameters));
 
       if (offset > 0) {
-        sqlBuilder.append(" OFFSET ").append(offset);
+        sqlBuilder.append(" OFFSET ").append(bindOrInline(OFFSET_PARAM, offset, parameters));
       }
     }
 
@@ -864,9 +1142,25 @@ public class EbeanLocalRelationshipQueryDAO {
     return _mgEntityTypeNameSet;
   }
 
-  private List<SqlRow> executeSqlWithIndexCheck(String sql, String relationshipTableName) {
+  @Nonnull
+  private static String bindOrInline(@Nonnull String name, int value, @Nullable Map<String, Object> parameters) {
+    if (parameters == null) {
+      return String.valueOf(value);
+    }
+    parameters.put(name, value);
+    return ":" + name;
+  }
+
+  @Nonnull
+  private SqlQuery createSqlQuery(@Nonnull String sql, @Nonnull Map<String, Object> parameters) {
+    final SqlQuery sqlQuery = _server.createSqlQuery(sql);
+    parameters.forEach(sqlQuery::setParameter);
+    return sqlQuery;
+  }
+
+  private List<SqlRow> executeSqlWithIndexCheck(String sql, Map<String, Object> parameters, String relationshipTableName) {
     try {
-      return _server.createSqlQuery(sql).findList();
+      return createSqlQuery(sql, parameters).findList();
     } catch (PersistenceException e) {
       Throwable cause = e.getCause();
       if (cause instanceof SQLException && cause.getMessage() != null
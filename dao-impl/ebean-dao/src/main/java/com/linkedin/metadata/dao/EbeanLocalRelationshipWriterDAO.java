@@ -1,5 +1,6 @@
 package com.linkedin.metadata.dao;
 
+import com.google.common.collect.Lists;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.metadata.dao.builder.BaseLocalRelationshipBuilder.LocalRelationshipUpdates;
@@ -11,11 +12,18 @@ import com.linkedin.metadata.dao.utils.SQLSchemaUtils;
 import com.linkedin.metadata.dao.utils.SQLStatementUtils;
 import com.linkedin.metadata.validator.RelationshipValidator;
 import io.ebean.EbeanServer;
+import io.ebean.SqlQuery;
+import io.ebean.SqlRow;
 import io.ebean.SqlUpdate;
 import io.ebean.Transaction;
 import io.ebean.annotation.Transactional;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
@@ -31,6 +39,7 @@ public class EbeanLocalRelationshipWriterDAO extends BaseGraphWriterDAO {
   private static final String DEFAULT_ACTOR = "urn:li:principal:UNKNOWN";
   private final EbeanServer _server;
   private boolean _useAspectColumnForRelationshipRemoval = false;
+  private boolean _useDiffBasedRelationshipUpdate = false;
 
   // Common column names shared by all local relationship tables.
   private static class CommonColumnName {
@@ -42,11 +51,14 @@ public class EbeanLocalRelationshipWriterDAO extends BaseGraphWriterDAO {
     private static final String METADATA = "metadata";
     private static final String LAST_MODIFIED_ON = "lastmodifiedon";
     private static final String LAST_MODIFIED_BY = "lastmodifiedby";
+    private static final String ID = "id";
   }
   private static final int INSERT_BATCH_SIZE = 100;
   private static final int DELETE_BATCH_SIZE = 10000; // Process deletes in batches of 10,000 rows
   private static final int MAX_BATCHES = 1000; // Maximum number of batches to process
+  private static final int DELETE_BY_IDS_BATCH_SIZE = 1000; // Soft delete up to 1,000 relationships by id per statement
   private static final String LIMIT = " LIMIT ";
+  private static final String PEGASUS_PREFIX = "pegasus.";
   @Getter
   private int batchCount = 0;
 
@@ -62,6 +74,17 @@ public class EbeanLocalRelationshipWriterDAO extends BaseGraphWriterDAO {
     _useAspectColumnForRelationshipRemoval = useAspectColumnForRelationshipRemoval;
   }
 
+  /**
+   * Set a flag to indicate whether to add relationships by diff. If set to true, adding the relationships of a source
+   * reads its current relationships (of the same aspect class, see {@link #setUseAspectColumnForRelationshipRemoval}),
+   * then only soft-deletes the ones that are no longer given and inserts the new ones, instead of soft-deleting all the
+   * current relationships and inserting all the given ones again. Unchanged relationships keep their row and
+   * lastmodifiedon.
+   */
+  public void setUseDiffBasedRelationshipUpdate(boolean useDiffBasedRelationshipUpdate) {
+    _useDiffBasedRelationshipUpdate = useDiffBasedRelationshipUpdate;
+  }
+
   /**
    * Process the local relationship updates with transaction guarantee.
    * @param urn Urn of the entity to update relationships.
@@ -180,20 +203,105 @@ public class EbeanLocalRelationshipWriterDAO extends BaseGraphWriterDAO {
 
     // Remove some local relationships if needed before adding new relationships using REMOVE_ALL_EDGES_FROM_SOURCE.
     Urn sourceUrn = GraphUtils.getSourceUrnBasedOnRelationshipVersion(firstRelationship, urn);
-    removeRelationshipsBySource(sourceUrn, aspectClass, isTestMode ? SQLSchemaUtils.getTestRelationshipTableName(firstRelationship)
-        : SQLSchemaUtils.getRelationshipTableName(firstRelationship));
+    String tableName = isTestMode ? SQLSchemaUtils.getTestRelationshipTableName(firstRelationship)
+        : SQLSchemaUtils.getRelationshipTableName(firstRelationship);
+
+    if (_useDiffBasedRelationshipUpdate) {
+      updateRelationshipGroupByDiff(urn, sourceUrn, aspectClass, relationshipGroup, tableName);
+      return;
+    }
+
+    removeRelationshipsBySource(sourceUrn, aspectClass, tableName);
+    insertRelationships(urn, aspectClass, relationshipGroup, tableName);
+  }
+
+  /**
+   * Replace the current relationships of the source in the DB tableName by the given ones, soft-deleting only the current
+   * relationships that are not given and inserting only the given relationships that are not current. Relationships are
+   * compared by their metadata, each current relationship matching at most one given relationship.
+   *
+   * <p>The current relationships are read with SELECT ... FOR UPDATE in the same transaction as the writes, so a
+   * concurrent update of the same source waits for this one to commit and then diffs against its result, instead of both
+   * inserting their relationships next to each other.</p>
+   * @param urn the source urn to be used for the relationships, see {@link #addRelationshipGroup}
+   * @param sourceUrn the source urn of the relationships
+   * @param aspectClass class of the aspect from which these relationships are extracted from
+   * @param relationshipGroup the list of relationships to be persisted, all of the same class
+   * @param tableName the table name of the relationship
+   */
+  private <ASPECT extends RecordTemplate, RELATIONSHIP extends RecordTemplate> void updateRelationshipGroupByDiff(@Nullable Urn urn,
+      @Nonnull Urn sourceUrn, @Nonnull Class<ASPECT> aspectClass, @Nonnull List<RELATIONSHIP> relationshipGroup,
+      @Nonnull String tableName) {
+    // joins the transaction of the caller if any
+    try (Transaction transaction = _server.beginTransaction()) {
+      updateRelationshipGroupByDiffInTransaction(urn, sourceUrn, aspectClass, relationshipGroup, tableName);
+      transaction.commit();
+    }
+  }
+
+  private <ASPECT extends RecordTemplate, RELATIONSHIP extends RecordTemplate> void updateRelationshipGroupByDiffInTransaction(
+      @Nullable Urn urn, @Nonnull Urn sourceUrn, @Nonnull Class<ASPECT> aspectClass, @Nonnull List<RELATIONSHIP> relationshipGroup,
+      @Nonnull String tableName) {
+    Class<RELATIONSHIP> relationshipClass = (Class<RELATIONSHIP>) relationshipGroup.get(0).getClass();
+
+    SqlQuery selectQuery = _server.createSqlQuery(SQLStatementUtils.selectLocalRelationshipSQL(tableName, _useAspectColumnForRelationshipRemoval));
+    selectQuery.setParameter(CommonColumnName.SOURCE, sourceUrn.toString());
+    if (_useAspectColumnForRelationshipRemoval) {
+      String aspectClassFQCN = getAspectClassFQCN(aspectClass);
+      selectQuery.setParameter(CommonColumnName.ASPECT, aspectClassFQCN);
+      selectQuery.setParameter("pegasus_" + CommonColumnName.ASPECT, PEGASUS_PREFIX + aspectClassFQCN);
+    }
+
+    // key: metadata of a current relationship, serialized again so that it compares with the given relationships
+    // value: ids of the current relationships with this metadata
+    Map<String, Deque<Long>> currentRelationshipIds = new HashMap<>();
+    for (SqlRow row : selectQuery.findList()) {
+      String metadata = RecordUtils.toJsonString(RecordUtils.toRecordTemplate(relationshipClass, row.getString(CommonColumnName.METADATA)));
+      currentRelationshipIds.computeIfAbsent(metadata, key -> new ArrayDeque<>()).add(row.getLong(CommonColumnName.ID));
+    }
 
+    List<RELATIONSHIP> relationshipsToInsert = new ArrayList<>();
+    for (RELATIONSHIP relationship : relationshipGroup) {
+      Deque<Long> ids = currentRelationshipIds.get(RecordUtils.toJsonString(relationship));
+      if (ids == null || ids.isEmpty()) {
+        relationshipsToInsert.add(relationship);
+      } else {
+        ids.poll();
+      }
+    }
+    List<Long> idsToDelete = currentRelationshipIds.values().stream().flatMap(Collection::stream).collect(Collectors.toList());
+
+    for (List<Long> batch : Lists.partition(idsToDelete, DELETE_BY_IDS_BATCH_SIZE)) {
+      SqlUpdate deletionSQL = _server.createSqlUpdate(SQLStatementUtils.deleteLocalRelationshipByIdsSQL(tableName, batch.size()));
+      for (int i = 0; i < batch.size(); i++) {
+        deletionSQL.setParameter(CommonColumnName.ID + i, batch.get(i));
+      }
+      deletionSQL.execute();
+    }
+    insertRelationships(urn, aspectClass, relationshipsToInsert, tableName);
+
+    if (log.isDebugEnabled()) {
+      log.debug("Updated relationships of {} in {}: {} inserted, {} soft-deleted, {} unchanged", sourceUrn, tableName,
+          relationshipsToInsert.size(), idsToDelete.size(), relationshipGroup.size() - relationshipsToInsert.size());
+    }
+  }
+
+  /**
+   * Insert the given list of relationships in the DB tableName, in batches of {@value #INSERT_BATCH_SIZE}.
+   * @param urn the source urn to be used for the relationships, see {@link #addRelationshipGroup}
+   * @param aspectClass class of the aspect from which these relationships are extracted from
+   * @param relationships the list of relationships to be inserted
+   * @param tableName the table name of the relationship
+   */
+  private <ASPECT extends RecordTemplate, RELATIONSHIP extends RecordTemplate> void insertRelationships(@Nullable Urn urn,
+      @Nonnull Class<ASPECT> aspectClass, @Nonnull List<RELATIONSHIP> relationships, @Nonnull String tableName) {
     long now = Instant.now().toEpochMilli();
 
     // Insert in batches with 100 values per insert statement
-    int numBatches = (relationshipGroup.size() + INSERT_BATCH_SIZE - 1) / INSERT_BATCH_SIZE;
-    for (int i = 0; i < numBatches; i++) {
-      int numRelationships = Math.min(INSERT_BATCH_SIZE, relationshipGroup.size() - i * INSERT_BATCH_SIZE);
-
+    for (List<RELATIONSHIP> batch : Lists.partition(relationships, INSERT_BATCH_SIZE)) {
       // Set up the general insertion update with static parameters set (lastmodifiedon, lastmodifiedby, {aspect})
-      SqlUpdate sqlUpdate = _server.createSqlUpdate(SQLStatementUtils.insertLocalRelationshipSQL(
-              isTestMode ? SQLSchemaUtils.getTestRelationshipTableName(firstRelationship)
-                  : SQLSchemaUtils.getRelationshipTableName(firstRelationship), numRelationships, _useAspectColumnForRelationshipRemoval))
+      SqlUpdate sqlUpdate = _server.createSqlUpdate(SQLStatementUtils.insertLocalRelationshipSQL(tableName, batch.size(),
+              _useAspectColumnForRelationshipRemoval))
           .setParameter(CommonColumnName.LAST_MODIFIED_ON, new Timestamp(now))
           .setParameter(CommonColumnName.LAST_MODIFIED_BY, DEFAULT_ACTOR);
       if (_useAspectColumnForRelationshipRemoval) {
@@ -201,8 +309,8 @@ public class EbeanLocalRelationshipWriterDAO extends BaseGraphWriterDAO {
       }
 
       // For each relationship in the batch, set the "values" to insert
-      for (int j = 0; j < numRelationships; j++) {
-        RELATIONSHIP relationship = relationshipGroup.get(j);
+      for (int j = 0; j < batch.size(); j++) {
+        RELATIONSHIP relationship = batch.get(j);
         // Relationship model V2 doesn't include source urn, it needs to be passed in.
         // For relationship model V1, this given urn can be source urn or destination urn.
         // For relationship model V2, this given urn can only be source urn.
@@ -231,15 +339,9 @@ public class EbeanLocalRelationshipWriterDAO extends BaseGraphWriterDAO {
     SqlUpdate deletionSQL = _server.createSqlUpdate(SQLStatementUtils.deleteLocalRelationshipSQL(tableName, _useAspectColumnForRelationshipRemoval));
     deletionSQL.setParameter(CommonColumnName.SOURCE, source.toString());
     if (_useAspectColumnForRelationshipRemoval) {
-      // treat "pegasus.com.linkedin..." and "com.linkedin..." as equivalent
-      String aspectClassFQCN = aspectClass.getCanonicalName();
-      String pegasusPrefix = "pegasus.";
-      // normalize the aspect FQCN first by removing any 'pegasus.' prefix
-      if (aspectClassFQCN.startsWith(pegasusPrefix)) {
-        aspectClassFQCN = aspectClassFQCN.substring(pegasusPrefix.length());
-      }
+      String aspectClassFQCN = getAspectClassFQCN(aspectClass);
       deletionSQL.setParameter(CommonColumnName.ASPECT, aspectClassFQCN); // WHERE aspect = "com.linkedin..."
-      deletionSQL.setParameter("pegasus_" + CommonColumnName.ASPECT, pegasusPrefix + aspectClassFQCN); // OR aspect = "pegasus.com.linkedin..."
+      deletionSQL.setParameter("pegasus_" + CommonColumnName.ASPECT, PEGASUS_PREFIX + aspectClassFQCN); // OR aspect = "pegasus.com.linkedin..."
     }
     batchCount = 0;
     while (batchCount < MAX_BATCHES) {
@@ -287,6 +389,16 @@ public class EbeanLocalRelationshipWriterDAO extends BaseGraphWriterDAO {
     deletionSQL.execute();
   }
 
+  /**
+   * Get the FQCN of the aspect class without any 'pegasus.' prefix, so that "pegasus.com.linkedin..." and
+   * "com.linkedin..." aspects can be treated as equivalent.
+   */
+  @Nonnull
+  private static <ASPECT extends RecordTemplate> String getAspectClassFQCN(@Nonnull Class<ASPECT> aspectClass) {
+    String aspectClassFQCN = aspectClass.getCanonicalName();
+    return aspectClassFQCN.startsWith(PEGASUS_PREFIX) ? aspectClassFQCN.substring(PEGASUS_PREFIX.length()) : aspectClassFQCN;
+  }
+
   @Nonnull
   protected <T> T runInTransactionWithRetry(@Nonnull Supplier<T> block, int maxTransactionRetry) {
     int retryCount = 0;
@@ -1,5 +1,6 @@
 package com.linkedin.metadata.dao;
 
+import com.linkedin.data.DataMap;
 import io.ebean.Model;
 import io.ebean.annotation.Index;
 import java.sql.Timestamp;
@@ -99,6 +100,12 @@ public class EbeanMetadataAspect extends Model {
   @Transient
   private String emitter;
 
+  // the metadata already decoded by the read path, handed over to the first conversion to a record and then dropped,
+  // so that it is neither parsed again nor shared by two records
+  @Nullable
+  @Transient
+  private DataMap metadataDataMap;
+
   // TODO (@jphui) META-18962 De-deduplicity investigation
   // @SneakyThrows
   // @Override
@@ -133,6 +140,11 @@ public class EbeanMetadataAspect extends Model {
   //   return super.hashCode();
   // }
 
+  public void setMetadata(String metadata) {
+    this.metadata = metadata;
+    this.metadataDataMap = null;
+  }
+
   @Override
   public String toString() {
     final String str = "EbeanMetadataAspect: {key: <urn:%s, aspect:%s, version:%s>, createdOn: %s, createdBy: %s, createdFor: %s, metadata: %s}";
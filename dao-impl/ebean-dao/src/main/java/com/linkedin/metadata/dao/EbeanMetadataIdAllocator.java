@@ -0,0 +1,153 @@
+package com.linkedin.metadata.dao;
+
+import com.linkedin.metadata.dao.exception.RetryLimitReached;
+import io.ebean.DuplicateKeyException;
+import io.ebean.EbeanServer;
+import io.ebean.Transaction;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import javax.persistence.RollbackException;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Hands out numeric ids from ranges reserved in the metadata_id table (hi/lo allocation).
+ *
+ * <p>Instead of inserting one row per id, a range of ids is reserved for the JVM by inserting a single row holding the
+ * high end of the range, i.e. the current max id of the namespace + the range size. Ids of a reserved range are then
+ * handed out from memory without any locking, until the range is exhausted.</p>
+ *
+ * <p>Reservations of a namespace are serialized by locking its row of id 0 with SELECT ... FOR UPDATE, then reading the
+ * max id and inserting the new one in the same transaction, see {@link #reserveIds(EbeanServer, String, int, int)}. The
+ * one id at a time allocation of {@link EbeanLocalDAO#newNumericId(String, int)} reserves its ids the same way, so that
+ * it can run alongside reserved ranges, whatever their sizes.</p>
+ *
+ * <p>Ids are unique across JVMs and monotonically increasing within a namespace for a single allocator. Ids that were
+ * reserved but not handed out before the JVM stops are never reused.</p>
+ */
+@Slf4j
+class EbeanMetadataIdAllocator {
+
+  private static final String NAMESPACE_PARAM = "namespace";
+  // the row of id 0 of a namespace is the lock of its reservations, ids start from 1
+  private static final String LOCK_NAMESPACE_SQL =
+      "SELECT id FROM metadata_id WHERE namespace = :namespace AND id = 0 FOR UPDATE";
+  private static final String CREATE_NAMESPACE_LOCK_SQL = "INSERT IGNORE INTO metadata_id (namespace, id) VALUES (:namespace, 0)";
+  private static final String MAX_ID_SQL =
+      "SELECT id FROM metadata_id WHERE namespace = :namespace ORDER BY id DESC LIMIT 1 FOR UPDATE";
+
+  private final EbeanServer _server;
+  private final int _defaultRangeSize;
+  private final Map<String, Integer> _rangeSizes = new ConcurrentHashMap<>();
+  private final Map<String, NamespaceRange> _ranges = new ConcurrentHashMap<>();
+
+  /**
+   * Range of ids reserved for a namespace. next is bumped without locking; once it goes past last, the range is exhausted.
+   */
+  private static final class IdRange {
+    private final AtomicLong _next;
+    private final long _last;
+
+    IdRange(long first, long last) {
+      _next = new AtomicLong(first);
+      _last = last;
+    }
+  }
+
+  /**
+   * Current range of a namespace, also used as the lock when the range is replaced.
+   */
+  private static final class NamespaceRange {
+    private volatile IdRange _range;
+  }
+
+  EbeanMetadataIdAllocator(@Nonnull EbeanServer server, int defaultRangeSize) {
+    _server = server;
+    _defaultRangeSize = validateRangeSize(defaultRangeSize);
+  }
+
+  /**
+   * Sets the number of ids reserved at once for the given namespace. Takes effect from the next reservation.
+   */
+  void setRangeSize(@Nonnull String namespace, int rangeSize) {
+    _rangeSizes.put(namespace, validateRangeSize(rangeSize));
+  }
+
+  int getRangeSize(@Nonnull String namespace) {
+    return _rangeSizes.getOrDefault(namespace, _defaultRangeSize);
+  }
+
+  /**
+   * Returns the next id of the namespace, reserving a new range if the current one is exhausted.
+   *
+   * @param namespace namespace of the id
+   * @param maxTransactionRetry maximum number of retries of the reservation when it collides with another JVM
+   * @return a new numeric id
+   */
+  long nextId(@Nonnull String namespace, int maxTransactionRetry) {
+    final NamespaceRange namespaceRange = _ranges.computeIfAbsent(namespace, unused -> new NamespaceRange());
+    while (true) {
+      final IdRange range = namespaceRange._range;
+      if (range != null) {
+        final long id = range._next.getAndIncrement();
+        if (id <= range._last) {
+          return id;
+        }
+      }
+      synchronized (namespaceRange) {
+        // only the first thread that sees the exhausted range reserves a new one
+        if (namespaceRange._range == range) {
+          namespaceRange._range = reserveRange(namespace, getRangeSize(namespace), maxTransactionRetry);
+        }
+      }
+    }
+  }
+
+  @Nonnull
+  private IdRange reserveRange(@Nonnull String namespace, int rangeSize, int maxTransactionRetry) {
+    final long lastId = reserveIds(_server, namespace, rangeSize, maxTransactionRetry);
+    log.debug("Reserved ids ({}, {}] for namespace {}", lastId - rangeSize, lastId, namespace);
+    return new IdRange(lastId - rangeSize + 1, lastId);
+  }
+
+  /**
+   * Reserves the next count ids of the namespace, by inserting a row holding the last of them.
+   *
+   * @param server the server of the metadata_id table
+   * @param namespace namespace of the ids
+   * @param count number of ids to reserve
+   * @param maxTransactionRetry maximum number of retries of the reservation when its transaction fails
+   * @return the last reserved id, the reserved ids being (last id - count, last id]
+   */
+  static long reserveIds(@Nonnull EbeanServer server, @Nonnull String namespace, int count, int maxTransactionRetry) {
+    int retryCount = 0;
+    while (true) {
+      try (Transaction transaction = server.beginTransaction()) {
+        if (server.createSqlQuery(LOCK_NAMESPACE_SQL).setParameter(NAMESPACE_PARAM, namespace).findOne() != null) {
+          final long lastId = server.createSqlQuery(MAX_ID_SQL).setParameter(NAMESPACE_PARAM, namespace).findOne().getLong(
+              EbeanMetadataId.ID_COLUMN) + count;
+          server.insert(new EbeanMetadataId(namespace, lastId));
+          transaction.commit();
+          return lastId;
+        }
+      } catch (RollbackException | DuplicateKeyException exception) {
+        if (++retryCount > maxTransactionRetry) {
+          throw new RetryLimitReached("Failed to reserve ids for namespace " + namespace + " after " + maxTransactionRetry
+              + " retries", exception);
+        }
+        continue;
+      }
+      // first reservation of the namespace, create its lock row in its own transaction and lock it again
+      server.createSqlUpdate(CREATE_NAMESPACE_LOCK_SQL).setParameter(NAMESPACE_PARAM, namespace).execute();
+    }
+  }
+
+  private static int validateRangeSize(int rangeSize) {
+    if (rangeSize <= 0) {
+      throw new IllegalArgumentException("Id range size must be positive: " + rangeSize);
+    }
+    return rangeSize;
+  }
+}
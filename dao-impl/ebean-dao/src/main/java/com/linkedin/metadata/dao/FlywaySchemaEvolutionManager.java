@@ -1,10 +1,15 @@
 package com.linkedin.metadata.dao;
 
+import com.linkedin.metadata.dao.utils.SchemaValidatorUtil;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.annotation.Nonnull;
 import lombok.extern.slf4j.Slf4j;
 import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
 
 
 @Slf4j
@@ -15,6 +20,8 @@ public class FlywaySchemaEvolutionManager implements SchemaEvolutionManager {
   private static final String CONFIG_FILE_TEMPLATE2 = "%s-%s.conf";
   private static final String DISABLE_CLEAN = "disable_clean";
   private final Flyway _flyway;
+  private final List<SchemaValidatorUtil> _schemaValidators = new CopyOnWriteArrayList<>();
+  private final List<Runnable> _migrationListeners = new CopyOnWriteArrayList<>();
 
   public FlywaySchemaEvolutionManager(Config config) {
     String databaseName = getDatabaseName(config);
@@ -46,9 +53,31 @@ public class FlywaySchemaEvolutionManager implements SchemaEvolutionManager {
         .load();
   }
 
+  /**
+   * Registers a schema validator whose cached columns and indexes are invalidated when {@link #ensureSchemaUpToDate()}
+   * applies migrations, so that new columns and indexes are used right away.
+   */
+  public void registerSchemaValidator(@Nonnull SchemaValidatorUtil schemaValidator) {
+    _schemaValidators.add(schemaValidator);
+  }
+
+  /**
+   * Registers a listener which is run after {@link #ensureSchemaUpToDate()} applies migrations, for instance to invalidate
+   * other caches derived from the schema.
+   */
+  public void registerMigrationListener(@Nonnull Runnable migrationListener) {
+    _migrationListeners.add(migrationListener);
+  }
+
   @Override
   public void ensureSchemaUpToDate() {
-    _flyway.migrate();
+    final MigrateResult result = _flyway.migrate();
+    if (result.migrationsExecuted > 0) {
+      log.info("Applied {} migrations, invalidating schema caches of {} validators", result.migrationsExecuted,
+          _schemaValidators.size());
+      _schemaValidators.forEach(SchemaValidatorUtil::invalidateAll);
+      _migrationListeners.forEach(Runnable::run);
+    }
   }
 
   @Override
@@ -9,8 +9,10 @@ import com.linkedin.metadata.query.IndexFilter;
 import com.linkedin.metadata.query.IndexGroupByCriterion;
 import com.linkedin.metadata.query.IndexSortCriterion;
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -21,6 +23,14 @@ public interface IEbeanLocalAccess<URN extends Urn> {
 
   void setUrnPathExtractor(@Nonnull UrnPathExtractor<URN> urnPathExtractor);
 
+  /**
+   * Set how the total count of paged index filter queries is computed.
+   *
+   * @param totalCountStrategy how to compute the total count, {@link EbeanLocalDAO.TotalCountStrategy#EXACT} by default
+   * @param cachedCountTtl how long a count is reused with {@link EbeanLocalDAO.TotalCountStrategy#CACHED_EXACT}
+   */
+  void setTotalCountStrategy(@Nonnull EbeanLocalDAO.TotalCountStrategy totalCountStrategy, @Nonnull Duration cachedCountTtl);
+
   /**
    * Upsert aspect into entity table.
    *
@@ -36,6 +46,28 @@ public interface IEbeanLocalAccess<URN extends Urn> {
   <ASPECT extends RecordTemplate> int add(@Nonnull URN urn, @Nullable ASPECT newValue, @Nonnull Class<ASPECT> aspectClass,
       @Nonnull AuditStamp auditStamp, @Nullable IngestionTrackingContext ingestionTrackingContext, boolean isTestMode);
 
+  /**
+   * Upsert several aspects into the entity table, with one statement per set of written aspect columns instead of one
+   * per aspect: all the aspects of an urn go into the same row, and urns writing the same columns share a multi-row
+   * VALUES list. When an (urn, aspect) pair is written more than once, the last write wins.
+   *
+   * @param upserts    aspect writes, same as calling {@link #add} for each of them in order
+   * @param isTestMode whether the test mode is enabled or not
+   * @return number of rows inserted or updated, as reported by the database
+   */
+  int addAll(@Nonnull List<AspectUpsert<URN>> upserts, boolean isTestMode);
+
+  /**
+   * Runs a block doing several aspect writes within the current transaction, deferring the {@link #add} calls of the
+   * block and applying them with {@link #addAll(List, boolean)} once the block is done. Pending writes are applied
+   * earlier when the block reads one of the pending aspects with {@link #batchGetUnion}, or runs any other statement
+   * through this instance, so that the block always reads the values it wrote. Nested calls join the outer block.
+   *
+   * @param block the writes to batch
+   * @return the result of the block
+   */
+  <T> T runInWriteBatch(@Nonnull Supplier<T> block);
+
   /**
    * Update aspect on entity table with optimistic locking. (compare-and-update on oldTimestamp).
    *
@@ -122,6 +154,19 @@ public interface IEbeanLocalAccess<URN extends Urn> {
   ListResult<URN> listUrns(@Nullable IndexFilter indexFilter, @Nullable IndexSortCriterion indexSortCriterion,
       int start, int pageSize);
 
+  /**
+   * Similar to {@link #listUrns(IndexFilter, IndexSortCriterion, Urn, int)} but returns a list result with pagination
+   * information. The page starts after the last (sort value, urn) of the previous page instead of an offset.
+   *
+   * @param lastCursor next cursor of the previous page. For the first page, this should be set as NULL
+   * @param includeTotalCount whether to also count all the urns satisfying the filter conditions, in a separate query
+   * @return a {@link CursorListResult} containing a list of urns and the cursor of the next page
+   */
+  @Nonnull
+  CursorListResult<URN, IndexSortCursor<URN>> listUrnsAfter(@Nullable IndexFilter indexFilter,
+      @Nullable IndexSortCriterion indexSortCriterion, @Nullable IndexSortCursor<URN> lastCursor, int pageSize,
+      boolean includeTotalCount);
+
   /**
    * Returns a boolean representing if an Urn has any Aspects associated with it (i.e. if it exists in the DB).
    * @param urn {@link Urn} for the entity
@@ -182,6 +227,28 @@ public interface IEbeanLocalAccess<URN extends Urn> {
   <ASPECT extends RecordTemplate> ListResult<ASPECT> list(@Nonnull Class<ASPECT> aspectClass,
      int start, int pageSize);
 
+  /**
+   * Similar to {@link #listUrns(Class, int, int)} but the page starts after the last urn instead of an offset.
+   *
+   * @param lastUrn next cursor of the previous page. For the first page, this should be set as NULL
+   * @param includeTotalCount whether to also count all the urns, in a separate query
+   * @return a {@link CursorListResult} containing a list of URN and the cursor of the next page
+   */
+  @Nonnull
+  <ASPECT extends RecordTemplate> CursorListResult<URN, URN> listUrnsAfter(@Nonnull Class<ASPECT> aspectClass,
+      @Nullable URN lastUrn, int pageSize, boolean includeTotalCount);
+
+  /**
+   * Similar to {@link #list(Class, int, int)} but the page starts after the last urn instead of an offset.
+   *
+   * @param lastUrn next cursor of the previous page. For the first page, this should be set as NULL
+   * @param includeTotalCount whether to also count all the aspects, in a separate query
+   * @return a {@link CursorListResult} containing a list of aspects and the cursor of the next page
+   */
+  @Nonnull
+  <ASPECT extends RecordTemplate> CursorListResult<ASPECT, URN> listAfter(@Nonnull Class<ASPECT> aspectClass,
+      @Nullable URN lastUrn, int pageSize, boolean includeTotalCount);
+
   /**
    * Ensure table schemas are up-to-date according to db evolution scripts.
    */
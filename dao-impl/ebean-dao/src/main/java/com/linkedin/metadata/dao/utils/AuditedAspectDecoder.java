@@ -0,0 +1,222 @@
+package com.linkedin.metadata.dao.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.linkedin.data.Data;
+import com.linkedin.data.DataList;
+import com.linkedin.data.DataMap;
+import com.linkedin.metadata.dao.exception.ModelConversionException;
+import java.io.IOException;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
+
+
+/**
+ * Single pass decoder of the aspect columns of entity tables, which hold either an AuditedAspect, i.e. the aspect value
+ * wrapped by its audit fields, or a SoftDeletedAspect.
+ *
+ * <p>The column is read once with a streaming parser: the audit fields are picked up on the way, and the aspect value is
+ * built directly into a {@link DataMap}, instead of parsing the column into an AuditedAspect, parsing it again to
+ * extract the aspect JSON and then parsing that JSON into a {@link DataMap}.</p>
+ */
+public final class AuditedAspectDecoder {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private static final String ASPECT_FIELD = "aspect";
+  private static final String CANONICAL_NAME_FIELD = "canonicalName";
+  private static final String LAST_MODIFIED_ON_FIELD = "lastmodifiedon";
+  private static final String LAST_MODIFIED_BY_FIELD = "lastmodifiedby";
+  private static final String CREATED_FOR_FIELD = "createdfor";
+  private static final String EMIT_TIME_FIELD = "emitTime";
+  private static final String EMITTER_FIELD = "emitter";
+  private static final String GMA_DELETED_FIELD = "gma_deleted";
+
+  /**
+   * Decoded aspect column. All fields but softDeleted are null when absent from the column.
+   */
+  @Value
+  public static class DecodedAspect {
+    boolean softDeleted;
+
+    /**
+     * The aspect value.
+     */
+    @Nullable
+    DataMap aspect;
+
+    /**
+     * The aspect value as stored in the column, without re-serializing it.
+     */
+    @Nullable
+    String aspectJson;
+
+    @Nullable
+    String canonicalName;
+
+    @Nullable
+    String lastmodifiedon;
+
+    @Nullable
+    String lastmodifiedby;
+
+    @Nullable
+    String createdfor;
+
+    @Nullable
+    Long emitTime;
+
+    @Nullable
+    String emitter;
+  }
+
+  private AuditedAspectDecoder() {
+    // Util class
+  }
+
+  /**
+   * Decodes an aspect column of an entity table.
+   *
+   * @param column the column value, an AuditedAspect or a SoftDeletedAspect in its DB format
+   * @return the decoded column
+   * @throws ModelConversionException if the column is not a JSON object
+   */
+  @Nonnull
+  public static DecodedAspect decode(@Nonnull String column) {
+    try (JsonParser parser = JSON_FACTORY.createParser(column)) {
+      return decode(parser, column);
+    } catch (IOException e) {
+      throw new ModelConversionException("Failed to decode aspect column as AuditedAspect", e);
+    }
+  }
+
+  @Nonnull
+  private static DecodedAspect decode(@Nonnull JsonParser parser, @Nonnull String column) throws IOException {
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      throw new JsonParseException(parser, "Expected a JSON object");
+    }
+
+    boolean softDeleted = false;
+    DataMap aspect = null;
+    String aspectJson = null;
+    String canonicalName = null;
+    String lastmodifiedon = null;
+    String lastmodifiedby = null;
+    String createdfor = null;
+    Long emitTime = null;
+    String emitter = null;
+
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final String fieldName = parser.getCurrentName();
+      final JsonToken token = parser.nextToken();
+      switch (fieldName) {
+        case ASPECT_FIELD:
+          if (token == JsonToken.START_OBJECT) {
+            final int start = (int) parser.getTokenLocation().getCharOffset();
+            aspect = readMap(parser);
+            aspectJson = column.substring(start, (int) parser.getCurrentLocation().getCharOffset());
+          } else if (token == JsonToken.VALUE_STRING) {
+            // the aspect field is a string in the AuditedAspect schema, accept aspects serialized as such
+            aspectJson = parser.getText();
+            aspect = RecordUtils.toDataMap(aspectJson);
+          } else {
+            parser.skipChildren();
+          }
+          break;
+        case CANONICAL_NAME_FIELD:
+          canonicalName = readString(parser, token);
+          break;
+        case LAST_MODIFIED_ON_FIELD:
+          lastmodifiedon = readString(parser, token);
+          break;
+        case LAST_MODIFIED_BY_FIELD:
+          lastmodifiedby = readString(parser, token);
+          break;
+        case CREATED_FOR_FIELD:
+          createdfor = readString(parser, token);
+          break;
+        case EMIT_TIME_FIELD:
+          if (token == JsonToken.VALUE_NUMBER_INT) {
+            emitTime = parser.getLongValue();
+          } else {
+            parser.skipChildren();
+          }
+          break;
+        case EMITTER_FIELD:
+          emitter = readString(parser, token);
+          break;
+        case GMA_DELETED_FIELD:
+          softDeleted = token == JsonToken.VALUE_TRUE;
+          parser.skipChildren();
+          break;
+        default:
+          parser.skipChildren();
+      }
+    }
+
+    return new DecodedAspect(softDeleted, aspect, aspectJson, canonicalName, lastmodifiedon, lastmodifiedby, createdfor,
+        emitTime, emitter);
+  }
+
+  @Nullable
+  private static String readString(@Nonnull JsonParser parser, @Nonnull JsonToken token) throws IOException {
+    if (token == JsonToken.VALUE_STRING) {
+      return parser.getText();
+    }
+    parser.skipChildren();
+    return null;
+  }
+
+  /**
+   * Reads the object the parser is positioned at, the same way as the Pegasus JSON codec.
+   */
+  @Nonnull
+  private static DataMap readMap(@Nonnull JsonParser parser) throws IOException {
+    final DataMap map = new DataMap();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final String key = parser.getCurrentName();
+      map.put(key, readValue(parser, parser.nextToken()));
+    }
+    return map;
+  }
+
+  @Nonnull
+  private static DataList readList(@Nonnull JsonParser parser) throws IOException {
+    final DataList list = new DataList();
+    JsonToken token;
+    while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+      list.add(readValue(parser, token));
+    }
+    return list;
+  }
+
+  @Nonnull
+  private static Object readValue(@Nonnull JsonParser parser, @Nullable JsonToken token) throws IOException {
+    if (token == null) {
+      throw new JsonParseException(parser, "Unexpected end of input");
+    }
+    switch (token) {
+      case START_OBJECT:
+        return readMap(parser);
+      case START_ARRAY:
+        return readList(parser);
+      case VALUE_STRING:
+        return parser.getText();
+      case VALUE_NUMBER_INT:
+        return parser.getNumberType() == JsonParser.NumberType.INT ? (Object) parser.getIntValue() : parser.getLongValue();
+      case VALUE_NUMBER_FLOAT:
+        return parser.getDoubleValue();
+      case VALUE_TRUE:
+        return Boolean.TRUE;
+      case VALUE_FALSE:
+        return Boolean.FALSE;
+      case VALUE_NULL:
+        return Data.NULL;
+      default:
+        throw new JsonParseException(parser, "Unexpected token " + token);
+    }
+  }
+}
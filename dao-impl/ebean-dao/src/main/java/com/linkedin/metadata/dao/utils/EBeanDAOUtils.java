@@ -1,6 +1,7 @@
 package com.linkedin.metadata.dao.utils;
 
 import com.linkedin.common.urn.Urn;
+import com.linkedin.data.DataMap;
 import com.linkedin.data.schema.RecordDataSchema;
 import com.linkedin.data.template.DataTemplateUtil;
 import com.linkedin.data.template.RecordTemplate;
@@ -9,13 +10,16 @@ import com.linkedin.metadata.annotations.DeltaEntityAnnotationArrayMap;
 import com.linkedin.metadata.annotations.GmaAnnotation;
 import com.linkedin.metadata.annotations.GmaAnnotationParser;
 import com.linkedin.metadata.annotations.ModelType;
-import com.linkedin.metadata.aspect.AuditedAspect;
 import com.linkedin.metadata.aspect.SoftDeletedAspect;
+import com.linkedin.metadata.dao.AspectKey;
+import com.linkedin.metadata.dao.CursorListResult;
 import com.linkedin.metadata.dao.EbeanMetadataAspect;
 import com.linkedin.metadata.dao.ListResult;
+import com.linkedin.metadata.dao.exception.ModelConversionException;
 import com.linkedin.metadata.query.AspectField;
 import com.linkedin.metadata.query.Condition;
 import com.linkedin.metadata.query.LocalRelationshipCriterion;
+import com.linkedin.metadata.query.ListResultMetadata;
 import com.linkedin.metadata.query.LocalRelationshipValue;
 import com.linkedin.metadata.query.RelationshipField;
 import com.linkedin.metadata.query.UrnField;
@@ -23,7 +27,6 @@ import io.ebean.EbeanServer;
 import io.ebean.SqlRow;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.URISyntaxException;
 import java.sql.Connection;
@@ -34,20 +37,20 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.temporal.ChronoField;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang.StringUtils;
-import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
-import org.json.simple.parser.ParseException;
 
 import static com.linkedin.metadata.annotations.GmaAnnotationParser.*;
 
@@ -108,12 +111,48 @@ public class EBeanDAOUtils {
    */
   @Nonnull
   public static <URN> URN getUrn(@Nonnull String urn, @Nonnull Class<URN> urnClass) {
-    try {
-      final Method getUrn = urnClass.getMethod("createFromString", String.class);
-      return urnClass.cast(getUrn.invoke(null, urn));
-    } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
-      throw new IllegalArgumentException("URN conversion error for " + urn, e);
+    return UrnFactories.createFromString(urn, urnClass);
+  }
+
+  /**
+   * Build the normalized lookup key of an {@link AspectKey}, i.e. lower-cased urn, aspect canonical name and version.
+   * Two keys are considered equivalent if their normalized keys are equal, which mirrors the ignore-case urn match
+   * used when reading metadata aspect records back from the database.
+   * @param aspectKey {@link AspectKey} to normalize
+   * @return normalized {@link EbeanMetadataAspect.PrimaryKey}
+   */
+  @Nonnull
+  public static EbeanMetadataAspect.PrimaryKey normalizeKey(@Nonnull AspectKey<?, ? extends RecordTemplate> aspectKey) {
+    return new EbeanMetadataAspect.PrimaryKey(aspectKey.getUrn().toString().toLowerCase(Locale.ROOT),
+        ModelUtils.getAspectName(aspectKey.getAspectClass()), aspectKey.getVersion());
+  }
+
+  /**
+   * Build the normalized lookup key of an Ebean {@link EbeanMetadataAspect.PrimaryKey}.
+   * @param primaryKey {@link EbeanMetadataAspect.PrimaryKey} to normalize
+   * @return normalized {@link EbeanMetadataAspect.PrimaryKey}
+   */
+  @Nonnull
+  public static EbeanMetadataAspect.PrimaryKey normalizeKey(@Nonnull EbeanMetadataAspect.PrimaryKey primaryKey) {
+    return new EbeanMetadataAspect.PrimaryKey(primaryKey.getUrn().toLowerCase(Locale.ROOT), primaryKey.getAspect(),
+        primaryKey.getVersion());
+  }
+
+  /**
+   * Index a list of {@link EbeanMetadataAspect} records by their normalized primary key, so that the results of a
+   * batch get can be matched to the requested keys in linear time. If several records share the same normalized key,
+   * the first one in the list is kept.
+   * @param records list of {@link EbeanMetadataAspect} returned from the database
+   * @return map of normalized primary key to record
+   */
+  @Nonnull
+  public static Map<EbeanMetadataAspect.PrimaryKey, EbeanMetadataAspect> indexByNormalizedKey(
+      @Nonnull List<EbeanMetadataAspect> records) {
+    final Map<EbeanMetadataAspect.PrimaryKey, EbeanMetadataAspect> index = new HashMap<>(Math.max(16, records.size() * 2));
+    for (EbeanMetadataAspect record : records) {
+      index.putIfAbsent(normalizeKey(record.getKey()), record);
     }
+    return index;
   }
 
   /**
@@ -127,6 +166,52 @@ public class EBeanDAOUtils {
     return -Math.floorDiv(-x, y);
   }
 
+  /**
+   * Keyset paginated queries fetch one more row than the page size, telling whether there's a next page without counting
+   * the remaining rows.
+   * @param pageSize size of the page, must be positive
+   * @return number of rows to fetch for the page
+   */
+  public static int keysetLimit(int pageSize) {
+    if (pageSize <= 0) {
+      throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+    }
+    return pageSize + 1;
+  }
+
+  /**
+   * Returns the rows of the page out of the rows fetched with {@link #keysetLimit(int)}, i.e. without the extra row.
+   */
+  @Nonnull
+  public static <ROW> List<ROW> pageRows(@Nonnull List<ROW> rows, int pageSize) {
+    return rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+  }
+
+  /**
+   * Convert the rows fetched with {@link #keysetLimit(int)} into {@link CursorListResult}.
+   * @param rows fetched rows, including the extra row if there's a next page
+   * @param pageSize size of the page
+   * @param toCursor gets the cursor of a row, the one of the last row of the page being the next cursor
+   * @param values values of the page, converted from {@link #pageRows(List, int)}
+   * @param listResultMetadata {@link ListResultMetadata} of the values, if any
+   * @param totalCount total count if it was requested, null otherwise
+   * @return {@link CursorListResult} which contains paging metadata information
+   */
+  @Nonnull
+  public static <ROW, T, CURSOR> CursorListResult<T, CURSOR> toCursorListResult(@Nonnull List<ROW> rows, int pageSize,
+      @Nonnull Function<ROW, CURSOR> toCursor, @Nonnull List<T> values, @Nullable ListResultMetadata listResultMetadata,
+      @Nullable Integer totalCount) {
+    final boolean havingMore = rows.size() > pageSize;
+    return CursorListResult.<T, CURSOR>builder()
+        .values(values)
+        .metadata(listResultMetadata)
+        .nextCursor(havingMore ? toCursor.apply(rows.get(pageSize - 1)) : null)
+        .havingMore(havingMore)
+        .totalCount(totalCount)
+        .pageSize(pageSize)
+        .build();
+  }
+
   /**
    * Compare lists, which should be results from reading the old and new schema tables. If different, log an error and
    * return false. Otherwise, return true.
@@ -204,9 +289,39 @@ public class EBeanDAOUtils {
       @Nonnull Class<ASPECT> aspectClass) {
     // Convert metadata string to record template object
     final RecordTemplate metadataRecord = RecordUtils.toRecordTemplate(aspectClass, aspect.getMetadata());
+    return isSoftDeletedAspect(metadataRecord);
+  }
+
+  /**
+   * Checks whether the aspect value read from a record is the soft deleted marker.
+   *
+   * @param metadataRecord aspect value converted by {@link #metadataToRecordTemplate(Class, EbeanMetadataAspect)}
+   * @return boolean representing whether the aspect record has been soft deleted
+   */
+  public static boolean isSoftDeletedAspect(@Nonnull RecordTemplate metadataRecord) {
     return metadataRecord.equals(DELETED_METADATA);
   }
 
+  /**
+   * Converts the metadata of a {@link EbeanMetadataAspect} to an aspect value. Metadata which has already been decoded
+   * while reading the row is used as is instead of being parsed again.
+   *
+   * @param aspectClass the type of the aspect
+   * @param aspect the {@link EbeanMetadataAspect} to convert
+   * @return the aspect value, which is the soft deleted marker if the aspect has been soft deleted
+   */
+  @Nonnull
+  public static <ASPECT extends RecordTemplate> ASPECT metadataToRecordTemplate(@Nonnull Class<ASPECT> aspectClass,
+      @Nonnull EbeanMetadataAspect aspect) {
+    final DataMap dataMap = aspect.getMetadataDataMap();
+    if (dataMap != null) {
+      // hand the decoded map over only once, so that two records never share it
+      aspect.setMetadataDataMap(null);
+      return RecordUtils.toRecordTemplate(aspectClass, dataMap);
+    }
+    return RecordUtils.toRecordTemplate(aspectClass, aspect.getMetadata());
+  }
+
 
   /**
    * Read {@link SqlRow} list into a {@link EbeanMetadataAspect} list.
@@ -223,7 +338,7 @@ public class EBeanDAOUtils {
       return columns.stream().map(columnName -> {
         EbeanMetadataAspect ebeanMetadataAspect = new EbeanMetadataAspect();
         String urn = sqlRow.getString("urn");
-        AuditedAspect auditedAspect = RecordUtils.toRecordTemplate(AuditedAspect.class, sqlRow.getString(columnName));
+        AuditedAspectDecoder.DecodedAspect auditedAspect = AuditedAspectDecoder.decode(sqlRow.getString(columnName));
         EbeanMetadataAspect.PrimaryKey primaryKey = new EbeanMetadataAspect.PrimaryKey(urn, auditedAspect.getCanonicalName(), LATEST_VERSION);
         ebeanMetadataAspect.setKey(primaryKey);
         ebeanMetadataAspect.setCreatedBy(auditedAspect.getLastmodifiedby());
@@ -231,7 +346,8 @@ public class EBeanDAOUtils {
         ebeanMetadataAspect.setCreatedOn(timeStampStringToTimeStamp(auditedAspect.getLastmodifiedon()));
 
         ebeanMetadataAspect.setCreatedFor(auditedAspect.getCreatedfor());
-        ebeanMetadataAspect.setMetadata(extractAspectJsonString(sqlRow.getString(columnName)));
+        ebeanMetadataAspect.setMetadata(auditedAspect.getAspectJson());
+        ebeanMetadataAspect.setMetadataDataMap(auditedAspect.getAspect());
         return ebeanMetadataAspect;
       });
     }).collect(Collectors.toList());
@@ -266,17 +382,26 @@ public class EBeanDAOUtils {
    */
   private static <ASPECT extends RecordTemplate> EbeanMetadataAspect readSqlRow(SqlRow sqlRow,
       Class<ASPECT> aspectClass) {
-
-    final EbeanMetadataAspect ebeanMetadataAspect = new EbeanMetadataAspect();
     final String urn = sqlRow.getString("urn");
-    EbeanMetadataAspect.PrimaryKey primaryKey;
     final String columnName;
     try {
       columnName = SQLSchemaUtils.getAspectColumnName(Urn.createFromString(urn).getEntityType(), aspectClass);
     } catch (URISyntaxException e) {
       throw new RuntimeException("Invalid urn format: " + urn, e);
     }
-    if (isSoftDeletedAspect(sqlRow, columnName)) {
+    return readSqlRow(sqlRow, aspectClass, AuditedAspectDecoder.decode(sqlRow.getString(columnName)));
+  }
+
+  /**
+   * Read the given decoded aspect column of a {@link SqlRow} into an EbeanMetadataAspect.
+   */
+  private static <ASPECT extends RecordTemplate> EbeanMetadataAspect readSqlRow(SqlRow sqlRow,
+      Class<ASPECT> aspectClass, AuditedAspectDecoder.DecodedAspect auditedAspect) {
+
+    final EbeanMetadataAspect ebeanMetadataAspect = new EbeanMetadataAspect();
+    final String urn = sqlRow.getString("urn");
+    EbeanMetadataAspect.PrimaryKey primaryKey;
+    if (auditedAspect.isSoftDeleted()) {
       primaryKey = new EbeanMetadataAspect.PrimaryKey(urn, aspectClass.getCanonicalName(), LATEST_VERSION);
       ebeanMetadataAspect.setCreatedBy(sqlRow.getString("lastmodifiedby"));
 
@@ -285,7 +410,6 @@ public class EBeanDAOUtils {
       ebeanMetadataAspect.setCreatedFor(sqlRow.getString("createdfor"));
       ebeanMetadataAspect.setMetadata(DELETED_VALUE);
     } else {
-      AuditedAspect auditedAspect = RecordUtils.toRecordTemplate(AuditedAspect.class, sqlRow.getString(columnName));
       primaryKey = new EbeanMetadataAspect.PrimaryKey(urn, auditedAspect.getCanonicalName(), LATEST_VERSION);
       ebeanMetadataAspect.setCreatedBy(auditedAspect.getLastmodifiedby());
 
@@ -294,12 +418,40 @@ public class EBeanDAOUtils {
       ebeanMetadataAspect.setCreatedFor(auditedAspect.getCreatedfor());
       ebeanMetadataAspect.setEmitTime(auditedAspect.getEmitTime());
       ebeanMetadataAspect.setEmitter(auditedAspect.getEmitter());
-      ebeanMetadataAspect.setMetadata(extractAspectJsonString(sqlRow.getString(columnName)));
+      ebeanMetadataAspect.setMetadata(auditedAspect.getAspectJson());
+      ebeanMetadataAspect.setMetadataDataMap(auditedAspect.getAspect());
     }
     ebeanMetadataAspect.setKey(primaryKey);
     return ebeanMetadataAspect;
   }
 
+  /**
+   * Fan out a {@link SqlRow} that holds several aspect columns of the same entity into one {@link EbeanMetadataAspect}
+   * per aspect. Aspects whose column is null are skipped, and so are soft-deleted aspects unless includeSoftDeleted is set.
+   * @param sqlRow {@link SqlRow} of an entity table
+   * @param entityType entity type of the urn in the row
+   * @param aspectClasses aspect classes to read from the row
+   * @param includeSoftDeleted whether to return soft-deleted aspects
+   * @return list of {@link EbeanMetadataAspect}, at most one per aspect class
+   */
+  @Nonnull
+  public static List<EbeanMetadataAspect> readSqlRow(@Nonnull SqlRow sqlRow, @Nonnull String entityType,
+      @Nonnull Collection<Class<? extends RecordTemplate>> aspectClasses, boolean includeSoftDeleted) {
+    final List<EbeanMetadataAspect> results = new ArrayList<>(aspectClasses.size());
+    for (Class<? extends RecordTemplate> aspectClass : aspectClasses) {
+      final String columnName = SQLSchemaUtils.getAspectColumnName(entityType, aspectClass);
+      if (sqlRow.get(columnName) == null) {
+        continue;
+      }
+      final AuditedAspectDecoder.DecodedAspect auditedAspect = AuditedAspectDecoder.decode(sqlRow.getString(columnName));
+      if (auditedAspect.isSoftDeleted() && !includeSoftDeleted) {
+        continue;
+      }
+      results.add(readSqlRow(sqlRow, aspectClass, auditedAspect));
+    }
+    return results;
+  }
+
   /**
    * Checks whether the entity table record has been soft deleted.
    * @param sqlRow {@link SqlRow} result from MySQL server
@@ -308,8 +460,7 @@ public class EBeanDAOUtils {
    */
   public static boolean isSoftDeletedAspect(@Nonnull SqlRow sqlRow, @Nonnull String columnName) {
     try {
-      SoftDeletedAspect aspect = RecordUtils.toRecordTemplate(SoftDeletedAspect.class, sqlRow.getString(columnName));
-      return aspect.hasGma_deleted() && aspect.isGma_deleted();
+      return AuditedAspectDecoder.decode(sqlRow.getString(columnName)).isSoftDeleted();
     } catch (Exception e) {
       return false;
     }
@@ -323,16 +474,10 @@ public class EBeanDAOUtils {
   @Nullable
   public static String extractAspectJsonString(@Nonnull final String auditedAspect) {
     try {
-      JSONParser jsonParser = new JSONParser();
-      JSONObject map = (JSONObject) jsonParser.parse(auditedAspect);
-      if (map.containsKey("aspect")) {
-        return map.get("aspect").toString();
-      }
-
-      return null;
-    } catch (ParseException parseException) {
-      log.error(String.format("Failed to parse string %s as AuditedAspect. Exception: %s", auditedAspect, parseException));
-      throw new RuntimeException(parseException);
+      return AuditedAspectDecoder.decode(auditedAspect).getAspectJson();
+    } catch (ModelConversionException e) {
+      log.error(String.format("Failed to parse string %s as AuditedAspect. Exception: %s", auditedAspect, e));
+      throw e;
     }
   }
 
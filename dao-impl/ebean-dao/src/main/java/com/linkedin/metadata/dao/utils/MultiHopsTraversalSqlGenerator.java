@@ -3,23 +3,48 @@ package com.linkedin.metadata.dao.utils;
 import com.linkedin.metadata.query.Condition;
 import com.linkedin.metadata.query.LocalRelationshipFilter;
 import com.linkedin.metadata.query.RelationshipDirection;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import org.javatuples.Triplet;
 
+import static com.linkedin.metadata.dao.utils.SQLStatementUtils.*;
+
 
 /**
  * Multi-hops traversal on graph backed by local relationship tables.
+ *
+ * <p>Queries are generated with their values (filter values, urns, limit and offset) bound to named parameters, which
+ * are added to the parameter map given by the caller. Templates are cached by query shape in a {@link SqlTemplateCache},
+ * so that a query of a known shape only has its values bound, without building its where clauses again. Lists of urns
+ * have their number of placeholders rounded up to the next power of two, see {@link #urnPlaceholderCount(int)}, so
+ * that the number of templates stays bounded whatever the number of urns.</p>
  */
 public class MultiHopsTraversalSqlGenerator {
+  private static final int DEFAULT_TEMPLATE_CACHE_SIZE = 1000;
+  private static final Duration DEFAULT_TEMPLATE_CACHE_TTL = Duration.ofMinutes(10);
+  private static final String LIMIT_PARAM = "limit";
+  private static final String OFFSET_PARAM = "offset";
+
   private static Map<Condition, String> _supportedConditions;
   private final SchemaValidatorUtil _schemaValidator;
+  private final SqlTemplateCache _templateCache;
 
   public MultiHopsTraversalSqlGenerator(Map<Condition, String> supportedConditions, SchemaValidatorUtil schemaValidator) {
+    this(supportedConditions, schemaValidator, new SqlTemplateCache(DEFAULT_TEMPLATE_CACHE_SIZE, DEFAULT_TEMPLATE_CACHE_TTL));
+  }
+
+  public MultiHopsTraversalSqlGenerator(Map<Condition, String> supportedConditions, SchemaValidatorUtil schemaValidator,
+      SqlTemplateCache templateCache) {
     _supportedConditions = Collections.unmodifiableMap(supportedConditions);
     _schemaValidator = schemaValidator;
+    _templateCache = templateCache;
   }
 
   /**
@@ -29,15 +54,15 @@ public class MultiHopsTraversalSqlGenerator {
   @ParametersAreNonnullByDefault
   public String multiHopTraversalSql(int minHop, int maxHop, int count, int offset, String relationshipTable,
       String srcEntityTable, String destEntityTable, LocalRelationshipFilter relationshipFilter, LocalRelationshipFilter srcFilter,
-      LocalRelationshipFilter destFilter, boolean nonDollarVirtualColumnsEnabled) {
+      LocalRelationshipFilter destFilter, boolean nonDollarVirtualColumnsEnabled, Map<String, Object> parameters) {
 
     /*
-     * For now, only one-hop traversal is supported because multi-hops traversal using SQL is expensive
-     * and implementation is error-prone. Application side can also perform multi-hops traversal with one-hop traversal.
-     * We might consider to support multi-hop traversal in the future if strong use case appears.
+     * Only one-hop traversal is done in a single SQL query. Multi-hops traversal in a single SQL (e.g. recursive CTE) is
+     * expensive and cannot bound the number of visited nodes, so it is done hop by hop by the caller instead, see
+     * startUrnsSql, nextHopUrnsSql and findEntitiesByUrnsSql.
      */
     if (minHop != 1 || maxHop != 1) {
-      throw new UnsupportedOperationException("Only one-hop traversal is supported.");
+      throw new UnsupportedOperationException("Only one-hop traversal is supported in a single query.");
     }
 
     if (relationshipFilter.getDirection() == RelationshipDirection.UNDIRECTED && !srcEntityTable.equals(destEntityTable)) {
@@ -45,18 +70,40 @@ public class MultiHopsTraversalSqlGenerator {
     }
 
     final String entityTable = relationshipFilter.getDirection() == RelationshipDirection.INCOMING ? srcEntityTable : destEntityTable;
+    final List<Object> shape = Arrays.asList("multiHopTraversal", relationshipTable, srcEntityTable, destEntityTable,
+        getLocalRelationshipFilterShape(relationshipFilter), getLocalRelationshipFilterShape(srcFilter),
+        getLocalRelationshipFilterShape(destFilter), nonDollarVirtualColumnsEnabled);
 
     // If relationship direction is directed.
     if (relationshipFilter.getDirection() == RelationshipDirection.INCOMING
         || relationshipFilter.getDirection() == RelationshipDirection.OUTGOING) {
-      String urnSql = firstHopUrnsDirected(relationshipTable, srcEntityTable, destEntityTable, relationshipFilter, srcFilter,
-          destFilter, relationshipFilter.getDirection(), nonDollarVirtualColumnsEnabled);
-      return String.format("SELECT * FROM %s WHERE urn IN (%s) ORDER BY urn LIMIT %d OFFSET %d", entityTable, urnSql, count, offset);
+      final String sql = _templateCache.get(shape, templateParameters -> {
+        String urnSql = firstHopUrnsDirected(relationshipTable, srcEntityTable, destEntityTable, relationshipFilter, srcFilter,
+            destFilter, relationshipFilter.getDirection(), nonDollarVirtualColumnsEnabled, templateParameters);
+        return String.format("SELECT * FROM %s WHERE urn IN (%s) ORDER BY urn LIMIT :%s OFFSET :%s", entityTable, urnSql,
+            LIMIT_PARAM, OFFSET_PARAM);
+      });
+      SQLStatementUtils.addWhereClauseParameters(parameters,
+          new Triplet<>(relationshipFilter, "rt", relationshipTable),
+          new Triplet<>(destFilter, "dt", destEntityTable),
+          new Triplet<>(srcFilter, "st", srcEntityTable));
+      parameters.put(LIMIT_PARAM, count);
+      parameters.put(OFFSET_PARAM, offset);
+      return sql;
     }
 
     // Relationship is undirected.
-    String urnSql = firstHopUrnsUndirected(relationshipTable, entityTable, relationshipFilter, srcFilter, nonDollarVirtualColumnsEnabled);
-    return findEntitiesUndirected(entityTable, relationshipTable, urnSql, destFilter, nonDollarVirtualColumnsEnabled);
+    final String sql = _templateCache.get(shape, templateParameters -> {
+      String urnSql = firstHopUrnsUndirected(relationshipTable, entityTable, relationshipFilter, srcFilter,
+          nonDollarVirtualColumnsEnabled, templateParameters);
+      return findEntitiesUndirected(entityTable, relationshipTable, urnSql, destFilter, nonDollarVirtualColumnsEnabled,
+          templateParameters);
+    });
+    SQLStatementUtils.addWhereClauseParameters(parameters,
+        new Triplet<>(relationshipFilter, "rt", relationshipTable),
+        new Triplet<>(srcFilter, "et", entityTable),
+        new Triplet<>(destFilter, "et", entityTable));
+    return sql;
   }
 
   /**
@@ -67,7 +114,7 @@ public class MultiHopsTraversalSqlGenerator {
   @ParametersAreNonnullByDefault
   private String firstHopUrnsDirected(String relationshipTable, String srcEntityTable, String destEntityTable,
       LocalRelationshipFilter relationshipFilter, LocalRelationshipFilter srcFilter, LocalRelationshipFilter destFilter, RelationshipDirection direction,
-      boolean nonDollarVirtualColumnsEnabled) {
+      boolean nonDollarVirtualColumnsEnabled, Map<String, Object> parameters) {
 
     String urnColumn = "destination";
     if (direction == RelationshipDirection.INCOMING) {
@@ -79,7 +126,7 @@ public class MultiHopsTraversalSqlGenerator {
             urnColumn, relationshipTable, destEntityTable, srcEntityTable));
 
     String whereClause = SQLStatementUtils.whereClause(_supportedConditions,  nonDollarVirtualColumnsEnabled,
-        _schemaValidator,
+        _schemaValidator, parameters,
         new Triplet<>(relationshipFilter, "rt", relationshipTable),
         new Triplet<>(destFilter, "dt", destEntityTable),
         new Triplet<>(srcFilter, "st", srcEntityTable));
@@ -97,7 +144,7 @@ public class MultiHopsTraversalSqlGenerator {
   @Nonnull
   @ParametersAreNonnullByDefault
   private String firstHopUrnsUndirected(String relationshipTable, String entityTable, LocalRelationshipFilter relationshipFilter,
-      LocalRelationshipFilter srcFilter, boolean nonDollarVirtualColumnsEnabled) {
+      LocalRelationshipFilter srcFilter, boolean nonDollarVirtualColumnsEnabled, Map<String, Object> parameters) {
 
     StringBuilder sourceUrnsSql = new StringBuilder(
         String.format("SELECT rt.source FROM %s rt INNER JOIN %s et ON rt.source=et.urn WHERE rt.deleted_ts IS NULL",
@@ -108,7 +155,7 @@ public class MultiHopsTraversalSqlGenerator {
             relationshipTable, entityTable));
 
     String whereClause = SQLStatementUtils.whereClause(_supportedConditions, nonDollarVirtualColumnsEnabled,
-        _schemaValidator,
+        _schemaValidator, parameters,
         new Triplet<>(relationshipFilter, "rt", relationshipTable),
         new Triplet<>(srcFilter, "et", entityTable));
 
@@ -126,9 +173,9 @@ public class MultiHopsTraversalSqlGenerator {
   @Nonnull
   @ParametersAreNonnullByDefault
   private String findEntitiesUndirected(String entityTable, String relationshipTable, String firstHopUrnSql, LocalRelationshipFilter destFilter,
-  boolean nonDollarVirtualColumnsEnabled) {
+      boolean nonDollarVirtualColumnsEnabled, Map<String, Object> parameters) {
     String whereClause = SQLStatementUtils.whereClause(_supportedConditions, nonDollarVirtualColumnsEnabled,
-        _schemaValidator, new Triplet<>(destFilter, "et", entityTable));
+        _schemaValidator, parameters, new Triplet<>(destFilter, "et", entityTable));
 
     StringBuilder sourceEntitySql = new StringBuilder(
         String.format("SELECT et.* FROM %s et INNER JOIN %s rt ON et.urn=rt.source WHERE rt.destination IN (%s)",
@@ -145,4 +192,144 @@ public class MultiHopsTraversalSqlGenerator {
 
     return String.format("%s UNION %s", sourceEntitySql, destEntitySql);
   }
+
+  /**
+   * Construct a SQL query which finds URNs of the entities a multi-hops traversal starts from.
+   * The filter must not be empty, so that the traversal does not start from the whole entity table.
+   */
+  @Nonnull
+  @ParametersAreNonnullByDefault
+  public String startUrnsSql(String entityTable, LocalRelationshipFilter startFilter, int limit,
+      boolean nonDollarVirtualColumnsEnabled, Map<String, Object> parameters) {
+    final List<Object> shape =
+        Arrays.asList("startUrns", entityTable, getLocalRelationshipFilterShape(startFilter), nonDollarVirtualColumnsEnabled);
+    final String sql = _templateCache.get(shape, templateParameters -> {
+      String whereClause = SQLStatementUtils.whereClause(_supportedConditions, nonDollarVirtualColumnsEnabled,
+          _schemaValidator, templateParameters, new Triplet<>(startFilter, "et", entityTable));
+
+      if (whereClause == null) {
+        throw new IllegalArgumentException("Filter of the start entities cannot be empty for multi-hops traversal.");
+      }
+
+      return String.format("SELECT et.urn FROM %s et WHERE %s ORDER BY et.urn LIMIT :%s", entityTable, whereClause, LIMIT_PARAM);
+    });
+    SQLStatementUtils.addWhereClauseParameters(parameters, new Triplet<>(startFilter, "et", entityTable));
+    parameters.put(LIMIT_PARAM, limit);
+    return sql;
+  }
+
+  /**
+   * Construct a SQL query which finds URNs of entities that are one hop away from any of the given URNs (the frontier of
+   * a multi-hops traversal). Direction must be INCOMING, OUTGOING or UNDIRECTED.
+   *
+   * <p>Example (OUTGOING):
+   * SELECT DISTINCT rt.destination AS urn FROM metadata_relationship_reportsto rt WHERE rt.deleted_ts IS NULL
+   * AND rt.source IN (:urn0, :urn1)
+   */
+  @Nonnull
+  @ParametersAreNonnullByDefault
+  public String nextHopUrnsSql(String relationshipTable, Collection<String> frontier, LocalRelationshipFilter relationshipFilter,
+      boolean nonDollarVirtualColumnsEnabled, Map<String, Object> parameters) {
+    if (frontier.isEmpty()) {
+      throw new IllegalArgumentException("Frontier of a multi-hops traversal cannot be empty.");
+    }
+
+    final int urnPlaceholderCount = urnPlaceholderCount(frontier.size());
+    final List<Object> shape = Arrays.asList("nextHopUrns", relationshipTable, urnPlaceholderCount,
+        getLocalRelationshipFilterShape(relationshipFilter), nonDollarVirtualColumnsEnabled);
+    final String sql = _templateCache.get(shape, templateParameters -> {
+      final String whereClause = SQLStatementUtils.whereClause(_supportedConditions, nonDollarVirtualColumnsEnabled,
+          _schemaValidator, templateParameters, new Triplet<>(relationshipFilter, "rt", relationshipTable));
+
+      final String urnList = SQLStatementUtils.urnPlaceholders(urnPlaceholderCount);
+      final String outgoingSql = nextHopUrnsDirected(relationshipTable, "source", "destination", urnList, whereClause);
+      final String incomingSql = nextHopUrnsDirected(relationshipTable, "destination", "source", urnList, whereClause);
+
+      switch (relationshipFilter.getDirection()) {
+        case OUTGOING:
+          return outgoingSql;
+        case INCOMING:
+          return incomingSql;
+        case UNDIRECTED:
+          return String.format("%s UNION %s", outgoingSql, incomingSql);
+        default:
+          throw new IllegalArgumentException("Relationship direction cannot be null or UNKNOWN.");
+      }
+    });
+    SQLStatementUtils.addWhereClauseParameters(parameters, new Triplet<>(relationshipFilter, "rt", relationshipTable));
+    addUrnParameters(frontier, urnPlaceholderCount, parameters);
+    return sql;
+  }
+
+  /**
+   * Construct a SQL query which finds entities, out of the given URNs, that satisfy the given filter.
+   */
+  @Nonnull
+  @ParametersAreNonnullByDefault
+  public String findEntitiesByUrnsSql(String entityTable, Collection<String> urns, LocalRelationshipFilter entityFilter,
+      int count, int offset, boolean nonDollarVirtualColumnsEnabled, Map<String, Object> parameters) {
+    if (urns.isEmpty()) {
+      throw new IllegalArgumentException("Urns cannot be empty.");
+    }
+
+    final int urnPlaceholderCount = urnPlaceholderCount(urns.size());
+    final List<Object> shape = Arrays.asList("entitiesByUrns", entityTable, urnPlaceholderCount,
+        getLocalRelationshipFilterShape(entityFilter), nonDollarVirtualColumnsEnabled);
+    final String sql = _templateCache.get(shape, templateParameters -> {
+      StringBuilder sqlBuilder = new StringBuilder(String.format("SELECT * FROM %s et WHERE et.urn IN (%s)", entityTable,
+          SQLStatementUtils.urnPlaceholders(urnPlaceholderCount)));
+
+      String whereClause = SQLStatementUtils.whereClause(_supportedConditions, nonDollarVirtualColumnsEnabled,
+          _schemaValidator, templateParameters, new Triplet<>(entityFilter, "et", entityTable));
+
+      if (whereClause != null) {
+        sqlBuilder.append(" AND ").append(String.format("(%s)", whereClause));
+      }
+
+      return sqlBuilder.append(String.format(" ORDER BY et.urn LIMIT :%s OFFSET :%s", LIMIT_PARAM, OFFSET_PARAM)).toString();
+    });
+    SQLStatementUtils.addWhereClauseParameters(parameters, new Triplet<>(entityFilter, "et", entityTable));
+    addUrnParameters(urns, urnPlaceholderCount, parameters);
+    parameters.put(LIMIT_PARAM, count);
+    parameters.put(OFFSET_PARAM, offset);
+    return sql;
+  }
+
+  @Nonnull
+  private static String nextHopUrnsDirected(@Nonnull String relationshipTable, @Nonnull String fromColumn,
+      @Nonnull String toColumn, @Nonnull String urnList, @Nullable String whereClause) {
+    StringBuilder sqlBuilder = new StringBuilder(
+        String.format("SELECT DISTINCT rt.%s AS urn FROM %s rt WHERE rt.deleted_ts IS NULL AND rt.%s IN (%s)",
+            toColumn, relationshipTable, fromColumn, urnList));
+
+    if (whereClause != null) {
+      sqlBuilder.append(" AND ").append(whereClause);
+    }
+
+    return sqlBuilder.toString();
+  }
+
+  /**
+   * Number of urn placeholders of a query on the given number of urns: the next power of two.
+   */
+  static int urnPlaceholderCount(int urnCount) {
+    return urnCount <= 1 ? 1 : Integer.highestOneBit(urnCount - 1) << 1;
+  }
+
+  /**
+   * Bind urns to the :urn0 to :urnN-1 parameters of {@link SQLStatementUtils#urnPlaceholders(int)}. The placeholders left
+   * over are bound to the last urn again, which doesn't change the result of an IN list.
+   */
+  private static void addUrnParameters(@Nonnull Collection<String> urns, int urnPlaceholderCount,
+      @Nonnull Map<String, Object> parameters) {
+    int index = 0;
+    String lastUrn = null;
+    for (String urn : urns) {
+      parameters.put(SQLStatementUtils.URN_PARAM + index++, urn);
+      lastUrn = urn;
+    }
+    while (index < urnPlaceholderCount) {
+      parameters.put(SQLStatementUtils.URN_PARAM + index++, lastUrn);
+    }
+  }
 }
@@ -13,7 +13,11 @@ import com.linkedin.metadata.query.IndexValue;
 import com.linkedin.metadata.query.SortOrder;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -179,11 +183,28 @@ public class SQLIndexFilterUtils {
    */
   public static String parseIndexFilter(@Nonnull String entityType, @Nullable IndexFilter indexFilter,
       boolean nonDollarVirtualColumnsEnabled, @Nonnull SchemaValidatorUtil schemaValidator) {
+    return parseIndexFilter(entityType, indexFilter, nonDollarVirtualColumnsEnabled, schemaValidator, null);
+  }
+
+  /**
+   * Parse {@link IndexFilter} into MySQL syntax, with the values of the criteria either inlined as literals or bound as
+   * named parameters. Parameters are named after the position of their criterion in the filter, so that the same filter
+   * shape always produces the same SQL, see {@link #getIndexFilterShape(IndexFilter)}.
+   * @param entityType entity type from the Urn
+   * @param indexFilter index filter
+   * @param nonDollarVirtualColumnsEnabled whether to enable non-dollar virtual columns
+   * @param parameters map the parameter values are added to, or null to inline the values as literals
+   * @return translated SQL condition expression, e.g. WHERE ...
+   */
+  public static String parseIndexFilter(@Nonnull String entityType, @Nullable IndexFilter indexFilter,
+      boolean nonDollarVirtualColumnsEnabled, @Nonnull SchemaValidatorUtil schemaValidator,
+      @Nullable Map<String, Object> parameters) {
     List<String> sqlFilters = new ArrayList<>();
 
     // Process index filter criteria if present
     if (indexFilter != null && indexFilter.hasCriteria()) {
-      for (IndexCriterion indexCriterion : indexFilter.getCriteria()) {
+      for (int i = 0; i < indexFilter.getCriteria().size(); i++) {
+        final IndexCriterion indexCriterion = indexFilter.getCriteria().get(i);
         final String aspect = indexCriterion.getAspect();
         if (!isUrn(aspect)) {
           // if aspect is not urn, then check aspect is not soft deleted and is not null
@@ -205,7 +226,13 @@ public class SQLIndexFilterUtils {
             continue;
           }
 
-          sqlFilters.add(parseSqlFilter(indexedExpressionOrColumn, condition, pathParams.getValue()));
+          if (parameters == null) {
+            sqlFilters.add(parseSqlFilter(indexedExpressionOrColumn, condition, pathParams.getValue()));
+          } else {
+            final Map<String, Object> criterionParameters = getCriterionParameters(i, condition, pathParams.getValue());
+            parameters.putAll(criterionParameters);
+            sqlFilters.add(parseSqlFilterTemplate(indexedExpressionOrColumn, condition, criterionParameters.keySet()));
+          }
         }
       }
     }
@@ -217,6 +244,29 @@ public class SQLIndexFilterUtils {
 
   }
 
+  /**
+   * Whether {@link #parseIndexFilter(String, IndexFilter, boolean, SchemaValidatorUtil, Map)} renders every criterion of
+   * the filter. Criteria on a path with neither an expression index nor a virtual column are left out of the SQL.
+   * @param entityType entity type from the Urn
+   * @param indexFilter index filter
+   * @param nonDollarVirtualColumnsEnabled whether to enable non-dollar virtual columns
+   * @return true if no criterion is left out
+   */
+  public static boolean isEveryCriterionRendered(@Nonnull String entityType, @Nullable IndexFilter indexFilter,
+      boolean nonDollarVirtualColumnsEnabled, @Nonnull SchemaValidatorUtil schemaValidator) {
+    if (indexFilter == null || !indexFilter.hasCriteria()) {
+      return true;
+    }
+    for (IndexCriterion indexCriterion : indexFilter.getCriteria()) {
+      final IndexPathParams pathParams = indexCriterion.getPathParams(GetMode.NULL);
+      if (pathParams != null && getIndexedExpressionOrColumn(entityType, indexCriterion.getAspect(), pathParams.getPath(),
+          nonDollarVirtualColumnsEnabled, schemaValidator) == null) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * Strip CAST() statement from the input string. The intention for this is to be used for array-based functional
    * indexes in which the CAST() statement must be removed before consumption from a JSON_CONTAINS() on the query side.
@@ -286,6 +336,167 @@ public class SQLIndexFilterUtils {
     }
   }
 
+  /**
+   * Same as {@link #parseSqlFilter(String, Condition, IndexValue)} but with the value bound to named parameters. A null
+   * value, having no parameter, is inlined as NULL.
+   * @param index the name of the virtual generated column OR the actual expression of a functional index
+   * @param condition {@link Condition} filter condition
+   * @param parameterNames names of the parameters holding the value, see {@link #getCriterionParameters}
+   * @return SQL expression of the condition expression
+   */
+  private static String parseSqlFilterTemplate(String index, Condition condition, Collection<String> parameterNames) {
+    final String placeholders = parameterNames.isEmpty() ? "NULL"
+        : parameterNames.stream().map(name -> ":" + name).collect(Collectors.joining(", "));
+    switch (condition) {
+      case ARRAY_CONTAINS:
+        return String.format("JSON_CONTAINS(%s, %s)", stripCastStatement(index), placeholders);
+      case CONTAIN:
+        return String.format("JSON_SEARCH(%s, 'one', %s) IS NOT NULL", index, placeholders);
+      case IN:
+        return index + " IN (" + placeholders + ")";
+      case EQUAL:
+        return index + " = " + placeholders;
+      case START_WITH:
+      case END_WITH:
+        return index + " LIKE " + placeholders;
+      case GREATER_THAN_OR_EQUAL_TO:
+        return index + " >= " + placeholders;
+      case GREATER_THAN:
+        return index + " > " + placeholders;
+      case LESS_THAN_OR_EQUAL_TO:
+        return index + " <= " + placeholders;
+      case LESS_THAN:
+        return index + " < " + placeholders;
+      default:
+        throw new UnsupportedOperationException("Unsupported condition operation: " + condition);
+    }
+  }
+
+  /**
+   * Get the values to bind for the criteria of an index filter, as they are named by
+   * {@link #parseIndexFilter(String, IndexFilter, boolean, SchemaValidatorUtil, Map)}.
+   * @param indexFilter index filter
+   * @return parameter name to parameter value
+   */
+  @Nonnull
+  public static Map<String, Object> getIndexFilterParameters(@Nullable IndexFilter indexFilter) {
+    final Map<String, Object> parameters = new LinkedHashMap<>();
+    if (indexFilter != null && indexFilter.hasCriteria()) {
+      for (int i = 0; i < indexFilter.getCriteria().size(); i++) {
+        final IndexPathParams pathParams = indexFilter.getCriteria().get(i).getPathParams(GetMode.NULL);
+        if (pathParams != null) {
+          parameters.putAll(getCriterionParameters(i, pathParams.getCondition(), pathParams.getValue()));
+        }
+      }
+    }
+    return parameters;
+  }
+
+  /**
+   * Get the shape of an index filter: its criteria without their values. Filters of the same shape are translated into
+   * the same SQL by {@link #parseIndexFilter(String, IndexFilter, boolean, SchemaValidatorUtil, Map)}, only the values
+   * of the parameters differ.
+   * @param indexFilter index filter
+   * @return a string identifying the shape of the filter
+   */
+  @Nonnull
+  public static String getIndexFilterShape(@Nullable IndexFilter indexFilter) {
+    if (indexFilter == null || !indexFilter.hasCriteria()) {
+      return "";
+    }
+    final StringBuilder shape = new StringBuilder();
+    for (IndexCriterion indexCriterion : indexFilter.getCriteria()) {
+      shape.append(indexCriterion.getAspect());
+      final IndexPathParams pathParams = indexCriterion.getPathParams(GetMode.NULL);
+      if (pathParams != null) {
+        final IndexValue indexValue = pathParams.getValue();
+        shape.append('|').append(pathParams.getPath()).append('|').append(pathParams.getCondition()).append('|');
+        if (indexValue == null || indexValue.isNull()) {
+          shape.append("null");
+        } else if (indexValue.isArray()) {
+          shape.append("array").append(indexValue.getArray().size());
+        } else {
+          shape.append("value");
+        }
+      }
+      shape.append(';');
+    }
+    return shape.toString();
+  }
+
+  /**
+   * Convert the value of a criterion into the values of its parameters, named f{criterion position}_{value position}.
+   * The conversion matches the literals of {@link #parseSqlFilter(String, Condition, IndexValue)}: e.g. booleans are
+   * compared as strings with EQUAL, and LIKE patterns include their wildcard.
+   */
+  @Nonnull
+  private static Map<String, Object> getCriterionParameters(int criterionPosition, @Nonnull Condition condition,
+      @Nullable IndexValue indexValue) {
+    if (indexValue == null || indexValue.isNull()) {
+      return Collections.emptyMap();
+    }
+
+    final List<Object> values = new ArrayList<>();
+    switch (condition) {
+      case ARRAY_CONTAINS:
+        values.add(parseIndexValueForJsonContains(indexValue));
+        break;
+      case CONTAIN:
+        values.add(getStringValue(indexValue));
+        break;
+      case IN:
+        values.addAll(indexValue.getArray());
+        break;
+      case EQUAL:
+        if (indexValue.isString() || indexValue.isBoolean()) {
+          values.add(getStringValue(indexValue));
+        } else if (indexValue.isArray()) {
+          values.add(convertToJsonArray(indexValue.getArray()));
+        } else {
+          values.add(getScalarValue(indexValue));
+        }
+        break;
+      case START_WITH:
+        values.add(getStringValue(indexValue) + "%");
+        break;
+      case END_WITH:
+        values.add("%" + getStringValue(indexValue));
+        break;
+      default:
+        values.add(getScalarValue(indexValue));
+    }
+
+    final Map<String, Object> parameters = new LinkedHashMap<>();
+    for (int i = 0; i < values.size(); i++) {
+      parameters.put("f" + criterionPosition + "_" + i, values.get(i));
+    }
+    return parameters;
+  }
+
+  @Nonnull
+  private static String getStringValue(@Nonnull IndexValue indexValue) {
+    return indexValue.isString() ? indexValue.getString() : parseIndexValue(indexValue);
+  }
+
+  @Nonnull
+  private static Object getScalarValue(@Nonnull IndexValue indexValue) {
+    if (indexValue.isBoolean()) {
+      return indexValue.getBoolean();
+    } else if (indexValue.isInt()) {
+      return Long.valueOf(indexValue.getInt());
+    } else if (indexValue.isDouble()) {
+      return indexValue.getDouble();
+    } else if (indexValue.isFloat()) {
+      return indexValue.getFloat().doubleValue();
+    } else if (indexValue.isLong()) {
+      return indexValue.getLong();
+    } else if (indexValue.isString()) {
+      return indexValue.getString();
+    } else {
+      throw new UnsupportedOperationException("Invalid index value: " + indexValue);
+    }
+  }
+
   public static IndexCriterion createIndexCriterion(Class<? extends RecordTemplate> aspect, String path,
       Condition condition, IndexValue indexValue) {
     IndexCriterion indexCriterion = new IndexCriterion();
@@ -326,6 +537,23 @@ public class SQLIndexFilterUtils {
     }
   }
 
+  /**
+   * Validate the condition and value of every criterion of an index filter, see
+   * {@link #validateConditionAndValue(IndexCriterion)}.
+   * @param indexFilter index filter, may be null
+   * @throws IllegalArgumentException when a criterion has an invalid condition for its value
+   */
+  public static void validateIndexFilter(@Nullable IndexFilter indexFilter) {
+    if (indexFilter == null || !indexFilter.hasCriteria()) {
+      return;
+    }
+    for (IndexCriterion indexCriterion : indexFilter.getCriteria()) {
+      if (indexCriterion.getPathParams(GetMode.NULL) != null) {
+        validateConditionAndValue(indexCriterion);
+      }
+    }
+  }
+
   /**
    * Convert a StringArray to json format.
    * @param stringArray an array of strings
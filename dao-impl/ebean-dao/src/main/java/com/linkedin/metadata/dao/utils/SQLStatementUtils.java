@@ -9,15 +9,21 @@ import com.linkedin.metadata.query.AspectField;
 import com.linkedin.metadata.query.Condition;
 import com.linkedin.metadata.query.IndexFilter;
 import com.linkedin.metadata.query.IndexGroupByCriterion;
+import com.linkedin.metadata.query.IndexSortCriterion;
 import com.linkedin.metadata.query.LocalRelationshipCriterion;
 import com.linkedin.metadata.query.LocalRelationshipCriterionArray;
 import com.linkedin.metadata.query.LocalRelationshipFilter;
 import com.linkedin.metadata.query.LocalRelationshipValue;
+import com.linkedin.metadata.query.SortOrder;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
@@ -83,6 +89,8 @@ public class SQLStatementUtils {
   public static final String SQL_INSERT_ASSET_VALUES = "VALUES (:urn, :lastmodifiedon, :lastmodifiedby,";
   // Delete prefix of the sql statement for deleting from metadata_aspect table
   public static final String SQL_SOFT_DELETE_ASSET_WITH_URN = "UPDATE %s SET deleted_ts = NOW() WHERE urn = '%s';";
+  // Same as SQL_SOFT_DELETE_ASSET_WITH_URN with the urn bound to the :urn parameter
+  private static final String SQL_SOFT_DELETE_ASSET_WITH_URN_PARAM = "UPDATE %s SET deleted_ts = NOW() WHERE urn = :urn;";
   // closing bracket for the sql statement INSERT prefix
   // e.g. INSERT INTO metadata_aspect (urn, a_urn, lastmodifiedon, lastmodifiedby)
   public static final String CLOSING_BRACKET = ") ";
@@ -112,10 +120,10 @@ public class SQLStatementUtils {
       String.format("SELECT urn, %%s, lastmodifiedon, lastmodifiedby FROM %%s WHERE %s AND urn IN (", SOFT_DELETED_CHECK);
 
   private static final String SQL_LIST_ASPECT_BY_URN_TEMPLATE =
-      String.format("SELECT urn, %%s, lastmodifiedon, lastmodifiedby, createdfor FROM %%s WHERE urn = '%%s' AND %s AND %s", NONNULL_CHECK, SOFT_DELETED_CHECK);
+      String.format("SELECT urn, %%s, lastmodifiedon, lastmodifiedby, createdfor FROM %%s WHERE urn = %%s AND %s AND %s", NONNULL_CHECK, SOFT_DELETED_CHECK);
 
   private static final String SQL_LIST_ASPECT_BY_URN_WITH_SOFT_DELETED_TEMPLATE =
-      String.format("SELECT urn, %%s, lastmodifiedon, lastmodifiedby, createdfor FROM %%s WHERE urn = '%%s' AND %s", NONNULL_CHECK);
+      String.format("SELECT urn, %%s, lastmodifiedon, lastmodifiedby, createdfor FROM %%s WHERE urn = %%s AND %s", NONNULL_CHECK);
 
   private static final String SQL_LIST_ASPECT_WITH_PAGINATION_TEMPLATE =
       String.format("SELECT urn, %%s, lastmodifiedon, lastmodifiedby, createdfor, (SELECT COUNT(urn) FROM %%s WHERE %s AND %s) "
@@ -128,12 +136,16 @@ public class SQLStatementUtils {
   private static final String SQL_READ_ASPECT_WITH_SOFT_DELETED_TEMPLATE =
       "SELECT urn, %s, lastmodifiedon, lastmodifiedby FROM %s WHERE urn IN (";
 
+  private static final String SQL_READ_ASPECTS_TEMPLATE =
+      "SELECT urn, %s, lastmodifiedon, lastmodifiedby FROM %s WHERE urn IN (";
+
   private static final String INDEX_GROUP_BY_CRITERION = "SELECT count(*) as COUNT, %s FROM %s";
 
   private static final String SQL_GET_ALL_COLUMNS =
       "SELECT COLUMN_NAME FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = database() AND TABLE_NAME = '%s'";
 
-  private static final String SQL_URN_EXIST_TEMPLATE = "SELECT urn FROM %s WHERE urn = '%s' AND deleted_ts IS NULL";
+  // the urn is either inlined as a literal or bound to the :urn parameter
+  private static final String SQL_URN_EXIST_TEMPLATE = "SELECT urn FROM %s WHERE urn = %s AND deleted_ts IS NULL";
 
   private static final String INSERT_LOCAL_RELATIONSHIPS = "INSERT INTO %s (metadata, source, destination, source_type, "
       + "destination_type, lastmodifiedon, lastmodifiedby) VALUES ";
@@ -153,6 +165,13 @@ public class SQLStatementUtils {
   private static final String DELETE_BY_SOURCE_AND_ASPECT = "UPDATE %s SET deleted_ts=NOW() "
       + "WHERE source = :source AND (aspect = :aspect OR aspect = :pegasus_aspect) AND deleted_ts IS NULL";
 
+  private static final String SELECT_BY_SOURCE = "SELECT id, metadata FROM %s WHERE source = :source AND deleted_ts IS NULL FOR UPDATE";
+
+  private static final String SELECT_BY_SOURCE_AND_ASPECT = "SELECT id, metadata FROM %s "
+      + "WHERE source = :source AND (aspect = :aspect OR aspect = :pegasus_aspect) AND deleted_ts IS NULL FOR UPDATE";
+
+  private static final String DELETE_BY_IDS = "UPDATE %s SET deleted_ts=NOW() WHERE id IN (%s) AND deleted_ts IS NULL";
+
   /**
    *  Filter query has pagination params in the existing APIs. To accommodate this, we use subquery to include total result counts in the query response.
    *  For example, we will build the following filter query statement:
@@ -166,9 +185,39 @@ public class SQLStatementUtils {
       String.format("SELECT urn, %%s, lastmodifiedon, lastmodifiedby, (SELECT COUNT(urn) FROM %%s) as _total_count "
           + "FROM %%s WHERE %s LIMIT %%d OFFSET %%d", SOFT_DELETED_CHECK);
 
+  /**
+   * Keyset pagination starts a page after the last urn of the previous page, bound to the :lastUrn parameter, instead of
+   * skipping the rows of all the previous pages with OFFSET. Pages are ordered by (sort value, urn), the sort value of the
+   * last urn being selected as _sort_value and bound back to the :lastSortValue parameter, so that the next page doesn't
+   * depend on the current state of the last urn. MySQL sorts NULL values first in ascending order.
+   */
+  public static final String LAST_URN_PARAM = "lastUrn";
+  public static final String LAST_SORT_VALUE_PARAM = "lastSortValue";
+  public static final String SORT_VALUE_COLUMN = "_sort_value";
+  private static final String KEYSET_URN_CHECK = "urn > :lastUrn";
+  private static final String KEYSET_ASCENDING_CHECK =
+      "(%1$s > :lastSortValue OR (%1$s = :lastSortValue AND urn > :lastUrn))";
+  private static final String KEYSET_ASCENDING_AFTER_NULL_CHECK = "(%1$s IS NOT NULL OR (%1$s IS NULL AND urn > :lastUrn))";
+  private static final String KEYSET_DESCENDING_CHECK =
+      "(%1$s < :lastSortValue OR (%1$s = :lastSortValue AND urn > :lastUrn) OR %1$s IS NULL)";
+  private static final String KEYSET_DESCENDING_AFTER_NULL_CHECK = "(%1$s IS NULL AND urn > :lastUrn)";
+
+  private static final String SQL_LIST_ASPECT_AFTER_TEMPLATE =
+      String.format("SELECT urn, %%s, lastmodifiedon, lastmodifiedby, createdfor FROM %%s WHERE %s AND %s", NONNULL_CHECK, SOFT_DELETED_CHECK);
+  private static final String SQL_LIST_URN_AFTER_TEMPLATE =
+      String.format("SELECT urn FROM %%s WHERE %s AND %s", NONNULL_CHECK, SOFT_DELETED_CHECK);
+  private static final String SQL_COUNT_ASPECT_TEMPLATE =
+      String.format("SELECT COUNT(urn) as _total_count FROM %%s WHERE %s AND %s", NONNULL_CHECK, SOFT_DELETED_CHECK);
+
   private static final String GET_ESTIMATED_COUNT = "select table_rows from information_schema.tables where "
       + "table_schema = '%s' and table_name = '%s'";
 
+  /**
+   * Statements reading or writing given urns bind them to parameters instead of inlining them, so that their SQL is the
+   * same for every urn: the :urn parameter for a single urn, :urn0 to :urnN-1 for N urns, see {@link #getUrnParameters}.
+   */
+  public static final String URN_PARAM = "urn";
+
   public static final String SOURCE = "source";
   public static final String DESTINATION = "destination";
   private static final String RIGHT_PARENTHESIS = ")";
@@ -190,8 +239,48 @@ public class SQLStatementUtils {
    * @return entity exist sql
    */
   public static String createExistSql(@Nonnull Urn urn) {
-    final String tableName = getTableName(urn);
-    return String.format(SQL_URN_EXIST_TEMPLATE, tableName, escapeReservedCharInUrn(urn.toString()));
+    return String.format(SQL_URN_EXIST_TEMPLATE, getTableName(urn), urnLiteral(urn));
+  }
+
+  /**
+   * Same as {@link #createExistSql(Urn)}, but with the urn bound to the :urn parameter instead of inlined, so that the SQL
+   * is the same for every urn of the entity type.
+   * @param urn entity urn
+   * @return entity exist sql
+   */
+  public static String createParameterizedExistSql(@Nonnull Urn urn) {
+    return String.format(SQL_URN_EXIST_TEMPLATE, getTableName(urn), ":" + URN_PARAM);
+  }
+
+  /**
+   * Get the parameters of the urns of a statement created by {@link #createAspectsReadSql}, in the iteration order of the
+   * urns the statement was created with.
+   * @param urns urns of the statement
+   * @return parameter name to urn string, from :urn0 to :urnN-1
+   */
+  @Nonnull
+  public static Map<String, Object> getUrnParameters(@Nonnull Collection<? extends Urn> urns) {
+    final Map<String, Object> parameters = new LinkedHashMap<>();
+    for (Urn urn : urns) {
+      parameters.put(URN_PARAM + parameters.size(), urn.toString());
+    }
+    return parameters;
+  }
+
+  /**
+   * Urn inlined as a quoted SQL string literal.
+   */
+  @Nonnull
+  private static String urnLiteral(@Nonnull Urn urn) {
+    return "'" + escapeReservedCharInUrn(urn.toString()) + "'";
+  }
+
+  /**
+   * Placeholders of the :urn0 to :urnN-1 parameters, separated by commas.
+   */
+  @Nonnull
+  static String urnPlaceholders(int urnCount) {
+    return IntStream.range(0, urnCount).mapToObj(i -> ":" + URN_PARAM + i).collect(Collectors.joining(", "));
   }
 
   /**
@@ -232,6 +321,43 @@ public class SQLStatementUtils {
     return stringBuilder.toString();
   }
 
+  /**
+   * Create read aspects SQL statement for many aspect classes and many urns of the same entity type. All the aspect columns
+   * live in the same entity table row, so they are selected in a single statement instead of one statement per aspect.
+   * Soft-deleted aspects can't be filtered out per column in the WHERE clause and need to be filtered by the caller.
+   *
+   * <p>Example:
+   * SELECT urn, a_aspect1, a_aspect2, lastmodifiedon, lastmodifiedby FROM metadata_entity_foo WHERE urn IN (:urn0, :urn1)
+   * AND deleted_ts IS NULL
+   * </p>
+   * Urns are bound with {@link #getUrnParameters(Collection)}.
+   * @param aspectClasses aspect classes to query for
+   * @param urns a Set of Urns of the same entity type to query for
+   * @param isTestMode whether the test mode is enabled or not
+   * @return aspects read sql statement for a single entity table
+   */
+  public static String createAspectsReadSql(@Nonnull Set<Class<? extends RecordTemplate>> aspectClasses,
+      @Nonnull Set<Urn> urns, boolean isTestMode) {
+    if (urns.isEmpty()) {
+      throw new IllegalArgumentException("Need at least 1 urn to query.");
+    }
+    if (aspectClasses.isEmpty()) {
+      throw new IllegalArgumentException("Need at least 1 aspect to query.");
+    }
+
+    final Urn firstUrn = urns.iterator().next();
+    final String tableName = isTestMode ? getTestTableName(firstUrn) : getTableName(firstUrn);
+    // sort the columns so that the same aspect set always produces the same statement
+    final String columnList = aspectClasses.stream()
+        .map(aspectClass -> getAspectColumnName(firstUrn.getEntityType(), aspectClass))
+        .distinct()
+        .sorted()
+        .collect(Collectors.joining(", "));
+
+    return String.format(SQL_READ_ASPECTS_TEMPLATE, columnList, tableName) + urnPlaceholders(urns.size()) + RIGHT_PARENTHESIS + " AND "
+        + DELETED_TS_IS_NULL_CHECK;
+  }
+
   /**
    * List all the aspect record (0 or 1) for a given entity urn and aspect type.
    * @param aspectClass aspect type
@@ -242,14 +368,28 @@ public class SQLStatementUtils {
    */
   public static <ASPECT extends RecordTemplate> String createListAspectByUrnSql(@Nonnull Class<ASPECT> aspectClass,
       @Nonnull Urn urn, boolean includeSoftDeleted) {
+    return createListAspectByUrnSql(aspectClass, urn, includeSoftDeleted, urnLiteral(urn));
+  }
+
+  /**
+   * Same as {@link #createListAspectByUrnSql(Class, Urn, boolean)}, but with the urn bound to the :urn parameter instead of
+   * inlined.
+   */
+  public static <ASPECT extends RecordTemplate> String createParameterizedListAspectByUrnSql(
+      @Nonnull Class<ASPECT> aspectClass, @Nonnull Urn urn, boolean includeSoftDeleted) {
+    return createListAspectByUrnSql(aspectClass, urn, includeSoftDeleted, ":" + URN_PARAM);
+  }
+
+  private static <ASPECT extends RecordTemplate> String createListAspectByUrnSql(@Nonnull Class<ASPECT> aspectClass,
+      @Nonnull Urn urn, boolean includeSoftDeleted, @Nonnull String urnExpression) {
     final String columnName = getAspectColumnName(urn.getEntityType(), aspectClass);
     final String tableName = getTableName(urn);
     if (includeSoftDeleted) {
-      return String.format(SQL_LIST_ASPECT_BY_URN_WITH_SOFT_DELETED_TEMPLATE, columnName, tableName,
-          escapeReservedCharInUrn(urn.toString()), columnName);
+      return String.format(SQL_LIST_ASPECT_BY_URN_WITH_SOFT_DELETED_TEMPLATE, columnName, tableName, urnExpression,
+          columnName);
     } else {
-      return String.format(SQL_LIST_ASPECT_BY_URN_TEMPLATE, columnName, tableName,
-          escapeReservedCharInUrn(urn.toString()), columnName, columnName);
+      return String.format(SQL_LIST_ASPECT_BY_URN_TEMPLATE, columnName, tableName, urnExpression, columnName,
+          columnName);
     }
   }
 
@@ -291,6 +431,63 @@ public class SQLStatementUtils {
     return String.format(urnExtraction ? SQL_UPSERT_ASPECT_WITH_URN_TEMPLATE : SQL_UPSERT_ASPECT_TEMPLATE, tableName, columnName, columnName);
   }
 
+  /**
+   * Create an upsert SQL statement writing several aspect columns of several urns of the same entity type at once, e.g.
+   * INSERT INTO metadata_entity_foo (urn, lastmodifiedon, lastmodifiedby, a_aspectfoo, a_aspectbar)
+   * VALUES (:urn0, :lastmodifiedon0, :lastmodifiedby0, :metadata0_0, :metadata0_1), (:urn1, ...)
+   * ON DUPLICATE KEY UPDATE a_aspectfoo = VALUES(a_aspectfoo), a_aspectbar = VALUES(a_aspectbar),
+   * lastmodifiedon = VALUES(lastmodifiedon), deleted_ts = NULL;
+   *
+   * <p>Row r binds :urn{r}, :lastmodifiedon{r}, :lastmodifiedby{r}, :a_urn{r} if urnExtraction is set, and
+   * :metadata{r}_{c} for the c-th aspect class. Each row is updated the same way as {@link #createAspectUpsertSql}.</p>
+   *
+   * @param urn urn of any of the rows, used for the table name
+   * @param aspectClasses aspect classes whose columns are written by every row
+   * @param rowCount number of rows, i.e. of urns
+   * @param urnExtraction whether the a_urn column is written
+   * @param isTestMode whether the test mode is enabled or not
+   * @return multi-row aspect upsert sql
+   */
+  public static String createMultiAspectUpsertSql(@Nonnull Urn urn,
+      @Nonnull List<Class<? extends RecordTemplate>> aspectClasses, int rowCount, boolean urnExtraction, boolean isTestMode) {
+    if (aspectClasses.isEmpty() || rowCount <= 0) {
+      throw new IllegalArgumentException("Multi aspect upsert needs at least one aspect and one row");
+    }
+    final String tableName = isTestMode ? getTestTableName(urn) : getTableName(urn);
+    final List<String> columnNames = aspectClasses.stream()
+        .map(aspectClass -> getAspectColumnName(urn.getEntityType(), aspectClass))
+        .collect(Collectors.toList());
+
+    final StringBuilder sql = new StringBuilder("INSERT INTO ").append(tableName)
+        .append(urnExtraction ? " (urn, a_urn, lastmodifiedon, lastmodifiedby, " : " (urn, lastmodifiedon, lastmodifiedby, ")
+        .append(String.join(", ", columnNames))
+        .append(") VALUES ");
+    for (int row = 0; row < rowCount; row++) {
+      if (row > 0) {
+        sql.append(", ");
+      }
+      sql.append("(:urn").append(row);
+      if (urnExtraction) {
+        sql.append(", :a_urn").append(row);
+      }
+      sql.append(", :lastmodifiedon").append(row).append(", :lastmodifiedby").append(row);
+      for (int column = 0; column < columnNames.size(); column++) {
+        sql.append(", :metadata").append(row).append('_').append(column);
+      }
+      sql.append(')');
+    }
+
+    sql.append(" ON DUPLICATE KEY UPDATE ");
+    for (String columnName : columnNames) {
+      sql.append(columnName).append(" = VALUES(").append(columnName).append("), ");
+    }
+    sql.append("lastmodifiedon = VALUES(lastmodifiedon), ");
+    if (urnExtraction) {
+      sql.append("a_urn = VALUES(a_urn), ");
+    }
+    return sql.append("deleted_ts = NULL;").toString();
+  }
+
   /**
    * Create Delete SQL statement.
    * @param urn entity urn
@@ -302,6 +499,15 @@ public class SQLStatementUtils {
     return String.format(SQL_SOFT_DELETE_ASSET_WITH_URN, tableName, urn);
   }
 
+  /**
+   * Same as {@link #createSoftDeleteAssetSql(Urn, boolean)}, but with the urn bound to the :urn parameter instead of
+   * inlined.
+   */
+  public static String createParameterizedSoftDeleteAssetSql(@Nonnull Urn urn, boolean isTestMode) {
+    final String tableName = isTestMode ? getTestTableName(urn) : getTableName(urn);
+    return String.format(SQL_SOFT_DELETE_ASSET_WITH_URN_PARAM, tableName);
+  }
+
   /**
    * Create Update with optimistic locking SQL statement. The SQL UPDATE use old_timestamp as a compareAndSet to check
    * if the current update is made on an unchange record. For example: UPDATE table WHERE modifiedon = :oldTimestamp.
@@ -337,8 +543,20 @@ public class SQLStatementUtils {
    */
   public static String createFilterSql(String entityType, @Nullable IndexFilter indexFilter, boolean hasTotalCount, boolean nonDollarVirtualColumnsEnabled,
       @Nonnull SchemaValidatorUtil schemaValidator) {
+    return createFilterSql(entityType, indexFilter, hasTotalCount, nonDollarVirtualColumnsEnabled, schemaValidator, null);
+  }
+
+  /**
+   * Same as {@link #createFilterSql(String, IndexFilter, boolean, boolean, SchemaValidatorUtil)} but filter values are
+   * bound to named parameters when a parameter map is given, see
+   * {@link SQLIndexFilterUtils#parseIndexFilter(String, IndexFilter, boolean, SchemaValidatorUtil, Map)}.
+   * @param parameters map the parameter values are added to, or null to inline the values as literals
+   */
+  public static String createFilterSql(String entityType, @Nullable IndexFilter indexFilter, boolean hasTotalCount,
+      boolean nonDollarVirtualColumnsEnabled, @Nonnull SchemaValidatorUtil schemaValidator,
+      @Nullable Map<String, Object> parameters) {
     final String tableName = getTableName(entityType);
-    String whereClause = parseIndexFilter(entityType, indexFilter, nonDollarVirtualColumnsEnabled, schemaValidator);
+    String whereClause = parseIndexFilter(entityType, indexFilter, nonDollarVirtualColumnsEnabled, schemaValidator, parameters);
     String totalCountSql = String.format("SELECT COUNT(urn) FROM %s %s", tableName, whereClause);
     StringBuilder sb = new StringBuilder();
 
@@ -363,6 +581,17 @@ public class SQLStatementUtils {
    */
   public static String createGroupBySql(String entityType, @Nullable IndexFilter indexFilter,
       @Nonnull IndexGroupByCriterion indexGroupByCriterion, boolean nonDollarVirtualColumnsEnabled, @Nonnull SchemaValidatorUtil schemaValidator) {
+    return createGroupBySql(entityType, indexFilter, indexGroupByCriterion, nonDollarVirtualColumnsEnabled, schemaValidator, null);
+  }
+
+  /**
+   * Same as {@link #createGroupBySql(String, IndexFilter, IndexGroupByCriterion, boolean, SchemaValidatorUtil)} but
+   * filter values are bound to named parameters when a parameter map is given.
+   * @param parameters map the parameter values are added to, or null to inline the values as literals
+   */
+  public static String createGroupBySql(String entityType, @Nullable IndexFilter indexFilter,
+      @Nonnull IndexGroupByCriterion indexGroupByCriterion, boolean nonDollarVirtualColumnsEnabled,
+      @Nonnull SchemaValidatorUtil schemaValidator, @Nullable Map<String, Object> parameters) {
     final String indexedExpressionOrColumn =
         SQLIndexFilterUtils.getIndexedExpressionOrColumn(entityType, indexGroupByCriterion.getAspect(), indexGroupByCriterion.getPath(),
             nonDollarVirtualColumnsEnabled, schemaValidator);
@@ -375,7 +604,7 @@ public class SQLStatementUtils {
     StringBuilder sb = new StringBuilder();
     sb.append(String.format(INDEX_GROUP_BY_CRITERION, indexedExpressionOrColumn, getTableName(entityType)));
     sb.append("\n");
-    sb.append(parseIndexFilter(entityType, indexFilter, nonDollarVirtualColumnsEnabled, schemaValidator));
+    sb.append(parseIndexFilter(entityType, indexFilter, nonDollarVirtualColumnsEnabled, schemaValidator, parameters));
     sb.append("\nGROUP BY ");
     sb.append(indexedExpressionOrColumn);
     return sb.toString();
@@ -397,6 +626,133 @@ public class SQLStatementUtils {
         Math.max(pageSize, 0), Math.max(offset, 0));
   }
 
+  /**
+   * Create filter SQL statement for the page of urns after the :lastUrn parameter, see {@link #LAST_URN_PARAM}. Urns are
+   * ordered by the sort criterion then by urn, so that pages don't skip or repeat urns having the same sort value. With a
+   * sort criterion, the sort value of each urn is also selected as {@link #SORT_VALUE_COLUMN} and the page starts after
+   * the :lastSortValue parameter.
+   *
+   * <p>Example, sorting on i_aspectfoo$value in ascending order:
+   * SELECT urn, i_aspectfoo$value AS _sort_value FROM metadata_entity_foo WHERE i_aspectfoo$value >= 25 AND deleted_ts IS NULL
+   * AND (i_aspectfoo$value > :lastSortValue OR (i_aspectfoo$value = :lastSortValue AND urn > :lastUrn))
+   * ORDER BY i_aspectfoo$value ASC, urn LIMIT 11
+   * </p>
+   * @param entityType entity type from urn
+   * @param indexFilter index filter
+   * @param indexSortCriterion sorting criterion, urns are only ordered by urn if null
+   * @param hasLastUrn whether to start after the :lastUrn parameter, false for the first page
+   * @param hasLastSortValue whether the :lastSortValue parameter is set, false if the last urn has a NULL sort value
+   * @param limit max number of urns to return
+   * @param nonDollarVirtualColumnsEnabled  true if virtual column does not contain $, false otherwise
+   * @return filter SQL for one page of urns
+   */
+  public static String createFilterAfterSql(String entityType, @Nullable IndexFilter indexFilter,
+      @Nullable IndexSortCriterion indexSortCriterion, boolean hasLastUrn, boolean hasLastSortValue, int limit,
+      boolean nonDollarVirtualColumnsEnabled, @Nonnull SchemaValidatorUtil schemaValidator) {
+    return createFilterAfterSql(entityType, indexFilter, indexSortCriterion, hasLastUrn, hasLastSortValue, limit,
+        nonDollarVirtualColumnsEnabled, schemaValidator, null);
+  }
+
+  /**
+   * Same as {@link #createFilterAfterSql(String, IndexFilter, IndexSortCriterion, boolean, boolean, int, boolean, SchemaValidatorUtil)}
+   * but filter values are bound to named parameters when a parameter map is given.
+   * @param parameters map the parameter values are added to, or null to inline the values as literals
+   */
+  public static String createFilterAfterSql(String entityType, @Nullable IndexFilter indexFilter,
+      @Nullable IndexSortCriterion indexSortCriterion, boolean hasLastUrn, boolean hasLastSortValue, int limit,
+      boolean nonDollarVirtualColumnsEnabled, @Nonnull SchemaValidatorUtil schemaValidator,
+      @Nullable Map<String, Object> parameters) {
+    final String sortExpression = indexSortCriterion == null ? null
+        : getIndexedExpressionOrColumn(entityType, indexSortCriterion.getAspect(), indexSortCriterion.getPath(),
+            nonDollarVirtualColumnsEnabled, schemaValidator);
+    final boolean descending = indexSortCriterion != null && indexSortCriterion.hasOrder()
+        && indexSortCriterion.getOrder() == SortOrder.DESCENDING;
+
+    StringBuilder sb = new StringBuilder("SELECT urn");
+    if (sortExpression != null) {
+      sb.append(", ").append(sortExpression).append(" AS ").append(SORT_VALUE_COLUMN);
+    }
+    sb.append(" FROM ").append(getTableName(entityType)).append("\n");
+    sb.append(parseIndexFilter(entityType, indexFilter, nonDollarVirtualColumnsEnabled, schemaValidator, parameters));
+    if (hasLastUrn) {
+      // the where clause always checks deleted_ts at least
+      sb.append("\nAND ");
+      if (sortExpression == null) {
+        sb.append(KEYSET_URN_CHECK);
+      } else if (descending) {
+        sb.append(String.format(hasLastSortValue ? KEYSET_DESCENDING_CHECK : KEYSET_DESCENDING_AFTER_NULL_CHECK,
+            sortExpression));
+      } else {
+        sb.append(String.format(hasLastSortValue ? KEYSET_ASCENDING_CHECK : KEYSET_ASCENDING_AFTER_NULL_CHECK,
+            sortExpression));
+      }
+    }
+
+    sb.append("\nORDER BY ");
+    if (sortExpression != null) {
+      sb.append(sortExpression).append(descending ? " DESC, " : " ASC, ");
+    }
+    sb.append("urn LIMIT ").append(Math.max(limit, 0));
+    return sb.toString();
+  }
+
+  /**
+   * Create SQL statement counting the urns satisfying the index filter, without reading them.
+   * @param entityType entity type from urn
+   * @param indexFilter index filter
+   * @param nonDollarVirtualColumnsEnabled  true if virtual column does not contain $, false otherwise
+   * @return filter count SQL, returning the count in the _total_count column
+   */
+  public static String createFilterCountSql(String entityType, @Nullable IndexFilter indexFilter,
+      boolean nonDollarVirtualColumnsEnabled, @Nonnull SchemaValidatorUtil schemaValidator) {
+    return createFilterCountSql(entityType, indexFilter, nonDollarVirtualColumnsEnabled, schemaValidator, null);
+  }
+
+  /**
+   * Same as {@link #createFilterCountSql(String, IndexFilter, boolean, SchemaValidatorUtil)} but filter values are bound
+   * to named parameters when a parameter map is given.
+   * @param parameters map the parameter values are added to, or null to inline the values as literals
+   */
+  public static String createFilterCountSql(String entityType, @Nullable IndexFilter indexFilter,
+      boolean nonDollarVirtualColumnsEnabled, @Nonnull SchemaValidatorUtil schemaValidator,
+      @Nullable Map<String, Object> parameters) {
+    return String.format("SELECT COUNT(urn) as _total_count FROM %s\n%s", getTableName(entityType),
+        parseIndexFilter(entityType, indexFilter, nonDollarVirtualColumnsEnabled, schemaValidator, parameters));
+  }
+
+  /**
+   * List the aspects (or only their urns) of a given aspect type after the :lastUrn parameter, ordered by urn. See
+   * {@link #LAST_URN_PARAM}.
+   * @param aspectClass aspect type
+   * @param entityType entity name from Urn
+   * @param urnOnly whether to only select the urn, instead of the aspect and its audit columns
+   * @param hasLastUrn whether to start after the :lastUrn parameter, false for the first page
+   * @param limit max number of rows to return
+   * @param <ASPECT> aspect type
+   * @return a SQL to run listing aspect query for one page
+   */
+  public static <ASPECT extends RecordTemplate> String createListAspectAfterSql(@Nonnull Class<ASPECT> aspectClass,
+      String entityType, boolean urnOnly, boolean hasLastUrn, int limit) {
+    final String tableName = getTableName(entityType);
+    final String columnName = getAspectColumnName(entityType, aspectClass);
+    final String sql = urnOnly ? String.format(SQL_LIST_URN_AFTER_TEMPLATE, tableName, columnName, columnName)
+        : String.format(SQL_LIST_ASPECT_AFTER_TEMPLATE, columnName, tableName, columnName, columnName);
+    return sql + (hasLastUrn ? " AND " + KEYSET_URN_CHECK : "") + " ORDER BY urn LIMIT " + Math.max(limit, 0);
+  }
+
+  /**
+   * Count the non-null and non soft deleted aspects of a given aspect type.
+   * @param aspectClass aspect type
+   * @param entityType entity name from Urn
+   * @param <ASPECT> aspect type
+   * @return aspect count SQL, returning the count in the _total_count column
+   */
+  public static <ASPECT extends RecordTemplate> String createCountAspectSql(@Nonnull Class<ASPECT> aspectClass,
+      String entityType) {
+    final String columnName = getAspectColumnName(entityType, aspectClass);
+    return String.format(SQL_COUNT_ASPECT_TEMPLATE, getTableName(entityType), columnName, columnName);
+  }
+
   /**
    * Generate the create SQL statement for inserting local relationships. There can be multiple relationships added in
    * a single statement. The SQL generated should look like the following, where N is the number of relationships to insert:
@@ -441,6 +797,25 @@ public class SQLStatementUtils {
     return useAspectColumn ? String.format(DELETE_BY_SOURCE_AND_ASPECT, tableName) : String.format(DELETE_BY_SOURCE, tableName);
   }
 
+  /**
+   * Create SQL statement selecting the id and metadata of the relationships of a source, which are soft deleted by
+   * {@link #deleteLocalRelationshipSQL(String, boolean)} with the same parameters. The rows are locked until the end of
+   * the transaction, so that concurrent updates of the same source run one after the other.
+   */
+  @Nonnull
+  public static String selectLocalRelationshipSQL(final String tableName, boolean useAspectColumn) {
+    return useAspectColumn ? String.format(SELECT_BY_SOURCE_AND_ASPECT, tableName) : String.format(SELECT_BY_SOURCE, tableName);
+  }
+
+  /**
+   * Create SQL statement soft deleting relationships by id, with the ids bound to the :id0 to :idN-1 parameters.
+   */
+  @Nonnull
+  public static String deleteLocalRelationshipByIdsSQL(final String tableName, int numIds) {
+    return String.format(DELETE_BY_IDS, tableName,
+        IntStream.range(0, numIds).mapToObj(i -> ":id" + i).collect(Collectors.joining(", ")));
+  }
+
   /**
    * Construct where clause SQL from multiple filters. Return null if all filters are empty.
    * @param supportedConditions contains supported conditions such as EQUAL.
@@ -453,12 +828,26 @@ public class SQLStatementUtils {
   @Nullable
   public static String whereClause(@Nonnull Map<Condition, String> supportedConditions, boolean nonDollarVirtualColumnsEnabled,
       @Nonnull SchemaValidatorUtil schemaValidator, @Nonnull Triplet<LocalRelationshipFilter, String, String>... filters) {
+    return whereClause(supportedConditions, nonDollarVirtualColumnsEnabled, schemaValidator, null, filters);
+  }
+
+  /**
+   * Same as {@link #whereClause(Map, boolean, SchemaValidatorUtil, Triplet[])} but filter values are bound to named
+   * parameters when a parameter map is given, see
+   * {@link #whereClause(LocalRelationshipFilter, Map, String, String, SchemaValidatorUtil, boolean, Map)}.
+   * @param parameters map the parameter values are added to, or null to inline the values as literals
+   */
+  @SafeVarargs
+  @Nullable
+  public static String whereClause(@Nonnull Map<Condition, String> supportedConditions, boolean nonDollarVirtualColumnsEnabled,
+      @Nonnull SchemaValidatorUtil schemaValidator, @Nullable Map<String, Object> parameters,
+      @Nonnull Triplet<LocalRelationshipFilter, String, String>... filters) {
     List<String> andClauses = new ArrayList<>();
     for (Triplet<LocalRelationshipFilter, String, String> filter : filters) {
       if (LogicalExpressionLocalRelationshipCriterionUtils.filterHasNonEmptyCriteria(filter.getValue0())) {
         andClauses.add("(" + whereClause(
                 filter.getValue0(), supportedConditions, filter.getValue1(), filter.getValue2(),
-                schemaValidator, nonDollarVirtualColumnsEnabled) + ")");
+                schemaValidator, nonDollarVirtualColumnsEnabled, parameters) + ")");
       }
     }
     if (andClauses.isEmpty()) {
@@ -484,6 +873,21 @@ public class SQLStatementUtils {
   public static String whereClause(@Nonnull LocalRelationshipFilter filter,
       @Nonnull Map<Condition, String> supportedConditions, @Nullable String tablePrefix, @Nonnull String tableName,
       @Nonnull SchemaValidatorUtil schemaValidator, boolean nonDollarVirtualColumnsEnabled) {
+    return whereClause(filter, supportedConditions, tablePrefix, tableName, schemaValidator, nonDollarVirtualColumnsEnabled,
+        null);
+  }
+
+  /**
+   * Same as {@link #whereClause(LocalRelationshipFilter, Map, String, String, SchemaValidatorUtil, boolean)} but filter
+   * values are bound to named parameters when a parameter map is given. Parameters are named :r0, :r1... in the order
+   * they are added to the map, so a map shared by several filters of the same statement keeps their names distinct.
+   * @param parameters map the parameter values are added to, or null to inline the values as literals
+   */
+  @Nonnull
+  public static String whereClause(@Nonnull LocalRelationshipFilter filter,
+      @Nonnull Map<Condition, String> supportedConditions, @Nullable String tablePrefix, @Nonnull String tableName,
+      @Nonnull SchemaValidatorUtil schemaValidator, boolean nonDollarVirtualColumnsEnabled,
+      @Nullable Map<String, Object> parameters) {
     if (!LogicalExpressionLocalRelationshipCriterionUtils.filterHasNonEmptyCriteria(filter)) {
       throw new IllegalArgumentException("Empty filter cannot construct where clause.");
     }
@@ -491,12 +895,13 @@ public class SQLStatementUtils {
     final LocalRelationshipFilter normalizedFilter = normalizeLocalRelationshipFilter(filter);
 
     return buildSQLQueryFromLogicalExpression(normalizedFilter.getLogicalExpressionCriteria(), supportedConditions, tablePrefix,
-        tableName, schemaValidator, nonDollarVirtualColumnsEnabled);
+        tableName, schemaValidator, nonDollarVirtualColumnsEnabled, parameters);
   }
 
   private static String buildSQLQueryFromLogicalExpression(@Nonnull LogicalExpressionLocalRelationshipCriterion criterion,
       @Nonnull Map<Condition, String> supportedConditions, @Nullable String tablePrefix, @Nonnull String tableName,
-      @Nonnull SchemaValidatorUtil schemaValidator, boolean nonDollarVirtualColumnsEnabled) {
+      @Nonnull SchemaValidatorUtil schemaValidator, boolean nonDollarVirtualColumnsEnabled,
+      @Nullable Map<String, Object> parameters) {
     if (!criterion.hasExpr() || criterion.getExpr() == null) {
       throw new IllegalArgumentException("No logical expression found in criterion: " + criterion);
     }
@@ -505,7 +910,8 @@ public class SQLStatementUtils {
 
     if (expr.isCriterion()) {
       return buildSQLQueryFromLocalRelationshipCriterion(
-          expr.getCriterion(), supportedConditions, tablePrefix, tableName, schemaValidator, nonDollarVirtualColumnsEnabled);
+          expr.getCriterion(), supportedConditions, tablePrefix, tableName, schemaValidator, nonDollarVirtualColumnsEnabled,
+          parameters);
     }
 
     // expr is logical
@@ -516,7 +922,7 @@ public class SQLStatementUtils {
     if (op == Operator.NOT) {
       // NOT clause must only have 1 expreesion that is a criterion
       return "(NOT " + buildSQLQueryFromLocalRelationshipCriterion(expr.getLogical().getExpressions().get(0).getExpr().getCriterion(),
-          supportedConditions, tablePrefix, tableName, schemaValidator, nonDollarVirtualColumnsEnabled) + ")";
+          supportedConditions, tablePrefix, tableName, schemaValidator, nonDollarVirtualColumnsEnabled, parameters) + ")";
     }
 
     final String opString = op == Operator.AND ? " AND " : " OR ";
@@ -524,7 +930,8 @@ public class SQLStatementUtils {
     final LogicalExpressionLocalRelationshipCriterionArray array = logicalOperation.getExpressions();
 
     final List<String> subClauses = array.stream().map(c -> {
-      return buildSQLQueryFromLogicalExpression(c, supportedConditions, tablePrefix, tableName, schemaValidator, nonDollarVirtualColumnsEnabled);
+      return buildSQLQueryFromLogicalExpression(c, supportedConditions, tablePrefix, tableName, schemaValidator,
+          nonDollarVirtualColumnsEnabled, parameters);
     }).collect(Collectors.toList());
 
     return "(" + String.join(opString, subClauses) + ")";
@@ -532,7 +939,8 @@ public class SQLStatementUtils {
 
   private static String buildSQLQueryFromLocalRelationshipCriterion(@Nonnull LocalRelationshipCriterion criterion,
       @Nonnull Map<Condition, String> supportedConditions, @Nullable String tablePrefix, @Nonnull String tableName,
-      @Nonnull SchemaValidatorUtil schemaValidator, boolean nonDollarVirtualColumnsEnabled) {
+      @Nonnull SchemaValidatorUtil schemaValidator, boolean nonDollarVirtualColumnsEnabled,
+      @Nullable Map<String, Object> parameters) {
 
     final String field = parseLocalRelationshipField(criterion, tablePrefix, tableName, schemaValidator, nonDollarVirtualColumnsEnabled);
     final Condition condition = criterion.getCondition();
@@ -542,12 +950,133 @@ public class SQLStatementUtils {
       if (!value.isArray()) {
         throw new IllegalArgumentException("IN condition must be paired with array value");
       }
-      return field + " IN " + parseLocalRelationshipValue(value);
+      if (parameters == null) {
+        return field + " IN " + parseLocalRelationshipValue(value);
+      }
+      return field + " IN (" + getLocalRelationshipCriterionValues(criterion).stream()
+          .map(element -> bindRelationshipParameter(element, parameters))
+          .collect(Collectors.joining(", ")) + ")";
     } else if (condition == Condition.START_WITH) {
-      return field + " LIKE '" + parseLocalRelationshipValue(value) + "%'";
+      if (parameters == null) {
+        return field + " LIKE '" + parseLocalRelationshipValue(value) + "%'";
+      }
+      return field + " LIKE " + bindRelationshipParameter(getLocalRelationshipCriterionValues(criterion).get(0), parameters);
     } else {
-      return field + supportedConditions.get(condition) + "'" + parseLocalRelationshipValue(value) + "'";
+      if (parameters == null) {
+        return field + supportedConditions.get(condition) + "'" + parseLocalRelationshipValue(value) + "'";
+      }
+      return field + supportedConditions.get(condition)
+          + bindRelationshipParameter(getLocalRelationshipCriterionValues(criterion).get(0), parameters);
+    }
+  }
+
+  /**
+   * Add a value to the parameters of a local relationship filter, see
+   * {@link #whereClause(LocalRelationshipFilter, Map, String, String, SchemaValidatorUtil, boolean, Map)}.
+   * @return the placeholder of the parameter
+   */
+  @Nonnull
+  private static String bindRelationshipParameter(@Nonnull Object value, @Nonnull Map<String, Object> parameters) {
+    final String name = "r" + parameters.size();
+    parameters.put(name, value);
+    return ":" + name;
+  }
+
+  /**
+   * Get the values a local relationship criterion binds to its parameters: the elements of the array for IN, the prefix
+   * pattern for START_WITH, the string value otherwise.
+   */
+  @Nonnull
+  private static List<Object> getLocalRelationshipCriterionValues(@Nonnull LocalRelationshipCriterion criterion) {
+    final LocalRelationshipValue value = criterion.getValue();
+    if (criterion.getCondition() == Condition.IN) {
+      if (!value.isArray()) {
+        throw new IllegalArgumentException("IN condition must be paired with array value");
+      }
+      return new ArrayList<>(value.getArray());
+    } else if (criterion.getCondition() == Condition.START_WITH) {
+      return Collections.singletonList(getLocalRelationshipString(value) + "%");
+    }
+    return Collections.singletonList(getLocalRelationshipString(value));
+  }
+
+  /**
+   * Add the values of the given filters to a parameter map, as {@link #whereClause(Map, boolean, SchemaValidatorUtil, Map, Triplet[])}
+   * does when building the where clause of the same filters with the same map. This binds new values to a where clause
+   * built before for filters of the same shape, without building it again, see {@link #getLocalRelationshipFilterShape}.
+   * @param parameters map the parameter values are added to
+   * @param filters filters of the where clause, only the filter of each triplet is used
+   */
+  @SafeVarargs
+  public static void addWhereClauseParameters(@Nonnull Map<String, Object> parameters,
+      @Nonnull Triplet<LocalRelationshipFilter, String, String>... filters) {
+    for (Triplet<LocalRelationshipFilter, String, String> filter : filters) {
+      if (LogicalExpressionLocalRelationshipCriterionUtils.filterHasNonEmptyCriteria(filter.getValue0())) {
+        addLogicalExpressionParameters(normalizeLocalRelationshipFilter(filter.getValue0()).getLogicalExpressionCriteria(),
+            parameters);
+      }
+    }
+  }
+
+  private static void addLogicalExpressionParameters(@Nonnull LogicalExpressionLocalRelationshipCriterion criterion,
+      @Nonnull Map<String, Object> parameters) {
+    final LogicalExpressionLocalRelationshipCriterion.Expr expr = criterion.getExpr();
+    if (expr.isCriterion()) {
+      getLocalRelationshipCriterionValues(expr.getCriterion()).forEach(value -> bindRelationshipParameter(value, parameters));
+    } else if (expr.getLogical().getOp() == Operator.NOT) {
+      // same as buildSQLQueryFromLogicalExpression, NOT only applies to its first expression
+      addLogicalExpressionParameters(expr.getLogical().getExpressions().get(0), parameters);
+    } else {
+      expr.getLogical().getExpressions().forEach(expression -> addLogicalExpressionParameters(expression, parameters));
+    }
+  }
+
+  /**
+   * Get the shape of a local relationship filter: its direction, logical structure, criterion fields and conditions, and
+   * the number of values of array criteria, but not the values themselves. Where clauses of filters of the same shape
+   * only differ by the values of their parameters, see
+   * {@link #whereClause(LocalRelationshipFilter, Map, String, String, SchemaValidatorUtil, boolean, Map)}.
+   * @param filter local relationship filter
+   * @return a string identifying the shape of the filter
+   */
+  @Nonnull
+  public static String getLocalRelationshipFilterShape(@Nullable LocalRelationshipFilter filter) {
+    if (filter == null) {
+      return "null";
+    }
+    final StringBuilder shape = new StringBuilder().append(filter.hasDirection() ? filter.getDirection() : "none");
+    if (LogicalExpressionLocalRelationshipCriterionUtils.filterHasNonEmptyCriteria(filter)) {
+      appendLogicalExpressionShape(normalizeLocalRelationshipFilter(filter).getLogicalExpressionCriteria(), shape.append(':'));
+    }
+    return shape.toString();
+  }
+
+  private static void appendLogicalExpressionShape(@Nonnull LogicalExpressionLocalRelationshipCriterion criterion,
+      @Nonnull StringBuilder shape) {
+    final LogicalExpressionLocalRelationshipCriterion.Expr expr = criterion.getExpr();
+    if (expr.isCriterion()) {
+      final LocalRelationshipCriterion localRelationshipCriterion = expr.getCriterion();
+      final LocalRelationshipValue value = localRelationshipCriterion.getValue();
+      shape.append('[')
+          .append(localRelationshipCriterion.getField())
+          .append(' ')
+          .append(localRelationshipCriterion.getCondition())
+          .append(' ')
+          .append(value.isArray() ? "array" + value.getArray().size() : "string")
+          .append(']');
+      return;
+    }
+    shape.append(expr.getLogical().getOp()).append('(');
+    expr.getLogical().getExpressions().forEach(expression -> appendLogicalExpressionShape(expression, shape));
+    shape.append(')');
+  }
+
+  @Nonnull
+  private static String getLocalRelationshipString(@Nonnull LocalRelationshipValue localRelationshipValue) {
+    if (!localRelationshipValue.isString()) {
+      throw new IllegalArgumentException("Unrecognized field value");
     }
+    return localRelationshipValue.getString();
   }
 
   /**
@@ -1,7 +1,7 @@
 package com.linkedin.metadata.dao.utils;
 
-import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.google.common.annotations.VisibleForTesting;
 import io.ebean.EbeanServer;
 import io.ebean.SqlRow;
@@ -20,42 +20,51 @@ import lombok.extern.slf4j.Slf4j;
  * Utility class for validating presence of columns and indexes in MySQL tables
  * by querying information_schema. Uses Caffeine caches to reduce DB load and
  * support eventual consistency of schema evolution.
+ *
+ * <p>The caches can be pre-warmed for all metadata tables with {@link #prewarm()}, and are invalidated with
+ * {@link #invalidateAll()} after schema migrations.</p>
  */
 @Slf4j
 public class SchemaValidatorUtil {
+  private static final int CACHE_MAXIMUM_SIZE = 1000;
+  private static final long REFRESH_AFTER_WRITE_MINUTES = 10;
+  private static final long EXPIRE_AFTER_WRITE_MINUTES = 60;
+
   private final EbeanServer server;
 
   // Cache: tableName → Set of index names
   // Configuration:
-  // - expireAfterWrite(10 minutes): Ensures that newly added indexes (e.g., via Pretzel) are picked up automatically
-  //   without requiring a service restart. After 10 minutes, the next request will trigger a DB refresh.
+  // - refreshAfterWrite(10 minutes): Ensures that newly added indexes (e.g., via Pretzel) are picked up automatically
+  //   without requiring a service restart. After 10 minutes, the next request triggers a DB refresh in the background
+  //   and keeps being served the current value, so request threads never block on information_schema once loaded.
+  // - expireAfterWrite(60 minutes): Drops entries that were not read (so not refreshed) for a long time, or whose
+  //   refreshes keep failing.
   // - maximumSize(1000): Limits cache memory footprint by retaining entries for up to 1000 distinct tables.
   //   Least recently used entries are evicted when the size limit is reached.
-  private final Cache<String, Set<String>> indexCache = Caffeine.newBuilder()
-      .expireAfterWrite(10, TimeUnit.MINUTES)
-      .maximumSize(1000)
-      .build();
+  private final LoadingCache<String, Set<String>> indexCache = Caffeine.newBuilder()
+      .refreshAfterWrite(REFRESH_AFTER_WRITE_MINUTES, TimeUnit.MINUTES)
+      .expireAfterWrite(EXPIRE_AFTER_WRITE_MINUTES, TimeUnit.MINUTES)
+      .maximumSize(CACHE_MAXIMUM_SIZE)
+      .build(this::loadIndexes);
 
   // Cache: tableName → Set of column names
-  private final Cache<String, Set<String>> columnCache = Caffeine.newBuilder()
-      .expireAfterWrite(10, TimeUnit.MINUTES)
-      .maximumSize(1000)
-      .build();
+  private final LoadingCache<String, Set<String>> columnCache = Caffeine.newBuilder()
+      .refreshAfterWrite(REFRESH_AFTER_WRITE_MINUTES, TimeUnit.MINUTES)
+      .expireAfterWrite(EXPIRE_AFTER_WRITE_MINUTES, TimeUnit.MINUTES)
+      .maximumSize(CACHE_MAXIMUM_SIZE)
+      .build(this::loadColumns);
 
   // Cache: tableName → Set of index names -> expression that defines the index, used as a replacement for creating an index on virtual columns
-  // Configuration:
-  // - expireAfterWrite(10 minutes): Ensures that newly added indexes (e.g., via Pretzel) are picked up automatically
-  //   without requiring a service restart. After 10 minutes, the next request will trigger a DB refresh.
-  // - maximumSize(1000): Limits cache memory footprint by retaining entries for up to 1000 distinct tables.
-  //   Least recently used entries are evicted when the size limit is reached.
+  // Configuration: same as indexCache.
   // ** THIS IS NEEDED ** because of local testing limitations by MariaDB: expression-based indexes are not supported,
   //    so no existing logic should depend on anything introduced by the support of this. Otherwise, we'd need to mock
   //    all indexing code in the test DB, which I want to avoid if possible.
   // TODO: This can become the only cache needed for indexes once we are 100% migrated over to this logic.
-  private final Cache<String, Map<String, String>> indexExpressionCache = Caffeine.newBuilder()
-      .expireAfterWrite(10, TimeUnit.MINUTES)
-      .maximumSize(1000)
-      .build();
+  private final LoadingCache<String, Map<String, String>> indexExpressionCache = Caffeine.newBuilder()
+      .refreshAfterWrite(REFRESH_AFTER_WRITE_MINUTES, TimeUnit.MINUTES)
+      .expireAfterWrite(EXPIRE_AFTER_WRITE_MINUTES, TimeUnit.MINUTES)
+      .maximumSize(CACHE_MAXIMUM_SIZE)
+      .build(this::loadIndexesAndExpressions);
 
   private static final String SQL_GET_ALL_COLUMNS =
       "SELECT COLUMN_NAME FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = database() AND TABLE_NAME = '%s'";
@@ -64,6 +73,16 @@ public class SchemaValidatorUtil {
   private static final String SQL_GET_ALL_INDEXES_WITH_EXPRESSIONS =
       "SELECT DISTINCT INDEX_NAME, EXPRESSION FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = database() AND TABLE_NAME = '%s'";
 
+  // Pre-warming queries, covering all the entity and relationship tables at once
+  private static final String METADATA_TABLES_CONDITION = "TABLE_SCHEMA = database()"
+      + " AND (TABLE_NAME LIKE 'metadata\\_entity\\_%' OR TABLE_NAME LIKE 'metadata\\_relationship\\_%')";
+  private static final String SQL_GET_ALL_METADATA_TABLE_COLUMNS =
+      "SELECT TABLE_NAME, COLUMN_NAME FROM information_schema.COLUMNS WHERE " + METADATA_TABLES_CONDITION;
+  private static final String SQL_GET_ALL_METADATA_TABLE_INDEXES =
+      "SELECT DISTINCT TABLE_NAME, INDEX_NAME FROM information_schema.STATISTICS WHERE " + METADATA_TABLES_CONDITION;
+  private static final String SQL_GET_ALL_METADATA_TABLE_INDEXES_WITH_EXPRESSIONS =
+      "SELECT DISTINCT TABLE_NAME, INDEX_NAME, EXPRESSION FROM information_schema.STATISTICS WHERE " + METADATA_TABLES_CONDITION;
+
   public SchemaValidatorUtil(EbeanServer server) {
     this.server = server;
   }
@@ -74,8 +93,39 @@ public class SchemaValidatorUtil {
    */
   @VisibleForTesting
   void clearCaches() {
+    invalidateAll();
+  }
+
+  /**
+   * Invalidates the cached columns, indexes and index expressions of all tables, so that the next check of a table
+   * loads its current schema instead of waiting for the next refresh. Called after schema migrations are applied.
+   */
+  public void invalidateAll() {
     indexCache.invalidateAll();
     columnCache.invalidateAll();
+    indexExpressionCache.invalidateAll();
+  }
+
+  /**
+   * Pre-warms the caches with the columns and indexes of all the metadata_entity_* and metadata_relationship_* tables,
+   * with one bulk information_schema query per cache instead of one query per table on its first check. Failures are
+   * logged and not thrown, tables are then loaded on their first check as before.
+   */
+  public void prewarm() {
+    try {
+      columnCache.putAll(loadAllMetadataTables(SQL_GET_ALL_METADATA_TABLE_COLUMNS, "COLUMN_NAME"));
+      indexCache.putAll(loadAllMetadataTables(SQL_GET_ALL_METADATA_TABLE_INDEXES, "INDEX_NAME"));
+      log.info("Pre-warmed column and index caches for {} tables", columnCache.estimatedSize());
+    } catch (Exception e) {
+      log.warn("Unable to pre-warm column and index caches, tables will be loaded on first use", e);
+    }
+
+    try {
+      indexExpressionCache.putAll(loadAllMetadataTablesIndexesAndExpressions());
+    } catch (Exception e) {
+      // MariaDB for local testing doesn't support EXPRESSION column - gracefully degrade
+      log.debug("Unable to pre-warm index expressions: {}", e.getMessage());
+    }
   }
 
 
@@ -90,12 +140,7 @@ public class SchemaValidatorUtil {
     String lowerTable = tableName.toLowerCase();
     String lowerColumn = columnName.toLowerCase();
 
-    Set<String> columns = columnCache.get(lowerTable, tbl -> {
-      log.info("Refreshing column cache for table '{}'", tbl);
-      return loadColumns(tbl);
-    });
-
-    return columns.contains(lowerColumn);
+    return columnCache.get(lowerTable).contains(lowerColumn);
   }
 
   /**
@@ -109,12 +154,7 @@ public class SchemaValidatorUtil {
     String lowerTable = tableName.toLowerCase();
     String lowerIndex = indexName.toLowerCase();
 
-    Set<String> indexes = indexCache.get(lowerTable, tbl -> {
-      log.info("Refreshing index cache for table '{}'", tbl);
-      return loadIndexes(tbl);
-    });
-
-    return indexes.contains(lowerIndex);
+    return indexCache.get(lowerTable).contains(lowerIndex);
   }
 
 
@@ -157,10 +197,7 @@ public class SchemaValidatorUtil {
     String lowerIndex = indexName.toLowerCase();
 
     try {
-      Map<String, String> indexes = indexExpressionCache.get(lowerTable, tbl -> {
-        log.info("Refreshing index cache for table '{}' from expression retrieval call", tbl);
-        return loadIndexesAndExpressions(tbl);
-      });
+      Map<String, String> indexes = indexExpressionCache.get(lowerTable);
 
       // This will also return null if the Expression column is null itself
       return cleanIndexExpression(indexes.getOrDefault(lowerIndex, null));
@@ -178,6 +215,7 @@ public class SchemaValidatorUtil {
    * @return Set of lowercase column names
    */
   private Set<String> loadColumns(String tableName) {
+    log.info("Refreshing column cache for table '{}'", tableName);
     List<SqlRow> rows = server.createSqlQuery(String.format(SQL_GET_ALL_COLUMNS, tableName)).findList();
     Set<String> columns = new HashSet<>();
     for (SqlRow row : rows) {
@@ -193,6 +231,7 @@ public class SchemaValidatorUtil {
    * @return Set of lowercase index names
    */
   private Set<String> loadIndexes(String tableName) {
+    log.info("Refreshing index cache for table '{}'", tableName);
     List<SqlRow> rows = server.createSqlQuery(String.format(SQL_GET_ALL_INDEXES, tableName)).findList();
     Set<String> indexes = new HashSet<>();
     for (SqlRow row : rows) {
@@ -209,6 +248,7 @@ public class SchemaValidatorUtil {
    * @return Map of lowercase index names -> expressions
    */
   private Map<String, String> loadIndexesAndExpressions(String tableName) {
+    log.info("Refreshing index cache for table '{}' from expression retrieval call", tableName);
     List<SqlRow> rows = server.createSqlQuery(String.format(SQL_GET_ALL_INDEXES_WITH_EXPRESSIONS, tableName)).findList();
     Map<String, String> indexes = new HashMap<>();
     for (SqlRow row : rows) {
@@ -218,4 +258,33 @@ public class SchemaValidatorUtil {
     return indexes;
   }
 
+  /**
+   * Loads a column of information_schema rows for all metadata tables, see {@link #prewarm()}.
+   *
+   * @param sql Query returning the TABLE_NAME and the given column
+   * @param columnName Column to load, e.g. COLUMN_NAME
+   * @return Map of lowercase table names -> set of lowercase values of the column
+   */
+  private Map<String, Set<String>> loadAllMetadataTables(String sql, String columnName) {
+    Map<String, Set<String>> tables = new HashMap<>();
+    for (SqlRow row : server.createSqlQuery(sql).findList()) {
+      tables.computeIfAbsent(row.getString("TABLE_NAME").toLowerCase(), tbl -> new HashSet<>())
+          .add(row.getString(columnName).toLowerCase());
+    }
+    return tables;
+  }
+
+  /**
+   * Loads all index names and expressions for all metadata tables, see {@link #prewarm()}.
+   *
+   * @return Map of lowercase table names -> lowercase index names -> expressions
+   */
+  private Map<String, Map<String, String>> loadAllMetadataTablesIndexesAndExpressions() {
+    Map<String, Map<String, String>> tables = new HashMap<>();
+    for (SqlRow row : server.createSqlQuery(SQL_GET_ALL_METADATA_TABLE_INDEXES_WITH_EXPRESSIONS).findList()) {
+      tables.computeIfAbsent(row.getString("TABLE_NAME").toLowerCase(), tbl -> new HashMap<>())
+          .put(row.getString("INDEX_NAME").toLowerCase(), row.getString("EXPRESSION"));
+    }
+    return tables;
+  }
 }
@@ -0,0 +1,73 @@
+package com.linkedin.metadata.dao.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * Size and TTL bounded cache of SQL templates, keyed by the shape of the query they were generated for: the kind of
+ * query, its tables and the shape of its filters, see {@link SQLStatementUtils#getLocalRelationshipFilterShape}.
+ * Templates have their values bound to named parameters, so queries of the same shape share the same template and only
+ * bind different values.
+ *
+ * <p>Templates depend on the columns and indexes found by {@link SchemaValidatorUtil}, so they should not be kept longer
+ * than its own caches, for newly added indexes to be used.</p>
+ */
+public class SqlTemplateCache {
+
+  private final Cache<List<Object>, String> _cache;
+
+  public SqlTemplateCache(long maximumSize, @Nonnull Duration expireAfterWrite) {
+    _cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(expireAfterWrite)
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * Get the template of a query shape, generating it on a miss. The values bound by the generator are dropped, callers
+   * bind the values of their own query to the returned template.
+   *
+   * @param shape everything the template depends on, compared with equals
+   * @param generator generates the template, adding its parameter values to the given map
+   * @return the SQL template
+   */
+  @Nonnull
+  public String get(@Nonnull List<Object> shape, @Nonnull Function<Map<String, Object>, String> generator) {
+    return _cache.get(shape, key -> generator.apply(new HashMap<>()));
+  }
+
+  /**
+   * Get the template of a query shape, or null if it is not cached. Used with {@link #put(List, String)} by callers
+   * which only cache some of the templates they generate.
+   */
+  @Nullable
+  public String getIfPresent(@Nonnull List<Object> shape) {
+    return _cache.getIfPresent(shape);
+  }
+
+  public void put(@Nonnull List<Object> shape, @Nonnull String template) {
+    _cache.put(shape, template);
+  }
+
+  public void invalidateAll() {
+    _cache.invalidateAll();
+  }
+
+  /**
+   * Returns the hit, miss and eviction statistics of the cache.
+   */
+  @Nonnull
+  public CacheStats stats() {
+    return _cache.stats();
+  }
+}
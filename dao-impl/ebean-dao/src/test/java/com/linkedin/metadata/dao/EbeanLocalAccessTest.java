@@ -30,6 +30,7 @@ import java.lang.reflect.Field;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -187,6 +188,62 @@ public class EbeanLocalAccessTest {
     assertEquals(5, listUrns.getTotalPageCount());
   }
 
+  @Test
+  public void testListUrnsWithOffsetAndTotalCountStrategy() {
+
+    // Given: metadata_entity_foo table with fooUrns from 0 ~ 99
+    // When: finding urns where ids >= 25 and id < 50 sorting by ASC, with the count cached for a minute
+
+    IndexCriterion indexCriterion1 =
+        SQLIndexFilterUtils.createIndexCriterion(AspectFoo.class, "value", Condition.GREATER_THAN_OR_EQUAL_TO,
+            IndexValue.create(25));
+    IndexCriterion indexCriterion2 =
+        SQLIndexFilterUtils.createIndexCriterion(AspectFoo.class, "value", Condition.LESS_THAN, IndexValue.create(50));
+    IndexFilter indexFilter = new IndexFilter().setCriteria(new IndexCriterionArray(indexCriterion1, indexCriterion2));
+    IndexFilter reorderedFilter =
+        new IndexFilter().setCriteria(new IndexCriterionArray(indexCriterion2, indexCriterion1));
+    IndexSortCriterion indexSortCriterion =
+        SQLIndexFilterUtils.createIndexSortCriterion(AspectFoo.class, "value", SortOrder.ASCENDING);
+
+    try {
+      _ebeanLocalAccessFoo.setTotalCountStrategy(EbeanLocalDAO.TotalCountStrategy.CACHED_EXACT, Duration.ofMinutes(1));
+      ListResult<FooUrn> listUrns = _ebeanLocalAccessFoo.listUrns(indexFilter, indexSortCriterion, 5, 5);
+
+      // Expect: same page as with the exact count
+      assertEquals(5, listUrns.getValues().size());
+      assertEquals("30", listUrns.getValues().get(0).getId());
+      assertEquals(5, listUrns.getPageSize());
+      assertEquals(10, listUrns.getNextStart());
+      assertEquals(25, listUrns.getTotalCount());
+      assertEquals(5, listUrns.getTotalPageCount());
+
+      // When: a new urn satisfies the filter, and the filter is listed again with its criteria in another order
+      _ebeanLocalAccessFoo.add(makeFooUrn(100), new AspectFoo().setValue("30"), AspectFoo.class,
+          makeAuditStamp("foo", System.currentTimeMillis()), null, false);
+      ListResult<FooUrn> lastPage = _ebeanLocalAccessFoo.listUrns(reorderedFilter, indexSortCriterion, 20, 5);
+
+      // Expect: the cached count is reused, but it doesn't hide the urn found past it
+      assertEquals(5, lastPage.getValues().size());
+      assertTrue(lastPage.isHavingMore());
+      assertEquals(25, lastPage.getNextStart());
+      assertEquals(26, lastPage.getTotalCount());
+      assertEquals(25, _ebeanLocalAccessFoo.listUrns(reorderedFilter, indexSortCriterion, 0, 5).getTotalCount());
+
+      // When: the count is estimated
+      _ebeanLocalAccessFoo.setTotalCountStrategy(EbeanLocalDAO.TotalCountStrategy.ESTIMATED, Duration.ofMinutes(1));
+      ListResult<FooUrn> estimated = _ebeanLocalAccessFoo.listUrns(indexFilter, indexSortCriterion, 5, 5);
+
+      // Expect: the page is still exact, and the count is at least the rows seen so far
+      assertEquals(5, estimated.getValues().size());
+      assertEquals("30", estimated.getValues().get(0).getId());
+      assertTrue(estimated.isHavingMore());
+      assertTrue(estimated.getTotalCount() >= 11);
+      assertTrue(_ebeanLocalAccessFoo.listUrns(null, null, 0, 5).getTotalCount() >= 6);
+    } finally {
+      _ebeanLocalAccessFoo.setTotalCountStrategy(EbeanLocalDAO.TotalCountStrategy.EXACT, Duration.ofMinutes(1));
+    }
+  }
+
   @Test
   public void testListUrnsWithLastUrn() throws URISyntaxException {
 
@@ -247,6 +304,109 @@ public class EbeanLocalAccessTest {
     assertEquals(result4.get(9).getId(), "26");
   }
 
+  @Test
+  public void testListUrnsAfter() {
+
+    // Given: metadata_entity_foo table with fooUrns from 0 ~ 99
+    // When: finding urns where ids >= 25 and id < 50 sorting by DESC
+
+    IndexFilter indexFilter = new IndexFilter();
+    IndexCriterionArray indexCriterionArray = new IndexCriterionArray();
+    indexCriterionArray.add(
+        SQLIndexFilterUtils.createIndexCriterion(AspectFoo.class, "value", Condition.GREATER_THAN_OR_EQUAL_TO,
+            IndexValue.create(25)));
+    indexCriterionArray.add(
+        SQLIndexFilterUtils.createIndexCriterion(AspectFoo.class, "value", Condition.LESS_THAN, IndexValue.create(50)));
+    indexFilter.setCriteria(indexCriterionArray);
+
+    IndexSortCriterion indexSortCriterion =
+        SQLIndexFilterUtils.createIndexSortCriterion(AspectFoo.class, "value", SortOrder.DESCENDING);
+
+    // When: list out the first page of 10 urns, with total count
+    CursorListResult<FooUrn, IndexSortCursor<FooUrn>> page1 =
+        _ebeanLocalAccessFoo.listUrnsAfter(indexFilter, indexSortCriterion, null, 10, true);
+
+    // Expect: 49 ~ 40 are returned, the next page starts after ('40', 'urn:li:foo:40')
+    assertEquals(page1.getValues().size(), 10);
+    assertEquals(page1.getValues().get(0).getId(), "49");
+    assertEquals(page1.getNextCursor(), new IndexSortCursor<>(makeFooUrn(40), "40"));
+    assertTrue(page1.isHavingMore());
+    assertEquals(page1.getTotalCount(), Integer.valueOf(25));
+
+    // When: list out the following pages from the cursor of the previous one, without total count
+    CursorListResult<FooUrn, IndexSortCursor<FooUrn>> page2 =
+        _ebeanLocalAccessFoo.listUrnsAfter(indexFilter, indexSortCriterion, page1.getNextCursor(), 10, false);
+    CursorListResult<FooUrn, IndexSortCursor<FooUrn>> page3 =
+        _ebeanLocalAccessFoo.listUrnsAfter(indexFilter, indexSortCriterion, page2.getNextCursor(), 10, false);
+
+    // Expect: 39 ~ 30 then 29 ~ 25 are returned, and there's no page after the last one
+    assertEquals(page2.getValues().get(0).getId(), "39");
+    assertEquals(page2.getNextCursor(), new IndexSortCursor<>(makeFooUrn(30), "30"));
+    assertNull(page2.getTotalCount());
+    assertEquals(page3.getValues().size(), 5);
+    assertEquals(page3.getValues().get(0).getId(), "29");
+    assertEquals(page3.getValues().get(4).getId(), "25");
+    assertFalse(page3.isHavingMore());
+    assertNull(page3.getNextCursor());
+
+    // When: list urns having AspectFoo after 'urn:li:foo:17'
+    CursorListResult<FooUrn, FooUrn> urns = _ebeanLocalAccessFoo.listUrnsAfter(AspectFoo.class, makeFooUrn(17), 10, true);
+
+    // Expect: 18, 19, 2, 20, 21, 22, 23, 24, 25, 26 and 100 total records
+    assertEquals(urns.getValues().size(), 10);
+    assertEquals(urns.getValues().get(0).getId(), "18");
+    assertEquals(urns.getNextCursor(), makeFooUrn(26));
+    assertEquals(urns.getTotalCount(), Integer.valueOf(100));
+
+    // When: list AspectFoo after 'urn:li:foo:98'
+    CursorListResult<AspectFoo, FooUrn> aspects = _ebeanLocalAccessFoo.listAfter(AspectFoo.class, makeFooUrn(98), 10, false);
+
+    // Expect: only the aspect of 'urn:li:foo:99' is returned
+    assertEquals(aspects.getValues(), Collections.singletonList(new AspectFoo().setValue("99")));
+    assertEquals(aspects.getMetadata().getExtraInfos().get(0).getUrn(), makeFooUrn(99));
+    assertFalse(aspects.isHavingMore());
+    assertNull(aspects.getTotalCount());
+  }
+
+  @Test
+  public void testListUrnsAfterLastUrnChanged() {
+
+    // Given: metadata_entity_foo table with fooUrns from 0 ~ 99
+    IndexFilter indexFilter = new IndexFilter().setCriteria(new IndexCriterionArray(
+        SQLIndexFilterUtils.createIndexCriterion(AspectFoo.class, "value", Condition.GREATER_THAN_OR_EQUAL_TO,
+            IndexValue.create(25)),
+        SQLIndexFilterUtils.createIndexCriterion(AspectFoo.class, "value", Condition.LESS_THAN, IndexValue.create(50))));
+    IndexSortCriterion indexSortCriterion =
+        SQLIndexFilterUtils.createIndexSortCriterion(AspectFoo.class, "value", SortOrder.DESCENDING);
+
+    // When: the last urn of the first page is moved back into that page before fetching the second page
+    CursorListResult<FooUrn, IndexSortCursor<FooUrn>> page1 =
+        _ebeanLocalAccessFoo.listUrnsAfter(indexFilter, indexSortCriterion, null, 10, false);
+    assertEquals(page1.getValues().get(9).getId(), "40");
+    _ebeanLocalAccessFoo.add(makeFooUrn(40), new AspectFoo().setValue("45"), AspectFoo.class,
+        makeAuditStamp("foo", System.currentTimeMillis()), null, false);
+    CursorListResult<FooUrn, IndexSortCursor<FooUrn>> page2 =
+        _ebeanLocalAccessFoo.listUrnsAfter(indexFilter, indexSortCriterion, page1.getNextCursor(), 10, false);
+
+    // Expect: the second page still resumes from '40', without repeating 45 ~ 41
+    assertEquals(page2.getValues().size(), 10);
+    assertEquals(page2.getValues().get(0).getId(), "39");
+    assertEquals(page2.getValues().get(9).getId(), "30");
+
+    // When: the last urn of the second page is deleted before fetching the third page
+    _server.createSqlUpdate("DELETE FROM metadata_entity_foo WHERE urn = :urn")
+        .setParameter("urn", makeFooUrn(30).toString())
+        .execute();
+    CursorListResult<FooUrn, IndexSortCursor<FooUrn>> page3 =
+        _ebeanLocalAccessFoo.listUrnsAfter(indexFilter, indexSortCriterion, page2.getNextCursor(), 10, false);
+
+    // Expect: the third page still resumes from '30', without skipping 29 ~ 25
+    assertEquals(page3.getValues().size(), 5);
+    assertEquals(page3.getValues().get(0).getId(), "29");
+    assertEquals(page3.getValues().get(4).getId(), "25");
+    assertFalse(page3.isHavingMore());
+  }
+
   @Test
   public void testExists() throws URISyntaxException {
     // Given: metadata_entity_foo table with fooUrns from 0 ~ 99
@@ -319,10 +479,12 @@ public class EbeanLocalAccessTest {
     aspectFoo.setValue(String.valueOf(25));
     AuditStamp auditStamp = makeAuditStamp("foo", System.currentTimeMillis());
     _ebeanLocalAccessFoo.add(fooUrn, aspectFoo, AspectFoo.class, auditStamp, null, false);
+    long hitCount = _ebeanLocalAccessFoo.getSqlTemplateCacheStats().hitCount();
     countMap = _ebeanLocalAccessFoo.countAggregate(indexFilter, indexGroupByCriterion);
 
-    // Expect: there are 2 counts for value 25
+    // Expect: there are 2 counts for value 25, read with the cached template of the filter
     assertEquals(countMap.get("25"), Long.valueOf(2));
+    assertTrue(_ebeanLocalAccessFoo.getSqlTemplateCacheStats().hitCount() > hitCount);
   }
 
   @Test
@@ -506,6 +668,41 @@ public class EbeanLocalAccessTest {
     assertEquals(numRowsCreated, 1);
   }
 
+  @Test
+  public void testAddAll() {
+    FooUrn existingUrn = makeFooUrn(0);
+    FooUrn newUrn1 = makeFooUrn(300);
+    FooUrn newUrn2 = makeFooUrn(301);
+    AuditStamp auditStamp = makeAuditStamp("actor", _now);
+
+    // existingUrn writes two columns, newUrn1 and newUrn2 share a two-row statement, the first write of newUrn1 is overwritten
+    List<AspectUpsert<FooUrn>> upserts = new ArrayList<>();
+    upserts.add(new AspectUpsert<>(existingUrn, new AspectFoo().setValue("foo"), AspectFoo.class, auditStamp, null));
+    upserts.add(new AspectUpsert<>(newUrn1, new AspectFoo().setValue("first"), AspectFoo.class, auditStamp, null));
+    upserts.add(new AspectUpsert<>(existingUrn, new AspectBar().setValue("bar"), AspectBar.class, auditStamp, null));
+    upserts.add(new AspectUpsert<>(newUrn2, new AspectFoo().setValue("foo2"), AspectFoo.class, auditStamp, null));
+    upserts.add(new AspectUpsert<>(newUrn1, new AspectFoo().setValue("foo1"), AspectFoo.class, auditStamp, null));
+    _ebeanLocalAccessFoo.addAll(upserts, false);
+
+    assertEquals(getAspectValue(existingUrn, AspectFoo.class), "{\"value\":\"foo\"}");
+    assertEquals(getAspectValue(existingUrn, AspectBar.class), "{\"value\":\"bar\"}");
+    assertEquals(getAspectValue(newUrn1, AspectFoo.class), "{\"value\":\"foo1\"}");
+    assertEquals(getAspectValue(newUrn2, AspectFoo.class), "{\"value\":\"foo2\"}");
+
+    // a null value soft deletes the aspect
+    _ebeanLocalAccessFoo.addAll(
+        Collections.singletonList(new AspectUpsert<>(newUrn2, null, AspectFoo.class, auditStamp, null)), false);
+    AspectKey<FooUrn, AspectFoo> deletedKey = new AspectKey<>(AspectFoo.class, newUrn2, 0L);
+    assertTrue(_ebeanLocalAccessFoo.batchGetUnion(Collections.singletonList(deletedKey), 1000, 0, false, false).isEmpty());
+  }
+
+  private String getAspectValue(FooUrn urn, Class<? extends RecordTemplate> aspectClass) {
+    AspectKey<FooUrn, ? extends RecordTemplate> key = new AspectKey<>(aspectClass, urn, 0L);
+    List<EbeanMetadataAspect> results = _ebeanLocalAccessFoo.batchGetUnion(Collections.singletonList(key), 1000, 0, false, false);
+    assertEquals(results.size(), 1);
+    return results.get(0).getMetadata();
+  }
+
   @Test
   public void testDeleteAll() {
     FooUrn fooUrn = makeFooUrn(201);
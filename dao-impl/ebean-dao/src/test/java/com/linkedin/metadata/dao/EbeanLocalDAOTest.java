@@ -87,6 +87,7 @@ import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
@@ -101,12 +102,17 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.persistence.OptimisticLockException;
 import javax.persistence.RollbackException;
+import org.mockito.ArgumentMatcher;
 import org.mockito.ArgumentMatchers;
 import org.mockito.InOrder;
 import org.mockito.MockedStatic;
@@ -981,6 +987,135 @@ public class EbeanLocalDAOTest {
     assertEquals(dao.get(AspectBar.class, fooUrn).map(AspectBar::getValue), Optional.of("bar"));
   }
 
+  @Test
+  public void testLatestAspectCache() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    dao.enableLatestAspectCache(100, Duration.ofMinutes(1));
+    List<Urn> invalidated = new ArrayList<>();
+    dao.addLatestAspectCacheInvalidationListener((urn, aspectClass) -> invalidated.add(urn));
+    FooUrn urn = makeFooUrn(1);
+    AspectFoo v1 = new AspectFoo().setValue("v1");
+    AspectFoo v2 = new AspectFoo().setValue("v2");
+
+    dao.add(urn, v1, _dummyAuditStamp);
+    assertEquals(invalidated, Collections.singletonList(urn));
+
+    // the first get loads from the database, the second one is served from the cache
+    assertEquals(dao.get(AspectFoo.class, urn), Optional.of(v1));
+    assertEquals(dao.get(AspectFoo.class, urn), Optional.of(v1));
+    assertEquals(dao.getLatestAspectCacheStats().hitCount(), 1);
+
+    // a write invalidates the cached value
+    dao.add(urn, v2, _dummyAuditStamp);
+    assertEquals(dao.get(AspectFoo.class, urn), Optional.of(v2));
+    assertEquals(invalidated, Arrays.asList(urn, urn));
+  }
+
+  @Test
+  public void testLatestAspectCacheNotUsedByWrites() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    dao.enableLatestAspectCache(100, Duration.ofMinutes(1));
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> otherHostDao = createDao(FooUrn.class);
+    FooUrn urn = makeFooUrn(1);
+    AspectFoo v1 = new AspectFoo().setValue("v1");
+    AspectFoo v2 = new AspectFoo().setValue("v2");
+
+    dao.add(urn, v1, _dummyAuditStamp);
+    assertEquals(dao.get(AspectFoo.class, urn), Optional.of(v1));
+    // another host writes v2, which the cache of dao does not know about
+    otherHostDao.add(urn, v2, _dummyAuditStamp);
+
+    // writing v1 again must compare against v2 from the database, not skip the write based on the cached v1
+    dao.add(urn, v1, _dummyAuditStamp);
+
+    assertEquals(otherHostDao.get(AspectFoo.class, urn), Optional.of(v1));
+    assertEquals(dao.getLatestAspectCacheStats().hitCount(), 0);
+  }
+
+  @Test
+  public void testAddBulk() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    dao.setBulkAddBatchSize(2);
+    FooUrn urn1 = makeFooUrn(1);
+    FooUrn urn2 = makeFooUrn(2);
+    AspectFoo foo1 = new AspectFoo().setValue("foo1");
+    AspectFoo foo2 = new AspectFoo().setValue("foo2");
+    AspectFoo foo3 = new AspectFoo().setValue("foo3");
+
+    // the first batch updates urn1 twice, the second batch writes the same value twice for urn2
+    List<RecordTemplate> results = dao.addBulk(Arrays.asList(
+        new BaseLocalDAO.UrnAspectUpdate<>(urn1, foo1, _dummyAuditStamp),
+        new BaseLocalDAO.UrnAspectUpdate<>(urn1, foo2, _dummyAuditStamp),
+        new BaseLocalDAO.UrnAspectUpdate<>(urn2, foo3, _dummyAuditStamp),
+        new BaseLocalDAO.UrnAspectUpdate<>(urn2, foo3, _dummyAuditStamp)), null);
+
+    assertEquals(results, Arrays.asList(foo1, foo2, foo3, foo3));
+    assertEquals(dao.get(AspectFoo.class, urn1), Optional.of(foo2));
+    assertEquals(dao.get(AspectFoo.class, urn2), Optional.of(foo3));
+
+    verify(_mockProducer, times(1)).produceMetadataAuditEvent(urn1, null, foo1);
+    verify(_mockProducer, times(1)).produceMetadataAuditEvent(urn1, foo1, foo2);
+    verify(_mockProducer, times(1)).produceMetadataAuditEvent(urn2, null, foo3);
+    verifyNoMoreInteractions(_mockProducer);
+  }
+
+  @Test
+  public void testCombinedEntityTableWrites() {
+    EbeanServer server = spy(_server);
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(server, FooUrn.class);
+    dao.enableAtomicMultipleUpdate(true);
+    dao.setCombineEntityTableWrites(true);
+    FooUrn urn1 = makeFooUrn(1);
+    FooUrn urn2 = makeFooUrn(2);
+    AspectFoo foo1 = new AspectFoo().setValue("foo1");
+    AspectFoo foo2 = new AspectFoo().setValue("foo2");
+    AspectBar bar = new AspectBar().setValue("bar");
+    ArgumentMatcher<String> entityTableUpsert = sql -> sql.startsWith("INSERT INTO metadata_entity_foo (");
+
+    // the second update of AspectFoo reads the value written by the first one
+    BaseLocalDAO.AspectUpdateLambda<AspectFoo> firstFooUpdate = new BaseLocalDAO.AspectUpdateLambda<>(foo1);
+    BaseLocalDAO.AspectUpdateLambda<AspectBar> barUpdate = new BaseLocalDAO.AspectUpdateLambda<>(bar);
+    BaseLocalDAO.AspectUpdateLambda<AspectFoo> secondFooUpdate = new BaseLocalDAO.AspectUpdateLambda<>(AspectFoo.class, old -> {
+      assertEquals(old, Optional.of(foo1));
+      return foo2;
+    });
+    dao.addMany(urn1, Arrays.asList(firstFooUpdate, barUpdate, secondFooUpdate), _dummyAuditStamp, 1, null);
+
+    assertEquals(dao.get(AspectFoo.class, urn1), Optional.of(foo2));
+    assertEquals(dao.get(AspectBar.class, urn1), Optional.of(bar));
+    if (_schemaConfig == SchemaConfig.NEW_SCHEMA_ONLY) {
+      // AspectFoo and AspectBar are written together, then the second AspectFoo once the batch is done
+      verify(server, times(2)).createSqlUpdate(argThat(entityTableUpsert));
+    }
+
+    // an update lambda running any other read sees the pending writes of the batch
+    clearInvocations(server);
+    BaseLocalDAO.AspectUpdateLambda<AspectBar> existsCheckingUpdate = new BaseLocalDAO.AspectUpdateLambda<>(AspectBar.class, old -> {
+      assertTrue(dao.exists(urn2));
+      return bar;
+    });
+    dao.addMany(urn2, Arrays.asList(new BaseLocalDAO.AspectUpdateLambda<>(foo1), existsCheckingUpdate), _dummyAuditStamp,
+        1, null);
+
+    assertEquals(dao.get(AspectFoo.class, urn2), Optional.of(foo1));
+    assertEquals(dao.get(AspectBar.class, urn2), Optional.of(bar));
+    if (_schemaConfig == SchemaConfig.NEW_SCHEMA_ONLY) {
+      verify(server, times(2)).createSqlUpdate(argThat(entityTableUpsert));
+    }
+
+    // the urns of a bulk batch writing the same aspects share a multi-row upsert
+    clearInvocations(server);
+    dao.addBulk(Arrays.asList(
+        new BaseLocalDAO.UrnAspectUpdate<>(urn1, foo1, _dummyAuditStamp),
+        new BaseLocalDAO.UrnAspectUpdate<>(urn2, foo2, _dummyAuditStamp)), null);
+
+    assertEquals(dao.get(AspectFoo.class, urn1), Optional.of(foo1));
+    assertEquals(dao.get(AspectFoo.class, urn2), Optional.of(foo2));
+    if (_schemaConfig == SchemaConfig.NEW_SCHEMA_ONLY) {
+      verify(server, times(1)).createSqlUpdate(argThat(entityTableUpsert));
+    }
+  }
+
   @Test
   public void testGetNonExisting() {
     EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
@@ -1235,6 +1370,43 @@ public class EbeanLocalDAOTest {
     verifyNoMoreInteractions(_mockProducer);
   }
 
+  @Test
+  public void testStreamingBackfill() {
+    // given
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    List<FooUrn> urns = new ArrayList<>();
+    for (int i = 1; i <= 5; i++) {
+      FooUrn urn = makeFooUrn(i);
+      dao.add(urn, new AspectFoo().setValue("foo" + i), _dummyAuditStamp);
+      urns.add(urn);
+    }
+    List<FooUrn> checkpoints = new ArrayList<>();
+
+    // when
+    BaseLocalDAO.StreamingBackfillResult<FooUrn> result = dao.streamingBackfill(BackfillMode.BACKFILL_ALL,
+        ImmutableSet.of(AspectFoo.class), FooUrn.class, null, 2, 2, checkpoints::add);
+
+    // then
+    assertEquals(result.getPageCount(), 3);
+    assertEquals(result.getUrnCount(), 5);
+    assertEquals(result.getEventCount(), 5);
+    assertEquals(result.getLastUrn(), urns.get(4));
+    assertEquals(checkpoints, ImmutableList.of(urns.get(1), urns.get(3), urns.get(4)));
+    for (int i = 0; i < urns.size(); i++) {
+      AspectFoo aspect = new AspectFoo().setValue("foo" + (i + 1));
+      verify(_mockProducer, times(1))
+          .produceAspectSpecificMetadataAuditEvent(urns.get(i), aspect, aspect, AspectFoo.class, null, IngestionMode.BOOTSTRAP);
+    }
+
+    // when resuming from a checkpoint, only the remaining urns are backfilled
+    checkpoints.clear();
+    result = dao.streamingBackfill(BackfillMode.BACKFILL_ALL, ImmutableSet.of(AspectFoo.class), FooUrn.class, urns.get(3), 2,
+        2, checkpoints::add);
+    assertEquals(result.getPageCount(), 1);
+    assertEquals(result.getUrnCount(), 1);
+    assertEquals(checkpoints, ImmutableList.of(urns.get(4)));
+  }
+
   @Test
   public void testBackfillMAEOnlyPresentInDBSuccess() {
     EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
@@ -1404,6 +1576,39 @@ public class EbeanLocalDAOTest {
     assertEquals(results.getValues(), new ArrayList<>());
   }
 
+  @Test
+  public void testListVersionsAfter() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    FooUrn urn = makeFooUrn(1);
+    for (long i = 0; i < 6; i++) {
+      AspectFoo foo = new AspectFoo().setValue("foo" + i);
+      addMetadata(urn, AspectFoo.class, i, foo);
+    }
+
+    CursorListResult<Long, Long> results = dao.listVersionsAfter(AspectFoo.class, urn, null, 4, true);
+    if (!dao.isChangeLogEnabled()) {
+      // when: change log is disabled,
+      // expect: only the LATEST_VERSION is listed
+      assertEquals(results.getValues(), Collections.singletonList(0L));
+      assertFalse(results.isHavingMore());
+      assertEquals(results.getTotalCount(), Integer.valueOf(1));
+      return;
+    }
+
+    assertEquals(results.getValues(), Arrays.asList(0L, 1L, 2L, 3L));
+    assertTrue(results.isHavingMore());
+    assertEquals(results.getNextCursor(), Long.valueOf(3));
+    assertEquals(results.getTotalCount(), Integer.valueOf(6));
+
+    // List last page from the cursor, without total count
+    results = dao.listVersionsAfter(AspectFoo.class, urn, results.getNextCursor(), 4, false);
+
+    assertEquals(results.getValues(), Arrays.asList(4L, 5L));
+    assertFalse(results.isHavingMore());
+    assertNull(results.getNextCursor());
+    assertNull(results.getTotalCount());
+  }
+
   private static IndexCriterionArray makeIndexCriterionArray(int size) {
     List<IndexCriterion> criterionArrays = new ArrayList<>();
     IntStream.range(0, size).forEach(i -> criterionArrays.add(new IndexCriterion().setAspect("aspect" + i)));
@@ -2133,6 +2338,64 @@ public class EbeanLocalDAOTest {
     assertEquals(id3, 1);
   }
 
+  @Test
+  void testNewNumericIdWithBlockAllocation() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao1 = createDao(FooUrn.class);
+    dao1.enableNumericIdBlockAllocation(10);
+    dao1.setNumericIdRangeSize("another namespace", 2);
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao2 = createDao(FooUrn.class);
+    dao2.enableNumericIdBlockAllocation(10);
+
+    // dao1 reserves [1, 10], dao2 reserves [11, 20]
+    assertEquals(dao1.newNumericId("namespace"), 1);
+    assertEquals(dao2.newNumericId("namespace"), 11);
+    assertEquals(dao1.newNumericId("namespace"), 2);
+
+    // ranges of 2 ids: [1, 2] then [3, 4]
+    assertEquals(dao1.newNumericId("another namespace"), 1);
+    assertEquals(dao1.newNumericId("another namespace"), 2);
+    assertEquals(dao1.newNumericId("another namespace"), 3);
+
+    // the non-block allocation continues after the highest reserved id
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao3 = createDao(FooUrn.class);
+    assertEquals(dao3.newNumericId("namespace"), 21);
+  }
+
+  @Test
+  void testNewNumericIdConcurrentlyWithMixedRangeSizes() throws Exception {
+    // two hosts reserving ranges of different sizes, and a host allocating one id at a time
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao1 = createDao(FooUrn.class);
+    dao1.enableNumericIdBlockAllocation(10);
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao2 = createDao(FooUrn.class);
+    dao2.enableNumericIdBlockAllocation(5);
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao3 = createDao(FooUrn.class);
+    List<EbeanLocalDAO<EntityAspectUnion, FooUrn>> daos = Arrays.asList(dao1, dao2, dao3);
+    ExecutorService executor = Executors.newFixedThreadPool(6);
+
+    try {
+      List<Future<List<Long>>> futures = new ArrayList<>();
+      for (int i = 0; i < 6; i++) {
+        EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = daos.get(i % daos.size());
+        futures.add(executor.submit(() -> {
+          List<Long> ids = new ArrayList<>();
+          for (int j = 0; j < 30; j++) {
+            ids.add(dao.newNumericId("concurrent namespace"));
+          }
+          return ids;
+        }));
+      }
+
+      List<Long> ids = new ArrayList<>();
+      for (Future<List<Long>> future : futures) {
+        ids.addAll(future.get(1, TimeUnit.MINUTES));
+      }
+      assertEquals(ids.size(), 180);
+      assertEquals(new HashSet<>(ids).size(), ids.size());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   @Test
   void testExists() {
     // given
@@ -2440,6 +2703,42 @@ public class EbeanLocalDAOTest {
     assertFalse(foo.isPresent());
   }
 
+  @Test
+  public void testListAspectsForAllUrnsAfter() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+
+    for (int i = 0; i < 3; i++) {
+      FooUrn urn = makeFooUrn(i);
+      for (int j = 0; j < 10; j++) {
+        AspectFoo foo = new AspectFoo().setValue("foo" + i + j);
+        addMetadata(urn, AspectFoo.class, j, foo);
+      }
+    }
+
+    CursorListResult<AspectFoo, FooUrn> results = dao.listAfter(AspectFoo.class, null, 2, true);
+
+    assertEquals(results.getValues(), Arrays.asList(new AspectFoo().setValue("foo00"), new AspectFoo().setValue("foo10")));
+    assertTrue(results.isHavingMore());
+    assertEquals(results.getNextCursor(), makeFooUrn(1));
+    assertEquals(results.getTotalCount(), Integer.valueOf(3));
+    assertEquals(results.getMetadata().getExtraInfos().size(), 2);
+
+    // List next page from the cursor, without total count
+    results = dao.listAfter(AspectFoo.class, results.getNextCursor(), 2, false);
+
+    assertEquals(results.getValues(), Collections.singletonList(new AspectFoo().setValue("foo20")));
+    assertFalse(results.isHavingMore());
+    assertNull(results.getNextCursor());
+    assertNull(results.getTotalCount());
+
+    // List urns
+    CursorListResult<FooUrn, FooUrn> urns = dao.listUrnsAfter(AspectFoo.class, makeFooUrn(0), 5, true);
+
+    assertEquals(urns.getValues(), Arrays.asList(makeFooUrn(1), makeFooUrn(2)));
+    assertFalse(urns.isHavingMore());
+    assertEquals(urns.getTotalCount(), Integer.valueOf(3));
+  }
+
   @Test
   public void testListSoftDeletedAspectGivenUrn() {
     EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
@@ -3324,6 +3623,56 @@ public class EbeanLocalDAOTest {
     testGetWithQuerySize(1000);
   }
 
+  @Test
+  public void testParallelBatchGet() {
+    // given
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    Set<AspectKey<FooUrn, ? extends RecordTemplate>> keys = new HashSet<>();
+    for (int i = 0; i < 10; i++) {
+      FooUrn fooUrn = makeFooUrn(i);
+      addMetadata(fooUrn, AspectFoo.class, 0, new AspectFoo().setValue("foo" + i));
+      keys.add(new AspectKey<>(AspectFoo.class, fooUrn, 0L));
+    }
+    dao.setQueryKeysCount(3);
+    dao.enableParallelBatchGet(2, 10000);
+
+    try {
+      // when
+      Map<AspectKey<FooUrn, ? extends RecordTemplate>, Optional<? extends RecordTemplate>> records = dao.get(keys);
+
+      // then
+      assertEquals(records.size(), 10);
+      for (int i = 0; i < 10; i++) {
+        assertEquals(records.get(new AspectKey<>(AspectFoo.class, makeFooUrn(i), 0L)),
+            Optional.of(new AspectFoo().setValue("foo" + i)));
+      }
+    } finally {
+      dao.disableParallelBatchGet();
+    }
+  }
+
+  @Test
+  public void testParallelBatchGetShutsDownOwnedPoolOnly() {
+    // given
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    dao.enableParallelBatchGet(2, 10000);
+    ExecutorService ownedPool = dao.getParallelBatchGetExecutor();
+    ExecutorService providedPool = Executors.newSingleThreadExecutor();
+
+    try {
+      // when
+      dao.enableParallelBatchGet(providedPool, 2, 10000);
+      dao.disableParallelBatchGet();
+
+      // then
+      assertTrue(ownedPool.isShutdown());
+      assertFalse(providedPool.isShutdown());
+      assertNull(dao.getParallelBatchGetExecutor());
+    } finally {
+      providedPool.shutdown();
+    }
+  }
+
   @Test
   public void testOptimisticLockException() {
     EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
@@ -428,6 +428,43 @@ public class EbeanLocalRelationshipQueryDAOTest {
     }
   }
 
+  @Test
+  public void testFindRelationshipsReusesSqlTemplateOfSameFilterShape() throws Exception {
+    FooUrn kafka = new FooUrn(1);
+    FooUrn hdfs = new FooUrn(2);
+    BarUrn spark = new BarUrn(1);
+    BarUrn samza = new BarUrn(2);
+
+    _fooUrnEBeanLocalAccess.add(kafka, new AspectFoo().setValue("Kafka_Topic"), AspectFoo.class, new AuditStamp(), null, false);
+    _fooUrnEBeanLocalAccess.add(hdfs, new AspectFoo().setValue("HDFS_Dataset"), AspectFoo.class, new AuditStamp(), null, false);
+    _barUrnEBeanLocalAccess.add(spark, new AspectFoo().setValue("Spark"), AspectFoo.class, new AuditStamp(), null, false);
+    _barUrnEBeanLocalAccess.add(samza, new AspectFoo().setValue("Samza"), AspectFoo.class, new AuditStamp(), null, false);
+
+    ConsumeFrom sparkConsumeFromHdfs = new ConsumeFrom().setSource(spark).setDestination(hdfs).setEnvironment(EnvorinmentType.OFFLINE);
+    ConsumeFrom samzaConsumeFromKafka = new ConsumeFrom().setSource(samza).setDestination(kafka).setEnvironment(EnvorinmentType.NEARLINE);
+    _localRelationshipWriterDAO.addRelationships(spark, AspectFoo.class, Collections.singletonList(sparkConsumeFromHdfs), false);
+    _localRelationshipWriterDAO.addRelationships(samza, AspectFoo.class, Collections.singletonList(samzaConsumeFromKafka), false);
+
+    LocalRelationshipFilter emptyFilter = new LocalRelationshipFilter().setCriteria(new LocalRelationshipCriterionArray());
+    LocalRelationshipFilter relationshipFilter =
+        new LocalRelationshipFilter().setCriteria(new LocalRelationshipCriterionArray()).setDirection(RelationshipDirection.OUTGOING);
+
+    // Same filter shape, different urn values: the second query only binds its values to the cached template.
+    long hitCount = _localRelationshipQueryDAO.getSqlTemplateCacheStats().hitCount();
+    List<ConsumeFrom> consumeFromSpark = _localRelationshipQueryDAO.findRelationships(BarSnapshot.class,
+        new LocalRelationshipFilter().setCriteria(new LocalRelationshipCriterionArray(EBeanDAOUtils.buildRelationshipFieldCriterion(
+            LocalRelationshipValue.create(spark.toString()), Condition.EQUAL, new UrnField()))),
+        FooSnapshot.class, emptyFilter, ConsumeFrom.class, relationshipFilter, 0, 10);
+    List<ConsumeFrom> consumeFromSamza = _localRelationshipQueryDAO.findRelationships(BarSnapshot.class,
+        new LocalRelationshipFilter().setCriteria(new LocalRelationshipCriterionArray(EBeanDAOUtils.buildRelationshipFieldCriterion(
+            LocalRelationshipValue.create(samza.toString()), Condition.EQUAL, new UrnField()))),
+        FooSnapshot.class, emptyFilter, ConsumeFrom.class, relationshipFilter, 0, 10);
+
+    assertEquals(consumeFromSpark, Collections.singletonList(sparkConsumeFromHdfs));
+    assertEquals(consumeFromSamza, Collections.singletonList(samzaConsumeFromKafka));
+    assertTrue(_localRelationshipQueryDAO.getSqlTemplateCacheStats().hitCount() > hitCount);
+  }
+
   @Test(dataProvider = "schemaConfig")
   public void testFindOneRelationshipWithEntityUrn(EbeanLocalDAO.SchemaConfig schemaConfig) throws Exception {
     FooUrn alice = new FooUrn(1);
@@ -1766,6 +1803,78 @@ public class EbeanLocalRelationshipQueryDAOTest {
     assertEquals(actual, expected);
   }
 
+  @Test
+  public void testFindEntitiesMultiHopsIncomingDirection() throws Exception {
+    FooUrn alice = new FooUrn(1);
+    FooUrn bob = new FooUrn(2);
+    FooUrn carol = new FooUrn(3);
+    FooUrn dave = new FooUrn(4);
+
+    // Add Alice, Bob, Carol and Dave into entity tables.
+    _fooUrnEBeanLocalAccess.add(alice, new AspectFoo().setValue("Alice"), AspectFoo.class, new AuditStamp(), null, false);
+    _fooUrnEBeanLocalAccess.add(bob, new AspectFoo().setValue("Bob"), AspectFoo.class, new AuditStamp(), null, false);
+    _fooUrnEBeanLocalAccess.add(carol, new AspectFoo().setValue("Carol"), AspectFoo.class, new AuditStamp(), null, false);
+    _fooUrnEBeanLocalAccess.add(dave, new AspectFoo().setValue("Dave"), AspectFoo.class, new AuditStamp(), null, false);
+
+    // Add Bob reports-to Alice, Carol reports-to Bob, Dave reports-to Carol and, to make a cycle, Alice reports-to Dave.
+    _localRelationshipWriterDAO.addRelationships(bob, AspectFoo.class,
+        Collections.singletonList(new ReportsTo().setSource(bob).setDestination(alice)), false);
+    _localRelationshipWriterDAO.addRelationships(carol, AspectFoo.class,
+        Collections.singletonList(new ReportsTo().setSource(carol).setDestination(bob)), false);
+    _localRelationshipWriterDAO.addRelationships(dave, AspectFoo.class,
+        Collections.singletonList(new ReportsTo().setSource(dave).setDestination(carol)), false);
+    _localRelationshipWriterDAO.addRelationships(alice, AspectFoo.class,
+        Collections.singletonList(new ReportsTo().setSource(alice).setDestination(dave)), false);
+
+    LocalRelationshipCriterion filterCriterion = EBeanDAOUtils.buildRelationshipFieldCriterion(LocalRelationshipValue.create("Alice"),
+        Condition.EQUAL,
+        new AspectField().setAspect(AspectFoo.class.getCanonicalName()).setPath("/value"));
+    LocalRelationshipFilter aliceFilter = new LocalRelationshipFilter().setCriteria(new LocalRelationshipCriterionArray(filterCriterion));
+    LocalRelationshipFilter emptyFilter = new LocalRelationshipFilter().setCriteria(new LocalRelationshipCriterionArray());
+    LocalRelationshipFilter incomingFilter =
+        new LocalRelationshipFilter().setCriteria(new LocalRelationshipCriterionArray()).setDirection(RelationshipDirection.INCOMING);
+
+    // Alice's reports within 2 hops are Bob and Carol.
+    List<RecordTemplate> withinTwoHops = _localRelationshipQueryDAO.findEntities(FooSnapshot.class, emptyFilter,
+        FooSnapshot.class, aliceFilter, ReportsTo.class, incomingFilter, 1, 2, 0, 10);
+    assertEquals(toFooUrns(withinTwoHops), ImmutableSet.of(bob, carol));
+
+    // Alice's reports 2 or 3 hops away are Carol and Dave.
+    List<RecordTemplate> twoToThreeHops = _localRelationshipQueryDAO.findEntities(FooSnapshot.class, emptyFilter,
+        FooSnapshot.class, aliceFilter, ReportsTo.class, incomingFilter, 2, 3, 0, 10);
+    assertEquals(toFooUrns(twoToThreeHops), ImmutableSet.of(carol, dave));
+
+    // The cycle back to Alice is walked only once and Alice is not part of the results.
+    List<RecordTemplate> allHops = _localRelationshipQueryDAO.findEntities(FooSnapshot.class, emptyFilter,
+        FooSnapshot.class, aliceFilter, ReportsTo.class, incomingFilter, 1, 10, 0, 10);
+    assertEquals(toFooUrns(allHops), ImmutableSet.of(bob, carol, dave));
+
+    // Results are paginated.
+    List<RecordTemplate> secondPage = _localRelationshipQueryDAO.findEntities(FooSnapshot.class, emptyFilter,
+        FooSnapshot.class, aliceFilter, ReportsTo.class, incomingFilter, 1, 10, 2, 2);
+    assertEquals(secondPage.size(), 1);
+
+    // Visiting at most 2 entities (Alice and Bob) truncates the results.
+    EbeanLocalRelationshipQueryDAO limitedDAO = new EbeanLocalRelationshipQueryDAO(_server, _eBeanDAOConfig);
+    limitedDAO.setMaxTraversalNodes(2);
+    List<RecordTemplate> truncated = limitedDAO.findEntities(FooSnapshot.class, emptyFilter,
+        FooSnapshot.class, aliceFilter, ReportsTo.class, incomingFilter, 1, 10, 0, 10);
+    assertEquals(toFooUrns(truncated), ImmutableSet.of(bob));
+
+    // Max hops beyond the limit are rejected.
+    limitedDAO.setMaxTraversalHops(3);
+    assertThrows(IllegalArgumentException.class, () -> limitedDAO.findEntities(FooSnapshot.class, emptyFilter,
+        FooSnapshot.class, aliceFilter, ReportsTo.class, incomingFilter, 1, 4, 0, 10));
+
+    // Traversal cannot start from the whole entity table.
+    assertThrows(IllegalArgumentException.class, () -> _localRelationshipQueryDAO.findEntities(FooSnapshot.class, emptyFilter,
+        FooSnapshot.class, emptyFilter, ReportsTo.class, incomingFilter, 1, 2, 0, 10));
+  }
+
+  private static Set<FooUrn> toFooUrns(List<RecordTemplate> snapshots) {
+    return snapshots.stream().map(result -> makeFooUrn(result.data().get("urn").toString())).collect(Collectors.toSet());
+  }
+
   @Test
   public void testFindOneEntityWithInCondition() throws URISyntaxException, OperationNotSupportedException {
     // Ingest data
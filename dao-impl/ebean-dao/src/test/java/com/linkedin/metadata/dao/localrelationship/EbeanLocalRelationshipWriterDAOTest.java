@@ -17,6 +17,7 @@ import com.linkedin.testing.urn.FooUrn;
 import io.ebean.Ebean;
 import io.ebean.EbeanServer;
 import io.ebean.SqlRow;
+import io.ebean.Transaction;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
@@ -25,6 +26,10 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Factory;
@@ -390,6 +395,87 @@ public class EbeanLocalRelationshipWriterDAOTest {
     _server.execute(Ebean.createSqlUpdate("truncate metadata_relationship_pairswith"));
   }
 
+  @Test
+  public void testAddRelationshipsByDiff() throws URISyntaxException {
+    _localRelationshipWriterDAO.setUseAspectColumnForRelationshipRemoval(_useAspectColumnForRelationshipRemoval);
+    _localRelationshipWriterDAO.setUseDiffBasedRelationshipUpdate(true);
+
+    BarUrn barUrn = BarUrn.createFromString("urn:li:bar:123");
+    PairsWith pairsWith1 = new PairsWith().setSource(barUrn).setDestination(FooUrn.createFromString("urn:li:foo:1"));
+    PairsWith pairsWith2 = new PairsWith().setSource(barUrn).setDestination(FooUrn.createFromString("urn:li:foo:2"));
+    PairsWith pairsWith3 = new PairsWith().setSource(barUrn).setDestination(FooUrn.createFromString("urn:li:foo:3"));
+
+    try {
+      _localRelationshipWriterDAO.addRelationships(barUrn, AspectFooBar.class, ImmutableList.of(pairsWith1, pairsWith2), false);
+      long pairsWith1Id = _server.createSqlQuery(
+          "select id from metadata_relationship_pairswith where destination = 'urn:li:foo:1'").findOne().getLong("id");
+
+      // Adding the same relationships again does not change any row
+      _localRelationshipWriterDAO.addRelationships(barUrn, AspectFooBar.class, ImmutableList.of(pairsWith2, pairsWith1), false);
+      assertEquals(_server.createSqlQuery("select * from metadata_relationship_pairswith").findList().size(), 2);
+
+      // pairsWith1 is kept, pairsWith2 is soft-deleted and pairsWith3 is inserted
+      _localRelationshipWriterDAO.addRelationships(barUrn, AspectFooBar.class, ImmutableList.of(pairsWith1, pairsWith3), false);
+
+      List<SqlRow> all = _server.createSqlQuery("select * from metadata_relationship_pairswith").findList();
+      assertEquals(all.size(), 3);
+      List<SqlRow> current = _server.createSqlQuery(
+          "select * from metadata_relationship_pairswith where deleted_ts is null order by destination").findList();
+      assertEquals(current.size(), 2);
+      assertEquals(current.get(0).getLong("id").longValue(), pairsWith1Id);
+      assertEquals(current.get(0).getString("destination"), "urn:li:foo:1");
+      assertEquals(current.get(1).getString("destination"), "urn:li:foo:3");
+      List<SqlRow> softDeleted = _server.createSqlQuery(
+          "select * from metadata_relationship_pairswith where deleted_ts is not null").findList();
+      assertEquals(softDeleted.size(), 1);
+      assertEquals(softDeleted.get(0).getString("destination"), "urn:li:foo:2");
+    } finally {
+      _localRelationshipWriterDAO.setUseDiffBasedRelationshipUpdate(false);
+      // Clean up
+      _server.execute(Ebean.createSqlUpdate("truncate metadata_relationship_pairswith"));
+    }
+  }
+
+  @Test
+  public void testOverlappingAddRelationshipsByDiff() throws Exception {
+    _localRelationshipWriterDAO.setUseAspectColumnForRelationshipRemoval(_useAspectColumnForRelationshipRemoval);
+    _localRelationshipWriterDAO.setUseDiffBasedRelationshipUpdate(true);
+
+    BarUrn barUrn = BarUrn.createFromString("urn:li:bar:123");
+    PairsWith pairsWith1 = new PairsWith().setSource(barUrn).setDestination(FooUrn.createFromString("urn:li:foo:1"));
+    PairsWith pairsWith2 = new PairsWith().setSource(barUrn).setDestination(FooUrn.createFromString("urn:li:foo:2"));
+    PairsWith pairsWith3 = new PairsWith().setSource(barUrn).setDestination(FooUrn.createFromString("urn:li:foo:3"));
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    try {
+      _localRelationshipWriterDAO.addRelationships(barUrn, AspectFooBar.class, ImmutableList.of(pairsWith1), false);
+
+      // the first write holds its transaction open while the second one starts on another thread
+      Future<?> secondWrite;
+      try (Transaction transaction = _server.beginTransaction()) {
+        _localRelationshipWriterDAO.addRelationships(barUrn, AspectFooBar.class, ImmutableList.of(pairsWith2), false);
+        secondWrite = executor.submit(() ->
+            _localRelationshipWriterDAO.addRelationships(barUrn, AspectFooBar.class, ImmutableList.of(pairsWith3), false));
+        Thread.sleep(500);
+        assertFalse(secondWrite.isDone());
+        transaction.commit();
+      }
+      secondWrite.get(10, TimeUnit.SECONDS);
+
+      // the second write diffed against the result of the first one, leaving only its own relationship
+      List<SqlRow> current = _server.createSqlQuery(
+          "select * from metadata_relationship_pairswith where deleted_ts is null").findList();
+      assertEquals(current.size(), 1);
+      assertEquals(current.get(0).getString("destination"), "urn:li:foo:3");
+      assertEquals(_server.createSqlQuery("select * from metadata_relationship_pairswith").findList().size(), 3);
+    } finally {
+      executor.shutdownNow();
+      _localRelationshipWriterDAO.setUseDiffBasedRelationshipUpdate(false);
+      // Clean up
+      _server.execute(Ebean.createSqlUpdate("truncate metadata_relationship_pairswith"));
+    }
+  }
+
   private String insertRelationships(String table, String sourceUrn, String sourceType, String destinationUrn, String destinationType, String aspect) {
     String insertWithAspectTemplate = "INSERT INTO %s (metadata, source, source_type, destination, destination_type, lastmodifiedon, lastmodifiedby, aspect)"
         + " VALUES ('{\"metadata\": true}', '%s', '%s', '%s', '%s', CURRENT_TIMESTAMP, 'unknown', '%s')";
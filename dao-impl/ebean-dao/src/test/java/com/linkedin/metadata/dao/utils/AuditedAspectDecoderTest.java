@@ -0,0 +1,110 @@
+package com.linkedin.metadata.dao.utils;
+
+import com.linkedin.data.template.StringArray;
+import com.linkedin.metadata.aspect.AuditedAspect;
+import com.linkedin.metadata.dao.EbeanLocalAccess;
+import com.linkedin.metadata.dao.EbeanMetadataAspect;
+import com.linkedin.metadata.dao.exception.ModelConversionException;
+import com.linkedin.testing.AspectBar;
+import com.linkedin.testing.AspectBarArray;
+import com.linkedin.testing.AspectBaz;
+import com.linkedin.testing.AspectFoo;
+import com.linkedin.testing.PizzaSize;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class AuditedAspectDecoderTest {
+
+  @Test
+  public void testDecodeAuditedAspect() {
+    AspectBaz baz = new AspectBaz().setStringField("baz")
+        .setBoolField(true)
+        .setLongField(Long.MAX_VALUE)
+        .setIntField(1)
+        .setDoubleField(1.5)
+        .setFloatField(2.5f)
+        .setEnumField(PizzaSize.LARGE)
+        .setArrayField(new StringArray("a", "b"))
+        .setArrayRecordsField(new AspectBarArray(new AspectBar().setValue("bar")))
+        .setRecordField(new AspectFoo().setValue("foo"))
+        .setUnionField(AspectBaz.UnionField.create(new AspectFoo().setValue("union")));
+    AuditedAspect auditedAspect = new AuditedAspect().setAspect(RecordUtils.toJsonString(baz))
+        .setCanonicalName(AspectBaz.class.getCanonicalName())
+        .setLastmodifiedon("2024-01-01 00:00:00.0")
+        .setLastmodifiedby("urn:li:tester")
+        .setCreatedfor("urn:li:impersonated")
+        .setEmitTime(123L)
+        .setEmitter("emitter");
+
+    AuditedAspectDecoder.DecodedAspect decoded = AuditedAspectDecoder.decode(EbeanLocalAccess.toJsonString(auditedAspect));
+
+    assertFalse(decoded.isSoftDeleted());
+    // same values, and value types, as decoding with the Pegasus JSON codec
+    assertEquals(decoded.getAspect(), RecordUtils.toDataMap(RecordUtils.toJsonString(baz)));
+    AspectBaz decodedBaz = RecordUtils.toRecordTemplate(AspectBaz.class, decoded.getAspect());
+    assertEquals(decodedBaz.getLongField(), baz.getLongField());
+    assertEquals(decodedBaz.getFloatField(), baz.getFloatField());
+    assertEquals(decodedBaz.getUnionField(), baz.getUnionField());
+    assertEquals(decoded.getAspectJson(), RecordUtils.toJsonString(baz));
+    assertEquals(decoded.getCanonicalName(), AspectBaz.class.getCanonicalName());
+    assertEquals(decoded.getLastmodifiedon(), "2024-01-01 00:00:00.0");
+    assertEquals(decoded.getLastmodifiedby(), "urn:li:tester");
+    assertEquals(decoded.getCreatedfor(), "urn:li:impersonated");
+    assertEquals(decoded.getEmitTime(), Long.valueOf(123L));
+    assertEquals(decoded.getEmitter(), "emitter");
+  }
+
+  @Test
+  public void testDecodeWithWhitespaceAndMissingFields() {
+    AuditedAspectDecoder.DecodedAspect decoded =
+        AuditedAspectDecoder.decode("{\"aspect\": {\"value\": \"foo\"}, \"lastmodifiedby\": \"urn:li:tester\"}");
+
+    assertEquals(decoded.getAspectJson(), "{\"value\": \"foo\"}");
+    assertEquals(RecordUtils.toRecordTemplate(AspectFoo.class, decoded.getAspect()), new AspectFoo().setValue("foo"));
+    assertEquals(decoded.getLastmodifiedby(), "urn:li:tester");
+    assertNull(decoded.getCanonicalName());
+    assertNull(decoded.getCreatedfor());
+    assertNull(decoded.getEmitTime());
+  }
+
+  @Test
+  public void testDecodeAspectSerializedAsString() {
+    AuditedAspectDecoder.DecodedAspect decoded = AuditedAspectDecoder.decode("{\"aspect\": \"{\\\"value\\\":\\\"foo\\\"}\"}");
+
+    assertEquals(decoded.getAspectJson(), "{\"value\":\"foo\"}");
+    assertEquals(RecordUtils.toRecordTemplate(AspectFoo.class, decoded.getAspect()), new AspectFoo().setValue("foo"));
+  }
+
+  @Test
+  public void testDecodeSoftDeletedAspect() {
+    AuditedAspectDecoder.DecodedAspect decoded = AuditedAspectDecoder.decode("{\"gma_deleted\": true}");
+
+    assertTrue(decoded.isSoftDeleted());
+    assertNull(decoded.getAspect());
+    assertNull(decoded.getAspectJson());
+
+    assertFalse(AuditedAspectDecoder.decode("{\"gma_deleted\": false}").isSoftDeleted());
+  }
+
+  @Test(expectedExceptions = ModelConversionException.class)
+  public void testDecodeInvalidJson() {
+    AuditedAspectDecoder.decode("{\"aspect\": {\"value\": ");
+  }
+
+  @Test
+  public void testDecodedMetadataIsHandedOverOnce() {
+    AuditedAspectDecoder.DecodedAspect decoded = AuditedAspectDecoder.decode("{\"aspect\": {\"value\": \"foo\"}}");
+    EbeanMetadataAspect aspect = new EbeanMetadataAspect();
+    aspect.setMetadata(decoded.getAspectJson());
+    aspect.setMetadataDataMap(decoded.getAspect());
+
+    AspectFoo first = EBeanDAOUtils.metadataToRecordTemplate(AspectFoo.class, aspect);
+    AspectFoo second = EBeanDAOUtils.metadataToRecordTemplate(AspectFoo.class, aspect);
+
+    assertSame(first.data(), decoded.getAspect());
+    assertNotSame(second.data(), first.data());
+    assertEquals(second, first);
+  }
+}
@@ -6,6 +6,7 @@ import com.linkedin.data.template.IntegerArray;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.data.template.StringArray;
 import com.linkedin.metadata.aspect.AuditedAspect;
+import com.linkedin.metadata.dao.AspectKey;
 import com.linkedin.metadata.dao.BaseLocalDAO;
 import com.linkedin.metadata.dao.EbeanLocalAccess;
 import com.linkedin.metadata.dao.EbeanMetadataAspect;
@@ -41,6 +42,7 @@ import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -51,6 +53,7 @@ import org.testng.annotations.Test;
 import static com.linkedin.testing.TestUtils.*;
 import static org.mockito.Mockito.*;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertNotNull;
@@ -89,6 +92,31 @@ public class EBeanDAOUtilsTest {
     assertEquals(EBeanDAOUtils.getUrn("urn:li:foo:123", FooUrn.class), new FooUrn(123));
   }
 
+  @Test
+  public void testIndexByNormalizedKey() throws URISyntaxException {
+    EbeanMetadataAspect ema1 = new EbeanMetadataAspect();
+    ema1.setKey(new EbeanMetadataAspect.PrimaryKey("urn:li:foo:ABC", AspectFoo.class.getCanonicalName(), 0L));
+    ema1.setMetadata("{\"value\": \"first\"}");
+
+    EbeanMetadataAspect ema2 = new EbeanMetadataAspect();
+    ema2.setKey(new EbeanMetadataAspect.PrimaryKey("urn:li:foo:abc", AspectFoo.class.getCanonicalName(), 0L));
+    ema2.setMetadata("{\"value\": \"second\"}");
+
+    EbeanMetadataAspect ema3 = new EbeanMetadataAspect();
+    ema3.setKey(new EbeanMetadataAspect.PrimaryKey("urn:li:foo:abc", AspectFoo.class.getCanonicalName(), 1L));
+    ema3.setMetadata("{\"value\": \"third\"}");
+
+    Map<EbeanMetadataAspect.PrimaryKey, EbeanMetadataAspect> index =
+        EBeanDAOUtils.indexByNormalizedKey(Arrays.asList(ema1, ema2, ema3));
+
+    // urns are matched ignoring case, and the first record for a normalized key wins
+    assertEquals(index.size(), 2);
+    Urn urn = Urn.createFromString("urn:li:foo:Abc");
+    assertEquals(index.get(EBeanDAOUtils.normalizeKey(new AspectKey<>(AspectFoo.class, urn, 0L))), ema1);
+    assertEquals(index.get(EBeanDAOUtils.normalizeKey(new AspectKey<>(AspectFoo.class, urn, 1L))), ema3);
+    assertNull(index.get(EBeanDAOUtils.normalizeKey(new AspectKey<>(AspectFoo.class, urn, 2L))));
+  }
+
   @Test
   public void testCompareResultsListEbeanMetadataAspectSingleton() {
     // test equality between two instances of EbeanMetadataAspect
@@ -0,0 +1,78 @@
+package com.linkedin.metadata.dao.utils;
+
+import com.linkedin.metadata.query.Condition;
+import com.linkedin.metadata.query.LocalRelationshipCriterionArray;
+import com.linkedin.metadata.query.LocalRelationshipFilter;
+import com.linkedin.metadata.query.RelationshipDirection;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+
+public class MultiHopsTraversalSqlGeneratorTest {
+
+  private SqlTemplateCache _templateCache;
+  private MultiHopsTraversalSqlGenerator _sqlGenerator;
+
+  @BeforeMethod
+  public void setup() {
+    _templateCache = new SqlTemplateCache(100, Duration.ofMinutes(1));
+    _sqlGenerator = new MultiHopsTraversalSqlGenerator(Collections.singletonMap(Condition.EQUAL, "="),
+        mock(SchemaValidatorUtil.class), _templateCache);
+  }
+
+  @Test
+  public void testUrnPlaceholderCount() {
+    assertEquals(MultiHopsTraversalSqlGenerator.urnPlaceholderCount(1), 1);
+    assertEquals(MultiHopsTraversalSqlGenerator.urnPlaceholderCount(2), 2);
+    assertEquals(MultiHopsTraversalSqlGenerator.urnPlaceholderCount(3), 4);
+    assertEquals(MultiHopsTraversalSqlGenerator.urnPlaceholderCount(4), 4);
+    assertEquals(MultiHopsTraversalSqlGenerator.urnPlaceholderCount(1000), 1024);
+  }
+
+  @Test
+  public void testNextHopUrnsSqlPadsUrnsToPlaceholderCount() {
+    LocalRelationshipFilter relationshipFilter =
+        new LocalRelationshipFilter().setCriteria(new LocalRelationshipCriterionArray()).setDirection(RelationshipDirection.OUTGOING);
+
+    Map<String, Object> parameters = new HashMap<>();
+    String sql = _sqlGenerator.nextHopUrnsSql("metadata_relationship_reportsto", Arrays.asList("urn:li:foo:1",
+        "urn:li:foo:2", "urn:li:foo:3"), relationshipFilter, false, parameters);
+
+    assertEquals(sql, "SELECT DISTINCT rt.destination AS urn FROM metadata_relationship_reportsto rt "
+        + "WHERE rt.deleted_ts IS NULL AND rt.source IN (:urn0, :urn1, :urn2, :urn3)");
+    Map<String, Object> expectedParameters = new HashMap<>();
+    expectedParameters.put("urn0", "urn:li:foo:1");
+    expectedParameters.put("urn1", "urn:li:foo:2");
+    expectedParameters.put("urn2", "urn:li:foo:3");
+    expectedParameters.put("urn3", "urn:li:foo:3");
+    assertEquals(parameters, expectedParameters);
+
+    // frontiers of the same bucket share the same template
+    long hitCount = _templateCache.stats().hitCount();
+    assertEquals(_sqlGenerator.nextHopUrnsSql("metadata_relationship_reportsto", Arrays.asList("urn:li:foo:4",
+        "urn:li:foo:5", "urn:li:foo:6", "urn:li:foo:7"), relationshipFilter, false, new HashMap<>()), sql);
+    assertEquals(_templateCache.stats().hitCount(), hitCount + 1);
+  }
+
+  @Test
+  public void testFindEntitiesByUrnsSqlPadsUrnsToPlaceholderCount() {
+    LocalRelationshipFilter entityFilter = new LocalRelationshipFilter().setCriteria(new LocalRelationshipCriterionArray());
+
+    Map<String, Object> parameters = new HashMap<>();
+    String sql = _sqlGenerator.findEntitiesByUrnsSql("metadata_entity_foo", Arrays.asList("urn:li:foo:1", "urn:li:foo:2",
+        "urn:li:foo:3"), entityFilter, 10, 0, false, parameters);
+
+    assertEquals(sql, "SELECT * FROM metadata_entity_foo et WHERE et.urn IN (:urn0, :urn1, :urn2, :urn3) "
+        + "ORDER BY et.urn LIMIT :limit OFFSET :offset");
+    assertEquals(parameters.get("urn3"), "urn:li:foo:3");
+    assertEquals(parameters.size(), 6);
+  }
+}
@@ -1,5 +1,6 @@
 package com.linkedin.metadata.dao.utils;
 
+import com.linkedin.data.Data;
 import com.linkedin.data.template.StringArray;
 import com.linkedin.metadata.query.Condition;
 import com.linkedin.metadata.query.IndexCriterion;
@@ -12,6 +13,8 @@ import com.linkedin.testing.AspectBar;
 import com.linkedin.testing.AspectFoo;
 import com.linkedin.testing.urn.FooUrn;
 import java.net.URISyntaxException;
+import java.util.HashMap;
+import java.util.Map;
 import org.apache.calcite.config.Lex;
 import org.apache.calcite.sql.parser.SqlParser;
 import org.testng.annotations.BeforeClass;
@@ -103,6 +106,84 @@ public class SQLIndexFilterUtilsTest {
         "WHERE a_aspectfoo IS NOT NULL\nAND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL\nAND i_aspectfoo0id < 12\nAND deleted_ts IS NULL");
   }
 
+  @Test
+  public void testParseIndexFilterWithParameters() {
+    IndexCriterionArray indexCriterionArray = new IndexCriterionArray();
+    indexCriterionArray.add(
+        SQLIndexFilterUtils.createIndexCriterion(AspectFoo.class, "id", Condition.LESS_THAN, IndexValue.create(12L)));
+    indexCriterionArray.add(SQLIndexFilterUtils.createIndexCriterion(AspectFoo.class, "value", Condition.IN,
+        IndexValue.create(new StringArray("a", "b"))));
+    indexCriterionArray.add(
+        SQLIndexFilterUtils.createIndexCriterion(AspectFoo.class, "value", Condition.START_WITH, IndexValue.create("c'")));
+    IndexFilter indexFilter = new IndexFilter().setCriteria(indexCriterionArray);
+
+    Map<String, Object> parameters = new HashMap<>();
+    String sql = SQLIndexFilterUtils.parseIndexFilter(FooUrn.ENTITY_TYPE, indexFilter, false, mockValidator, parameters);
+    assertEquals(sql, "WHERE a_aspectfoo IS NOT NULL\nAND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL\nAND i_aspectfoo$id < :f0_0"
+        + "\nAND a_aspectfoo IS NOT NULL\nAND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL\nAND i_aspectfoo$value IN (:f1_0, :f1_1)"
+        + "\nAND a_aspectfoo IS NOT NULL\nAND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL\nAND i_aspectfoo$value LIKE :f2_0"
+        + "\nAND deleted_ts IS NULL");
+    Map<String, Object> expectedParameters = new HashMap<>();
+    expectedParameters.put("f0_0", 12L);
+    expectedParameters.put("f1_0", "a");
+    expectedParameters.put("f1_1", "b");
+    expectedParameters.put("f2_0", "c'%");
+    assertEquals(parameters, expectedParameters);
+    assertEquals(SQLIndexFilterUtils.getIndexFilterParameters(indexFilter), expectedParameters);
+
+    // filters differing only by their values have the same shape, hence the same SQL
+    IndexCriterionArray otherCriterionArray = new IndexCriterionArray();
+    otherCriterionArray.add(
+        SQLIndexFilterUtils.createIndexCriterion(AspectFoo.class, "id", Condition.LESS_THAN, IndexValue.create(3L)));
+    otherCriterionArray.add(SQLIndexFilterUtils.createIndexCriterion(AspectFoo.class, "value", Condition.IN,
+        IndexValue.create(new StringArray("d", "e"))));
+    otherCriterionArray.add(
+        SQLIndexFilterUtils.createIndexCriterion(AspectFoo.class, "value", Condition.START_WITH, IndexValue.create("f")));
+    IndexFilter otherFilter = new IndexFilter().setCriteria(otherCriterionArray);
+    assertEquals(SQLIndexFilterUtils.getIndexFilterShape(otherFilter), SQLIndexFilterUtils.getIndexFilterShape(indexFilter));
+    assertEquals(SQLIndexFilterUtils.parseIndexFilter(FooUrn.ENTITY_TYPE, otherFilter, false, mockValidator, new HashMap<>()), sql);
+
+    // but not filters with a different number of values
+    otherCriterionArray.get(1).getPathParams().setValue(IndexValue.create(new StringArray("d")));
+    assertNotEquals(SQLIndexFilterUtils.getIndexFilterShape(otherFilter), SQLIndexFilterUtils.getIndexFilterShape(indexFilter));
+  }
+
+  @Test
+  public void testIsEveryCriterionRendered() {
+    SchemaValidatorUtil validator = mock(SchemaValidatorUtil.class);
+    when(validator.columnExists(anyString(), eq("i_aspectfoo$id"))).thenReturn(true);
+    IndexCriterionArray indexCriterionArray = new IndexCriterionArray();
+    indexCriterionArray.add(
+        SQLIndexFilterUtils.createIndexCriterion(AspectFoo.class, "id", Condition.LESS_THAN, IndexValue.create(12L)));
+    IndexFilter indexFilter = new IndexFilter().setCriteria(indexCriterionArray);
+    assertTrue(SQLIndexFilterUtils.isEveryCriterionRendered(FooUrn.ENTITY_TYPE, indexFilter, false, validator));
+    assertTrue(SQLIndexFilterUtils.isEveryCriterionRendered(FooUrn.ENTITY_TYPE, null, false, validator));
+
+    // a criterion without index is left out even when it has no value, hence no parameter
+    IndexCriterion nullValueCriterion =
+        SQLIndexFilterUtils.createIndexCriterion(AspectFoo.class, "value", Condition.EQUAL, IndexValue.create(""));
+    nullValueCriterion.getPathParams().setValue(new IndexValue(Data.NULL));
+    indexCriterionArray.add(nullValueCriterion);
+    assertEquals(SQLIndexFilterUtils.getIndexFilterParameters(indexFilter).size(), 1);
+    assertFalse(SQLIndexFilterUtils.isEveryCriterionRendered(FooUrn.ENTITY_TYPE, indexFilter, false, validator));
+  }
+
+  @Test
+  public void testValidateIndexFilter() {
+    IndexCriterionArray indexCriterionArray = new IndexCriterionArray();
+    indexCriterionArray.add(new IndexCriterion().setAspect(AspectFoo.class.getCanonicalName()));
+    indexCriterionArray.add(SQLIndexFilterUtils.createIndexCriterion(AspectFoo.class, "value", Condition.IN,
+        IndexValue.create(new StringArray("a"))));
+    IndexFilter indexFilter = new IndexFilter().setCriteria(indexCriterionArray);
+    SQLIndexFilterUtils.validateIndexFilter(indexFilter);
+    SQLIndexFilterUtils.validateIndexFilter(null);
+
+    // the invalid criterion is found whatever its position
+    indexCriterionArray.add(SQLIndexFilterUtils.createIndexCriterion(AspectFoo.class, "value", Condition.IN,
+        IndexValue.create("a")));
+    assertThrows(IllegalArgumentException.class, () -> SQLIndexFilterUtils.validateIndexFilter(indexFilter));
+  }
+
   private static void assertValidSql(String sql) {
     final String sqlPrefix = "SELECT * FROM metadata_entity_fakeplaceholder\n";
     try {
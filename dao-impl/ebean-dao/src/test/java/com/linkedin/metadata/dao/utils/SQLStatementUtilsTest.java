@@ -9,12 +9,14 @@ import com.linkedin.metadata.query.IndexCriterion;
 import com.linkedin.metadata.query.IndexCriterionArray;
 import com.linkedin.metadata.query.IndexFilter;
 import com.linkedin.metadata.query.IndexGroupByCriterion;
+import com.linkedin.metadata.query.IndexSortCriterion;
 import com.linkedin.metadata.query.IndexValue;
 import com.linkedin.metadata.query.LocalRelationshipCriterion;
 import com.linkedin.metadata.query.LocalRelationshipCriterionArray;
 import com.linkedin.metadata.query.LocalRelationshipFilter;
 import com.linkedin.metadata.query.LocalRelationshipValue;
 import com.linkedin.metadata.query.RelationshipField;
+import com.linkedin.metadata.query.SortOrder;
 import com.linkedin.metadata.query.UrnField;
 import com.linkedin.testing.AspectBar;
 import com.linkedin.testing.AspectFoo;
@@ -99,6 +101,24 @@ public class SQLStatementUtilsTest {
     assertEquals(SQLStatementUtils.createAspectUpsertSql(fooUrn, AspectFoo.class, false, false), expectedSql);
   }
 
+  @Test
+  public void testCreateMultiAspectUpsertSql() {
+    FooUrn fooUrn = makeFooUrn(1);
+    String expectedSql = "INSERT INTO metadata_entity_foo (urn, a_urn, lastmodifiedon, lastmodifiedby, a_aspectfoo, a_aspectbar) "
+        + "VALUES (:urn0, :a_urn0, :lastmodifiedon0, :lastmodifiedby0, :metadata0_0, :metadata0_1), "
+        + "(:urn1, :a_urn1, :lastmodifiedon1, :lastmodifiedby1, :metadata1_0, :metadata1_1) "
+        + "ON DUPLICATE KEY UPDATE a_aspectfoo = VALUES(a_aspectfoo), a_aspectbar = VALUES(a_aspectbar), "
+        + "lastmodifiedon = VALUES(lastmodifiedon), a_urn = VALUES(a_urn), deleted_ts = NULL;";
+    assertEquals(SQLStatementUtils.createMultiAspectUpsertSql(fooUrn, Arrays.asList(AspectFoo.class, AspectBar.class), 2,
+        true, false), expectedSql);
+
+    expectedSql = "INSERT INTO metadata_entity_foo_test (urn, lastmodifiedon, lastmodifiedby, a_aspectfoo) "
+        + "VALUES (:urn0, :lastmodifiedon0, :lastmodifiedby0, :metadata0_0) "
+        + "ON DUPLICATE KEY UPDATE a_aspectfoo = VALUES(a_aspectfoo), lastmodifiedon = VALUES(lastmodifiedon), deleted_ts = NULL;";
+    assertEquals(SQLStatementUtils.createMultiAspectUpsertSql(fooUrn, Collections.singletonList(AspectFoo.class), 1,
+        false, true), expectedSql);
+  }
+
   @Test
   public void testCreateInsertAspectSql() {
     String expectedSql = "INSERT INTO %s (urn, a_urn, lastmodifiedon, lastmodifiedby,";
@@ -128,6 +148,10 @@ public class SQLStatementUtilsTest {
     // isTestMode=false
     expectedSql = "UPDATE metadata_entity_foo SET deleted_ts = NOW() WHERE urn = '" + fooUrn + "';";
     assertEquals(SQLStatementUtils.createSoftDeleteAssetSql(fooUrn, false), expectedSql);
+
+    // urn bound to the :urn parameter
+    expectedSql = "UPDATE metadata_entity_foo SET deleted_ts = NOW() WHERE urn = :urn;";
+    assertEquals(SQLStatementUtils.createParameterizedSoftDeleteAssetSql(fooUrn, false), expectedSql);
   }
 
   @Test
@@ -153,6 +177,34 @@ public class SQLStatementUtilsTest {
             + "WHERE urn IN ('urn:li:foo:1', 'urn:li:foo:2') "
             + "AND deleted_ts IS NULL";
     assertEquals(SQLStatementUtils.createAspectReadSql(AspectFoo.class, set, true, false), expectedSql);
+
+    final Map<String, Object> parameters = SQLStatementUtils.getUrnParameters(set);
+    assertEquals(parameters.keySet(), new HashSet<>(Arrays.asList("urn0", "urn1")));
+    assertEquals(new HashSet<>(parameters.values()), new HashSet<>(Arrays.asList("urn:li:foo:1", "urn:li:foo:2")));
+  }
+
+  @Test
+  public void testCreateAspectsReadSql() {
+    FooUrn fooUrn1 = makeFooUrn(1);
+    FooUrn fooUrn2 = makeFooUrn(2);
+    Set<Urn> urns = new HashSet<>();
+    urns.add(fooUrn1);
+    urns.add(fooUrn2);
+    Set<Class<? extends RecordTemplate>> aspectClasses = new HashSet<>();
+    aspectClasses.add(AspectFoo.class);
+    aspectClasses.add(AspectBar.class);
+
+    String expectedSql =
+        "SELECT urn, a_aspectbar, a_aspectfoo, lastmodifiedon, lastmodifiedby "
+            + "FROM metadata_entity_foo "
+            + "WHERE urn IN (:urn0, :urn1) "
+            + "AND deleted_ts IS NULL";
+    assertEquals(SQLStatementUtils.createAspectsReadSql(aspectClasses, urns, false), expectedSql);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testCreateAspectsReadSqlWithoutAspects() {
+    SQLStatementUtils.createAspectsReadSql(Collections.emptySet(), Collections.singleton(makeFooUrn(1)), false);
   }
 
   @Test
@@ -196,6 +248,71 @@ public class SQLStatementUtilsTest {
     assertEquals(sql2, expectedSql2);
   }
 
+  @Test
+  public void testCreateFilterAfterSql() {
+    IndexFilter indexFilter = new IndexFilter().setCriteria(new IndexCriterionArray(
+        SQLIndexFilterUtils.createIndexCriterion(AspectFoo.class, "value", Condition.GREATER_THAN_OR_EQUAL_TO,
+            IndexValue.create(25))));
+    String whereClause = "WHERE a_aspectfoo IS NOT NULL\n" + "AND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL\n"
+        + "AND i_aspectfoo$value >= 25\n" + "AND deleted_ts IS NULL";
+
+    // first page, no sort criterion
+    String sql1 = SQLStatementUtils.createFilterAfterSql("foo", indexFilter, null, false, false, 11, false, mockValidator);
+    assertEquals(sql1, "SELECT urn FROM metadata_entity_foo\n" + whereClause + "\nORDER BY urn LIMIT 11");
+
+    // following page, no sort criterion
+    String sql2 = SQLStatementUtils.createFilterAfterSql("foo", indexFilter, null, true, false, 11, false, mockValidator);
+    assertEquals(sql2,
+        "SELECT urn FROM metadata_entity_foo\n" + whereClause + "\nAND urn > :lastUrn\nORDER BY urn LIMIT 11");
+
+    // following page, descending sort criterion
+    IndexSortCriterion indexSortCriterion =
+        SQLIndexFilterUtils.createIndexSortCriterion(AspectFoo.class, "value", SortOrder.DESCENDING);
+    String selectSortValue = "SELECT urn, i_aspectfoo$value AS _sort_value FROM metadata_entity_foo\n";
+    String sql3 =
+        SQLStatementUtils.createFilterAfterSql("foo", indexFilter, indexSortCriterion, true, true, 11, false, mockValidator);
+    assertEquals(sql3, selectSortValue + whereClause + "\nAND (i_aspectfoo$value < :lastSortValue"
+        + " OR (i_aspectfoo$value = :lastSortValue AND urn > :lastUrn) OR i_aspectfoo$value IS NULL)"
+        + "\nORDER BY i_aspectfoo$value DESC, urn LIMIT 11");
+
+    // following page, descending sort criterion, after an urn having a NULL sort value
+    String sql4 =
+        SQLStatementUtils.createFilterAfterSql("foo", indexFilter, indexSortCriterion, true, false, 11, false, mockValidator);
+    assertEquals(sql4, selectSortValue + whereClause + "\nAND (i_aspectfoo$value IS NULL AND urn > :lastUrn)"
+        + "\nORDER BY i_aspectfoo$value DESC, urn LIMIT 11");
+
+    // following page, ascending sort criterion
+    indexSortCriterion.setOrder(SortOrder.ASCENDING);
+    String sql5 =
+        SQLStatementUtils.createFilterAfterSql("foo", indexFilter, indexSortCriterion, true, true, 11, false, mockValidator);
+    assertEquals(sql5, selectSortValue + whereClause + "\nAND (i_aspectfoo$value > :lastSortValue"
+        + " OR (i_aspectfoo$value = :lastSortValue AND urn > :lastUrn))"
+        + "\nORDER BY i_aspectfoo$value ASC, urn LIMIT 11");
+
+    // following page, ascending sort criterion, after an urn having a NULL sort value
+    String sql6 =
+        SQLStatementUtils.createFilterAfterSql("foo", indexFilter, indexSortCriterion, true, false, 11, false, mockValidator);
+    assertEquals(sql6, selectSortValue + whereClause
+        + "\nAND (i_aspectfoo$value IS NOT NULL OR (i_aspectfoo$value IS NULL AND urn > :lastUrn))"
+        + "\nORDER BY i_aspectfoo$value ASC, urn LIMIT 11");
+
+    String countSql = SQLStatementUtils.createFilterCountSql("foo", indexFilter, false, mockValidator);
+    assertEquals(countSql, "SELECT COUNT(urn) as _total_count FROM metadata_entity_foo\n" + whereClause);
+  }
+
+  @Test
+  public void testCreateListAspectAfterSql() {
+    assertEquals(SQLStatementUtils.createListAspectAfterSql(AspectFoo.class, "foo", true, true, 11),
+        "SELECT urn FROM metadata_entity_foo WHERE a_aspectfoo IS NOT NULL AND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') "
+            + "IS NULL AND urn > :lastUrn ORDER BY urn LIMIT 11");
+    assertEquals(SQLStatementUtils.createListAspectAfterSql(AspectFoo.class, "foo", false, false, 11),
+        "SELECT urn, a_aspectfoo, lastmodifiedon, lastmodifiedby, createdfor FROM metadata_entity_foo WHERE a_aspectfoo "
+            + "IS NOT NULL AND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL ORDER BY urn LIMIT 11");
+    assertEquals(SQLStatementUtils.createCountAspectSql(AspectFoo.class, "foo"),
+        "SELECT COUNT(urn) as _total_count FROM metadata_entity_foo WHERE a_aspectfoo IS NOT NULL "
+            + "AND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL");
+  }
+
   @Test
   public void testCreateFilterSqlWithArrayContainsCondition() {
     IndexFilter indexFilter = new IndexFilter();
@@ -692,6 +809,9 @@ public class SQLStatementUtilsTest {
     assertEquals(SQLStatementUtils.createListAspectByUrnSql(AspectFoo.class, fooUrn, false),
         "SELECT urn, a_aspectfoo, lastmodifiedon, lastmodifiedby, createdfor FROM "
             + "metadata_entity_foo WHERE urn = 'urn:li:foo:1' AND a_aspectfoo IS NOT NULL AND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL");
+    assertEquals(SQLStatementUtils.createParameterizedListAspectByUrnSql(AspectFoo.class, fooUrn, false),
+        "SELECT urn, a_aspectfoo, lastmodifiedon, lastmodifiedby, createdfor FROM "
+            + "metadata_entity_foo WHERE urn = :urn AND a_aspectfoo IS NOT NULL AND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL");
   }
 
   @Test
@@ -769,6 +889,9 @@ public class SQLStatementUtilsTest {
         + "WHERE urn = 'urn:li:foo:1' "
         + "AND deleted_ts IS NULL";
     assertConditionsEqual(SQLStatementUtils.createExistSql(fooUrn), expectedSql);
+
+    expectedSql = "SELECT urn FROM metadata_entity_foo WHERE urn = :urn AND deleted_ts IS NULL";
+    assertConditionsEqual(SQLStatementUtils.createParameterizedExistSql(fooUrn), expectedSql);
   }
 
   @Test
@@ -1443,4 +1566,50 @@ public class SQLStatementUtilsTest {
         mockValidator, false), "i_urn$value");
   }
 
-}
\ No newline at end of file
+  @Test
+  public void testAddWhereClauseParametersOfSameFilterShape() {
+    LocalRelationshipFilter filter1 = buildShapeTestFilter("urn:li:foo:1", new StringArray("a", "b"), "urn:li:");
+    LocalRelationshipFilter filter2 = buildShapeTestFilter("urn:li:foo:2", new StringArray("c", "d"), "urn:li:bar");
+
+    assertEquals(SQLStatementUtils.getLocalRelationshipFilterShape(filter1),
+        SQLStatementUtils.getLocalRelationshipFilterShape(filter2));
+    assertNotEquals(SQLStatementUtils.getLocalRelationshipFilterShape(filter1),
+        SQLStatementUtils.getLocalRelationshipFilterShape(buildShapeTestFilter("urn:li:foo:1", new StringArray("a"), "urn:li:")));
+
+    Map<Condition, String> supportedConditions = new HashMap<>();
+    supportedConditions.put(Condition.EQUAL, "=");
+    supportedConditions.put(Condition.IN, "IN");
+    supportedConditions.put(Condition.START_WITH, "LIKE");
+    Map<String, Object> parameters1 = new HashMap<>();
+    Map<String, Object> parameters2 = new HashMap<>();
+    String whereClause1 = SQLStatementUtils.whereClause(supportedConditions, false, mockValidator, parameters1,
+        new Triplet<>(filter1, "rt", PLACEHOLDER_TABLE_NAME));
+    String whereClause2 = SQLStatementUtils.whereClause(supportedConditions, false, mockValidator, parameters2,
+        new Triplet<>(filter2, "rt", PLACEHOLDER_TABLE_NAME));
+    assertEquals(whereClause1, whereClause2);
+
+    // binding the values of filter2 to the where clause built for filter1 gives the parameters of filter2's own where clause
+    Map<String, Object> boundParameters = new HashMap<>();
+    SQLStatementUtils.addWhereClauseParameters(boundParameters, new Triplet<>(filter2, "rt", PLACEHOLDER_TABLE_NAME));
+    assertEquals(boundParameters, parameters2);
+    assertEquals(new HashSet<>(boundParameters.values()),
+        new HashSet<>(Arrays.asList("urn:li:foo:2", "c", "d", "urn:li:bar%")));
+  }
+
+  private LocalRelationshipFilter buildShapeTestFilter(String urn, StringArray values, String prefix) {
+    LocalRelationshipCriterion equalCriterion = new LocalRelationshipCriterion()
+        .setField(LocalRelationshipCriterion.Field.create(new UrnField()))
+        .setCondition(Condition.EQUAL)
+        .setValue(LocalRelationshipValue.create(urn));
+    LocalRelationshipCriterion inCriterion = new LocalRelationshipCriterion()
+        .setField(LocalRelationshipCriterion.Field.create(new RelationshipField().setPath("/environment")))
+        .setCondition(Condition.IN)
+        .setValue(LocalRelationshipValue.create(values));
+    LocalRelationshipCriterion startWithCriterion = new LocalRelationshipCriterion()
+        .setField(LocalRelationshipCriterion.Field.create(new RelationshipField().setPath("/destination")))
+        .setCondition(Condition.START_WITH)
+        .setValue(LocalRelationshipValue.create(prefix));
+    return new LocalRelationshipFilter().setCriteria(
+        new LocalRelationshipCriterionArray(equalCriterion, inCriterion, startWithCriterion));
+  }
+}
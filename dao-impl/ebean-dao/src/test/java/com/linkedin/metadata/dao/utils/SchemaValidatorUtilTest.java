@@ -84,6 +84,26 @@ public class SchemaValidatorUtilTest {
     }
   }
 
+  @Test
+  public void testPrewarm() {
+    // fresh spy, so that no stubbing of other tests applies
+    EbeanServer serverSpy = spy(EmbeddedMariaInstance.getServer(SchemaValidatorUtilTest.class.getSimpleName()));
+    SchemaValidatorUtil prewarmedValidator = new SchemaValidatorUtil(serverSpy);
+    prewarmedValidator.prewarm();
+    clearInvocations(serverSpy);
+
+    // columns and indexes of all metadata tables were loaded by the bulk queries, no query per table is needed
+    assertTrue(prewarmedValidator.columnExists("metadata_entity_foo", "a_aspectfoo"));
+    assertFalse(prewarmedValidator.columnExists("metadata_entity_foo", "a_aspect_not_exist"));
+    assertTrue(prewarmedValidator.indexExists("metadata_entity_foo", "PRIMARY"));
+    verify(serverSpy, never()).createSqlQuery(anyString());
+
+    // invalidated tables are loaded again on their first check
+    prewarmedValidator.invalidateAll();
+    assertTrue(prewarmedValidator.columnExists("metadata_entity_foo", "a_aspectfoo"));
+    verify(serverSpy, times(1)).createSqlQuery(anyString());
+  }
+
   // These are all real examples of expressions used to create functional indexes
   // https://docs.google.com/document/d/1OSfx9DAXuPLlOaHWkn2o_WUlzNp1xZ1R_D63TNPZIG4/edit?tab=t.0#bookmark=id.y4f15dapxdh8
   @Test
@@ -2,6 +2,7 @@ package com.linkedin.metadata.dao.browse;
 
 import com.linkedin.data.schema.RecordDataSchema;
 import com.linkedin.data.template.RecordTemplate;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.Set;
 import javax.annotation.Nonnull;
@@ -78,5 +79,68 @@ public abstract class BaseBrowseConfig<DOCUMENT extends RecordTemplate> {
     return Collections.singleton("");
   }
 
+  /**
+   * Limitation on number of browse paths loaded into cache during DAO instantiation.
+   * Limitation needed to avoid traffic spike and slow DAO instantiation.
+   * @return the maximum number of eagerly loaded browse paths.
+   */
+  public int getCacheEagerLoadLimit() {
+    return 5;
+  }
+
+  /**
+   * Only the groups of browse paths up to this depth are cached. Deeper paths have fewer documents and are fast enough
+   * to query directly.
+   * @return the maximum depth of cached browse paths.
+   */
+  public int getMaximumCachedDepth() {
+    return 2;
+  }
+
+  /**
+   * Maximum total weight of the cache, where the weight of an entry is the number of groups in its response.
+   * Larger weight results in more memory consumption.
+   * @return the maximum weight of the cache.
+   */
+  public long getCacheMaximumWeight() {
+    return 100_000;
+  }
+
+  /**
+   * How often an entry which is still read is refreshed in the background. Longer interval results in more staleness.
+   * @return the refresh interval of the cache.
+   */
+  @Nonnull
+  public Duration getCacheRefreshInterval() {
+    return Duration.ofHours(1);
+  }
+
+  /**
+   * How long an entry is kept in the cache after it was last loaded or refreshed. Entries which are not read anymore are
+   * not refreshed, and are evicted after this duration.
+   * @return the time to live of cache entries.
+   */
+  @Nonnull
+  public Duration getCacheTimeToLive() {
+    return Duration.ofHours(6);
+  }
+
+  /**
+   * Number of threads dedicated to refreshing cache entries in the background.
+   * @return the size of the refresh thread pool.
+   */
+  public int getCacheRefreshThreadCount() {
+    return 2;
+  }
+
+  /**
+   * Whether browse requests with filters are cached. Filters are part of the cache key, so each distinct set of filters is
+   * cached separately.
+   * @return whether filtered browse requests are cached.
+   */
+  public boolean shouldCacheFilteredBrowse() {
+    return true;
+  }
+
   public abstract Class<DOCUMENT> getSearchDocument();
 }
@@ -0,0 +1,116 @@
+package com.linkedin.metadata.dao.browse;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.search.aggregations.Aggregation;
+import org.elasticsearch.search.aggregations.bucket.terms.ParsedTerms;
+
+
+/**
+ * Cache of the groups search responses of {@link ESBrowseDAO}, keyed by browse path and filters.
+ *
+ * <p>Entries are weighed by the number of groups in the response and evicted once the total weight goes over
+ * {@link BaseBrowseConfig#getCacheMaximumWeight()}. Entries which are still read are refreshed in the background on a
+ * dedicated executor, so that refreshes never compete with browse requests for threads.</p>
+ */
+@Slf4j
+class BrowseGroupsCache {
+
+  /**
+   * Cache key. Filters on fields which are not in the search document are ignored by the query, so they are dropped, and
+   * the remaining filters are sorted so that the same filters given in a different order share the entry.
+   */
+  @Value
+  static class Key {
+    String path;
+    SortedMap<String, String> filters;
+  }
+
+  private final BaseBrowseConfig _config;
+  private final LoadingCache<Key, SearchResponse> _cache;
+
+  BrowseGroupsCache(@Nonnull BaseBrowseConfig config, @Nonnull CacheLoader<Key, SearchResponse> loader) {
+    _config = config;
+
+    final ExecutorService refreshExecutor = Executors.newFixedThreadPool(config.getCacheRefreshThreadCount(),
+        new ThreadFactoryBuilder().setNameFormat("es-browse-cache-refresh-%d").setDaemon(true).build());
+
+    _cache = Caffeine.newBuilder()
+        .maximumWeight(config.getCacheMaximumWeight())
+        .weigher((Key key, SearchResponse response) -> weigh(response))
+        .refreshAfterWrite(config.getCacheRefreshInterval())
+        .expireAfterWrite(config.getCacheTimeToLive())
+        .executor(refreshExecutor)
+        .recordStats()
+        .build(loader);
+  }
+
+  /**
+   * Pre-loads the groups of the given unfiltered browse paths. Any exception is logged and swallowed.
+   */
+  void eagerLoad(@Nonnull Set<String> paths) {
+    try {
+      _cache.getAll(paths.stream()
+          .limit(_config.getCacheEagerLoadLimit())
+          .map(path -> new Key(path, Collections.emptySortedMap()))
+          .collect(Collectors.toSet()));
+    } catch (Exception e) {
+      log.error("Pre-loading cache during ESBrowseDAO instantiation failed: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Returns the cache key of a browse request, or null if the request should not be cached.
+   */
+  @Nullable
+  Key key(@Nonnull String path, @Nonnull Map<String, String> requestMap) {
+    if (ESBrowseDAO.getPathDepth(path) > _config.getMaximumCachedDepth()) {
+      return null;
+    }
+    if (!requestMap.isEmpty() && !_config.shouldCacheFilteredBrowse()) {
+      return null;
+    }
+
+    final SortedMap<String, String> filters = new TreeMap<>();
+    requestMap.forEach((field, value) -> {
+      if (_config.hasFieldInSchema(field)) {
+        filters.put(field, value);
+      }
+    });
+    return new Key(path, Collections.unmodifiableSortedMap(filters));
+  }
+
+  @Nonnull
+  SearchResponse get(@Nonnull Key key) {
+    return _cache.get(key);
+  }
+
+  @Nonnull
+  CacheStats stats() {
+    return _cache.stats();
+  }
+
+  private static int weigh(@Nonnull SearchResponse response) {
+    if (response.getAggregations() == null) {
+      return 1;
+    }
+    final Aggregation groups = response.getAggregations().getAsMap().get("groups");
+    return groups instanceof ParsedTerms ? 1 + ((ParsedTerms) groups).getBuckets().size() : 1;
+  }
+}
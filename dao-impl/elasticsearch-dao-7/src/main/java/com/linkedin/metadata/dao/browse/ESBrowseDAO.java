@@ -1,7 +1,6 @@
 package com.linkedin.metadata.dao.browse;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.linkedin.common.urn.Urn;
@@ -18,20 +17,16 @@ import com.linkedin.metadata.query.BrowseResultMetadata;
 import com.linkedin.metadata.query.Filter;
 import java.io.IOException;
 import java.net.URISyntaxException;
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
@@ -62,7 +57,7 @@ import org.elasticsearch.search.sort.SortOrder;
 public class ESBrowseDAO extends BaseBrowseDAO {
   private final RestHighLevelClient _client;
   private final BaseBrowseConfig _config;
-  private LoadingCache<String, SearchResponse> _cache = null;
+  private BrowseGroupsCache _cache = null;
   private int _lowerBoundHits = Integer.MAX_VALUE;
 
   private static final int THREAD_COUNT = 25;
@@ -76,23 +71,22 @@ public class ESBrowseDAO extends BaseBrowseDAO {
     this._config = config;
 
     if (config.enableCache()) {
-      _cache = Caffeine.newBuilder()
-          .maximumSize(CacheConfig.MAXIMUM_CACHED_RESULT)
-          .refreshAfterWrite(CacheConfig.REFRESH_INTERVAL)
-          .build(key -> sendGroupsSearchRequest(key, new HashMap<>()));
+      _cache = new BrowseGroupsCache(config, key -> sendGroupsSearchRequest(key.getPath(), key.getFilters()));
 
       // Pre-loading some browse paths search result into the cache upon instance instantiation.
       // Any exception occurred is catched and should not block instantiation.
-      try {
-        _cache.getAll((Set<String>) config.eagerLoadCachedBrowsePaths().stream()
-            .limit(CacheConfig.EAGER_LOAD_LIMITATION)
-            .collect(Collectors.toSet()));
-      } catch (Exception e) {
-        log.error("Pre-loading cache during ESBrowseDAO instantiation failed: " + e.getMessage());
-      }
+      _cache.eagerLoad(config.eagerLoadCachedBrowsePaths());
     }
   }
 
+  /**
+   * Returns hit / miss / load / eviction statistics of the browse cache, which are empty if the cache is disabled.
+   */
+  @Nonnull
+  public CacheStats getCacheStats() {
+    return _cache == null ? CacheStats.empty() : _cache.stats();
+  }
+
   /**
    * Set "track_total_hits" query parameter to a custom lower bound if you do not need accurate results. It is a good
    * trade off to speed up searches if you don’t need the accurate number of hits after a certain threshold.
@@ -332,7 +326,7 @@ public class ESBrowseDAO extends BaseBrowseDAO {
         .orElse(null);
   }
 
-  private static int getPathDepth(@Nonnull String path) {
+  static int getPathDepth(@Nonnull String path) {
     return StringUtils.countMatches(path, "/");
   }
 
@@ -340,15 +334,15 @@ public class ESBrowseDAO extends BaseBrowseDAO {
   private SearchResponse cachedGroupSearchResponse(@Nonnull String path, @Nonnull Map<String, String> requestMap) throws Exception {
     /*
      * If cache is null / not enabled, directly call ES.
-     * Or if request map is not empty, directly call ES.
-     * Or if browse path is greater than MAXIMUM_CACHED_DEPTH, directly call ES. We don't want to cache too much
+     * Or if browse path is greater than the maximum cached depth, directly call ES. We don't want to cache too much
      * data in-memory, only caching the slower requests is enough.
      */
-    if (_cache == null || !requestMap.isEmpty() || getPathDepth(path) > CacheConfig.MAXIMUM_CACHED_DEPTH) {
+    final BrowseGroupsCache.Key key = _cache == null ? null : _cache.key(path, requestMap);
+    if (key == null) {
       return sendGroupsSearchRequest(path, requestMap);
     }
 
-    return _cache.get(path);
+    return _cache.get(key);
   }
 
   @Nonnull
@@ -384,27 +378,4 @@ public class ESBrowseDAO extends BaseBrowseDAO {
     }
     return (List<String>) sourceMap.get(_config.getBrowsePathFieldName());
   }
-
-  private static class CacheConfig {
-    /**
-     * Maximum level of browse path depth will be cached.
-     */
-    private static final int MAXIMUM_CACHED_DEPTH = 2;
-
-    /**
-     * Maximum number of results cached. Larger number results in more memory consumption.
-     */
-    private static final int MAXIMUM_CACHED_RESULT = 100;
-
-    /**
-     * How often cache is refreshed. Longer refresh time will result in staleness in cache.
-     */
-    private static final Duration REFRESH_INTERVAL = Duration.ofHours(1);
-
-    /**
-     * Limitation on number of results loaded into cache during DAO instance initiation.
-     * Limitation needed to avoid traffic spike and slow DAO instantiation.
-     */
-    private static final int EAGER_LOAD_LIMITATION = 5;
-  }
 }
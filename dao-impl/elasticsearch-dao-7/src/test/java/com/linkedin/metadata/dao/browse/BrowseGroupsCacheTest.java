@@ -0,0 +1,67 @@
+package com.linkedin.metadata.dao.browse;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.elasticsearch.action.search.SearchResponse;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+
+public class BrowseGroupsCacheTest {
+  private AtomicInteger _loadCount;
+  private BrowseGroupsCache _cache;
+
+  @BeforeMethod
+  public void setup() {
+    _loadCount = new AtomicInteger();
+    _cache = new BrowseGroupsCache(new TestBrowseConfig(), key -> {
+      _loadCount.incrementAndGet();
+      return mock(SearchResponse.class);
+    });
+  }
+
+  @Test
+  public void testKeyNormalizesFilters() {
+    BrowseGroupsCache.Key key1 = _cache.key("/foo", ImmutableMap.of("value", "bar", "urn", "urn:li:foo:1"));
+    BrowseGroupsCache.Key key2 = _cache.key("/foo", ImmutableMap.of("urn", "urn:li:foo:1", "value", "bar", "unknown", "baz"));
+
+    // filters on fields not in the search document are ignored, and filters order does not matter
+    assertEquals(key1, key2);
+    assertNotEquals(key1, _cache.key("/foo", Collections.emptyMap()));
+    assertNotEquals(key1, _cache.key("/bar", ImmutableMap.of("value", "bar", "urn", "urn:li:foo:1")));
+
+    // paths deeper than the maximum cached depth are not cached
+    assertNull(_cache.key("/foo/bar/baz", Collections.emptyMap()));
+  }
+
+  @Test
+  public void testFilteredBrowseIsCached() {
+    BrowseGroupsCache.Key key = _cache.key("/foo", ImmutableMap.of("value", "bar"));
+
+    SearchResponse response = _cache.get(key);
+    assertSame(_cache.get(_cache.key("/foo", ImmutableMap.of("value", "bar"))), response);
+    assertEquals(_loadCount.get(), 1);
+    assertEquals(_cache.stats().hitCount(), 1);
+    assertEquals(_cache.stats().missCount(), 1);
+
+    _cache.get(_cache.key("/foo", ImmutableMap.of("value", "baz")));
+    assertEquals(_loadCount.get(), 2);
+  }
+
+  @Test
+  public void testFilteredBrowseCacheDisabled() {
+    BrowseGroupsCache cache = new BrowseGroupsCache(new TestBrowseConfig() {
+      @Override
+      public boolean shouldCacheFilteredBrowse() {
+        return false;
+      }
+    }, key -> mock(SearchResponse.class));
+
+    assertNull(cache.key("/foo", ImmutableMap.of("value", "bar")));
+    assertNotNull(cache.key("/foo", Collections.emptyMap()));
+  }
+}
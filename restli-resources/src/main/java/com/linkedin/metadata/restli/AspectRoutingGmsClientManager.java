@@ -1,9 +1,11 @@
 package com.linkedin.metadata.restli;
 
 import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.dao.utils.ExecutorUtils;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import lombok.extern.slf4j.Slf4j;
@@ -15,9 +17,18 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class AspectRoutingGmsClientManager {
 
+  private static final long DEFAULT_ROUTING_CALL_TIMEOUT_MS = 5000;
+  private static final int DEFAULT_ROUTING_CALL_THREADS = 32;
+  private static final int DEFAULT_ROUTING_CALL_QUEUE_SIZE = 1000;
+
   private Map<Class<? extends RecordTemplate>, RoutingAspectConfig> _routingGmsClientConfigMap =
       new ConcurrentHashMap<>();
 
+  // Executor of the routing GMS calls, shared by all managers unless set otherwise
+  private Executor _routingCallExecutor = null;
+
+  private long _routingCallTimeoutMs = DEFAULT_ROUTING_CALL_TIMEOUT_MS;
+
   private static class RoutingAspectConfig {
     private final BaseAspectRoutingGmsClient gmsClient;
     private final String setterName;
@@ -60,16 +71,55 @@ public class AspectRoutingGmsClientManager {
   }
 
   /**
-   * get all the registered gms clients.
+   * get all the registered gms clients. A client registered for multiple routing aspects is only returned once.
    * @return a list of {@link BaseAspectRoutingGmsClient}
    */
   public List<BaseAspectRoutingGmsClient> getRegisteredRoutingGmsClients() {
-    return _routingGmsClientConfigMap.values().stream().map(routingAspectConfig -> routingAspectConfig.gmsClient).collect(
-        Collectors.toList());
+    return _routingGmsClientConfigMap.values().stream().map(routingAspectConfig -> routingAspectConfig.gmsClient)
+        .distinct().collect(Collectors.toList());
+  }
+
+  /**
+   * Sets the executor the calls to the routing GMS run on, so that the calls of a request run concurrently with each
+   * other and with the local DAO reads. Defaults to a pool of {@value #DEFAULT_ROUTING_CALL_THREADS} threads shared by
+   * all managers.
+   *
+   * @param routingCallExecutor executor to run the calls on. The manager does not shut it down.
+   */
+  public void setRoutingCallExecutor(@Nonnull Executor routingCallExecutor) {
+    _routingCallExecutor = routingCallExecutor;
+  }
+
+  /**
+   * Get the executor the calls to the routing GMS run on, see {@link #setRoutingCallExecutor(Executor)}.
+   */
+  @Nonnull
+  public Executor getRoutingCallExecutor() {
+    return _routingCallExecutor != null ? _routingCallExecutor : DefaultRoutingCallExecutorHolder.INSTANCE;
+  }
+
+  /**
+   * Sets the max time in milliseconds a read waits for the routing GMS calls it started. Aspects whose call did not
+   * complete in time are left out of the result. Defaults to {@value #DEFAULT_ROUTING_CALL_TIMEOUT_MS}.
+   */
+  public void setRoutingCallTimeoutMs(long routingCallTimeoutMs) {
+    if (routingCallTimeoutMs <= 0) {
+      throw new IllegalArgumentException("Routing call timeout must be positive: " + routingCallTimeoutMs);
+    }
+    _routingCallTimeoutMs = routingCallTimeoutMs;
+  }
+
+  public long getRoutingCallTimeoutMs() {
+    return _routingCallTimeoutMs;
   }
 
   @Override
   public String toString() {
     return "AspectRoutingGmsClientManager{" + "_routingGmsClientConfigMap=" + _routingGmsClientConfigMap + '}';
   }
+
+  private static class DefaultRoutingCallExecutorHolder {
+    private static final Executor INSTANCE = ExecutorUtils.newBoundedIoExecutor("aspect-routing-call-",
+        DEFAULT_ROUTING_CALL_THREADS, DEFAULT_ROUTING_CALL_QUEUE_SIZE);
+  }
 }
@@ -35,6 +35,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
@@ -121,12 +125,13 @@ public abstract class BaseAspectRoutingResource<
       final URN urn = toUrn(id);
       BaseLocalDAO<INTERNAL_ASPECT_UNION, URN> shadowReadLocalDAO = getShadowReadLocalDAO();
       if (!getLocalDAO().exists(urn)) {
-        if (shadowReadLocalDAO != null && shadowReadLocalDAO.exists(urn)) {
-          // If the entity exists in shadow DAO, we can return an empty value.
-          log.warn("Entity {} exists in shadow DAO but not in local DAO. Ignoring shadow-only data.", urn);
+        if (shadowReadLocalDAO != null) {
+          checkShadowOnlyEntity(urn, shadowReadLocalDAO);
         }
         throw RestliUtils.resourceNotFoundException(String.format("Cannot find entity {%s} from Master GMS.", urn));
       }
+      // Read the routing aspects concurrently with the local aspects
+      final RoutingGmsCalls routingGmsCalls = getValueFromRoutingGmsAsync(urn, getRoutingAspects(aspectClasses));
       final Set<Class<? extends RecordTemplate>> nonRoutingAspects = getNonRoutingAspects(aspectClasses);
       final VALUE valueFromLocalDao;
       if (nonRoutingAspects.isEmpty()) {
@@ -135,7 +140,7 @@ public abstract class BaseAspectRoutingResource<
       } else {
         valueFromLocalDao = getValueFromLocalDao(id, nonRoutingAspects, isInternalModelsEnabled);
       }
-      return merge(valueFromLocalDao, getValueFromRoutingGms(toUrn(id), getRoutingAspects(aspectClasses)));
+      return merge(valueFromLocalDao, awaitValueFromRoutingGms(urn, routingGmsCalls));
     });
   }
 
@@ -172,14 +177,13 @@ public abstract class BaseAspectRoutingResource<
           return ModelUtils.newSnapshot(_snapshotClass, urn,
               convertInternalAspectUnionToAspectUnion(_aspectUnionClass, aspectUnions));
         } else {
+          // Read the routing aspects concurrently with the local aspects
+          final RoutingGmsCalls routingGmsCalls = getValueFromRoutingGmsAsync(urn, getRoutingAspects(aspectClasses));
           final Set<Class<? extends RecordTemplate>> nonRoutingAspects = getNonRoutingAspects(aspectClasses);
           final List<INTERNAL_ASPECT_UNION> aspectsFromLocalDao =
               getInternalAspectsFromLocalDao(urn, nonRoutingAspects);
-          final Set<Class<? extends RecordTemplate>> routingAspects = getRoutingAspects(aspectClasses);
-          final List<INTERNAL_ASPECT_UNION> aspectsFromGms = routingAspects.stream()
-              .map(routingAspect -> getInternalAspectsFromGms(urn, routingAspect))
-              .flatMap(List::stream)
-              .collect(Collectors.toList());
+          final List<INTERNAL_ASPECT_UNION> aspectsFromGms =
+              toAspectUnions(_internalAspectUnionClass, awaitValueFromRoutingGms(urn, routingGmsCalls));
           return ModelUtils.newSnapshot(_snapshotClass, urn, convertInternalAspectUnionToAspectUnion(_aspectUnionClass,
               Stream.concat(aspectsFromGms.stream(), aspectsFromLocalDao.stream()).collect(Collectors.toList())));
         }
@@ -191,13 +195,12 @@ public abstract class BaseAspectRoutingResource<
           final List<ASPECT_UNION> aspectUnions = getAspectsFromLocalDao(urn, aspectClasses);
           return ModelUtils.newSnapshot(_snapshotClass, urn, aspectUnions);
         } else {
+          // Read the routing aspects concurrently with the local aspects
+          final RoutingGmsCalls routingGmsCalls = getValueFromRoutingGmsAsync(urn, getRoutingAspects(aspectClasses));
           final Set<Class<? extends RecordTemplate>> nonRoutingAspects = getNonRoutingAspects(aspectClasses);
           final List<ASPECT_UNION> aspectsFromLocalDao = getAspectsFromLocalDao(urn, nonRoutingAspects);
-          final Set<Class<? extends RecordTemplate>> routingAspects = getRoutingAspects(aspectClasses);
-          final List<ASPECT_UNION> aspectsFromGms = routingAspects.stream()
-              .map(routingAspect -> getAspectsFromGms(urn, routingAspect))
-              .flatMap(List::stream)
-              .collect(Collectors.toList());
+          final List<ASPECT_UNION> aspectsFromGms =
+              toAspectUnions(_aspectUnionClass, awaitValueFromRoutingGms(urn, routingGmsCalls));
           return ModelUtils.newSnapshot(_snapshotClass, urn,
               Stream.concat(aspectsFromGms.stream(), aspectsFromLocalDao.stream()).collect(Collectors.toList()));
         }
@@ -223,14 +226,13 @@ public abstract class BaseAspectRoutingResource<
           final List<INTERNAL_ASPECT_UNION> aspectUnions = getInternalAspectsFromLocalDao(urn, aspectClasses);
           return ModelUtils.newAsset(_assetClass, urn, aspectUnions);
         } else {
+          // Read the routing aspects concurrently with the local aspects
+          final RoutingGmsCalls routingGmsCalls = getValueFromRoutingGmsAsync(urn, getRoutingAspects(aspectClasses));
           final Set<Class<? extends RecordTemplate>> nonRoutingAspects = getNonRoutingAspects(aspectClasses);
           final List<INTERNAL_ASPECT_UNION> aspectsFromLocalDao =
               getInternalAspectsFromLocalDao(urn, nonRoutingAspects);
-          final Set<Class<? extends RecordTemplate>> routingAspects = getRoutingAspects(aspectClasses);
-          final List<INTERNAL_ASPECT_UNION> aspectsFromGms = routingAspects.stream()
-              .map(routingAspect -> getInternalAspectsFromGms(urn, routingAspect))
-              .flatMap(List::stream)
-              .collect(Collectors.toList());
+          final List<INTERNAL_ASPECT_UNION> aspectsFromGms =
+              toAspectUnions(_internalAspectUnionClass, awaitValueFromRoutingGms(urn, routingGmsCalls));
           return ModelUtils.newAsset(_assetClass, urn,
               Stream.concat(aspectsFromGms.stream(), aspectsFromLocalDao.stream()).collect(Collectors.toList()));
         }
@@ -573,8 +575,15 @@ public abstract class BaseAspectRoutingResource<
         .collect(Collectors.toSet());
 
     BaseLocalDAO<INTERNAL_ASPECT_UNION, URN> shadowReadLocalDAO = getShadowReadLocalDAO();
-    if (shadowReadLocalDAO == null) {
-      return getLocalDAO().get(keys)
+    final ShadowReadComparator shadowReadComparator = getShadowReadComparator();
+    if (shadowReadLocalDAO == null || shadowReadComparator != null) {
+      final Map<AspectKey<URN, ? extends RecordTemplate>, java.util.Optional<? extends RecordTemplate>> localResults =
+          getLocalDAO().get(keys);
+      if (shadowReadLocalDAO != null) {
+        // the local values are what the inline comparison would return, so compare in the background
+        shadowReadComparator.compareAsync(keys, localResults, shadowReadLocalDAO);
+      }
+      return localResults
           .values()
           .stream()
           .filter(java.util.Optional::isPresent)
@@ -634,31 +643,15 @@ public abstract class BaseAspectRoutingResource<
   }
 
   /**
-   * Get aspect value from routing aspect GMS.
+   * Wrap aspect values from routing aspect GMS into aspect unions.
    */
   @Nonnull
   @ParametersAreNonnullByDefault
-  private List<ASPECT_UNION> getAspectsFromGms(URN urn, Class aspectClass) {
-    final List<? extends RecordTemplate> routingAspects =
-        getValueFromRoutingGms(urn, Collections.singletonList(aspectClass));
-    if (routingAspects.isEmpty()) {
-      return new ArrayList<>();
-    }
-    return Collections.singletonList(ModelUtils.newAspectUnion(_aspectUnionClass, routingAspects.get(0)));
-  }
-
-  /**
-   * Get internal aspect value from routing aspect GMS.
-   */
-  @Nonnull
-  @ParametersAreNonnullByDefault
-  private List<INTERNAL_ASPECT_UNION> getInternalAspectsFromGms(URN urn, Class aspectClass) {
-    final List<? extends RecordTemplate> routingAspects =
-        getValueFromRoutingGms(urn, Collections.singletonList(aspectClass));
-    if (routingAspects.isEmpty()) {
-      return new ArrayList<>();
-    }
-    return Collections.singletonList(ModelUtils.newAspectUnion(_internalAspectUnionClass, routingAspects.get(0)));
+  private <UNION extends UnionTemplate> List<UNION> toAspectUnions(Class<UNION> aspectUnionClass,
+      List<? extends RecordTemplate> routingAspects) {
+    return routingAspects.stream()
+        .map(routingAspect -> ModelUtils.newAspectUnion(aspectUnionClass, routingAspect))
+        .collect(Collectors.toList());
   }
 
   /**
@@ -724,11 +717,16 @@ public abstract class BaseAspectRoutingResource<
   @Nonnull
   private BackfillResult backfillWithDefault(@Nonnull final Set<URN> urns, @Nonnull final String entityType) {
     try {
-      List<BackfillResult> backfillResults = getAspectRoutingGmsClientManager().getRegisteredRoutingGmsClients()
+      final AspectRoutingGmsClientManager clientManager = getAspectRoutingGmsClientManager();
+      // a single call per routing GMS for all the urns, the routing GMS being called concurrently
+      List<CompletableFuture<BackfillResult>> backfillCalls = clientManager.getRegisteredRoutingGmsClients()
           .stream()
           .filter(baseAspectRoutingGmsClient -> entityType.equals(baseAspectRoutingGmsClient.getEntityType()))
-          .map(baseAspectRoutingGmsClient -> baseAspectRoutingGmsClient.backfill(urns))
+          .map(baseAspectRoutingGmsClient -> CompletableFuture.supplyAsync(
+              () -> baseAspectRoutingGmsClient.backfill(urns), clientManager.getRoutingCallExecutor()))
           .collect(Collectors.toList());
+      List<BackfillResult> backfillResults =
+          backfillCalls.stream().map(CompletableFuture::join).collect(Collectors.toList());
       return merge(null, backfillResults.toArray(new BackfillResult[0]));
     } catch (Exception exception) {
       log.error(String.format("Couldn't backfill routing entities: %s",
@@ -745,22 +743,59 @@ public abstract class BaseAspectRoutingResource<
     }
   }
 
-  @Nullable
-  private List<? extends RecordTemplate> getValueFromRoutingGms(@Nonnull URN urn,
-      Collection<Class<? extends RecordTemplate>> routeAspectClasses) {
-    return routeAspectClasses.stream().map(routeAspectClass -> {
+  /**
+   * Start the calls to the routing GMS of the given routing aspects on the routing call executor of
+   * {@link AspectRoutingGmsClientManager}, so that they run concurrently with each other and with the local DAO read
+   * of the caller. Wait for their values with {@link #awaitValueFromRoutingGms(Urn, RoutingGmsCalls)}.
+   */
+  @Nonnull
+  private RoutingGmsCalls getValueFromRoutingGmsAsync(@Nonnull URN urn,
+      @Nonnull Collection<Class<? extends RecordTemplate>> routeAspectClasses) {
+    final AspectRoutingGmsClientManager clientManager = getAspectRoutingGmsClientManager();
+    final long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(clientManager.getRoutingCallTimeoutMs());
+    final Map<Class<? extends RecordTemplate>, CompletableFuture<RecordTemplate>> calls = new LinkedHashMap<>();
+    for (Class<? extends RecordTemplate> routeAspectClass : routeAspectClasses) {
+      calls.put(routeAspectClass, CompletableFuture.supplyAsync(
+          () -> clientManager.getRoutingGmsClient(routeAspectClass).get(urn), clientManager.getRoutingCallExecutor()));
+    }
+    return new RoutingGmsCalls(calls, deadlineNanos);
+  }
+
+  /**
+   * Wait for the routing GMS calls until their deadline, see {@link AspectRoutingGmsClientManager#setRoutingCallTimeoutMs(long)}.
+   * The values of the calls which failed or did not complete in time are left out, so that the entity is returned with
+   * the aspects that could be retrieved.
+   */
+  @Nonnull
+  private List<? extends RecordTemplate> awaitValueFromRoutingGms(@Nonnull URN urn,
+      @Nonnull RoutingGmsCalls routingGmsCalls) {
+    final List<RecordTemplate> routingAspects = new ArrayList<>();
+    routingGmsCalls._calls.forEach((routeAspectClass, call) -> {
       try {
-        return getAspectRoutingGmsClientManager().getRoutingGmsClient(routeAspectClass).get(urn);
-      } catch (Exception e) {
+        final RecordTemplate routingAspect =
+            call.get(Math.max(0, routingGmsCalls._deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        if (routingAspect != null) {
+          routingAspects.add(routingAspect);
+        }
+      } catch (TimeoutException e) {
+        // the call keeps running until the client times out, but its value is no longer waited for
+        call.cancel(false);
+        log.error("Timed out getting routing aspect {} for {} after {} ms", routeAspectClass.getSimpleName(), urn,
+            getAspectRoutingGmsClientManager().getRoutingCallTimeoutMs());
+      } catch (ExecutionException e) {
         String logMessage = String.format("Couldn't find routing aspect %s for %s", routeAspectClass.getSimpleName(), urn);
-        if (e instanceof RestLiServiceException && ((RestLiServiceException) e).getStatus() == S_404_NOT_FOUND) {
-         log.warn(logMessage, e);
+        if (e.getCause() instanceof RestLiServiceException
+            && ((RestLiServiceException) e.getCause()).getStatus() == S_404_NOT_FOUND) {
+          log.warn(logMessage, e.getCause());
         } else {
-          log.error(logMessage, e);
+          log.error(logMessage, e.getCause());
         }
-        return null;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RestLiServiceException(S_500_INTERNAL_SERVER_ERROR, "Interrupted while getting routing aspects", e);
       }
-    }).filter(Objects::nonNull).collect(Collectors.toList());
+    });
+    return routingAspects;
   }
 
   /**
@@ -776,4 +811,18 @@ public abstract class BaseAspectRoutingResource<
     AspectCallbackResponse aspectCallbackResponse = preUpdateClient.routeAspectCallback(urn, aspect, null, ingestionParams, auditStamp);
     return aspectCallbackResponse.getUpdatedAspect();
   }
+
+  /**
+   * The in flight calls to the routing GMS of a read, keyed by routing aspect, along with their deadline.
+   */
+  private static final class RoutingGmsCalls {
+    private final Map<Class<? extends RecordTemplate>, CompletableFuture<RecordTemplate>> _calls;
+    private final long _deadlineNanos;
+
+    private RoutingGmsCalls(@Nonnull Map<Class<? extends RecordTemplate>, CompletableFuture<RecordTemplate>> calls,
+        long deadlineNanos) {
+      _calls = calls;
+      _deadlineNanos = deadlineNanos;
+    }
+  }
 }
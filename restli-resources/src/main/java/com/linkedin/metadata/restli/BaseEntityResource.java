@@ -9,6 +9,8 @@ import com.linkedin.data.template.UnionTemplate;
 import com.linkedin.metadata.backfill.BackfillMode;
 import com.linkedin.metadata.dao.AspectKey;
 import com.linkedin.metadata.dao.BaseLocalDAO;
+import com.linkedin.metadata.dao.CursorListResult;
+import com.linkedin.metadata.dao.IndexSortCursor;
 import com.linkedin.metadata.dao.ListResult;
 import com.linkedin.metadata.dao.UrnAspectEntry;
 import com.linkedin.metadata.dao.exception.ModelValidationException;
@@ -50,6 +52,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
@@ -180,6 +183,19 @@ public abstract class BaseEntityResource<
     return null; // override in resource class only if needed
   }
 
+  /**
+   * Returns the comparator checking the shadow read DAO against the local DAO in the background, in which case reads
+   * return the local DAO values right away. If null, reads compare both DAOs before returning.
+   *
+   * <p>Rest.li creates a resource instance per request, so the returned comparator must be a long-lived instance shared
+   * by all requests, e.g. a static field or a singleton injected into the resource, not one created by this method or
+   * held per resource instance: its sampling, rate limit and counters only work across requests.</p>
+   */
+  @Nullable
+  protected ShadowReadComparator getShadowReadComparator() {
+    return null; // override in resource class only if needed
+  }
+
   /**
    * Creates an URN from its string representation.
    */
@@ -236,8 +252,8 @@ public abstract class BaseEntityResource<
       final URN urn = toUrn(id);
       BaseLocalDAO<INTERNAL_ASPECT_UNION, URN> shadowReadLocalDAO = getShadowReadLocalDAO();
       if (!getLocalDAO().exists(urn)) {
-        if (shadowReadLocalDAO != null && shadowReadLocalDAO.exists(urn)) {
-          log.warn("Entity {} exists in shadow DAO but not in local DAO. Ignoring shadow-only data.", urn);
+        if (shadowReadLocalDAO != null) {
+          checkShadowOnlyEntity(urn, shadowReadLocalDAO);
         }
         throw RestliUtils.resourceNotFoundException();
       }
@@ -270,12 +286,12 @@ public abstract class BaseEntityResource<
   @Nonnull
   private Task<Map<KEY, VALUE>> batchGet(@Nonnull Set<KEY> ids,
       @QueryParam(PARAM_ASPECTS) @Optional @Nullable String[] aspectNames, boolean isInternalModelsEnabled) {
-    return RestliUtils.toTask(() -> {
+    return RestliUtils.toTaskFromFuture(() -> {
       final Map<URN, KEY> urnMap = ids.stream().collect(Collectors.toMap(this::toUrn, Function.identity()));
-      return getInternal(urnMap.keySet(), parseAspectsParam(aspectNames, isInternalModelsEnabled),
-          isInternalModelsEnabled).entrySet()
+      return getInternalAsync(urnMap.keySet(), parseAspectsParam(aspectNames, isInternalModelsEnabled),
+          isInternalModelsEnabled).thenApply(urnValueMap -> urnValueMap.entrySet()
           .stream()
-          .collect(Collectors.toMap(e -> urnMap.get(e.getKey()), Map.Entry::getValue));
+          .collect(Collectors.toMap(e -> urnMap.get(e.getKey()), Map.Entry::getValue)));
     });
   }
 
@@ -296,31 +312,34 @@ public abstract class BaseEntityResource<
   @Nonnull
   private Task<BatchResult<KEY, VALUE>> batchGetWithErrors(@Nonnull Set<KEY> ids,
       @QueryParam(PARAM_ASPECTS) @Optional @Nullable String[] aspectNames, boolean isInternalModelsEnabled) {
-    return RestliUtils.toTask(() -> {
-      final Map<KEY, RestLiServiceException> errors = new HashMap<>();
-      final Map<KEY, HttpStatus> statuses = new HashMap<>();
+    return RestliUtils.toTaskFromFuture(() -> {
       final Map<URN, KEY> urnMap = ids.stream().collect(Collectors.toMap(this::toUrn, Function.identity()));
-      final Map<URN, VALUE> batchResult =
-          getInternal(urnMap.keySet(), parseAspectsParam(aspectNames, isInternalModelsEnabled),
-              isInternalModelsEnabled);
-      batchResult.entrySet().removeIf(entry -> {
-        if (!entry.getValue().data().isEmpty()) {
-          // don't remove if there is a non-empty value associated with the key
-          statuses.put(urnMap.get(entry.getKey()), HttpStatus.S_200_OK);
-          return false;
-        }
-        // if this key's value is empty, then this key doesn't exist in the db.
-        // mark this key with 404 and remove the entry from the map
-        errors.put(urnMap.get(entry.getKey()), new RestLiServiceException(HttpStatus.S_404_NOT_FOUND));
-        statuses.put(urnMap.get(entry.getKey()), HttpStatus.S_404_NOT_FOUND);
-        return true;
-      });
-      return new BatchResult<>(
-          batchResult.entrySet().stream().collect(Collectors.toMap(e -> urnMap.get(e.getKey()), Map.Entry::getValue)),
-          statuses, errors);
+      return getInternalAsync(urnMap.keySet(), parseAspectsParam(aspectNames, isInternalModelsEnabled),
+          isInternalModelsEnabled).thenApply(batchResult -> toBatchResult(urnMap, batchResult));
     });
   }
 
+  @Nonnull
+  private BatchResult<KEY, VALUE> toBatchResult(@Nonnull Map<URN, KEY> urnMap, @Nonnull Map<URN, VALUE> batchResult) {
+    final Map<KEY, RestLiServiceException> errors = new HashMap<>();
+    final Map<KEY, HttpStatus> statuses = new HashMap<>();
+    batchResult.entrySet().removeIf(entry -> {
+      if (!entry.getValue().data().isEmpty()) {
+        // don't remove if there is a non-empty value associated with the key
+        statuses.put(urnMap.get(entry.getKey()), HttpStatus.S_200_OK);
+        return false;
+      }
+      // if this key's value is empty, then this key doesn't exist in the db.
+      // mark this key with 404 and remove the entry from the map
+      errors.put(urnMap.get(entry.getKey()), new RestLiServiceException(HttpStatus.S_404_NOT_FOUND));
+      statuses.put(urnMap.get(entry.getKey()), HttpStatus.S_404_NOT_FOUND);
+      return true;
+    });
+    return new BatchResult<>(
+        batchResult.entrySet().stream().collect(Collectors.toMap(e -> urnMap.get(e.getKey()), Map.Entry::getValue)),
+        statuses, errors);
+  }
+
   /**
    * Deprecated to use {@link #ingestAsset(RecordTemplate, IngestionParams)} instead.
    * An action method for automated ingestion pipeline.
@@ -573,8 +592,12 @@ public abstract class BaseEntityResource<
         final URN urn = parseUrnParam(urnString);
 
         BaseLocalDAO<INTERNAL_ASPECT_UNION, URN> shadowReadLocalDAO = getShadowReadLocalDAO();
-        if (shadowReadLocalDAO == null) {
+        final ShadowReadComparator shadowReadComparator = getShadowReadComparator();
+        if (shadowReadLocalDAO == null || shadowReadComparator != null) {
           if (!getLocalDAO().exists(urn)) {
+            if (shadowReadLocalDAO != null) {
+              checkShadowOnlyEntity(urn, shadowReadLocalDAO);
+            }
             throw RestliUtils.resourceNotFoundException();
           }
 
@@ -582,7 +605,13 @@ public abstract class BaseEntityResource<
               .map(aspectClass -> new AspectKey<>(aspectClass, urn, LATEST_VERSION))
               .collect(Collectors.toSet());
 
-          final List<UnionTemplate> aspects = getLocalDAO().get(keys)
+          final Map<AspectKey<URN, ? extends RecordTemplate>, java.util.Optional<? extends RecordTemplate>> localResults =
+              getLocalDAO().get(keys);
+          if (shadowReadLocalDAO != null) {
+            shadowReadComparator.compareAsync(keys, localResults, shadowReadLocalDAO);
+          }
+
+          final List<UnionTemplate> aspects = localResults
               .values()
               .stream()
               .filter(java.util.Optional::isPresent)
@@ -981,6 +1010,33 @@ public abstract class BaseEntityResource<
         .build();
   }
 
+  /**
+   * Similar to {@link #filterAspects(Set, IndexFilter, IndexSortCriterion, String, int, boolean)} but
+   * returns a list result with the cursor of the next page, and the total count if requested.
+   *
+   * @param includeTotalCount whether to also count all the urns satisfying the filter conditions
+   * @return a {@link CursorListResult} containing an ordered list of values of multiple entities and the next page cursor
+   */
+  @Nonnull
+  private CursorListResult<VALUE, IndexSortCursor<URN>> filterAspectsAfter(
+      @Nonnull Set<Class<? extends RecordTemplate>> aspectClasses, @Nullable IndexFilter filter,
+      @Nullable IndexSortCriterion indexSortCriterion, @Nullable IndexSortCursor<URN> lastCursor, int count,
+      boolean includeTotalCount, boolean isInternalModelsEnabled) {
+
+    final CursorListResult<UrnAspectEntry<URN>, IndexSortCursor<URN>> listResult = getLocalDAO().getAspectsAfter(
+        aspectClasses, filter, indexSortCriterion, lastCursor, count, includeTotalCount);
+    final List<VALUE> values = getUrnAspectValues(listResult.getValues(), isInternalModelsEnabled);
+
+    return CursorListResult.<VALUE, IndexSortCursor<URN>>builder()
+        .values(values)
+        .metadata(listResult.getMetadata())
+        .nextCursor(listResult.getNextCursor())
+        .havingMore(listResult.isHavingMore())
+        .totalCount(listResult.getTotalCount())
+        .pageSize(listResult.getPageSize())
+        .build();
+  }
+
   /**
    * Returns ordered list of values of multiple entities obtained after filtering urns
    * from local secondary index. The returned list is ordered by the sort criterion but defaults to
@@ -1033,6 +1089,34 @@ public abstract class BaseEntityResource<
         .build();
   }
 
+  /**
+   * Similar to {@link #filterUrns(IndexFilter, IndexSortCriterion, String, int, boolean)} but
+   * returns a list result with the cursor of the next page, and the total count if requested.
+   *
+   * @param includeTotalCount whether to also count all the urns satisfying the filter conditions
+   * @return a {@link CursorListResult} containing an ordered list of values of multiple entities and the next page cursor
+   */
+  @Nonnull
+  private CursorListResult<VALUE, IndexSortCursor<URN>> filterUrnsAfter(@Nullable IndexFilter filter,
+      @Nullable IndexSortCriterion indexSortCriterion, @Nullable IndexSortCursor<URN> lastCursor, int count,
+      boolean includeTotalCount, boolean isInternalModelsEnabled) {
+
+    final CursorListResult<URN, IndexSortCursor<URN>> listResult =
+        getLocalDAO().listUrnsAfter(filter, indexSortCriterion, lastCursor, count, includeTotalCount);
+    final List<VALUE> urnValues = listResult.getValues().stream()
+        .map(urn -> isInternalModelsEnabled ? toInternalValue(newInternalSnapshot(urn)) : toValue(newSnapshot(urn)))
+        .collect(Collectors.toList());
+
+    return CursorListResult.<VALUE, IndexSortCursor<URN>>builder()
+        .values(urnValues)
+        .metadata(listResult.getMetadata())
+        .nextCursor(listResult.getNextCursor())
+        .havingMore(listResult.isHavingMore())
+        .totalCount(listResult.getTotalCount())
+        .pageSize(listResult.getPageSize())
+        .build();
+  }
+
   /**
    * Retrieves the values for multiple entities obtained after filtering urns from local secondary index. Here the value is
    * made up of latest versions of specified aspects. If no aspects are provided, value model will not contain any metadata aspect.
@@ -1134,6 +1218,46 @@ public abstract class BaseEntityResource<
     });
   }
 
+  /**
+   * Similar to {@link #filter(IndexFilter, IndexSortCriterion, String[], String, int)} but returns a list result with
+   * the cursor to pass to get the next page, which is located from the last sort value and urn of the previous page in
+   * the (sort criterion, urn) order instead of an offset. The total count takes an extra query and is only returned if
+   * requested.
+   *
+   * <p>Note: Only one of the filter finders should be implemented in your resource implementation.
+   *
+   * @param lastUrn urn of the next cursor of the previous page. For the first page, this should be set as NULL
+   * @param lastSortValue sort value of the next cursor of the previous page, NULL if it has none
+   * @param count defining the maximum number of urns to return
+   * @param includeTotalCount whether to also count all the urns satisfying the filter conditions
+   * @return {@link CursorListResult} containing values along with the associated urns in {@link ListResultMetadata} and
+   *        the next page cursor
+   */
+  @Finder(FINDER_FILTER)
+  @Nonnull
+  public Task<CursorListResult<VALUE, IndexSortCursor<URN>>> filterAfter(
+      @QueryParam(PARAM_FILTER) @Optional @Nullable IndexFilter indexFilter,
+      @QueryParam(PARAM_SORT) @Optional @Nullable IndexSortCriterion indexSortCriterion,
+      @QueryParam(PARAM_ASPECTS) @Optional @Nullable String[] aspectNames,
+      @QueryParam(PARAM_URN) @Optional @Nullable String lastUrn,
+      @QueryParam(PARAM_SORT_VALUE) @Optional @Nullable String lastSortValue,
+      @QueryParam(PARAM_COUNT) @Optional("10") int count,
+      @QueryParam(PARAM_TOTAL_COUNT) @Optional("false") boolean includeTotalCount) {
+
+    final boolean isInternalModelsEnabled = getResourceLix().testFilter(_assetClass.getSimpleName());
+    return RestliUtils.toTask(() -> {
+      final IndexSortCursor<URN> lastCursor = lastUrn == null ? null : new IndexSortCursor<>(parseUrnParam(lastUrn), lastSortValue);
+      final Set<Class<? extends RecordTemplate>> aspectClasses = parseAspectsParam(aspectNames, isInternalModelsEnabled);
+      if (aspectClasses.isEmpty()) {
+        return filterUrnsAfter(indexFilter, indexSortCriterion, lastCursor, count, includeTotalCount,
+            isInternalModelsEnabled);
+      } else {
+        return filterAspectsAfter(aspectClasses, indexFilter, indexSortCriterion, lastCursor, count, includeTotalCount,
+            isInternalModelsEnabled);
+      }
+    });
+  }
+
   /**
    * Gets a collection result with count aggregate metadata, which has the count of an aggregation
    * specified by the aspect and field to group by.
@@ -1184,6 +1308,8 @@ public abstract class BaseEntityResource<
 
   /**
    * Returns a map of {@link VALUE} models given the collection of {@link URN}s and set of aspect classes.
+   * The batch get methods use {@link #getInternalAsync(Collection, Set, boolean)} instead, which must be overridden as
+   * well to customize them.
    *
    * @param urns collection of urns
    * @param aspectClasses set of aspect classes
@@ -1193,11 +1319,38 @@ public abstract class BaseEntityResource<
   @Nonnull
   protected Map<URN, VALUE> getInternal(@Nonnull Collection<URN> urns,
       @Nonnull Set<Class<? extends RecordTemplate>> aspectClasses, boolean isInternalModelsEnabled) {
-    return getUrnAspectMap(urns, aspectClasses, isInternalModelsEnabled).entrySet()
-        .stream()
-        .collect(Collectors.toMap(Map.Entry::getKey,
-            e -> isInternalModelsEnabled ? toInternalValue(newInternalSnapshot(e.getKey(), e.getValue()))
-                : toValue(newSnapshot(e.getKey(), e.getValue()))));
+    return toUrnValueMap(getUrnAspectMap(urns, aspectClasses, isInternalModelsEnabled), isInternalModelsEnabled);
+  }
+
+  /**
+   * Async version of {@link #getInternal(Collection, Set, boolean)} used by the batch get methods, which reads from the
+   * local DAO (and the shadow read DAO if any) in parallel using their async reads instead of blocking the calling thread.
+   *
+   * <p>This is the extension point of the batch get methods. A resource overriding
+   * {@link #getInternal(Collection, Set, boolean)} should override this method too, e.g. to run its blocking override
+   * on the read executor of the local DAO:
+   * {@code CompletableFuture.supplyAsync(() -> getInternal(urns, aspectClasses, isInternalModelsEnabled),
+   * getLocalDAO().getReadExecutor())}.</p>
+   */
+  @Nonnull
+  protected CompletableFuture<Map<URN, VALUE>> getInternalAsync(@Nonnull Collection<URN> urns,
+      @Nonnull Set<Class<? extends RecordTemplate>> aspectClasses, boolean isInternalModelsEnabled) {
+    return getUrnAspectMapAsync(urns, aspectClasses, isInternalModelsEnabled)
+        .thenApply(urnAspectsMap -> toUrnValueMap(urnAspectsMap, isInternalModelsEnabled));
+  }
+
+  /**
+   * Reports an entity missing from the local DAO which exists in the shadow read DAO. The shadow read DAO is checked in
+   * the background if {@link #getShadowReadComparator()} is set.
+   */
+  protected void checkShadowOnlyEntity(@Nonnull URN urn,
+      @Nonnull BaseLocalDAO<INTERNAL_ASPECT_UNION, URN> shadowReadLocalDAO) {
+    final ShadowReadComparator shadowReadComparator = getShadowReadComparator();
+    if (shadowReadComparator != null) {
+      shadowReadComparator.checkMissingEntityAsync(urn, shadowReadLocalDAO);
+    } else if (shadowReadLocalDAO.exists(urn)) {
+      log.warn("Entity {} exists in shadow DAO but not in local DAO. Ignoring shadow-only data.", urn);
+    }
   }
 
   /**
@@ -1214,49 +1367,95 @@ public abstract class BaseEntityResource<
                 : toValue(newSnapshot(e.getKey(), e.getValue()))));
   }
 
+  @Nonnull
+  private Map<URN, VALUE> toUrnValueMap(@Nonnull Map<URN, List<UnionTemplate>> urnAspectsMap,
+      boolean isInternalModelsEnabled) {
+    return urnAspectsMap.entrySet()
+        .stream()
+        .collect(Collectors.toMap(Map.Entry::getKey,
+            e -> isInternalModelsEnabled ? toInternalValue(newInternalSnapshot(e.getKey(), e.getValue()))
+                : toValue(newSnapshot(e.getKey(), e.getValue()))));
+  }
+
   @Nonnull
   private Map<URN, List<UnionTemplate>> getUrnAspectMap(@Nonnull Collection<URN> urns,
       @Nonnull Set<Class<? extends RecordTemplate>> aspectClasses, boolean isInternalModelsEnabled) {
+    final Set<AspectKey<URN, ? extends RecordTemplate>> keys = toLatestAspectKeys(urns, aspectClasses);
+
+    BaseLocalDAO<INTERNAL_ASPECT_UNION, URN> shadowReadLocalDAO = getShadowReadLocalDAO();
+    final ShadowReadComparator shadowReadComparator = getShadowReadComparator();
+    if (shadowReadLocalDAO == null) {
+      return toUrnAspectMap(urns, getLocalDAO().get(keys), isInternalModelsEnabled);
+    } else if (shadowReadComparator != null) {
+      // the local values are what the inline comparison would return, so compare in the background
+      final Map<AspectKey<URN, ? extends RecordTemplate>, java.util.Optional<? extends RecordTemplate>> localResults =
+          getLocalDAO().get(keys);
+      shadowReadComparator.compareAsync(keys, localResults, shadowReadLocalDAO);
+      return toUrnAspectMap(urns, localResults, isInternalModelsEnabled);
+    } else {
+      return mergeShadowResults(urns, keys, getLocalDAO().get(keys), shadowReadLocalDAO.get(keys),
+          isInternalModelsEnabled);
+    }
+  }
+
+  @Nonnull
+  private CompletableFuture<Map<URN, List<UnionTemplate>>> getUrnAspectMapAsync(@Nonnull Collection<URN> urns,
+      @Nonnull Set<Class<? extends RecordTemplate>> aspectClasses, boolean isInternalModelsEnabled) {
+    final Set<AspectKey<URN, ? extends RecordTemplate>> keys = toLatestAspectKeys(urns, aspectClasses);
+
+    BaseLocalDAO<INTERNAL_ASPECT_UNION, URN> shadowReadLocalDAO = getShadowReadLocalDAO();
+    final ShadowReadComparator shadowReadComparator = getShadowReadComparator();
+    if (shadowReadLocalDAO == null) {
+      return getLocalDAO().getAsync(keys).thenApply(results -> toUrnAspectMap(urns, results, isInternalModelsEnabled));
+    } else if (shadowReadComparator != null) {
+      return getLocalDAO().getAsync(keys).thenApply(results -> {
+        shadowReadComparator.compareAsync(keys, results, shadowReadLocalDAO);
+        return toUrnAspectMap(urns, results, isInternalModelsEnabled);
+      });
+    } else {
+      // read from both DAOs in parallel
+      return getLocalDAO().getAsync(keys).thenCombine(shadowReadLocalDAO.getAsync(keys),
+          (localResults, shadowResults) -> mergeShadowResults(urns, keys, localResults, shadowResults,
+              isInternalModelsEnabled));
+    }
+  }
+
+  @Nonnull
+  private Set<AspectKey<URN, ? extends RecordTemplate>> toLatestAspectKeys(@Nonnull Collection<URN> urns,
+      @Nonnull Set<Class<? extends RecordTemplate>> aspectClasses) {
     // Construct the keys to retrieve latest version of all supported aspects for all URNs.
-    final Set<AspectKey<URN, ? extends RecordTemplate>> keys = urns.stream()
+    return urns.stream()
         .map(urn -> aspectClasses.stream()
             .map(clazz -> new AspectKey<>(clazz, urn, LATEST_VERSION))
             .collect(Collectors.toList()))
         .flatMap(List::stream)
         .collect(Collectors.toSet());
+  }
 
+  @Nonnull
+  private Map<URN, List<UnionTemplate>> toUrnAspectMap(@Nonnull Collection<URN> urns,
+      @Nonnull Map<AspectKey<URN, ? extends RecordTemplate>, java.util.Optional<? extends RecordTemplate>> results,
+      boolean isInternalModelsEnabled) {
     final Map<URN, List<UnionTemplate>> urnAspectsMap =
         urns.stream().collect(Collectors.toMap(Function.identity(), urn -> new ArrayList<>()));
 
-    BaseLocalDAO<INTERNAL_ASPECT_UNION, URN> shadowReadLocalDAO = getShadowReadLocalDAO();
-    if (shadowReadLocalDAO == null) {
-      if (isInternalModelsEnabled) {
-        getLocalDAO().get(keys)
-            .forEach((key, aspect) -> aspect.ifPresent(metadata -> urnAspectsMap.get(key.getUrn())
-                .add(ModelUtils.newAspectUnion(_internalAspectUnionClass, metadata))));
-      } else {
-        getLocalDAO().get(keys)
-            .forEach((key, aspect) -> aspect.ifPresent(metadata -> urnAspectsMap.get(key.getUrn())
-                .add(ModelUtils.newAspectUnion(_aspectUnionClass, metadata))));
-      }
-      return urnAspectsMap;
+    if (isInternalModelsEnabled) {
+      results.forEach((key, aspect) -> aspect.ifPresent(metadata -> urnAspectsMap.get(key.getUrn())
+          .add(ModelUtils.newAspectUnion(_internalAspectUnionClass, metadata))));
     } else {
-      return getUrnAspectMapFromShadowDao(urns, keys, isInternalModelsEnabled, shadowReadLocalDAO);
+      results.forEach((key, aspect) -> aspect.ifPresent(metadata -> urnAspectsMap.get(key.getUrn())
+          .add(ModelUtils.newAspectUnion(_aspectUnionClass, metadata))));
     }
+    return urnAspectsMap;
   }
 
   @Nonnull
-  private Map<URN, List<UnionTemplate>> getUrnAspectMapFromShadowDao(
+  private Map<URN, List<UnionTemplate>> mergeShadowResults(
       @Nonnull Collection<URN> urns,
       @Nonnull Set<AspectKey<URN, ? extends RecordTemplate>> keys,
-      boolean isInternalModelsEnabled,
-      @Nonnull BaseLocalDAO<INTERNAL_ASPECT_UNION, URN> shadowReadLocalDAO) {
-
-    Map<AspectKey<URN, ? extends RecordTemplate>, java.util.Optional<? extends RecordTemplate>> localResults =
-        getLocalDAO().get(keys);
-
-    Map<AspectKey<URN, ? extends RecordTemplate>, java.util.Optional<? extends RecordTemplate>> shadowResults =
-        shadowReadLocalDAO.get(keys);
+      @Nonnull Map<AspectKey<URN, ? extends RecordTemplate>, java.util.Optional<? extends RecordTemplate>> localResults,
+      @Nonnull Map<AspectKey<URN, ? extends RecordTemplate>, java.util.Optional<? extends RecordTemplate>> shadowResults,
+      boolean isInternalModelsEnabled) {
 
     final Map<URN, List<UnionTemplate>> urnAspectsMap =
         urns.stream().collect(Collectors.toMap(Function.identity(), urn -> new ArrayList<>()));
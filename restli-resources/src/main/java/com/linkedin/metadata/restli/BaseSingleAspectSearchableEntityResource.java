@@ -10,6 +10,7 @@ import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -97,6 +98,17 @@ public abstract class BaseSingleAspectSearchableEntityResource<
     return getUrnEntityMapInternal(urns);
   }
 
+  /**
+   * Override {@link BaseEntityResource}'s method to read the single aspect the same way as
+   * {@link #getInternal(Collection, Set, boolean)}, since there is only one read, nothing is gained by running it async.
+   * */
+  @Override
+  @Nonnull
+  protected CompletableFuture<Map<URN, VALUE>> getInternalAsync(@Nonnull Collection<URN> urns,
+      @Nonnull Set<Class<? extends RecordTemplate>> aspectClasses, boolean isInternalModelsEnabled) {
+    return CompletableFuture.completedFuture(getUrnEntityMapInternal(urns));
+  }
+
   /**
    * Override {@link BaseEntityResource}'s method to override the default logic of returning entity values
    * for each urn. The base classes assumes that the aspects are fields in the entity value whereas in this class
@@ -40,11 +40,13 @@ public final class RestliConstants {
   public static final String PARAM_FILTER = "filter";
   public static final String PARAM_GROUP = "group";
   public static final String PARAM_SORT = "sort";
+  public static final String PARAM_SORT_VALUE = "sortValue";
   public static final String PARAM_QUERY = "query";
   public static final String PARAM_FIELD = "field";
   public static final String PARAM_PATH = "path";
   public static final String PARAM_START = "start";
   public static final String PARAM_COUNT = "count";
+  public static final String PARAM_TOTAL_COUNT = "totalCount";
   public static final String PARAM_LIMIT = "limit";
   public static final String PARAM_SNAPSHOT = "snapshot";
   public static final String PARAM_URN = "urn";
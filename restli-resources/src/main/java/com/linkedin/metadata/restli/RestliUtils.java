@@ -4,6 +4,8 @@ import com.linkedin.common.urn.Urn;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.data.template.StringArray;
 import com.linkedin.parseq.Task;
+import com.linkedin.parseq.promise.Promises;
+import com.linkedin.parseq.promise.SettablePromise;
 import com.linkedin.restli.common.HttpStatus;
 import com.linkedin.restli.server.RestLiServiceException;
 import java.util.Comparator;
@@ -11,6 +13,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
@@ -34,18 +38,53 @@ public class RestliUtils {
     try {
       return Task.value(supplier.get());
     } catch (Throwable throwable) {
+      throw toRestLiServiceException(throwable);
+    }
+  }
 
-      // Convert IllegalArgumentException to BAD REQUEST
-      if (throwable instanceof IllegalArgumentException || throwable.getCause() instanceof IllegalArgumentException) {
-        throwable = badRequestException(throwable.getMessage());
+  /**
+   * Similar to {@link #toTask(Supplier)} but the supplier starts an async computation, such as the async reads of the
+   * DAOs, and the returned {@link Task} completes along with it instead of blocking the calling thread.
+   * Failures of the computation are wrapped in {@link RestLiServiceException} the same way.
+   * @param supplier The supplier starting the async computation
+   * @return A parseq {@link Task}
+   */
+  @Nonnull
+  public static <T> Task<T> toTaskFromFuture(@Nonnull Supplier<? extends CompletionStage<T>> supplier) {
+    return Task.async(() -> {
+      final SettablePromise<T> promise = Promises.settable();
+      try {
+        supplier.get().whenComplete((value, throwable) -> {
+          if (throwable != null) {
+            promise.fail(toRestLiServiceException(throwable));
+          } else {
+            promise.done(value);
+          }
+        });
+      } catch (Throwable throwable) {
+        promise.fail(toRestLiServiceException(throwable));
       }
+      return promise;
+    });
+  }
 
-      if (throwable instanceof RestLiServiceException) {
-        throw (RestLiServiceException) throwable;
-      }
+  @Nonnull
+  private static RestLiServiceException toRestLiServiceException(@Nonnull Throwable throwable) {
+    // Unwrap the failures of async computations
+    if (throwable instanceof CompletionException && throwable.getCause() != null) {
+      throwable = throwable.getCause();
+    }
 
-      throw new RestLiServiceException(HttpStatus.S_500_INTERNAL_SERVER_ERROR, throwable);
+    // Convert IllegalArgumentException to BAD REQUEST
+    if (throwable instanceof IllegalArgumentException || throwable.getCause() instanceof IllegalArgumentException) {
+      throwable = badRequestException(throwable.getMessage());
     }
+
+    if (throwable instanceof RestLiServiceException) {
+      return (RestLiServiceException) throwable;
+    }
+
+    return new RestLiServiceException(HttpStatus.S_500_INTERNAL_SERVER_ERROR, throwable);
   }
 
   /**
@@ -0,0 +1,271 @@
+package com.linkedin.metadata.restli;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.dao.AspectKey;
+import com.linkedin.metadata.dao.BaseLocalDAO;
+import com.linkedin.metadata.dao.utils.ExecutorUtils;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Compares the shadow read DAO of a resource against its local DAO in the background, so that reads return the local
+ * DAO values without waiting for the shadow DAO.
+ *
+ * <p>Only a sample of the reads is compared, at most {@link #setMaxComparisonsPerSecond(int)} of them per second.
+ * Comparisons that do not fit in the executor are dropped. The outcome is reported as counters, along with the most
+ * recent mismatches, rather than logged for every aspect.
+ */
+@Slf4j
+public class ShadowReadComparator {
+
+  private static final double DEFAULT_SAMPLE_RATE = 0.1;
+  private static final int DEFAULT_MAX_COMPARISONS_PER_SECOND = 100;
+  private static final int DEFAULT_MAX_MISMATCH_SAMPLES = 10;
+  private static final int DEFAULT_COMPARISON_THREADS = 4;
+  private static final int DEFAULT_COMPARISON_QUEUE_SIZE = 100;
+
+  // Executor of the comparisons, shared by all comparators unless set otherwise
+  private Executor _comparisonExecutor = null;
+
+  private double _sampleRate = DEFAULT_SAMPLE_RATE;
+  private int _maxComparisonsPerSecond = DEFAULT_MAX_COMPARISONS_PER_SECOND;
+  private int _maxMismatchSamples = DEFAULT_MAX_MISMATCH_SAMPLES;
+
+  // Rate limiting over fixed one second windows
+  private final AtomicLong _currentWindowSecond = new AtomicLong(-1);
+  private final AtomicLong _currentWindowComparisons = new AtomicLong();
+
+  private final AtomicLong _comparisons = new AtomicLong();
+  private final AtomicLong _droppedComparisons = new AtomicLong();
+  private final AtomicLong _failedComparisons = new AtomicLong();
+  private final AtomicLong _matches = new AtomicLong();
+  private final AtomicLong _mismatches = new AtomicLong();
+  private final AtomicLong _localOnlyAspects = new AtomicLong();
+  private final AtomicLong _shadowOnlyAspects = new AtomicLong();
+  private final AtomicLong _shadowOnlyEntities = new AtomicLong();
+  private final Deque<String> _mismatchSamples = new ConcurrentLinkedDeque<>();
+
+  /**
+   * Sets the executor the comparisons run on. It should reject tasks rather than run them on the submitting thread, which
+   * would put the shadow read back on the request path. Defaults to a pool of {@value #DEFAULT_COMPARISON_THREADS}
+   * threads shared by all comparators.
+   */
+  public void setComparisonExecutor(@Nonnull Executor comparisonExecutor) {
+    _comparisonExecutor = comparisonExecutor;
+  }
+
+  @Nonnull
+  public Executor getComparisonExecutor() {
+    return _comparisonExecutor != null ? _comparisonExecutor : DefaultComparisonExecutorHolder.INSTANCE;
+  }
+
+  /**
+   * Sets the fraction of the reads which are compared, between 0 (none) and 1 (all). Defaults to
+   * {@value #DEFAULT_SAMPLE_RATE}.
+   */
+  public void setSampleRate(double sampleRate) {
+    if (sampleRate < 0 || sampleRate > 1) {
+      throw new IllegalArgumentException("Sample rate must be between 0 and 1: " + sampleRate);
+    }
+    _sampleRate = sampleRate;
+  }
+
+  /**
+   * Sets the max number of sampled reads compared per second, the others being dropped. Defaults to
+   * {@value #DEFAULT_MAX_COMPARISONS_PER_SECOND}.
+   */
+  public void setMaxComparisonsPerSecond(int maxComparisonsPerSecond) {
+    if (maxComparisonsPerSecond <= 0) {
+      throw new IllegalArgumentException("Max comparisons per second must be positive: " + maxComparisonsPerSecond);
+    }
+    _maxComparisonsPerSecond = maxComparisonsPerSecond;
+  }
+
+  /**
+   * Sets the number of most recent mismatches kept by {@link #getMismatchSamples()}. Defaults to
+   * {@value #DEFAULT_MAX_MISMATCH_SAMPLES}.
+   */
+  public void setMaxMismatchSamples(int maxMismatchSamples) {
+    if (maxMismatchSamples < 0) {
+      throw new IllegalArgumentException("Max mismatch samples must not be negative: " + maxMismatchSamples);
+    }
+    _maxMismatchSamples = maxMismatchSamples;
+  }
+
+  /**
+   * Compares in the background the given local DAO results against the values the shadow DAO returns for the same keys,
+   * if this read is sampled. Returns right away.
+   *
+   * @param keys the aspect keys which were read from the local DAO
+   * @param localResults the results of the local DAO read, which must not be modified afterwards
+   * @param shadowReadLocalDAO the shadow DAO to read the same keys from
+   */
+  public <URN extends Urn> void compareAsync(@Nonnull Set<AspectKey<URN, ? extends RecordTemplate>> keys,
+      @Nonnull Map<AspectKey<URN, ? extends RecordTemplate>, Optional<? extends RecordTemplate>> localResults,
+      @Nonnull BaseLocalDAO<?, URN> shadowReadLocalDAO) {
+    if (keys.isEmpty()) {
+      return;
+    }
+    submitIfSampled(() -> compare(keys, localResults, shadowReadLocalDAO.get(keys)));
+  }
+
+  /**
+   * Checks in the background whether an entity missing from the local DAO exists in the shadow DAO, if this read is
+   * sampled. Returns right away.
+   */
+  public <URN extends Urn> void checkMissingEntityAsync(@Nonnull URN urn,
+      @Nonnull BaseLocalDAO<?, URN> shadowReadLocalDAO) {
+    submitIfSampled(() -> {
+      if (shadowReadLocalDAO.exists(urn)) {
+        _shadowOnlyEntities.incrementAndGet();
+      }
+    });
+  }
+
+  /**
+   * Number of comparisons which ran, whether they succeeded or failed.
+   */
+  public long getComparisonCount() {
+    return _comparisons.get();
+  }
+
+  /**
+   * Number of sampled comparisons which did not run because of the rate limit or because the executor was full.
+   */
+  public long getDroppedComparisonCount() {
+    return _droppedComparisons.get();
+  }
+
+  /**
+   * Number of comparisons which failed to read the shadow DAO.
+   */
+  public long getFailedComparisonCount() {
+    return _failedComparisons.get();
+  }
+
+  /**
+   * Number of aspects with equal local and shadow values.
+   */
+  public long getMatchCount() {
+    return _matches.get();
+  }
+
+  /**
+   * Number of aspects with different local and shadow values.
+   */
+  public long getMismatchCount() {
+    return _mismatches.get();
+  }
+
+  /**
+   * Number of aspects only found in the local DAO.
+   */
+  public long getLocalOnlyAspectCount() {
+    return _localOnlyAspects.get();
+  }
+
+  /**
+   * Number of aspects only found in the shadow DAO.
+   */
+  public long getShadowOnlyAspectCount() {
+    return _shadowOnlyAspects.get();
+  }
+
+  /**
+   * Number of entities missing from the local DAO but found in the shadow DAO.
+   */
+  public long getShadowOnlyEntityCount() {
+    return _shadowOnlyEntities.get();
+  }
+
+  /**
+   * Returns descriptions of the most recent mismatches, oldest first.
+   */
+  @Nonnull
+  public List<String> getMismatchSamples() {
+    return new ArrayList<>(_mismatchSamples);
+  }
+
+  private void submitIfSampled(@Nonnull Runnable comparison) {
+    if (_sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= _sampleRate) {
+      return;
+    }
+    if (!tryAcquire()) {
+      _droppedComparisons.incrementAndGet();
+      return;
+    }
+    try {
+      getComparisonExecutor().execute(() -> {
+        _comparisons.incrementAndGet();
+        try {
+          comparison.run();
+        } catch (RuntimeException e) {
+          _failedComparisons.incrementAndGet();
+          log.debug("Failed to compare shadow read DAO against local DAO", e);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      _droppedComparisons.incrementAndGet();
+    }
+  }
+
+  private boolean tryAcquire() {
+    final long nowSecond = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+    final long windowSecond = _currentWindowSecond.get();
+    if (windowSecond != nowSecond && _currentWindowSecond.compareAndSet(windowSecond, nowSecond)) {
+      _currentWindowComparisons.set(0);
+    }
+    return _currentWindowComparisons.incrementAndGet() <= _maxComparisonsPerSecond;
+  }
+
+  private <URN extends Urn> void compare(@Nonnull Set<AspectKey<URN, ? extends RecordTemplate>> keys,
+      @Nonnull Map<AspectKey<URN, ? extends RecordTemplate>, Optional<? extends RecordTemplate>> localResults,
+      @Nonnull Map<AspectKey<URN, ? extends RecordTemplate>, Optional<? extends RecordTemplate>> shadowResults) {
+    for (AspectKey<URN, ? extends RecordTemplate> key : keys) {
+      final Optional<? extends RecordTemplate> local = localResults.getOrDefault(key, Optional.empty());
+      final Optional<? extends RecordTemplate> shadow = shadowResults.getOrDefault(key, Optional.empty());
+
+      if (local.isPresent() && shadow.isPresent()) {
+        if (Objects.equals(local.get(), shadow.get())) {
+          _matches.incrementAndGet();
+        } else {
+          _mismatches.incrementAndGet();
+          addMismatchSample(String.format("Aspect mismatch for URN %s and aspect %s: local = %s, shadow = %s",
+              key.getUrn(), key.getAspectClass().getSimpleName(), local.get(), shadow.get()));
+        }
+      } else if (shadow.isPresent()) {
+        _shadowOnlyAspects.incrementAndGet();
+      } else if (local.isPresent()) {
+        _localOnlyAspects.incrementAndGet();
+      }
+    }
+  }
+
+  private void addMismatchSample(@Nonnull String sample) {
+    _mismatchSamples.addLast(sample);
+    while (_mismatchSamples.size() > _maxMismatchSamples) {
+      _mismatchSamples.pollFirst();
+    }
+  }
+
+  private static class DefaultComparisonExecutorHolder {
+    private static final Executor INSTANCE = ExecutorUtils.newBoundedIoExecutor("shadow-read-comparison-",
+        DEFAULT_COMPARISON_THREADS, DEFAULT_COMPARISON_QUEUE_SIZE, new ThreadPoolExecutor.AbortPolicy());
+  }
+}
@@ -18,7 +18,9 @@ import com.linkedin.metadata.restli.ingestion.SampleAspectCallbackRoutingClient;
 import com.linkedin.parseq.BaseEngineTest;
 import com.linkedin.restli.common.ComplexResourceKey;
 import com.linkedin.restli.common.EmptyRecord;
+import com.linkedin.restli.common.HttpStatus;
 import com.linkedin.restli.server.ResourceContext;
+import com.linkedin.restli.server.RestLiServiceException;
 import com.linkedin.testing.AspectAttributes;
 import com.linkedin.testing.AspectBar;
 import com.linkedin.testing.AspectBaz;
@@ -45,6 +47,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import org.testng.annotations.BeforeMethod;
@@ -294,6 +297,65 @@ public class BaseAspectRoutingResourceTest extends BaseEngineTest {
     assertFalse(value.hasFoo());
   }
 
+  @Test
+  public void testGetWithTimedOutRoutingAspect() {
+    FooUrn urn = makeFooUrn(1234);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    AspectBar bar = new AspectBar().setValue("bar");
+    AspectAttributes attributes = new AspectAttributes();
+
+    AspectKey<FooUrn, AspectBar> aspectBarKey = new AspectKey<>(AspectBar.class, urn, LATEST_VERSION);
+
+    when(_mockLocalDAO.exists(urn)).thenReturn(true);
+    when(_mockLocalDAO.get(new HashSet<>(Arrays.asList(aspectBarKey)))).thenReturn(
+        Collections.singletonMap(aspectBarKey, Optional.of(bar)));
+    CountDownLatch fooCallReleased = new CountDownLatch(1);
+    when(_mockAspectFooGmsClient.get(urn)).thenAnswer(invocation -> {
+      fooCallReleased.await();
+      return foo;
+    });
+    when(_mockAspectAttributeGmsClient.get(urn)).thenReturn(attributes);
+
+    _aspectRoutingGmsClientManager.setRoutingCallTimeoutMs(100);
+    try {
+      EntityValue value = runAndWait(_resource.get(makeResourceKey(urn),
+          new String[]{AspectFoo.class.getCanonicalName(), AspectBar.class.getCanonicalName(), AspectAttributes.class.getCanonicalName()}));
+
+      // the timed out routing aspect is left out, the other aspects are returned
+      assertFalse(value.hasFoo());
+      assertTrue(value.hasBar());
+      assertEquals(value.getBar(), bar);
+      assertTrue(value.hasAttributes());
+      assertEquals(value.getAttributes(), attributes);
+    } finally {
+      fooCallReleased.countDown();
+      _aspectRoutingGmsClientManager.setRoutingCallTimeoutMs(5000);
+    }
+  }
+
+  @Test
+  public void testGetSnapshotWithFailedRoutingAspect() {
+    FooUrn urn = makeFooUrn(1234);
+    AspectBar bar = new AspectBar().setValue("bar");
+    AspectAttributes attributes = new AspectAttributes();
+
+    AspectKey<FooUrn, AspectBar> aspectBarKey = new AspectKey<>(AspectBar.class, urn, LATEST_VERSION);
+
+    when(_mockLocalDAO.get(new HashSet<>(Arrays.asList(aspectBarKey)))).thenReturn(
+        Collections.singletonMap(aspectBarKey, Optional.of(bar)));
+    when(_mockAspectFooGmsClient.get(urn)).thenThrow(new RestLiServiceException(HttpStatus.S_503_SERVICE_UNAVAILABLE));
+    when(_mockAspectAttributeGmsClient.get(urn)).thenReturn(attributes);
+
+    EntitySnapshot snapshot = runAndWait(_resource.getSnapshot(urn.toString(),
+        new String[]{AspectFoo.class.getCanonicalName(), AspectBar.class.getCanonicalName(), AspectAttributes.class.getCanonicalName()}));
+
+    // the failed routing aspect is left out, the other aspects are returned
+    assertEquals(snapshot.getAspects().size(), 2);
+    Set<RecordTemplate> aspects =
+        snapshot.getAspects().stream().map(RecordUtils::getSelectedRecordTemplateFromUnion).collect(Collectors.toSet());
+    assertEquals(aspects, ImmutableSet.of(bar, attributes));
+  }
+
   @Test
   public void testIngestWithRoutingAspect() {
     FooUrn urn = makeFooUrn(1);
@@ -472,6 +534,31 @@ public class BaseAspectRoutingResourceTest extends BaseEngineTest {
     verify(_mockAspectBazGmsClient, never()).backfill(any());
   }
 
+  @Test
+  public void testBackfillCallsEachRoutingGmsOnce() {
+    FooUrn fooUrn1 = makeFooUrn(1);
+    FooUrn fooUrn2 = makeFooUrn(2);
+    // the same routing GMS serves both routing aspects
+    _aspectRoutingGmsClientManager.registerRoutingGmsClient(AspectAttributes.class, "setAttributes", _mockAspectFooGmsClient);
+
+    BackfillResult gmsResult = new BackfillResult();
+    BackfillResultEntity resultEntity1 = new BackfillResultEntity().setUrn(fooUrn1)
+        .setAspects(new StringArray(AspectFoo.class.getCanonicalName(), AspectAttributes.class.getCanonicalName()));
+    BackfillResultEntity resultEntity2 = new BackfillResultEntity().setUrn(fooUrn2)
+        .setAspects(new StringArray(AspectFoo.class.getCanonicalName(), AspectAttributes.class.getCanonicalName()));
+    gmsResult.setEntities(new BackfillResultEntityArray(resultEntity1, resultEntity2));
+    when(_mockAspectFooGmsClient.backfill(ImmutableSet.of(fooUrn1, fooUrn2))).thenReturn(gmsResult);
+
+    BackfillResult backfillResult = runAndWait(_resource.backfill(new String[]{fooUrn1.toString(), fooUrn2.toString()},
+        new String[]{AspectFoo.class.getCanonicalName(), AspectAttributes.class.getCanonicalName()}));
+
+    assertEquals(backfillResult.getEntities().size(), 2);
+    assertTrue(backfillResult.getEntities().get(0).getAspects().contains(AspectFoo.class.getCanonicalName()));
+    assertTrue(backfillResult.getEntities().get(0).getAspects().contains(AspectAttributes.class.getCanonicalName()));
+    verify(_mockAspectFooGmsClient, times(1)).backfill(ImmutableSet.of(fooUrn1, fooUrn2));
+    verify(_mockAspectAttributeGmsClient, never()).backfill(any());
+  }
+
   @Test
   public void testBackfillWithoutRoutingAspect() {
     FooUrn fooUrn1 = makeFooUrn(1);
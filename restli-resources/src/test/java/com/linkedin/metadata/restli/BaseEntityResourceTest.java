@@ -8,6 +8,8 @@ import com.linkedin.data.template.StringArray;
 import com.linkedin.metadata.backfill.BackfillMode;
 import com.linkedin.metadata.dao.AspectKey;
 import com.linkedin.metadata.dao.BaseLocalDAO;
+import com.linkedin.metadata.dao.CursorListResult;
+import com.linkedin.metadata.dao.IndexSortCursor;
 import com.linkedin.metadata.dao.ListResult;
 import com.linkedin.metadata.dao.UrnAspectEntry;
 import com.linkedin.metadata.dao.builder.BaseLocalRelationshipBuilder.LocalRelationshipUpdates;
@@ -28,6 +30,7 @@ import com.linkedin.metadata.query.SortOrder;
 import com.linkedin.metadata.restli.lix.LegacyResourceImpl;
 import com.linkedin.metadata.restli.lix.ResourceLix;
 import com.linkedin.parseq.BaseEngineTest;
+import com.linkedin.parseq.promise.PromiseException;
 import com.linkedin.restli.common.ComplexResourceKey;
 import com.linkedin.restli.common.EmptyRecord;
 import com.linkedin.restli.common.HttpStatus;
@@ -56,7 +59,9 @@ import com.linkedin.testing.localrelationship.BelongsTo;
 import com.linkedin.testing.urn.BarUrn;
 import com.linkedin.testing.urn.FooUrn;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -64,6 +69,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import org.testng.annotations.BeforeMethod;
@@ -245,6 +251,9 @@ public class BaseEntityResourceTest extends BaseEngineTest {
   @BeforeMethod
   public void setup() {
     _mockLocalDAO = mock(BaseLocalDAO.class);
+    // async reads complete with the stubbed blocking reads
+    when(_mockLocalDAO.getAsync(anySet())).thenAnswer(invocation -> CompletableFuture.completedFuture(
+        _mockLocalDAO.get(invocation.<Set<AspectKey<FooUrn, ? extends RecordTemplate>>>getArgument(0))));
   }
 
   @Test
@@ -385,7 +394,7 @@ public class BaseEntityResourceTest extends BaseEngineTest {
     assertEquals(keyValueMap.get(makeKey(1)).getFoo(), foo);
     assertFalse(keyValueMap.get(makeKey(1)).hasBar());
     assertEquals(keyValueMap.get(makeKey(2)).getBar(), bar);
-    assertFalse(keyValueMap.get(makeKey(2)).hasFoo());
+    assertEquals(keyValueMap.get(makeKey(2)).getFoo(), foo2);
   }
 
   @Test
@@ -422,7 +431,124 @@ public class BaseEntityResourceTest extends BaseEngineTest {
     assertEquals(keyValueMap.get(makeKey(1)).getFoo(), foo);
     assertFalse(keyValueMap.get(makeKey(1)).hasBar());
     assertEquals(keyValueMap.get(makeKey(2)).getBar(), bar);
-    assertFalse(keyValueMap.get(makeKey(2)).hasFoo());
+    assertEquals(keyValueMap.get(makeKey(2)).getFoo(), foo2);
+  }
+
+  @Test
+  public void testBatchGetCompletesWithAsyncRead() {
+    FooUrn urn1 = makeFooUrn(1);
+    FooUrn urn2 = makeFooUrn(2);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    AspectKey<FooUrn, AspectFoo> fooKey1 = new AspectKey<>(AspectFoo.class, urn1, LATEST_VERSION);
+    AspectKey<FooUrn, AspectFoo> fooKey2 = new AspectKey<>(AspectFoo.class, urn2, LATEST_VERSION);
+    String[] aspectNames = {ModelUtils.getAspectName(AspectFoo.class)};
+
+    // the read completes on another thread, after batchGet returned
+    when(_mockLocalDAO.getAsync(ImmutableSet.of(fooKey1, fooKey2))).thenReturn(CompletableFuture.supplyAsync(
+        () -> ImmutableMap.of(fooKey1, Optional.of(foo), fooKey2, Optional.empty())));
+
+    BatchResult<EntityKey, EntityValue> result = convertBatchResult(runAndWait(
+        _resource.batchGetWithErrors(ImmutableSet.of(makeResourceKey(urn1), makeResourceKey(urn2)), aspectNames)));
+
+    assertEquals(result.size(), 1);
+    assertEquals(result.get(makeKey(1)).getFoo(), foo);
+    assertEquals(result.getErrors().get(makeKey(2)).getStatus(), HttpStatus.S_404_NOT_FOUND);
+    verify(_mockLocalDAO, never()).get(anySet());
+  }
+
+  @Test
+  public void testBatchGetUsesOverriddenGetInternalAsync() {
+    FooUrn urn1 = makeFooUrn(1);
+    FooUrn urn2 = makeFooUrn(2);
+    AspectFoo foo = new AspectFoo().setValue("overridden");
+    TestResource resource = new TestResource() {
+      @Nonnull
+      @Override
+      protected CompletableFuture<Map<FooUrn, EntityValue>> getInternalAsync(@Nonnull Collection<FooUrn> urns,
+          @Nonnull Set<Class<? extends RecordTemplate>> aspectClasses, boolean isInternalModelsEnabled) {
+        return CompletableFuture.completedFuture(
+            urns.stream().collect(Collectors.toMap(urn -> urn, urn -> new EntityValue().setFoo(foo))));
+      }
+    };
+
+    Map<ComplexResourceKey<EntityKey, EmptyRecord>, EntityValue> keyValueMap =
+        runAndWait(resource.batchGet(ImmutableSet.of(makeResourceKey(urn1), makeResourceKey(urn2)), null));
+    BatchResult<EntityKey, EntityValue> result = convertBatchResult(runAndWait(
+        resource.batchGetWithErrors(ImmutableSet.of(makeResourceKey(urn1), makeResourceKey(urn2)), null)));
+
+    assertEquals(keyValueMap.size(), 2);
+    keyValueMap.values().forEach(value -> assertEquals(value.getFoo(), foo));
+    assertEquals(result.size(), 2);
+    assertEquals(result.get(makeKey(2)).getFoo(), foo);
+    verifyNoInteractions(_mockLocalDAO);
+  }
+
+  @Test
+  public void testGetWithShadowReadComparator() {
+    FooUrn urn1 = makeFooUrn(1);
+    FooUrn urn2 = makeFooUrn(2);
+    AspectFoo foo = new AspectFoo().setValue("local");
+    AspectFoo foo2 = new AspectFoo().setValue("local2");
+    AspectKey<FooUrn, AspectFoo> fooKey1 = new AspectKey<>(AspectFoo.class, urn1, LATEST_VERSION);
+    AspectKey<FooUrn, AspectFoo> fooKey2 = new AspectKey<>(AspectFoo.class, urn2, LATEST_VERSION);
+    String[] aspectNames = {ModelUtils.getAspectName(AspectFoo.class)};
+    when(_mockLocalDAO.exists(urn1)).thenReturn(true);
+    when(_mockLocalDAO.get(ImmutableSet.of(fooKey1))).thenReturn(Collections.singletonMap(fooKey1, Optional.of(foo)));
+    when(_mockLocalDAO.get(ImmutableSet.of(fooKey1, fooKey2)))
+        .thenReturn(ImmutableMap.of(fooKey1, Optional.of(foo), fooKey2, Optional.of(foo2)));
+
+    BaseLocalDAO<InternalEntityAspectUnion, FooUrn> mockShadowReadDAO = mock(BaseLocalDAO.class);
+    List<Runnable> comparisons = new ArrayList<>();
+    ShadowReadComparator comparator = new ShadowReadComparator();
+    comparator.setComparisonExecutor(comparisons::add);
+    comparator.setSampleRate(1);
+    TestResource resource = new TestResource() {
+      @Override
+      protected BaseLocalDAO<InternalEntityAspectUnion, FooUrn> getShadowReadLocalDAO() {
+        return mockShadowReadDAO;
+      }
+
+      @Override
+      protected ShadowReadComparator getShadowReadComparator() {
+        return comparator;
+      }
+    };
+
+    EntityValue value = runAndWait(resource.get(makeResourceKey(urn1), aspectNames));
+    Map<EntityKey, EntityValue> keyValueMap =
+        runAndWait(resource.batchGet(ImmutableSet.of(makeResourceKey(urn1), makeResourceKey(urn2)), aspectNames)).entrySet()
+            .stream()
+            .collect(Collectors.toMap(e -> e.getKey().getKey(), e -> e.getValue()));
+
+    // the local values are returned without reading the shadow DAO, which is only read by the queued comparisons
+    assertEquals(value.getFoo(), foo);
+    assertEquals(keyValueMap.get(makeKey(1)).getFoo(), foo);
+    assertEquals(keyValueMap.get(makeKey(2)).getFoo(), foo2);
+    verifyNoInteractions(mockShadowReadDAO);
+    assertEquals(comparisons.size(), 2);
+
+    comparisons.forEach(Runnable::run);
+    verify(mockShadowReadDAO).get(ImmutableSet.of(fooKey1));
+    verify(mockShadowReadDAO).get(ImmutableSet.of(fooKey1, fooKey2));
+  }
+
+  @Test
+  public void testBatchGetWithFailedAsyncRead() {
+    FooUrn urn = makeFooUrn(1);
+    AspectKey<FooUrn, AspectFoo> fooKey = new AspectKey<>(AspectFoo.class, urn, LATEST_VERSION);
+    String[] aspectNames = {ModelUtils.getAspectName(AspectFoo.class)};
+    CompletableFuture<Map<AspectKey<FooUrn, ? extends RecordTemplate>, Optional<? extends RecordTemplate>>> failedRead =
+        new CompletableFuture<>();
+    failedRead.completeExceptionally(new IllegalArgumentException("invalid aspect"));
+    when(_mockLocalDAO.getAsync(ImmutableSet.of(fooKey))).thenReturn(failedRead);
+
+    try {
+      runAndWait(_resource.batchGet(ImmutableSet.of(makeResourceKey(urn)), aspectNames));
+      fail("batchGet should fail with the read");
+    } catch (PromiseException e) {
+      assertTrue(e.getCause() instanceof RestLiServiceException);
+      assertEquals(((RestLiServiceException) e.getCause()).getStatus(), HttpStatus.S_400_BAD_REQUEST);
+    }
   }
 
   @Test
@@ -435,6 +561,7 @@ public class BaseEntityResourceTest extends BaseEngineTest {
 
     runAndWait(_resource.batchGet(ImmutableSet.of(makeResourceKey(urn1), makeResourceKey(urn2)), aspectNames));
 
+    verify(_mockLocalDAO, times(1)).getAsync(ImmutableSet.of(fooKey1, fooKey2));
     verify(_mockLocalDAO, times(1)).get(ImmutableSet.of(fooKey1, fooKey2));
     verifyNoMoreInteractions(_mockLocalDAO);
   }
@@ -1227,6 +1354,65 @@ public class BaseEntityResourceTest extends BaseEngineTest {
     assertEquals(actual4.getPageSize(), urnsListResult.getPageSize());
   }
 
+  @Test
+  public void testFilterAfterFromIndex() {
+    FooUrn urn1 = makeFooUrn(1);
+    FooUrn urn2 = makeFooUrn(2);
+    FooUrn urn3 = makeFooUrn(3);
+    AspectFoo foo2 = new AspectFoo().setValue("val2");
+    AspectFoo foo3 = new AspectFoo().setValue("val3");
+
+    IndexFilter indexFilter = new IndexFilter().setCriteria(
+        new IndexCriterionArray(new IndexCriterion().setAspect(AspectFoo.class.getCanonicalName())));
+    IndexSortCriterion indexSortCriterion = new IndexSortCriterion().setAspect(AspectFoo.class.getCanonicalName())
+        .setPath("/value").setOrder(SortOrder.DESCENDING);
+
+    // case 1: empty aspects, with total count
+    IndexSortCursor<FooUrn> cursor1 = new IndexSortCursor<>(urn1, "val1");
+    IndexSortCursor<FooUrn> cursor3 = new IndexSortCursor<>(urn3, "val3");
+    CursorListResult<FooUrn, IndexSortCursor<FooUrn>> urnsListResult =
+        CursorListResult.<FooUrn, IndexSortCursor<FooUrn>>builder()
+            .values(Arrays.asList(urn2, urn3))
+            .nextCursor(cursor3)
+            .havingMore(true)
+            .totalCount(5)
+            .pageSize(2)
+            .build();
+    when(_mockLocalDAO.listUrnsAfter(indexFilter, indexSortCriterion, cursor1, 2, true)).thenReturn(urnsListResult);
+
+    CursorListResult<EntityValue, IndexSortCursor<FooUrn>> actual1 = runAndWait(
+        _resource.filterAfter(indexFilter, indexSortCriterion, new String[0], urn1.toString(), "val1", 2, true));
+
+    assertEquals(actual1.getValues(), Arrays.asList(new EntityValue(), new EntityValue()));
+    assertEquals(actual1.getNextCursor(), cursor3);
+    assertTrue(actual1.isHavingMore());
+    assertEquals(actual1.getTotalCount(), Integer.valueOf(5));
+    assertEquals(actual1.getPageSize(), 2);
+
+    // case 2: with aspects, last page without total count
+    String[] aspectNames = {ModelUtils.getAspectName(AspectFoo.class)};
+    CursorListResult<UrnAspectEntry<FooUrn>, IndexSortCursor<FooUrn>> aspectsListResult =
+        CursorListResult.<UrnAspectEntry<FooUrn>, IndexSortCursor<FooUrn>>builder()
+            .values(Arrays.asList(new UrnAspectEntry<>(urn2, Collections.singletonList(foo2)),
+                new UrnAspectEntry<>(urn3, Collections.singletonList(foo3))))
+            .nextCursor(null)
+            .havingMore(false)
+            .totalCount(null)
+            .pageSize(2)
+            .build();
+    when(_mockLocalDAO.getAspectsAfter(ImmutableSet.of(AspectFoo.class), indexFilter, null,
+        new IndexSortCursor<>(urn1, null), 2, false)).thenReturn(aspectsListResult);
+
+    CursorListResult<EntityValue, IndexSortCursor<FooUrn>> actual2 =
+        runAndWait(_resource.filterAfter(indexFilter, null, aspectNames, urn1.toString(), null, 2, false));
+
+    assertEquals(actual2.getValues(),
+        Arrays.asList(new EntityValue().setFoo(foo2), new EntityValue().setFoo(foo3)));
+    assertNull(actual2.getNextCursor());
+    assertFalse(actual2.isHavingMore());
+    assertNull(actual2.getTotalCount());
+  }
+
   @Test
   public void testInternalModelFilterFromIndexWithAspects() {
     FooUrn urn1 = makeFooUrn(1);
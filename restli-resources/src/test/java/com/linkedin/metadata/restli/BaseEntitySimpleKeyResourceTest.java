@@ -39,6 +39,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import org.testng.annotations.BeforeMethod;
@@ -60,6 +61,9 @@ public class BaseEntitySimpleKeyResourceTest extends BaseEngineTest {
   @BeforeMethod
   public void setup() {
     _mockLocalDAO = mock(BaseLocalDAO.class);
+    // async reads complete with the stubbed blocking reads
+    when(_mockLocalDAO.getAsync(anySet())).thenAnswer(invocation -> CompletableFuture.completedFuture(
+        _mockLocalDAO.get(invocation.<Set<AspectKey<Urn, ? extends RecordTemplate>>>getArgument(0))));
   }
 
   @Test
@@ -263,6 +267,7 @@ public class BaseEntitySimpleKeyResourceTest extends BaseEngineTest {
 
     runAndWait(_resource.batchGet(ImmutableSet.of(id1, id2), aspectNames));
 
+    verify(_mockLocalDAO, times(1)).getAsync(ImmutableSet.of(fooKey1, fooKey2));
     verify(_mockLocalDAO, times(1)).get(ImmutableSet.of(fooKey1, fooKey2));
     verifyNoMoreInteractions(_mockLocalDAO);
   }
@@ -0,0 +1,154 @@
+package com.linkedin.metadata.restli;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.dao.AspectKey;
+import com.linkedin.metadata.dao.BaseLocalDAO;
+import com.linkedin.testing.AspectAttributes;
+import com.linkedin.testing.AspectBar;
+import com.linkedin.testing.AspectFoo;
+import com.linkedin.testing.EntityAspectUnion;
+import com.linkedin.testing.urn.FooUrn;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static com.linkedin.metadata.dao.BaseReadDAO.*;
+import static com.linkedin.testing.TestUtils.*;
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+
+public class ShadowReadComparatorTest {
+
+  private BaseLocalDAO<EntityAspectUnion, FooUrn> _mockShadowDAO;
+  private ShadowReadComparator _comparator;
+
+  @BeforeMethod
+  public void setup() {
+    _mockShadowDAO = mock(BaseLocalDAO.class);
+    _comparator = new ShadowReadComparator();
+    _comparator.setComparisonExecutor(Runnable::run);
+    _comparator.setSampleRate(1);
+  }
+
+  @Test
+  public void testCompareAsync() {
+    FooUrn urn = makeFooUrn(1);
+    AspectKey<FooUrn, AspectFoo> fooKey = new AspectKey<>(AspectFoo.class, urn, LATEST_VERSION);
+    AspectKey<FooUrn, AspectBar> barKey = new AspectKey<>(AspectBar.class, urn, LATEST_VERSION);
+    AspectKey<FooUrn, AspectAttributes> attributesKey = new AspectKey<>(AspectAttributes.class, urn, LATEST_VERSION);
+    Set<AspectKey<FooUrn, ? extends RecordTemplate>> keys = ImmutableSet.of(fooKey, barKey, attributesKey);
+
+    Map<AspectKey<FooUrn, ? extends RecordTemplate>, Optional<? extends RecordTemplate>> localResults =
+        ImmutableMap.of(fooKey, Optional.of(new AspectFoo().setValue("foo")), barKey,
+            Optional.of(new AspectBar().setValue("bar")), attributesKey, Optional.empty());
+    Map<AspectKey<FooUrn, ? extends RecordTemplate>, Optional<? extends RecordTemplate>> shadowResults =
+        ImmutableMap.of(fooKey, Optional.of(new AspectFoo().setValue("foo")), barKey,
+            Optional.of(new AspectBar().setValue("shadowBar")), attributesKey, Optional.of(new AspectAttributes()));
+    when(_mockShadowDAO.get(keys)).thenReturn(shadowResults);
+
+    _comparator.compareAsync(keys, localResults, _mockShadowDAO);
+
+    assertEquals(_comparator.getComparisonCount(), 1);
+    assertEquals(_comparator.getMatchCount(), 1);
+    assertEquals(_comparator.getMismatchCount(), 1);
+    assertEquals(_comparator.getShadowOnlyAspectCount(), 1);
+    assertEquals(_comparator.getLocalOnlyAspectCount(), 0);
+    assertEquals(_comparator.getMismatchSamples().size(), 1);
+    assertTrue(_comparator.getMismatchSamples().get(0).contains("shadowBar"));
+  }
+
+  @Test
+  public void testMismatchSamplesAreBounded() {
+    _comparator.setMaxMismatchSamples(2);
+    FooUrn urn = makeFooUrn(1);
+    AspectKey<FooUrn, AspectFoo> fooKey = new AspectKey<>(AspectFoo.class, urn, LATEST_VERSION);
+    Set<AspectKey<FooUrn, ? extends RecordTemplate>> keys = Collections.singleton(fooKey);
+    when(_mockShadowDAO.get(keys)).thenReturn(Collections.singletonMap(fooKey, Optional.of(new AspectFoo().setValue("shadow"))));
+
+    for (int i = 0; i < 3; i++) {
+      _comparator.compareAsync(keys, Collections.singletonMap(fooKey, Optional.of(new AspectFoo().setValue("local" + i))),
+          _mockShadowDAO);
+    }
+
+    assertEquals(_comparator.getMismatchCount(), 3);
+    assertEquals(_comparator.getMismatchSamples().size(), 2);
+    assertTrue(_comparator.getMismatchSamples().get(0).contains("local1"));
+    assertTrue(_comparator.getMismatchSamples().get(1).contains("local2"));
+  }
+
+  @Test
+  public void testFailedShadowRead() {
+    FooUrn urn = makeFooUrn(1);
+    AspectKey<FooUrn, AspectFoo> fooKey = new AspectKey<>(AspectFoo.class, urn, LATEST_VERSION);
+    Set<AspectKey<FooUrn, ? extends RecordTemplate>> keys = Collections.singleton(fooKey);
+    when(_mockShadowDAO.get(keys)).thenThrow(new RuntimeException("shadow DB unavailable"));
+
+    _comparator.compareAsync(keys, Collections.singletonMap(fooKey, Optional.of(new AspectFoo().setValue("foo"))),
+        _mockShadowDAO);
+
+    assertEquals(_comparator.getComparisonCount(), 1);
+    assertEquals(_comparator.getFailedComparisonCount(), 1);
+    assertEquals(_comparator.getMismatchCount(), 0);
+  }
+
+  @Test
+  public void testCheckMissingEntityAsync() {
+    FooUrn urn = makeFooUrn(1);
+    when(_mockShadowDAO.exists(urn)).thenReturn(true);
+
+    _comparator.checkMissingEntityAsync(urn, _mockShadowDAO);
+
+    assertEquals(_comparator.getShadowOnlyEntityCount(), 1);
+  }
+
+  @Test
+  public void testNotSampled() {
+    _comparator.setSampleRate(0);
+    FooUrn urn = makeFooUrn(1);
+
+    _comparator.checkMissingEntityAsync(urn, _mockShadowDAO);
+
+    assertEquals(_comparator.getComparisonCount(), 0);
+    assertEquals(_comparator.getDroppedComparisonCount(), 0);
+    verifyNoInteractions(_mockShadowDAO);
+  }
+
+  @Test
+  public void testRateLimited() {
+    _comparator.setMaxComparisonsPerSecond(1);
+    FooUrn urn = makeFooUrn(1);
+
+    for (int i = 0; i < 3; i++) {
+      _comparator.checkMissingEntityAsync(urn, _mockShadowDAO);
+    }
+
+    // at most two one second windows are crossed
+    assertTrue(_comparator.getDroppedComparisonCount() >= 1);
+    assertEquals(_comparator.getComparisonCount() + _comparator.getDroppedComparisonCount(), 3);
+  }
+
+  @Test
+  public void testRejectedByExecutor() {
+    _comparator.setComparisonExecutor(runnable -> {
+      throw new RejectedExecutionException();
+    });
+
+    _comparator.checkMissingEntityAsync(makeFooUrn(1), _mockShadowDAO);
+
+    assertEquals(_comparator.getComparisonCount(), 0);
+    assertEquals(_comparator.getDroppedComparisonCount(), 1);
+    verifyNoInteractions(_mockShadowDAO);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testInvalidSampleRate() {
+    _comparator.setSampleRate(1.5);
+  }
+}